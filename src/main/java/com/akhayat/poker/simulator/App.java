@@ -1,13 +1,39 @@
 package com.akhayat.poker.simulator;
 
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+import com.akhayat.poker.simulator.batch.BatchEvaluator;
+import com.akhayat.poker.simulator.batch.BatchResult;
 import com.akhayat.poker.simulator.card.PokerHand;
 
 /**
- * Hello world!
- *
+ * Evaluates the hand given as arguments, or with --batch [file] every hand
+ * in the file (or standard input), one per line. The batch summary goes to
+ * standard error so standard output only holds the results.
  */
 public class App {
-    public static void main(String[] args ) {
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 20;
+
+    public static void main(String[] args ) throws IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            boolean fromStdin = args.length < 2 || args[1].equals("-");
+            try (ReadableByteChannel in = fromStdin ? Channels.newChannel(System.in) : FileChannel.open(Path.of(args[1]));
+                    OutputStream out = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out),
+                            OUTPUT_BUFFER_SIZE)) {
+                BatchResult result = new BatchEvaluator().run(in, out);
+                System.err.println(result);
+            }
+            return;
+        }
         System.out.println(PokerHand.fromStrings(args));
     }
 }
@@ -0,0 +1,112 @@
+package com.akhayat.poker.simulator.batch;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Evaluates a stream of hands, one per line, and writes one result per line
+ * in the same order, in the same format as evaluating a single hand.
+ *
+ * A line holds 5 or 7 cards written as rank and suit, e.g.
+ * "Ac Ah 8s 8d As", "AcAh8s8dAs" or "A c A h 8 s 8 d A s". Ranks are
+ * 2-9, 10 or T, J, Q, K and A and suits C, S, H and D, in either case.
+ * Blank lines are skipped and anything else that isn't a valid hand is
+ * echoed back as "invalid hand: ..." so the output still lines up with the
+ * input.
+ *
+ * The input is read in large blocks of whole lines that are evaluated on
+ * the pool while the next blocks are read. Finished blocks are written in
+ * order and their buffers reused, so a run keeps a fixed number of blocks
+ * in memory however big the input is.
+ */
+public class BatchEvaluator {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public BatchEvaluator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public BatchEvaluator(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 64) {
+            throw new IllegalArgumentException("Chunks must be at least 64 bytes, not " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Evaluates every line from in and writes the results to out, which is
+     * flushed but not closed.
+     */
+    public BatchResult run(ReadableByteChannel in, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        int maxInFlight = 2 * pool.getParallelism() + 1;
+        ArrayDeque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>(maxInFlight);
+        ArrayDeque<Chunk> free = new ArrayDeque<>(maxInFlight);
+        long hands = 0;
+        long invalid = 0;
+        long bytesRead = 0;
+        // bytes of an unfinished line carried over to the next chunk
+        byte[] carry = new byte[chunkSize];
+        int carried = 0;
+        boolean done = false;
+        while (!done) {
+            Chunk chunk = free.isEmpty() ? new Chunk(chunkSize) : free.poll();
+            System.arraycopy(carry, 0, chunk.input, 0, carried);
+            ByteBuffer buffer = ByteBuffer.wrap(chunk.input, carried, chunkSize - carried);
+            while (buffer.hasRemaining()) {
+                int read = in.read(buffer);
+                if (read < 0) {
+                    done = true;
+                    break;
+                }
+                bytesRead += read;
+            }
+            int filled = buffer.position();
+            int lineEnd = filled;
+            if (!done) {
+                while (lineEnd > 0 && chunk.input[lineEnd - 1] != '\n') {
+                    lineEnd--;
+                }
+                if (lineEnd == 0) {
+                    throw new IOException("Line longer than " + chunkSize + " bytes");
+                }
+            }
+            carried = filled - lineEnd;
+            System.arraycopy(chunk.input, lineEnd, carry, 0, carried);
+            chunk.inputLength = lineEnd;
+
+            inFlight.add(pool.submit(chunk));
+            while (inFlight.size() >= maxInFlight || (done && !inFlight.isEmpty())) {
+                Chunk finished = join(inFlight.poll());
+                out.write(finished.output, 0, finished.outputLength);
+                hands += finished.hands;
+                invalid += finished.invalid;
+                free.add(finished);
+            }
+        }
+        out.flush();
+        return new BatchResult(hands, invalid, bytesRead, System.nanoTime() - start);
+    }
+
+    private static Chunk join(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while evaluating hands", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to evaluate hands", e.getCause());
+        }
+    }
+}
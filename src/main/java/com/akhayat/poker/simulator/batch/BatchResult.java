@@ -0,0 +1,55 @@
+package com.akhayat.poker.simulator.batch;
+
+/**
+ * What a batch run went through and how fast.
+ */
+public class BatchResult {
+
+    private final long hands;
+    private final long invalid;
+    private final long bytesRead;
+    private final long elapsedNanos;
+
+    BatchResult(long hands, long invalid, long bytesRead, long elapsedNanos) {
+        this.hands = hands;
+        this.invalid = invalid;
+        this.bytesRead = bytesRead;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of hands evaluated, not counting invalid lines.
+     */
+    public long getHands() {
+        return hands;
+    }
+
+    /**
+     * Returns the number of lines that weren't a valid 5 or 7 card hand.
+     */
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of hands evaluated per second.
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : hands * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        double seconds = elapsedNanos / 1e9;
+        return String.format("%,d hands (%,d invalid lines) in %.3f s: %,.0f hands/s, %.1f MB/s", hands, invalid,
+                seconds, getThroughput(), seconds == 0 ? 0 : bytesRead / 1e6 / seconds);
+    }
+}
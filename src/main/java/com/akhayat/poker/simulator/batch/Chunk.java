@@ -0,0 +1,112 @@
+package com.akhayat.poker.simulator.batch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.CardParser;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.evaluator.SevenCardEvaluator;
+
+/**
+ * A block of whole input lines and the output for them. The lines are
+ * parsed straight from the bytes and every result is written by copying
+ * precomputed bytes, so evaluating a chunk doesn't allocate once its
+ * buffers are big enough. Chunks are recycled from one block to the next.
+ */
+class Chunk implements Callable<Chunk> {
+
+    private static final int MAX_CARDS = 7;
+    // longest output for a valid hand, with room to spare
+    private static final int MAX_LINE_OUTPUT = 256;
+    private static final byte[] INVALID = "invalid hand: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SEPARATOR = ", ".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[][] CARD_BYTES = new byte[PackedCard.NUM_CARDS][];
+    private static final byte[][] RESULT_BYTES = new byte[7463][];
+
+    static {
+        for (int index = 0; index < CARD_BYTES.length; index++) {
+            CARD_BYTES[index] = Card.fromIndex(index).toString().getBytes(StandardCharsets.UTF_8);
+        }
+        for (int rank = 1; rank < RESULT_BYTES.length; rank++) {
+            RESULT_BYTES[rank] = ("] -> " + LookupTableEvaluator.toEvaluation(rank) + "\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    byte[] input;
+    int inputLength;
+    byte[] output;
+    int outputLength;
+    long hands;
+    long invalid;
+    private final int[] cards = new int[MAX_CARDS];
+
+    Chunk(int size) {
+        input = new byte[size];
+        // results run about four times the input, but ensureCapacity() grows
+        // the buffer on demand and recycled chunks keep it
+        output = new byte[size + MAX_LINE_OUTPUT];
+    }
+
+    @Override
+    public Chunk call() {
+        outputLength = 0;
+        hands = 0;
+        invalid = 0;
+        int start = 0;
+        while (start < inputLength) {
+            int end = start;
+            while (end < inputLength && input[end] != '\n') {
+                end++;
+            }
+            int lineEnd = end > start && input[end - 1] == '\r' ? end - 1 : end;
+            evaluateLine(start, lineEnd);
+            start = end + 1;
+        }
+        return this;
+    }
+
+    private void evaluateLine(int start, int end) {
+        int count = CardParser.parse(input, start, end, cards, 0);
+        if (count > 0 && CardParser.mask(cards, 0, count) == -1) {
+            count = CardParser.INVALID;
+        }
+        if (count == 0) {
+            return;
+        }
+        ensureCapacity(MAX_LINE_OUTPUT + end - start);
+        if (count == 5 || count == MAX_CARDS) {
+            int rank = count == 5 ? LookupTableEvaluator.evaluate(cards, 0) : SevenCardEvaluator.evaluate(cards, 0);
+            output[outputLength++] = '[';
+            for (int c = 0; c < count; c++) {
+                if (c > 0) {
+                    put(SEPARATOR);
+                }
+                put(CARD_BYTES[PackedCard.index(cards[c])]);
+            }
+            put(RESULT_BYTES[rank]);
+            hands++;
+        } else {
+            put(INVALID);
+            System.arraycopy(input, start, output, outputLength, end - start);
+            outputLength += end - start;
+            output[outputLength++] = '\n';
+            invalid++;
+        }
+    }
+
+    private void put(byte[] bytes) {
+        System.arraycopy(bytes, 0, output, outputLength, bytes.length);
+        outputLength += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (outputLength + extra > output.length) {
+            output = Arrays.copyOf(output, Math.max(2 * output.length, outputLength + extra));
+        }
+    }
+}
@@ -3,11 +3,23 @@ package com.akhayat.poker.simulator.card;
 /**
  * Represents a standard playing card with a rank and a suit.
  * Implements Comparable so they can be easily sorted.
+ *
+ * Cards are immutable and just wrap their packed int encoding (see
+ * {@link PackedCard}). The 52 possible cards are interned in a static
+ * table, so code that creates lots of cards should use the static
+ * factories instead of the constructors.
  */
 public class Card implements Comparable<Card> {
 
-    private Rank rank;
-    private Suit suit;
+    private static final Card[] POOL = new Card[PackedCard.NUM_CARDS];
+
+    static {
+        for (int i = 0; i < POOL.length; i++) {
+            POOL[i] = new Card(PackedCard.fromIndex(i));
+        }
+    }
+
+    private final int packed;
     
     public Card(int rank, char suit) {
         this(Rank.fromValue(rank), Suit.fromChar(suit));
@@ -18,43 +30,66 @@ public class Card implements Comparable<Card> {
     }
 
     public Card(Rank rank, Suit suit) {
-        this.rank = rank;
-        this.suit = suit;
+        this(PackedCard.of(rank, suit));
     }
     
     public Card(Card c) {
-        this.rank = c.rank;
-        this.suit = c.suit;
+        this(c.packed);
     }
 
-    public int getValue() {
-        return rank.getValue();
+    private Card(int packed) {
+        this.packed = packed;
     }
 
-    public Rank getRank() {
-        return rank;
+    /**
+     * Returns the shared instance for the given rank and suit.
+     */
+    public static Card of(Rank rank, Suit suit) {
+        return POOL[PackedCard.index(PackedCard.of(rank, suit))];
     }
 
-    public void setRank(Rank rank) {
-        this.rank = rank;
+    /**
+     * Returns the shared instance for the given card index (0..51).
+     */
+    public static Card fromIndex(int index) {
+        return POOL[index];
     }
 
-    public Suit getSuit() {
-        return suit;
+    /**
+     * Returns the shared instance for the given packed card.
+     */
+    public static Card fromPacked(int packed) {
+        return POOL[PackedCard.index(packed)];
     }
 
-    public void setSuit(Suit suit) {
-        this.suit = suit;
+    public int getPacked() {
+        return packed;
+    }
+
+    public int getIndex() {
+        return PackedCard.index(packed);
+    }
+
+    public int getValue() {
+        return PackedCard.rankValue(packed);
+    }
+
+    public Rank getRank() {
+        return Rank.VALUES[PackedCard.rank(packed)];
+    }
+
+    public Suit getSuit() {
+        return Suit.VALUES[PackedCard.suit(packed)];
     }
 
     @Override
     public String toString() {
-        return rank.toString() + suit.toString();
+        return getRank().toString() + getSuit().toString();
     }
 
     @Override
     public int compareTo(Card otherCard) {
-        return getRank().compareTo(otherCard.getRank());
+        return Integer.compare(PackedCard.rank(packed), PackedCard.rank(otherCard.packed));
     }
 
     @Override
@@ -71,21 +106,12 @@ public class Card implements Comparable<Card> {
             return false;
         }
 
-        Card otherCard = (Card)obj;
-        if (otherCard.rank != this.rank || otherCard.suit != this.suit) {
-            return false;
-        }
-
-        return true;
+        return ((Card)obj).packed == this.packed;
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((rank == null) ? 0 : rank.hashCode());
-        result = prime * result + ((suit == null) ? 0 : suit.hashCode());
-        return result;
+        return PackedCard.index(packed);
     }
     
     public enum Suit {
@@ -94,6 +120,8 @@ public class Card implements Comparable<Card> {
         HEARTS   ('H'),
         DIAMONDS ('D');
         
+        static final Suit[] VALUES = values();
+
         private final char letter;
         
         private Suit(char letter) {
@@ -105,18 +133,22 @@ public class Card implements Comparable<Card> {
         }
         
         public static Suit fromChar(char letter) {
-            for (Suit suit : Suit.values()) {
-                if (suit.letter == letter) {
-                    return suit;
-                }
+            switch (letter) {
+                case 'C': return CLUBS;
+                case 'S': return SPADES;
+                case 'H': return HEARTS;
+                case 'D': return DIAMONDS;
+                default: throw new IllegalArgumentException("Invalid suit character: " + letter);
             }
-            throw new IllegalArgumentException("Invalid suit character: " + letter);
         }
         
         public static Suit fromString(String suit) {
             if (suit == null || suit.isEmpty()) {
                 throw new IllegalArgumentException("Suit cannot be null or empty");
             }
+            if (suit.length() == 1 && CardParser.suitIndex(suit.charAt(0)) >= 0) {
+                return VALUES[CardParser.suitIndex(suit.charAt(0))];
+            }
             switch (suit.toUpperCase()) {
                 case "C": 
                 case "CLUBS": return CLUBS;
@@ -161,6 +193,8 @@ public class Card implements Comparable<Card> {
         KING  (13),
         ACE   (14);
 
+        static final Rank[] VALUES = values();
+
         private final int value;
 
         private Rank(int value) {
@@ -172,18 +206,19 @@ public class Card implements Comparable<Card> {
         }
         
         public static Rank fromValue(int value) {
-            for (Rank rank : Rank.values()) {
-                if (rank.getValue() == value) {
-                    return rank;
-                }
+            if (value < 2 || value > 14) {
+                throw new IllegalArgumentException("Invalid rank value: " + value);
             }
-            throw new IllegalArgumentException("Invalid rank value: " + value);
+            return VALUES[value - 2];
         }
         
         public static Rank fromString(String rank) {
             if (rank == null || rank.isEmpty()) {
                 throw new IllegalArgumentException("Rank cannot be null or empty");
             }
+            if (rank.length() == 1 && CardParser.rankIndex(rank.charAt(0)) >= 0) {
+                return VALUES[CardParser.rankIndex(rank.charAt(0))];
+            }
             switch (rank.toUpperCase()) {
                 case "2": 
                 case "DEUCE": 
@@ -0,0 +1,205 @@
+package com.akhayat.poker.simulator.card;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Parses cards written as text ("AcKd7h", "Ac Kd 7h", "a c, k d, 10 h")
+ * straight into packed cards, from a byte array, a ByteBuffer or a
+ * CharSequence slice.
+ *
+ * A card is a rank (2-9, 10 or T, J, Q, K, A) followed by a suit (C, S,
+ * H, D), in either case, optionally with spaces in between. Cards can be
+ * separated by spaces, tabs and commas. Rank and suit characters are looked
+ * up in tables, and errors are reported by returning INVALID rather than
+ * throwing, so parsing allocates nothing.
+ */
+public final class CardParser {
+
+    /**
+     * Returned by the parse methods for text that isn't a list of cards
+     * or doesn't fit in the destination array.
+     */
+    public static final int INVALID = -1;
+
+    private static final byte[] RANKS = new byte[128];
+    private static final byte[] SUITS = new byte[128];
+
+    static {
+        Arrays.fill(RANKS, (byte) -1);
+        Arrays.fill(SUITS, (byte) -1);
+        String ranks = "23456789TJQKA";
+        for (int rank = 0; rank < ranks.length(); rank++) {
+            RANKS[ranks.charAt(rank)] = (byte) rank;
+            RANKS[Character.toLowerCase(ranks.charAt(rank))] = (byte) rank;
+        }
+        String suits = "CSHD";
+        for (int suit = 0; suit < suits.length(); suit++) {
+            SUITS[suits.charAt(suit)] = (byte) suit;
+            SUITS[Character.toLowerCase(suits.charAt(suit))] = (byte) suit;
+        }
+    }
+
+    private static final int TEN = 8;
+
+    // what the tokenizer expects next, see next()
+    private static final int SEPARATOR = 0;
+    private static final int ONE = 1;
+    private static final int SUIT = 2;
+    private static final int EXPECT_MASK = 0x3;
+    private static final long START = SEPARATOR;
+    private static final long FAILED = -1;
+
+    private CardParser() {
+    }
+
+    /**
+     * Returns the rank index (deuce = 0, ..., ace = 12) of a rank character,
+     * or -1. Ten is 'T' here; the two character "10" is handled by the parse
+     * methods.
+     */
+    public static int rankIndex(int c) {
+        return c >= 0 && c < 128 ? RANKS[c] : -1;
+    }
+
+    /**
+     * Returns the suit index (clubs = 0, spades = 1, hearts = 2,
+     * diamonds = 3) of a suit character, or -1.
+     */
+    public static int suitIndex(int c) {
+        return c >= 0 && c < 128 ? SUITS[c] : -1;
+    }
+
+    /**
+     * Returns the packed card for a rank and a suit character, or
+     * PackedCard.NO_CARD.
+     */
+    public static int parseCard(int rank, int suit) {
+        int rankIndex = rankIndex(rank);
+        int suitIndex = suitIndex(suit);
+        return rankIndex < 0 || suitIndex < 0 ? PackedCard.NO_CARD : PackedCard.of(rankIndex, suitIndex);
+    }
+
+    /**
+     * Parses the bytes from index from (inclusive) to to (exclusive) and
+     * writes the cards into destination starting at offset. Returns the
+     * number of cards, or INVALID.
+     */
+    public static int parse(byte[] text, int from, int to, int[] destination, int offset) {
+        // the batch mode's hot path, so next()'s rules are written out by hand
+        int count = 0;
+        int i = from;
+        while (true) {
+            while (i < to && isSeparator(text[i])) {
+                i++;
+            }
+            if (i == to) {
+                return count;
+            }
+            int rank = rankIndex(text[i]);
+            if (text[i] == '1' && i + 1 < to && text[i + 1] == '0') {
+                rank = TEN;
+                i++;
+            }
+            i++;
+            while (i < to && text[i] == ' ') {
+                i++;
+            }
+            int suit = i < to ? suitIndex(text[i]) : -1;
+            i++;
+            if (rank < 0 || suit < 0 || offset + count == destination.length) {
+                return INVALID;
+            }
+            destination[offset + count++] = PackedCard.of(rank, suit);
+        }
+    }
+
+    /**
+     * Parses the bytes of the buffer from index from to to, by absolute
+     * index so the buffer's position is left alone.
+     */
+    public static int parse(ByteBuffer text, int from, int to, int[] destination, int offset) {
+        long state = START;
+        for (int i = from; i < to && state != FAILED; i++) {
+            state = next(state, text.get(i), destination, offset);
+        }
+        return finish(state);
+    }
+
+    public static int parse(CharSequence text, int from, int to, int[] destination, int offset) {
+        long state = START;
+        for (int i = from; i < to && state != FAILED; i++) {
+            state = next(state, text.charAt(i), destination, offset);
+        }
+        return finish(state);
+    }
+
+    public static int parse(CharSequence text, int[] destination, int offset) {
+        return parse(text, 0, text.length(), destination, offset);
+    }
+
+    /**
+     * Returns the cards as a bit mask by card index, or -1 if a card comes
+     * up twice.
+     */
+    public static long mask(int[] cards, int offset, int count) {
+        long mask = 0;
+        for (int i = offset; i < offset + count; i++) {
+            long bit = 1L << PackedCard.index(cards[i]);
+            if ((mask & bit) != 0) {
+                return -1;
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Takes the tokenizer one character further. The state holds the
+     * number of cards written so far in its high int and, in its low int,
+     * what comes next: a separator or a rank (SEPARATOR), the '0' of "10"
+     * (ONE) or, after spaces, the suit of the rank in bits 2 and up (SUIT).
+     * The ByteBuffer and CharSequence parsers only differ in how they read
+     * a character; the byte array one follows the same rules inline.
+     */
+    private static long next(long state, int c, int[] destination, int offset) {
+        int count = (int) (state >>> 32);
+        switch ((int) state & EXPECT_MASK) {
+            case SEPARATOR: {
+                if (isSeparator(c)) {
+                    return state;
+                }
+                if (c == '1') {
+                    return (long) count << 32 | ONE;
+                }
+                int rank = rankIndex(c);
+                return rank < 0 ? FAILED : (long) count << 32 | rank << 2 | SUIT;
+            }
+            case ONE:
+                return c == '0' ? (long) count << 32 | TEN << 2 | SUIT : FAILED;
+            default: {
+                if (c == ' ') {
+                    return state;
+                }
+                int suit = suitIndex(c);
+                if (suit < 0 || offset + count == destination.length) {
+                    return FAILED;
+                }
+                destination[offset + count] = PackedCard.of((int) state >>> 2, suit);
+                return (long) (count + 1) << 32 | SEPARATOR;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cards parsed, or INVALID if the text failed or
+     * ended in the middle of a card.
+     */
+    private static int finish(long state) {
+        return state == FAILED || ((int) state & EXPECT_MASK) != SEPARATOR ? INVALID : (int) (state >>> 32);
+    }
+
+    private static boolean isSeparator(int c) {
+        return c == ' ' || c == ',' || c == '\t';
+    }
+}
@@ -1,15 +1,27 @@
 package com.akhayat.poker.simulator.card;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
 
 import com.akhayat.poker.simulator.card.Card.Rank;
 import com.akhayat.poker.simulator.card.Card.Suit;
+import com.akhayat.poker.simulator.random.RandomStreams;
 
 /**
- * Represents a standard 52-card deck. Mostly just a wrapper around
- * an array of Cards.
+ * Represents a standard 52-card deck. The cards are kept as packed ints in
+ * a plain array, with the position of every card alongside so that a card
+ * can be found or taken out of the deck in constant time.
+ *
+ * The array holds the dealt cards first (up to the top card), then the
+ * cards still to deal, then the dead cards: the ones removed because they
+ * are known to be somewhere else, e.g. in a player's hand. Dead cards are
+ * never dealt, shuffled or cut until they are restored.
+ *
+ * For simulations, dealRandomCards() deals k random cards out of the
+ * remaining ones without shuffling the rest of the deck, and resetTopCard()
+ * gets the deck ready for the next trial without allocating anything.
  */
 public class Deck {
 
@@ -18,8 +30,13 @@ public class Deck {
      * maybe functionality for jokers could be added.
      */
     private final int DECK_SIZE = 52;
-    private List<Card> cardList = new ArrayList<>(DECK_SIZE);
+    private final int[] cards = new int[DECK_SIZE];
+    // position in cards of each card, by card index
+    private final int[] positions = new int[DECK_SIZE];
     private int topCard = 0;
+    private int liveCards = DECK_SIZE;
+    private long deadCards = 0;
+    private final RandomGenerator random;
 
     /**
      * Constructs a deck with all the cards in order of rank.
@@ -40,9 +57,24 @@ public class Deck {
      * cuts it afterwards if cut is true.
      */
     public Deck(int numberOfShuffles, boolean cut) {
-        for (Suit suit : Suit.values()) {
-            for (Rank rank : Rank.values()) {
-                cardList.add(new Card(rank, suit));
+        this(numberOfShuffles, cut, RandomStreams.newGenerator());
+    }
+
+    /**
+     * Constructs a deck in order of rank that shuffles with the given
+     * generator. Give every thread its own generator (see RandomStreams)
+     * rather than sharing one.
+     */
+    public Deck(RandomGenerator random) {
+        this(0, false, random);
+    }
+
+    public Deck(int numberOfShuffles, boolean cut, RandomGenerator random) {
+        this.random = random;
+        int position = 0;
+        for (Suit suit : Suit.VALUES) {
+            for (Rank rank : Rank.VALUES) {
+                place(PackedCard.of(rank, suit), position++);
             }
         }
         multiShuffle(numberOfShuffles);
@@ -52,38 +84,47 @@ public class Deck {
     }
 
     /**
-     * Returns a COPY of the card at the given index.
+     * Returns the card at the given index. Cards are immutable, so
+     * this is the shared instance rather than a fresh copy.
      */
     public Card copyCardAt(int index) {
-        return new Card(cardList.get(index).getRank(), cardList.get(index).getSuit());
+        return PackedCard.toCard(packedCardAt(index));
+    }
+
+    /**
+     * Returns the packed encoding of the card at the given index.
+     */
+    public int packedCardAt(int index) {
+        if (index < 0 || index >= liveCards) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + liveCards + " cards");
+        }
+        return cards[index];
     }
 
     /**
      * Returns the index of the given card or -1 if it doesn't exist.
      */
     public int indexOf(Card card) {
-        return cardList.indexOf(card);
+        return card == null || isDead(card.getPacked()) ? -1 : positions[card.getIndex()];
+    }
+
+    private void place(int card, int position) {
+        cards[position] = card;
+        positions[PackedCard.index(card)] = position;
     }
 
     /**
-    * Swaps the cards at the given indices. Returns false if it fails
-    * (index is negative or greater than/equal to cardArray.length)
+    * Swaps the cards at the given indices.
     */
-    private boolean swapCards(int firstIndex, int secondIndex) {
-        boolean success = false;
-        if (firstIndex < cardList.size() && secondIndex < cardList.size()
-                && firstIndex >= 0 && secondIndex >= 0) {
-            Card hold = cardList.get(firstIndex);
-            cardList.set(firstIndex, cardList.get(secondIndex));
-            cardList.set(secondIndex, hold);
-            success = true;
-        }
-        return success;
+    private void swapCards(int firstIndex, int secondIndex) {
+        int hold = cards[firstIndex];
+        place(cards[secondIndex], firstIndex);
+        place(hold, secondIndex);
     }
-    
+
     public void multiShuffle(int numberOfShuffles) {
-        if (numberOfShuffles > 0) {
-            IntStream.range(0, numberOfShuffles).forEach(i -> shuffle());
+        for (int i = 0; i < numberOfShuffles; i++) {
+            shuffle();
         }
     }
 
@@ -95,50 +136,160 @@ public class Deck {
     * Also a random number of "riffle" shuffles works, too.
     */
     public void shuffle() {
-        IntStream.iterate(cardList.size() - 1, i -> i >= topCard, i -> i - 1)
-                 .forEach(i -> swapCards(i, (int)(Math.random() * (i - topCard)) + topCard));
+        for (int i = liveCards - 1; i > topCard; i--) {
+            swapCards(i, random.nextInt(topCard, i + 1));
+        }
     }
-    
+
     /**
     * Takes the top half of the deck and puts it on the bottom.
     */
     public void cut() {
-        List<Card> newList = new ArrayList<>(cardList.size());
-        newList.addAll(cardList.subList(cardList.size() / 2, cardList.size()));
-        newList.addAll(cardList.subList(0, cardList.size() / 2));
-        cardList = newList;
+        int half = liveCards / 2;
+        reverse(0, half);
+        reverse(half, liveCards);
+        reverse(0, liveCards);
+    }
+
+    private void reverse(int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            swapCards(i, j);
+        }
+    }
+
+    /**
+     * Takes the given packed card out of the deck so it can't be dealt.
+     * Returns false if it was already out. Cards that were already dealt
+     * can't be removed.
+     */
+    public boolean removeCard(int card) {
+        if (isDead(card)) {
+            return false;
+        }
+        int position = positions[PackedCard.index(card)];
+        if (position < topCard) {
+            throw new IllegalStateException(PackedCard.toString(card) + " has already been dealt");
+        }
+        swapCards(position, --liveCards);
+        deadCards |= 1L << PackedCard.index(card);
+        return true;
     }
-    
+
+    public void removeCards(int... cards) {
+        for (int card : cards) {
+            removeCard(card);
+        }
+    }
+
+    public boolean isDead(int card) {
+        return (deadCards & (1L << PackedCard.index(card))) != 0;
+    }
+
+    /**
+     * Returns the dead cards as a bit mask by card index.
+     */
+    public long getDeadCards() {
+        return deadCards;
+    }
+
+    /**
+     * Puts every removed card back at the bottom of the deck.
+     */
+    public void restoreDeadCards() {
+        liveCards = DECK_SIZE;
+        deadCards = 0;
+    }
+
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
     public int getTopCardIndex() {
         return topCard;
     }
-    
+
+    /**
+     * Returns how many cards are left to deal.
+     */
+    public int remainingCards() {
+        return liveCards - topCard;
+    }
+
     public Card dealCard() {
-        return topCard < cardList.size() ? cardList.get(topCard++) : null;
+        return topCard < liveCards ? PackedCard.toCard(cards[topCard++]) : null;
     }
-    
+
+    /**
+     * Deals up to the given number of cards into a new list.
+     */
     public List<Card> dealCards(int numberOfCards) {
-        if (numberOfCards <= 0) {
-            return new ArrayList<>();
+        int dealt = Math.max(0, Math.min(numberOfCards, liveCards - topCard));
+        List<Card> list = new ArrayList<>(dealt);
+        for (int i = 0; i < dealt; i++) {
+            list.add(PackedCard.toCard(cards[topCard++]));
         }
-        int oldTopCard = topCard;
-        topCard = Math.min(topCard + numberOfCards, cardList.size());
-        return cardList.subList(oldTopCard, topCard);
+        return list;
     }
-    
+
+    /**
+     * Primitive version of dealCard(). Returns PackedCard.NO_CARD
+     * if the deck has been dealt out.
+     */
+    public int dealPackedCard() {
+        return topCard < liveCards ? cards[topCard++] : PackedCard.NO_CARD;
+    }
+
+    /**
+     * Primitive version of dealCards(). Writes up to numberOfCards packed
+     * cards into destination starting at offset and returns how many
+     * were actually dealt.
+     */
+    public int dealPackedCards(int[] destination, int offset, int numberOfCards) {
+        int dealt = Math.max(0, Math.min(numberOfCards, liveCards - topCard));
+        System.arraycopy(cards, topCard, destination, offset, dealt);
+        topCard += dealt;
+        return dealt;
+    }
+
+    /**
+     * Deals up to numberOfCards cards picked at random from the cards left,
+     * without shuffling the rest of the deck (a partial Fisher-Yates
+     * shuffle). Writes them into destination starting at offset and returns
+     * how many were dealt.
+     */
+    public int dealRandomCards(int[] destination, int offset, int numberOfCards) {
+        int dealt = Math.max(0, Math.min(numberOfCards, liveCards - topCard));
+        for (int i = 0; i < dealt; i++) {
+            swapCards(topCard, random.nextInt(topCard, liveCards));
+            destination[offset + i] = cards[topCard++];
+        }
+        return dealt;
+    }
+
     public Card peekTopCard() {
-        return cardList.get(topCard);
+        return PackedCard.toCard(peekTopPackedCard());
+    }
+
+    public int peekTopPackedCard() {
+        if (topCard >= liveCards) {
+            throw new IndexOutOfBoundsException("The deck has been dealt out");
+        }
+        return cards[topCard];
     }
-    
+
+    /**
+     * Puts the dealt cards back, in the order they were dealt. Dead cards
+     * stay out.
+     */
     public void resetTopCard() {
         topCard = 0;
     }
-    
+
     @Override
     public String toString() {
-        return cardList.toString();
+        return PackedCard.toCards(Arrays.copyOf(cards, liveCards)).toString();
     }
-    
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -148,12 +299,16 @@ public class Deck {
             return false;
         }
         Deck otherDeck = (Deck) obj;
-        return cardList.equals(otherDeck.cardList) && topCard == otherDeck.topCard;
+        return Arrays.equals(cards, 0, liveCards, otherDeck.cards, 0, otherDeck.liveCards)
+                && topCard == otherDeck.topCard;
     }
-    
+
     @Override
     public int hashCode() {
-        int result = cardList.hashCode();
+        int result = 1;
+        for (int i = 0; i < liveCards; i++) {
+            result = 31 * result + cards[i];
+        }
         result = 31 * result + topCard;
         return result;
     }
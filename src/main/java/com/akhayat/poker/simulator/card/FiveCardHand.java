@@ -3,6 +3,8 @@ package com.akhayat.poker.simulator.card;
 import java.util.Arrays;
 import java.util.List;
 
+import com.akhayat.poker.simulator.evaluator.EvaluationCache;
+
 public class FiveCardHand extends PokerHand{
     public static final byte HAND_SIZE = 5;
     int handSize = HAND_SIZE;
@@ -14,4 +16,11 @@ public class FiveCardHand extends PokerHand{
     public FiveCardHand(List<Card> hand) {
         super(hand, HAND_SIZE);
     }
+
+    /**
+     * A five card hand whose rank is looked up in the given cache first.
+     */
+    public FiveCardHand(List<Card> hand, EvaluationCache cache) {
+        super(hand, HAND_SIZE, cache);
+    }
 }
@@ -0,0 +1,43 @@
+package com.akhayat.poker.simulator.card;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.akhayat.poker.simulator.evaluator.BestHandEvaluator;
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation;
+
+/**
+ * Any 5 to 9 cards, evaluated as the best five card hand among them. This
+ * is what PokerHand.fromStrings() builds for the sizes that don't have a
+ * class of their own, like the eight or nine cards of some community card
+ * games.
+ */
+public class MultiCardHand extends PokerHand {
+
+    public MultiCardHand(Card... cards) {
+        this(Arrays.asList(cards));
+    }
+
+    public MultiCardHand(List<Card> cards) {
+        super(cards, checkSize(cards));
+    }
+
+    private static int checkSize(List<Card> cards) {
+        if (cards == null || cards.size() < BestHandEvaluator.MIN_CARDS
+                || cards.size() > BestHandEvaluator.MAX_CARDS) {
+            throw new IllegalArgumentException("Card list must contain " + BestHandEvaluator.MIN_CARDS + " to "
+                    + BestHandEvaluator.MAX_CARDS + " cards.");
+        }
+        return cards.size();
+    }
+
+    @Override
+    protected PokerHandEvaluation evaluate() {
+        return LookupTableEvaluator.toEvaluation(BestHandEvaluator.evaluate(packed), packed);
+    }
+
+    public static MultiCardHand fromStrings(String... cardStrings) {
+        return new MultiCardHand(PokerHand.cardListFromStrings(cardStrings));
+    }
+}
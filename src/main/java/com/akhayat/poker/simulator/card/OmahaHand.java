@@ -0,0 +1,64 @@
+package com.akhayat.poker.simulator.card;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.akhayat.poker.simulator.evaluator.OmahaEvaluator;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation;
+
+/**
+ * An Omaha hand: 4 to 6 hole cards and a board of 3 to 5 cards. The
+ * evaluation is the best five card hand made of exactly two hole cards and
+ * three board cards, found by OmahaEvaluator, so AAAA on a board with no
+ * ace is only a pair of aces.
+ *
+ * getHand() holds the hole cards followed by the board.
+ */
+public class OmahaHand extends PokerHand {
+
+    private final int holeCards;
+
+    public OmahaHand(List<Card> holeCards, List<Card> board) {
+        super(concat(holeCards, board),
+                OmahaEvaluator.toEvaluation(PackedCard.fromCards(holeCards), PackedCard.fromCards(board)));
+        this.holeCards = holeCards.size();
+    }
+
+    private static List<Card> concat(List<Card> holeCards, List<Card> board) {
+        if (holeCards == null || holeCards.size() < OmahaEvaluator.MIN_HOLE_CARDS
+                || holeCards.size() > OmahaEvaluator.MAX_HOLE_CARDS) {
+            throw new IllegalArgumentException("An Omaha hand has " + OmahaEvaluator.MIN_HOLE_CARDS + " to "
+                    + OmahaEvaluator.MAX_HOLE_CARDS + " hole cards.");
+        }
+        if (board == null || board.size() < OmahaEvaluator.MIN_BOARD_CARDS
+                || board.size() > OmahaEvaluator.MAX_BOARD_CARDS) {
+            throw new IllegalArgumentException("An Omaha board has " + OmahaEvaluator.MIN_BOARD_CARDS + " to "
+                    + OmahaEvaluator.MAX_BOARD_CARDS + " cards.");
+        }
+        List<Card> cards = new ArrayList<>(holeCards);
+        cards.addAll(board);
+        return cards;
+    }
+
+    @Override
+    protected PokerHandEvaluation evaluate() {
+        return OmahaEvaluator.toEvaluation(getPackedHoleCards(), getPackedBoard());
+    }
+
+    public List<Card> getHoleCards() {
+        return hand.subList(0, holeCards);
+    }
+
+    public List<Card> getBoard() {
+        return hand.subList(holeCards, hand.size());
+    }
+
+    public int[] getPackedHoleCards() {
+        return Arrays.copyOfRange(packed, 0, holeCards);
+    }
+
+    public int[] getPackedBoard() {
+        return Arrays.copyOfRange(packed, holeCards, packed.length);
+    }
+}
@@ -0,0 +1,132 @@
+package com.akhayat.poker.simulator.card;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.akhayat.poker.simulator.card.Card.Rank;
+import com.akhayat.poker.simulator.card.Card.Suit;
+
+/**
+ * Static helpers for the primitive 32-bit card encoding. A packed card
+ * lays out everything the evaluators need so they never have to touch
+ * a Card object:
+ *
+ * <pre>
+ * +--------+--------+--------+--------+
+ * |xxxbbbbb|bbbbbbbb|ssssrrrr|iipppppp|
+ * +--------+--------+--------+--------+
+ *
+ * p = prime number of the rank (deuce = 2, ..., ace = 41)
+ * i = suit index (clubs = 0, spades = 1, hearts = 2, diamonds = 3)
+ * r = rank index (deuce = 0, ..., ace = 12)
+ * s = suit bit, one of the four bits set
+ * b = rank bit, one of the thirteen bits set
+ * </pre>
+ *
+ * Bits 6 to 11 together form the card index (rank index * 4 + suit index),
+ * so every card maps to a dense value in 0..51.
+ */
+public final class PackedCard {
+
+    public static final int NUM_CARDS = 52;
+    public static final int NUM_RANKS = 13;
+    public static final int NUM_SUITS = 4;
+
+    /**
+     * Returned by the primitive deal methods when there is no card left.
+     * No valid packed card is negative.
+     */
+    public static final int NO_CARD = -1;
+
+    static final int[] PRIMES = { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41 };
+
+    private static final int[] PACKED = new int[NUM_CARDS];
+
+    static {
+        for (int rank = 0; rank < NUM_RANKS; rank++) {
+            for (int suit = 0; suit < NUM_SUITS; suit++) {
+                PACKED[rank * NUM_SUITS + suit] = (1 << (16 + rank))
+                        | (1 << (12 + suit))
+                        | (rank << 8)
+                        | (suit << 6)
+                        | PRIMES[rank];
+            }
+        }
+    }
+
+    private PackedCard() {
+    }
+
+    /**
+     * Returns the packed card for the given rank index (0..12) and suit index (0..3).
+     */
+    public static int of(int rankIndex, int suitIndex) {
+        return PACKED[rankIndex * NUM_SUITS + suitIndex];
+    }
+
+    public static int of(Rank rank, Suit suit) {
+        return of(rank.ordinal(), suit.ordinal());
+    }
+
+    /**
+     * Returns the packed card for the given card index (0..51).
+     */
+    public static int fromIndex(int index) {
+        return PACKED[index];
+    }
+
+    public static int index(int card) {
+        return (card >>> 6) & 0x3F;
+    }
+
+    public static int rank(int card) {
+        return (card >>> 8) & 0xF;
+    }
+
+    /**
+     * Returns the rank as the same value Rank.getValue() gives (2..14).
+     */
+    public static int rankValue(int card) {
+        return rank(card) + 2;
+    }
+
+    public static int suit(int card) {
+        return (card >>> 6) & 0x3;
+    }
+
+    public static int prime(int card) {
+        return card & 0x3F;
+    }
+
+    public static int rankBit(int card) {
+        return card >>> 16;
+    }
+
+    public static int suitBit(int card) {
+        return (card >>> 12) & 0xF;
+    }
+
+    public static Card toCard(int card) {
+        return Card.fromIndex(index(card));
+    }
+
+    public static int[] fromCards(List<Card> cards) {
+        int[] packed = new int[cards.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = cards.get(i).getPacked();
+        }
+        return packed;
+    }
+
+    public static List<Card> toCards(int... cards) {
+        List<Card> list = new ArrayList<>(cards.length);
+        for (int card : cards) {
+            list.add(toCard(card));
+        }
+        return list;
+    }
+
+    public static String toString(int card) {
+        return toCard(card).toString();
+    }
+}
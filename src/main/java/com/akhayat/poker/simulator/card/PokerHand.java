@@ -2,9 +2,10 @@ package com.akhayat.poker.simulator.card;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import com.akhayat.poker.simulator.evaluator.EvaluationCache;
 import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation;
 import com.akhayat.poker.simulator.evaluator.PokerHandEvaluator;
 
@@ -12,29 +13,55 @@ public abstract class PokerHand {
     
     List<Card> hand;
     List<Card> ordered;
+    int[] packed;
     PokerHandEvaluation evaluation = null;
     
-    private static final List<Integer> SUPPORTED_HAND_SIZES = List.of(5, 7);
+    private static final List<Integer> SUPPORTED_HAND_SIZES = List.of(5, 6, 7, 8, 9);
+
+    /**
+     * Orders hands from the weakest to the strongest by their evaluation score.
+     */
+    public static final Comparator<PokerHand> BY_STRENGTH =
+            Comparator.comparingInt(hand -> hand.evaluation.getScore());
     
     public PokerHand(List<Card> hand, int handSize) {
+       this(hand, handSize, null);
+   }
+
+   /**
+    * For five and seven card hands, which can look their rank up in an
+    * EvaluationCache (null for none) instead of evaluating it.
+    */
+   protected PokerHand(List<Card> hand, int handSize, EvaluationCache cache) {
        if (hand == null || hand.size() != handSize) {
            throw new IllegalArgumentException(
                    "Card list must contain " + handSize + " cards.");
        }
        this.hand = hand;
+       this.packed = PackedCard.fromCards(hand);
        setOrdered();
-       evaluation = evaluate();
+       evaluation = cache == null ? evaluate() : PokerHandEvaluator.evaluate(cache, packed);
+   }
+
+   /**
+    * For hands whose evaluation depends on more than their cards, like
+    * OmahaHand: evaluate() would run before the subclass has set its own
+    * fields, so the subclass works the evaluation out and passes it in.
+    */
+   protected PokerHand(List<Card> hand, PokerHandEvaluation evaluation) {
+       this.hand = hand;
+       this.packed = PackedCard.fromCards(hand);
+       setOrdered();
+       this.evaluation = evaluation;
    }
    
    private void setOrdered() {
-       ordered = hand.stream()
-               .map(card -> new Card(card))
-               .collect(Collectors.toList());
+       ordered = new ArrayList<>(hand);
        ordered.sort(Collections.reverseOrder());
    }
    
    protected PokerHandEvaluation evaluate() {
-       return PokerHandEvaluator.evaluate(this);
+       return PokerHandEvaluator.evaluate(packed);
    }
       
    public List<Card> getOrdered() {
@@ -44,6 +71,20 @@ public abstract class PokerHand {
    public List<Card> getHand() {
        return hand;
    }
+
+   /**
+    * Returns the packed encoding of the card at the given position of the hand.
+    */
+   public int getPackedCard(int index) {
+       return packed[index];
+   }
+
+   /**
+    * Returns a copy of the hand in its packed encoding.
+    */
+   public int[] getPackedCards() {
+       return packed.clone();
+   }
    
    public PokerHandEvaluation getEvaluation() {
        return evaluation;
@@ -55,11 +96,11 @@ public abstract class PokerHand {
    }
    
    public boolean beats(PokerHand other) {
-       return this.evaluation.beats(other.evaluation);
+       return this.evaluation.getScore() > other.evaluation.getScore();
    }
 
    public boolean tiesWith(PokerHand other) {
-       return !this.beats(other) && !other.beats(this);
+       return this.evaluation.getScore() == other.evaluation.getScore();
    }
 
    public boolean losesTo(PokerHand other) {
@@ -91,18 +132,41 @@ public abstract class PokerHand {
         }
         List<Card> cards = new ArrayList<>(cardStrings.length / 2);
         for (int i = 0; i < cardStrings.length; i += 2) {
-            cards.add(new Card(cardStrings[i], cardStrings[i + 1]));
+            cards.add(Card.of(Card.Rank.fromString(cardStrings[i]), Card.Suit.fromString(cardStrings[i + 1])));
         }
         return cards;
     }
     
     
     public static PokerHand fromStrings(String... cardStrings) {
-        List<Card> cards = cardListFromStrings(cardStrings);
+        return fromCards(cardListFromStrings(cardStrings), null);
+    }
+
+    /**
+     * Like fromStrings(), but five and seven card hands look their rank up
+     * in the given cache first.
+     */
+    public static PokerHand fromStrings(EvaluationCache cache, String... cardStrings) {
+        return fromCards(cardListFromStrings(cardStrings), cache);
+    }
+
+    /**
+     * Builds a hand from packed cards. The cards are only converted to
+     * Card objects here, at the edge of the API.
+     */
+    public static PokerHand fromPacked(int... cards) {
+        return fromCards(PackedCard.toCards(cards), null);
+    }
+
+    private static PokerHand fromCards(List<Card> cards, EvaluationCache cache) {
         if (cards.size() == 5) {
-            return new FiveCardHand(cards);
+            return new FiveCardHand(cards, cache);
+        } else if (cards.size() == 6) {
+            return new SixCardHand(cards);
         } else if (cards.size() == 7) {
-            return new SevenCardHand(cards);
+            return new SevenCardHand(cards, cache);
+        } else if (SUPPORTED_HAND_SIZES.contains(cards.size())) {
+            return new MultiCardHand(cards);
         }
         throw new IllegalArgumentException(
                "Unsupported hand size: " + cards.size() + ". Supported sizes are: " + SUPPORTED_HAND_SIZES);
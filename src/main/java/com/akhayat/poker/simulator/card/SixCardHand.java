@@ -0,0 +1,38 @@
+package com.akhayat.poker.simulator.card;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.akhayat.poker.simulator.evaluator.BestHandEvaluator;
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation;
+
+/**
+ * Six cards, e.g. hole cards and the board on the turn, evaluated as the
+ * best five card hand among them.
+ */
+public class SixCardHand extends PokerHand {
+
+    public static final int HAND_SIZE = 6;
+
+    public SixCardHand(Card... cards) {
+        this(Arrays.asList(cards));
+    }
+
+    public SixCardHand(List<Card> cards) {
+        super(cards, HAND_SIZE);
+    }
+
+    /**
+     * Finds the best five card hand with BestHandEvaluator rather than
+     * evaluating all six five card subsets.
+     */
+    @Override
+    protected PokerHandEvaluation evaluate() {
+        return LookupTableEvaluator.toEvaluation(BestHandEvaluator.evaluate(packed), packed);
+    }
+
+    public static SixCardHand fromStrings(String... cardStrings) {
+        return new SixCardHand(PokerHand.cardListFromStrings(cardStrings));
+    }
+}
@@ -0,0 +1,488 @@
+package com.akhayat.poker.simulator.card;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * Maps cards dealt in groups (hole cards, board, dead cards, or hole cards
+ * and then each street) to a canonical form under relabelling of the
+ * suits, and numbers the canonical forms densely. AhKh on 2c7c9d and AsKs
+ * on 2d7d9h are the same question, so they get the same canonical cards
+ * and the same index, and a cache or a precomputed table only needs one
+ * entry for both. Order within a group doesn't matter; order of the groups
+ * does.
+ *
+ * A canonicalizer is built for one shape, the number of cards in each
+ * group, e.g. (2, 3) for hole cards and a flop, which has 1,286,792
+ * classes instead of 25,989,600 deals. The index goes both ways: unindex
+ * writes out the canonical cards of an index.
+ *
+ * How it works: each suit's part of a hand is summed up by how many of its
+ * cards are in each group (its configuration) and by the index of its
+ * ranks among the rank sets with that configuration. Sorting the four
+ * suits by configuration and then rank index gives the canonical order;
+ * suits that tie are interchangeable. The index is the offset of the
+ * hand's sorted configurations, precomputed for the shape, plus the index
+ * of the multiset of rank indices of each run of suits that share a
+ * configuration.
+ *
+ * A canonicalizer is immutable and can be shared between threads; index
+ * and canonicalize don't allocate.
+ */
+public final class SuitCanonicalizer {
+
+    public static final int MAX_GROUPS = 4;
+
+    private static final int LANE = 16;
+    private static final int NIBBLE = 4;
+    private static final int RANKS = PackedCard.NUM_RANKS;
+    private static final int SUITS = PackedCard.NUM_SUITS;
+    private static final long[][] BINOMIALS = new long[RANKS + 1][RANKS + 1];
+
+    static {
+        for (int n = 0; n <= RANKS; n++) {
+            BINOMIALS[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + BINOMIALS[n - 1][k];
+            }
+        }
+    }
+
+    private final int[] groupSizes;
+    private final int cards;
+
+    /**
+     * Every sorted combination of four suit configurations the shape
+     * allows, and the index of the first hand with each.
+     */
+    private final long[] configurations;
+    private final long[] offsets;
+    private final long size;
+
+    /**
+     * @throws IllegalArgumentException if there are no groups or more than
+     *         MAX_GROUPS, a group is empty, there are more than 52 cards or
+     *         the number of classes doesn't fit in a long
+     */
+    public SuitCanonicalizer(int... groupSizes) {
+        if (groupSizes.length == 0 || groupSizes.length > MAX_GROUPS) {
+            throw new IllegalArgumentException("A shape has 1 to " + MAX_GROUPS + " groups of cards.");
+        }
+        int total = 0;
+        for (int size : groupSizes) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Invalid group size " + size);
+            }
+            total += size;
+        }
+        if (total > PackedCard.NUM_CARDS) {
+            throw new IllegalArgumentException("A shape can't hold more than " + PackedCard.NUM_CARDS + " cards.");
+        }
+        this.groupSizes = groupSizes.clone();
+        this.cards = total;
+
+        TreeSet<Long> found = new TreeSet<>();
+        collectConfigurations(found, new int[SUITS], new int[SUITS], 0, 0, groupSizes[0]);
+        this.configurations = found.stream().mapToLong(Long::longValue).toArray();
+        this.offsets = new long[configurations.length];
+        long classes = 0;
+        try {
+            for (int i = 0; i < configurations.length; i++) {
+                offsets[i] = classes;
+                classes = Math.addExact(classes, configurationSize(configurations[i]));
+            }
+        } catch (ArithmeticException e) {
+            classes = Long.MAX_VALUE;
+        }
+        // leaves room for the intermediate products in choose()
+        if (classes > Long.MAX_VALUE / SUITS) {
+            throw new IllegalArgumentException("Too many classes for a shape of " + total + " cards.");
+        }
+        this.size = classes;
+    }
+
+    public int[] getGroupSizes() {
+        return groupSizes.clone();
+    }
+
+    /**
+     * Returns the number of cards in a hand of this shape.
+     */
+    public int getCards() {
+        return cards;
+    }
+
+    /**
+     * Returns the number of classes, so indices run from 0 to size() - 1.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the packed cards starting at offset, laid out
+     * group after group.
+     *
+     * @throws IllegalArgumentException if a card appears twice
+     */
+    public long index(int[] cards, int offset) {
+        return index(cards, offset, null, 0);
+    }
+
+    /**
+     * Writes the canonical form of the packed cards starting at offset into
+     * dest, each group sorted by card index, and returns its index.
+     *
+     * @throws IllegalArgumentException if a card appears twice
+     */
+    public long canonicalize(int[] cards, int offset, int[] dest, int destOffset) {
+        return index(cards, offset, dest, destOffset);
+    }
+
+    /**
+     * Writes the canonical cards of an index into dest, group after group,
+     * each group sorted by card index.
+     */
+    public void unindex(long index, int[] dest, int destOffset) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("Index " + index + " is out of range 0.." + (size - 1));
+        }
+        int i = Arrays.binarySearch(offsets, index);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        long configuration = configurations[i];
+        long rest = index - offsets[i];
+
+        // the first run of equal configurations is the most significant digit
+        long[] rankIndices = new long[SUITS];
+        for (int end = SUITS; end > 0;) {
+            int start = end - 1;
+            long suitConfiguration = suitConfiguration(configuration, start);
+            while (start > 0 && suitConfiguration(configuration, start - 1) == suitConfiguration) {
+                start--;
+            }
+            int m = end - start;
+            long ways = ways(suitConfiguration);
+            long radix = choose(ways + m - 1, m);
+            long multiset = rest % radix;
+            rest /= radix;
+            for (int t = m - 1; t >= 0; t--) {
+                long c = largestBelow(multiset, t + 1, ways + m - 1);
+                multiset -= choose(c, t + 1);
+                rankIndices[end - 1 - t] = c - t;
+            }
+            end = start;
+        }
+
+        long m0 = 0;
+        long m1 = 0;
+        long m2 = 0;
+        long m3 = 0;
+        for (int suit = 0; suit < SUITS; suit++) {
+            long suitConfiguration = suitConfiguration(configuration, suit);
+            long rankIndex = rankIndices[suit];
+            int[] colex = new int[groupSizes.length];
+            int available = RANKS;
+            for (int g = 0; g < groupSizes.length; g++) {
+                available -= count(suitConfiguration, g);
+            }
+            for (int g = groupSizes.length - 1; g >= 0; g--) {
+                int k = count(suitConfiguration, g);
+                available += k;
+                long radix = BINOMIALS[available][k];
+                colex[g] = (int) (rankIndex % radix);
+                rankIndex /= radix;
+            }
+            int used = 0;
+            for (int g = 0; g < groupSizes.length; g++) {
+                int mask = unrankRanks(colex[g], count(suitConfiguration, g), used);
+                used |= mask;
+                long lane = (long) mask << (LANE * suit);
+                switch (g) {
+                    case 0: m0 |= lane; break;
+                    case 1: m1 |= lane; break;
+                    case 2: m2 |= lane; break;
+                    default: m3 |= lane; break;
+                }
+            }
+        }
+        write(m0, m1, m2, m3, dest, destOffset);
+    }
+
+    private long index(int[] hand, int offset, int[] dest, int destOffset) {
+        long m0 = 0;
+        long m1 = 0;
+        long m2 = 0;
+        long m3 = 0;
+        int pos = offset;
+        for (int g = 0; g < groupSizes.length; g++) {
+            long mask = 0;
+            for (int end = pos + groupSizes[g]; pos < end; pos++) {
+                mask |= (long) PackedCard.rankBit(hand[pos]) << (LANE * PackedCard.suit(hand[pos]));
+            }
+            switch (g) {
+                case 0: m0 = mask; break;
+                case 1: m1 = mask; break;
+                case 2: m2 = mask; break;
+                default: m3 = mask; break;
+            }
+        }
+        if (Long.bitCount(m0 | m1 | m2 | m3) != cards) {
+            throw new IllegalArgumentException("A card appears more than once.");
+        }
+
+        long k0 = suitKey(m0, m1, m2, m3, 0);
+        long k1 = suitKey(m0, m1, m2, m3, 1);
+        long k2 = suitKey(m0, m1, m2, m3, 2);
+        long k3 = suitKey(m0, m1, m2, m3, 3);
+        long swap;
+        // sorting network, largest key first
+        if (k0 < k1) { swap = k0; k0 = k1; k1 = swap; }
+        if (k2 < k3) { swap = k2; k2 = k3; k3 = swap; }
+        if (k0 < k2) { swap = k0; k0 = k2; k2 = swap; }
+        if (k1 < k3) { swap = k1; k1 = k3; k3 = swap; }
+        if (k1 < k2) { swap = k1; k1 = k2; k2 = swap; }
+
+        long configuration = (keyConfiguration(k0) << (3 * LANE)) | (keyConfiguration(k1) << (2 * LANE))
+                | (keyConfiguration(k2) << LANE) | keyConfiguration(k3);
+        long index = 0;
+        for (int start = 0; start < SUITS;) {
+            long suitConfiguration = keyConfiguration(pick(start, k0, k1, k2, k3));
+            int end = start + 1;
+            while (end < SUITS && keyConfiguration(pick(end, k0, k1, k2, k3)) == suitConfiguration) {
+                end++;
+            }
+            int m = end - start;
+            // the run's rank indices in ascending order make a strictly
+            // increasing sequence once the t-th is raised by t
+            long multiset = 0;
+            for (int t = 0; t < m; t++) {
+                multiset += choose(keyRankIndex(pick(end - 1 - t, k0, k1, k2, k3)) + t, t + 1);
+            }
+            index = index * choose(ways(suitConfiguration) + m - 1, m) + multiset;
+            start = end;
+        }
+        index += offsets[Arrays.binarySearch(configurations, configuration)];
+
+        if (dest != null) {
+            write(relabel(m0, k0, k1, k2, k3), relabel(m1, k0, k1, k2, k3), relabel(m2, k0, k1, k2, k3),
+                    relabel(m3, k0, k1, k2, k3), dest, destOffset);
+        }
+        return index;
+    }
+
+    /**
+     * A suit's sort key: its configuration, then the index of its ranks,
+     * then the suit itself in the lowest two bits.
+     */
+    private long suitKey(long m0, long m1, long m2, long m3, int suit) {
+        long configuration = 0;
+        long rankIndex = 0;
+        int used = 0;
+        for (int g = 0; g < groupSizes.length; g++) {
+            int mask = lane(pick(g, m0, m1, m2, m3), suit);
+            int k = Integer.bitCount(mask);
+            configuration |= (long) k << (NIBBLE * (MAX_GROUPS - 1 - g));
+            rankIndex = rankIndex * BINOMIALS[RANKS - Integer.bitCount(used)][k] + rankRanks(mask, used);
+            used |= mask;
+        }
+        return (configuration << 34) | (rankIndex << 2) | suit;
+    }
+
+    private static long keyConfiguration(long key) {
+        return key >>> 34;
+    }
+
+    private static long keyRankIndex(long key) {
+        return (key >>> 2) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Moves each suit's lane to its canonical position.
+     */
+    private static long relabel(long mask, long k0, long k1, long k2, long k3) {
+        return (long) lane(mask, (int) (k0 & 3))
+                | (long) lane(mask, (int) (k1 & 3)) << LANE
+                | (long) lane(mask, (int) (k2 & 3)) << (2 * LANE)
+                | (long) lane(mask, (int) (k3 & 3)) << (3 * LANE);
+    }
+
+    private void write(long m0, long m1, long m2, long m3, int[] dest, int destOffset) {
+        int pos = destOffset;
+        for (int g = 0; g < groupSizes.length; g++) {
+            long mask = pick(g, m0, m1, m2, m3);
+            int ranks = lane(mask, 0) | lane(mask, 1) | lane(mask, 2) | lane(mask, 3);
+            for (; ranks != 0; ranks &= ranks - 1) {
+                int rank = Integer.numberOfTrailingZeros(ranks);
+                for (int suit = 0; suit < SUITS; suit++) {
+                    if ((mask & (1L << (LANE * suit + rank))) != 0) {
+                        dest[pos++] = PackedCard.of(rank, suit);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Colex index of a set of ranks among the ranks not in used.
+     */
+    private static long rankRanks(int mask, int used) {
+        long index = 0;
+        int i = 1;
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            int rank = Integer.numberOfTrailingZeros(bits);
+            int position = rank - Integer.bitCount(used & ((1 << rank) - 1));
+            index += BINOMIALS[position][i++];
+        }
+        return index;
+    }
+
+    /**
+     * The inverse of rankRanks: the k ranks outside used with the given colex index.
+     */
+    private static int unrankRanks(long index, int k, int used) {
+        int mask = 0;
+        for (int i = k; i > 0; i--) {
+            int position = i - 1;
+            while (position + 1 < RANKS && BINOMIALS[position + 1][i] <= index) {
+                position++;
+            }
+            index -= BINOMIALS[position][i];
+            // the position-th rank that isn't used
+            int rank = -1;
+            for (int seen = -1; seen < position;) {
+                if ((used & (1 << ++rank)) == 0) {
+                    seen++;
+                }
+            }
+            mask |= 1 << rank;
+        }
+        return mask;
+    }
+
+    /**
+     * Number of rank sets a suit with the given configuration can hold.
+     */
+    private long ways(long suitConfiguration) {
+        long ways = 1;
+        int available = RANKS;
+        for (int g = 0; g < groupSizes.length; g++) {
+            int k = count(suitConfiguration, g);
+            ways *= BINOMIALS[available][k];
+            available -= k;
+        }
+        return ways;
+    }
+
+    private long configurationSize(long configuration) {
+        long size = 1;
+        for (int start = 0; start < SUITS;) {
+            long suitConfiguration = suitConfiguration(configuration, start);
+            int end = start + 1;
+            while (end < SUITS && suitConfiguration(configuration, end) == suitConfiguration) {
+                end++;
+            }
+            int m = end - start;
+            long ways = ways(suitConfiguration);
+            long multisets = 1;
+            for (int i = 0; i < m; i++) {
+                multisets = Math.multiplyExact(multisets, ways + i) / (i + 1);
+            }
+            size = Math.multiplyExact(size, multisets);
+            start = end;
+        }
+        return size;
+    }
+
+    /**
+     * Deals the cards of each group out to the suits every possible way
+     * and keeps each sorted combination of suit configurations once.
+     */
+    private void collectConfigurations(TreeSet<Long> found, int[] suitConfigurations, int[] suitCards,
+            int group, int suit, int left) {
+        if (suit == SUITS - 1) {
+            if (suitCards[suit] + left > RANKS) {
+                return;
+            }
+            suitConfigurations[suit] += left << (NIBBLE * (MAX_GROUPS - 1 - group));
+            suitCards[suit] += left;
+            if (group + 1 == groupSizes.length) {
+                int[] sorted = suitConfigurations.clone();
+                Arrays.sort(sorted);
+                found.add(((long) sorted[3] << (3 * LANE)) | ((long) sorted[2] << (2 * LANE))
+                        | ((long) sorted[1] << LANE) | sorted[0]);
+            } else {
+                collectConfigurations(found, suitConfigurations, suitCards, group + 1, 0, groupSizes[group + 1]);
+            }
+            suitConfigurations[suit] -= left << (NIBBLE * (MAX_GROUPS - 1 - group));
+            suitCards[suit] -= left;
+            return;
+        }
+        for (int k = 0; k <= Math.min(left, RANKS - suitCards[suit]); k++) {
+            suitConfigurations[suit] += k << (NIBBLE * (MAX_GROUPS - 1 - group));
+            suitCards[suit] += k;
+            collectConfigurations(found, suitConfigurations, suitCards, group, suit + 1, left - k);
+            suitConfigurations[suit] -= k << (NIBBLE * (MAX_GROUPS - 1 - group));
+            suitCards[suit] -= k;
+        }
+    }
+
+    /**
+     * The configuration of the suit in position i of a sorted combination.
+     */
+    private static long suitConfiguration(long configuration, int i) {
+        return (configuration >>> (LANE * (SUITS - 1 - i))) & 0xFFFF;
+    }
+
+    private static int count(long suitConfiguration, int group) {
+        return (int) (suitConfiguration >>> (NIBBLE * (MAX_GROUPS - 1 - group))) & 0xF;
+    }
+
+    private static int lane(long mask, int suit) {
+        return (int) (mask >>> (LANE * suit)) & 0x1FFF;
+    }
+
+    private static long pick(int i, long a, long b, long c, long d) {
+        switch (i) {
+            case 0: return a;
+            case 1: return b;
+            case 2: return c;
+            default: return d;
+        }
+    }
+
+    /**
+     * C(n, k) for k up to 4. Every intermediate value is at most k times
+     * the result, which the constructor keeps in range.
+     */
+    private static long choose(long n, int k) {
+        if (n < k) {
+            return 0;
+        }
+        switch (k) {
+            case 0: return 1;
+            case 1: return n;
+            case 2: return n * (n - 1) / 2;
+            case 3: return n * (n - 1) / 2 * (n - 2) / 3;
+            default: return n * (n - 1) / 2 * (n - 2) / 3 * (n - 3) / 4;
+        }
+    }
+
+    /**
+     * The largest c at most max with C(c, k) <= value.
+     */
+    private static long largestBelow(long value, int k, long max) {
+        long low = k - 1;
+        long high = max;
+        while (low < high) {
+            long mid = (low + high + 1) >>> 1;
+            if (choose(mid, k) <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
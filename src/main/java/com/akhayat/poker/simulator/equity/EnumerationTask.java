@@ -0,0 +1,202 @@
+package com.akhayat.poker.simulator.equity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import com.akhayat.poker.simulator.evaluator.IncrementalEvaluator;
+
+/**
+ * Plays out every possible deal exactly once. The cards still to deal are
+ * split into groups (the hole cards of each random player, then the missing
+ * board cards) and each group walks the remaining cards in increasing index
+ * order, so every combination comes up once and nothing is allocated per
+ * deal.
+ *
+ * The walk is depth first. In hold'em every player's hand is an
+ * IncrementalEvaluator: a card goes into the hands it belongs to when it's
+ * dealt and comes out when the walk backs up, so all the runouts below a
+ * card share the work of adding it and a deal only costs a lookup per
+ * player. Omaha and hi-lo deals are settled by EquityProblem.showdown.
+ *
+ * The root task forks one subtask per choice of the first card dealt.
+ */
+class EnumerationTask extends RecursiveTask<Tally> {
+
+    private static final long serialVersionUID = 1L;
+    private static final int ROOT = -1;
+    private static final int BOARD = -1;
+
+    private final EquityProblem problem;
+    private final int firstCard;
+    private final int[] groupSizes;
+    private int[] groupSeats;
+    private IncrementalEvaluator[] hands;
+    private int[] dealt;
+    private int[] boardCards;
+    private int[] ranks;
+    private Tally tally;
+
+    EnumerationTask(EquityProblem problem) {
+        this(problem, ROOT);
+    }
+
+    private EnumerationTask(EquityProblem problem, int firstCard) {
+        this.problem = problem;
+        this.firstCard = firstCard;
+        this.groupSizes = groupSizes(problem);
+    }
+
+    /**
+     * Returns the number of deals the enumeration will play out, or
+     * Long.MAX_VALUE if it doesn't fit in a long.
+     */
+    static long count(EquityProblem problem) {
+        long count = 1;
+        int available = problem.remaining.length;
+        for (int size : groupSizes(problem)) {
+            count = multiply(count, choose(available, size));
+            available -= size;
+        }
+        return count;
+    }
+
+    @Override
+    protected Tally compute() {
+        tally = new Tally(problem.players);
+        if (firstCard == ROOT && groupSizes.length > 0) {
+            List<EnumerationTask> tasks = new ArrayList<>();
+            for (int i = 0; i <= problem.remaining.length - groupSizes[0]; i++) {
+                tasks.add(new EnumerationTask(problem, i));
+            }
+            for (EnumerationTask task : invokeAll(tasks)) {
+                tally.add(task.join());
+            }
+            return tally;
+        }
+        ranks = new int[problem.rankSlots()];
+        dealt = new int[problem.cardsToDeal];
+        boardCards = new int[EquityProblem.BOARD_SIZE + EquityProblem.HOLDEM_HOLE_CARDS];
+        groupSeats = new int[groupSizes.length];
+        int group = 0;
+        for (int p = 0; p < problem.players; p++) {
+            if (problem.holeCards[p] == null) {
+                groupSeats[group++] = p;
+            }
+        }
+        if (group < groupSeats.length) {
+            groupSeats[group] = BOARD;
+        }
+        if (problem.holeSize == EquityProblem.HOLDEM_HOLE_CARDS && !problem.hiLo) {
+            hands = new IncrementalEvaluator[problem.players];
+            for (int p = 0; p < problem.players; p++) {
+                hands[p] = new IncrementalEvaluator();
+                if (problem.holeCards[p] != null) {
+                    for (int card : problem.holeCards[p]) {
+                        hands[p].addCard(card);
+                    }
+                }
+                for (int card : problem.board) {
+                    hands[p].addCard(card);
+                }
+            }
+        }
+        if (groupSizes.length == 0) {
+            showdown();
+        } else {
+            dealt[0] = problem.remaining[firstCard];
+            add(0, dealt[0]);
+            deal(0, 1, 1, firstCard + 1, 1L << firstCard);
+        }
+        return tally;
+    }
+
+    /**
+     * Deals the card at position pos of the current group into slot, taking
+     * it from index from or later of the cards that aren't used yet.
+     */
+    private void deal(int group, int pos, int slot, int from, long used) {
+        if (pos == groupSizes[group]) {
+            if (++group == groupSizes.length) {
+                showdown();
+                return;
+            }
+            pos = 0;
+            from = 0;
+        }
+        int[] remaining = problem.remaining;
+        for (int i = from; i < remaining.length; i++) {
+            if ((used & (1L << i)) == 0) {
+                dealt[slot] = remaining[i];
+                add(group, remaining[i]);
+                deal(group, pos + 1, slot + 1, i + 1, used | (1L << i));
+                remove(group, remaining[i]);
+            }
+        }
+    }
+
+    private void add(int group, int card) {
+        if (hands == null) {
+            return;
+        }
+        int seat = groupSeats[group];
+        if (seat != BOARD) {
+            hands[seat].addCard(card);
+        } else {
+            for (IncrementalEvaluator hand : hands) {
+                hand.addCard(card);
+            }
+        }
+    }
+
+    private void remove(int group, int card) {
+        if (hands == null) {
+            return;
+        }
+        int seat = groupSeats[group];
+        if (seat != BOARD) {
+            hands[seat].removeCard(card);
+        } else {
+            for (IncrementalEvaluator hand : hands) {
+                hand.removeCard(card);
+            }
+        }
+    }
+
+    private void showdown() {
+        if (hands == null) {
+            problem.showdown(dealt, boardCards, ranks, tally);
+            return;
+        }
+        for (int p = 0; p < ranks.length; p++) {
+            ranks[p] = hands[p].getRank();
+        }
+        tally.record(ranks);
+    }
+
+    private static int[] groupSizes(EquityProblem problem) {
+        int boardCards = EquityProblem.BOARD_SIZE - problem.board.length;
+        int[] sizes = new int[problem.randomPlayers + (boardCards > 0 ? 1 : 0)];
+        for (int p = 0; p < problem.randomPlayers; p++) {
+            sizes[p] = problem.holeSize;
+        }
+        if (boardCards > 0) {
+            sizes[sizes.length - 1] = boardCards;
+        }
+        return sizes;
+    }
+
+    static long choose(int n, int k) {
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    private static long multiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return high != 0 || low < 0 ? Long.MAX_VALUE : low;
+    }
+}
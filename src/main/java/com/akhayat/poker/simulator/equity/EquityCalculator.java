@@ -0,0 +1,140 @@
+package com.akhayat.poker.simulator.equity;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+/**
+ * Answers "what is my win/tie equity with these hole cards against these
+ * opponents on this board?" for Texas Hold'em and Omaha by playing out random deals
+ * (Monte Carlo) on a fork-join pool. When there are few enough possible
+ * deals left (at most the enumeration threshold) every one of them is
+ * played out instead and the result is exact.
+ *
+ * Each player has two known hole cards or none (dealt at random every
+ * trial), or 4 to 6 in Omaha, where a hand is made of exactly two hole cards
+ * and three board cards. The board holds 0 to 5 known cards, and dead cards
+ * are removed from the deck without belonging to anyone.
+ *
+ * calculateHiLo() plays the eight-or-better hi-lo version of either game,
+ * where the pot is split between the best high and the best low.
+ */
+public class EquityCalculator {
+
+    public static final long DEFAULT_TRIALS = 1_000_000;
+
+    /**
+     * Large enough to enumerate two known hands preflop (1,712,304 boards).
+     */
+    public static final long DEFAULT_ENUMERATION_THRESHOLD = 2_000_000;
+
+    /**
+     * Smallest number of trials worth handing to a worker of its own.
+     */
+    private static final long MIN_LEAF_SIZE = 1 << 12;
+
+    private final ForkJoinPool pool;
+    private final long trials;
+    private final long enumerationThreshold;
+    private final RandomStreams random;
+
+    public EquityCalculator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TRIALS);
+    }
+
+    public EquityCalculator(long trials) {
+        this(ForkJoinPool.commonPool(), trials);
+    }
+
+    public EquityCalculator(ForkJoinPool pool, long trials) {
+        this(pool, trials, DEFAULT_ENUMERATION_THRESHOLD);
+    }
+
+    /**
+     * A threshold of 0 always runs Monte Carlo, Long.MAX_VALUE always enumerates.
+     */
+    public EquityCalculator(ForkJoinPool pool, long trials, long enumerationThreshold) {
+        this(pool, trials, enumerationThreshold, null);
+    }
+
+    /**
+     * With random streams from a fixed seed every Monte Carlo run gives the
+     * same result, whatever the size of the pool. With null each run draws
+     * a new seed.
+     */
+    public EquityCalculator(ForkJoinPool pool, long trials, long enumerationThreshold, RandomStreams random) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("The number of trials must be positive.");
+        }
+        if (enumerationThreshold < 0) {
+            throw new IllegalArgumentException("The enumeration threshold can't be negative.");
+        }
+        this.pool = pool;
+        this.trials = trials;
+        this.enumerationThreshold = enumerationThreshold;
+        this.random = random;
+    }
+
+    public long getTrials() {
+        return trials;
+    }
+
+    public long getEnumerationThreshold() {
+        return enumerationThreshold;
+    }
+
+    /**
+     * Packed card version. An empty or null entry in holeCards is a random
+     * player. Known hands of 4 to 6 cards make it an Omaha question.
+     */
+    public EquityResult calculate(int[][] holeCards, int[] board, int[] deadCards) {
+        return calculate(new EquityProblem(holeCards, board, deadCards));
+    }
+
+    /**
+     * Like calculate(int[][], int[], int[]) with the number of hole cards
+     * each player holds given explicitly, for Omaha questions where every
+     * player is dealt at random.
+     */
+    public EquityResult calculate(int[][] holeCards, int[] board, int[] deadCards, int holeCardsPerPlayer) {
+        return calculate(new EquityProblem(holeCards, board, deadCards, holeCardsPerPlayer));
+    }
+
+    /**
+     * Hi-lo equity for players holding holeCardsPerPlayer cards each: 2
+     * for hold'em hi-lo, 4 to 6 for Omaha Hi-Lo. The result has each
+     * player's scoop odds and the high and low shares of their equity.
+     */
+    public EquityResult calculateHiLo(int[][] holeCards, int[] board, int[] deadCards, int holeCardsPerPlayer) {
+        return calculate(new EquityProblem(holeCards, board, deadCards, holeCardsPerPlayer, true));
+    }
+
+    private EquityResult calculate(EquityProblem problem) {
+        if (EnumerationTask.count(problem) <= enumerationThreshold) {
+            long start = System.nanoTime();
+            Tally tally = pool.invoke(new EnumerationTask(problem));
+            return new EquityResult(tally, System.nanoTime() - start, true, problem.hiLo);
+        }
+        long leafSize = Math.max(MIN_LEAF_SIZE, trials / (8L * pool.getParallelism()));
+        RandomStreams streams = random == null ? new RandomStreams() : random;
+        long start = System.nanoTime();
+        Tally tally = pool.invoke(new MonteCarloTask(problem, 0, trials, leafSize, streams));
+        return new EquityResult(tally, System.nanoTime() - start, false, problem.hiLo);
+    }
+
+    /**
+     * An empty or null entry in holeCards is a random player.
+     */
+    public EquityResult calculate(List<List<Card>> holeCards, List<Card> board, List<Card> deadCards) {
+        int[][] packedHoleCards = new int[holeCards.size()][];
+        for (int p = 0; p < packedHoleCards.length; p++) {
+            List<Card> cards = holeCards.get(p);
+            packedHoleCards[p] = cards == null ? null : PackedCard.fromCards(cards);
+        }
+        return calculate(packedHoleCards, PackedCard.fromCards(board),
+                deadCards == null ? null : PackedCard.fromCards(deadCards));
+    }
+}
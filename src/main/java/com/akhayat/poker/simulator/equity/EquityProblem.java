@@ -0,0 +1,207 @@
+package com.akhayat.poker.simulator.equity;
+
+import java.util.Arrays;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.evaluator.HiLoEvaluator;
+import com.akhayat.poker.simulator.evaluator.OmahaEvaluator;
+import com.akhayat.poker.simulator.evaluator.SevenCardEvaluator;
+
+/**
+ * The fixed part of an equity question: the known hole cards (null for a
+ * player dealt at random), the known board cards and the cards left to deal
+ * from. Shared read-only by every worker.
+ *
+ * Players hold two hole cards in hold'em, or 4 to 6 in Omaha, where the
+ * hand has to use exactly two of them. In a hi-lo game every hand also gets
+ * an eight-or-better low and the pot is split between the best high and the
+ * best low.
+ */
+class EquityProblem {
+
+    static final int BOARD_SIZE = 5;
+    static final int HOLDEM_HOLE_CARDS = 2;
+
+    final int[][] holeCards;
+    final int[] board;
+    final int[] remaining;
+    /**
+     * The known hole cards, board and dead cards, to take out of a Deck.
+     */
+    final int[] known;
+    final int players;
+    final int randomPlayers;
+    final int cardsToDeal;
+    final int holeSize;
+    final boolean hiLo;
+
+    /**
+     * Takes the number of hole cards from the first known hand, or plays
+     * hold'em if every player is dealt at random.
+     */
+    EquityProblem(int[][] holeCards, int[] board, int[] deadCards) {
+        this(holeCards, board, deadCards, knownHoleSize(holeCards));
+    }
+
+    EquityProblem(int[][] holeCards, int[] board, int[] deadCards, int holeSize) {
+        this(holeCards, board, deadCards, holeSize, false);
+    }
+
+    EquityProblem(int[][] holeCards, int[] board, int[] deadCards, int holeSize, boolean hiLo) {
+        if (holeCards == null || holeCards.length < 2) {
+            throw new IllegalArgumentException("Equity needs at least two players.");
+        }
+        if (holeSize != HOLDEM_HOLE_CARDS
+                && (holeSize < OmahaEvaluator.MIN_HOLE_CARDS || holeSize > OmahaEvaluator.MAX_HOLE_CARDS)) {
+            throw new IllegalArgumentException("Players hold " + HOLDEM_HOLE_CARDS + " or "
+                    + OmahaEvaluator.MIN_HOLE_CARDS + " to " + OmahaEvaluator.MAX_HOLE_CARDS
+                    + " hole cards, not " + holeSize);
+        }
+        if (board == null || board.length > BOARD_SIZE) {
+            throw new IllegalArgumentException("The board must have 0 to " + BOARD_SIZE + " cards.");
+        }
+        this.holeCards = new int[holeCards.length][];
+        this.board = board.clone();
+        this.players = holeCards.length;
+        boolean[] used = new boolean[PackedCard.NUM_CARDS];
+        int random = 0;
+        for (int p = 0; p < players; p++) {
+            if (holeCards[p] == null || holeCards[p].length == 0) {
+                random++;
+            } else if (holeCards[p].length != holeSize) {
+                throw new IllegalArgumentException("Player " + p + " must have " + holeSize + " hole cards or none.");
+            } else {
+                this.holeCards[p] = holeCards[p].clone();
+                markUsed(used, holeCards[p]);
+            }
+        }
+        markUsed(used, board);
+        markUsed(used, deadCards == null ? new int[0] : deadCards);
+        this.randomPlayers = random;
+        this.holeSize = holeSize;
+        this.hiLo = hiLo;
+        this.cardsToDeal = holeSize * random + BOARD_SIZE - board.length;
+
+        int left = 0;
+        int[] cards = new int[PackedCard.NUM_CARDS];
+        int[] known = new int[PackedCard.NUM_CARDS];
+        for (int i = 0; i < PackedCard.NUM_CARDS; i++) {
+            if (!used[i]) {
+                cards[left++] = PackedCard.fromIndex(i);
+            } else {
+                known[i - left] = PackedCard.fromIndex(i);
+            }
+        }
+        if (left < cardsToDeal) {
+            throw new IllegalArgumentException("Not enough cards left to deal " + cardsToDeal + " cards.");
+        }
+        this.remaining = Arrays.copyOf(cards, left);
+        this.known = Arrays.copyOf(known, PackedCard.NUM_CARDS - left);
+    }
+
+    private static int knownHoleSize(int[][] holeCards) {
+        if (holeCards != null) {
+            for (int[] cards : holeCards) {
+                if (cards != null && cards.length > 0) {
+                    return cards.length;
+                }
+            }
+        }
+        return HOLDEM_HOLE_CARDS;
+    }
+
+    private static void markUsed(boolean[] used, int[] cards) {
+        for (int card : cards) {
+            int index = PackedCard.index(card);
+            if (used[index]) {
+                throw new IllegalArgumentException(PackedCard.toString(card) + " appears more than once.");
+            }
+            used[index] = true;
+        }
+    }
+
+    /**
+     * Returns the size of the ranks scratch array showdown() needs: one slot
+     * per player, and another one for the low in a hi-lo game.
+     */
+    int rankSlots() {
+        return hiLo ? 2 * players : players;
+    }
+
+    /**
+     * Settles one deal. The cards dealt this trial are in dealt, random
+     * players' hole cards first and then the missing board cards; boardCards
+     * and ranks are scratch space, with room for the board and a pair of
+     * hole cards (BOARD_SIZE + HOLDEM_HOLE_CARDS) and rankSlots().
+     */
+    void showdown(int[] dealt, int[] boardCards, int[] ranks, Tally tally) {
+        int b = holeSize * randomPlayers;
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            boardCards[i] = board(i, dealt, b);
+        }
+        if (hiLo) {
+            hiLoShowdown(dealt, boardCards, ranks, tally);
+            return;
+        }
+        if (holeSize == HOLDEM_HOLE_CARDS) {
+            int next = 0;
+            for (int p = 0; p < players; p++) {
+                int h0;
+                int h1;
+                if (holeCards[p] == null) {
+                    h0 = dealt[next++];
+                    h1 = dealt[next++];
+                } else {
+                    h0 = holeCards[p][0];
+                    h1 = holeCards[p][1];
+                }
+                ranks[p] = SevenCardEvaluator.evaluate(h0, h1, boardCards[0], boardCards[1], boardCards[2],
+                        boardCards[3], boardCards[4]);
+            }
+        } else {
+            long preparedBoard = OmahaEvaluator.board(boardCards, 0, BOARD_SIZE);
+            int next = 0;
+            for (int p = 0; p < players; p++) {
+                if (holeCards[p] == null) {
+                    ranks[p] = OmahaEvaluator.evaluate(dealt, next, holeSize, preparedBoard);
+                    next += holeSize;
+                } else {
+                    ranks[p] = OmahaEvaluator.evaluate(holeCards[p], 0, holeSize, preparedBoard);
+                }
+            }
+        }
+        tally.record(ranks);
+    }
+
+    /**
+     * Puts every player's high rank in ranks[p] and low in ranks[players + p].
+     */
+    private void hiLoShowdown(int[] dealt, int[] boardCards, int[] ranks, Tally tally) {
+        long preparedBoard = holeSize == HOLDEM_HOLE_CARDS ? 0 : OmahaEvaluator.board(boardCards, 0, BOARD_SIZE);
+        int next = 0;
+        for (int p = 0; p < players; p++) {
+            int[] cards = holeCards[p];
+            int offset = 0;
+            if (cards == null) {
+                cards = dealt;
+                offset = next;
+                next += holeSize;
+            }
+            int evaluation;
+            if (holeSize == HOLDEM_HOLE_CARDS) {
+                boardCards[BOARD_SIZE] = cards[offset];
+                boardCards[BOARD_SIZE + 1] = cards[offset + 1];
+                evaluation = HiLoEvaluator.evaluate(boardCards, 0, BOARD_SIZE + HOLDEM_HOLE_CARDS);
+            } else {
+                evaluation = HiLoEvaluator.evaluateOmaha(cards, offset, holeSize, preparedBoard);
+            }
+            ranks[p] = HiLoEvaluator.high(evaluation);
+            ranks[players + p] = HiLoEvaluator.low(evaluation);
+        }
+        tally.recordHiLo(ranks);
+    }
+
+    private int board(int i, int[] dealt, int firstBoardCard) {
+        return i < board.length ? board[i] : dealt[firstBoardCard + i - board.length];
+    }
+}
@@ -0,0 +1,140 @@
+package com.akhayat.poker.simulator.equity;
+
+/**
+ * Win/tie/loss odds for each player, in the order the players were given.
+ * Equity counts a tie as the player's share of the pot, so the equities of
+ * all the players add up to 1.
+ *
+ * In a hi-lo game a win is a scoop (the whole pot, see getScoop()) and a
+ * tie is any share of a split pot, and the equity splits into the share
+ * won with the high hand and the share won with the low.
+ */
+public class EquityResult {
+
+    private final long trials;
+    private final long elapsedNanos;
+    private final boolean exact;
+    private final double[] win;
+    private final double[] tie;
+    private final double[] equity;
+    private final double[] lowShare;
+    private final boolean hiLo;
+
+    EquityResult(Tally tally, long elapsedNanos, boolean exact) {
+        this(tally, elapsedNanos, exact, false);
+    }
+
+    EquityResult(Tally tally, long elapsedNanos, boolean exact, boolean hiLo) {
+        this(tally.trials, new double[tally.wins.length], new double[tally.wins.length],
+                new double[tally.wins.length], new double[tally.wins.length], elapsedNanos, exact, hiLo);
+        for (int p = 0; p < win.length; p++) {
+            win[p] = (double) tally.wins[p] / trials;
+            tie[p] = (double) tally.ties[p] / trials;
+            equity[p] = (tally.wins[p] + tally.tieShares[p]) / trials;
+            lowShare[p] = tally.lowShares[p] / trials;
+        }
+    }
+
+    EquityResult(long trials, double[] win, double[] tie, double[] equity, long elapsedNanos, boolean exact) {
+        this(trials, win, tie, equity, new double[win.length], elapsedNanos, exact, false);
+    }
+
+    private EquityResult(long trials, double[] win, double[] tie, double[] equity, double[] lowShare,
+            long elapsedNanos, boolean exact, boolean hiLo) {
+        this.trials = trials;
+        this.elapsedNanos = elapsedNanos;
+        this.exact = exact;
+        this.win = win;
+        this.tie = tie;
+        this.equity = equity;
+        this.lowShare = lowShare;
+        this.hiLo = hiLo;
+    }
+
+    public int getPlayers() {
+        return win.length;
+    }
+
+    public long getTrials() {
+        return trials;
+    }
+
+    public double getWin(int player) {
+        return win[player];
+    }
+
+    public double getTie(int player) {
+        return tie[player];
+    }
+
+    public double getLoss(int player) {
+        return 1.0 - win[player] - tie[player];
+    }
+
+    public double getEquity(int player) {
+        return equity[player];
+    }
+
+    /**
+     * Returns how often the player won the whole pot, high and low (or high
+     * when nobody had a low) without sharing it. The same as getWin().
+     */
+    public double getScoop(int player) {
+        return win[player];
+    }
+
+    /**
+     * Returns the part of the equity won with the high hand.
+     */
+    public double getHighShare(int player) {
+        return equity[player] - lowShare[player];
+    }
+
+    /**
+     * Returns the part of the equity won with the low hand, always 0 in a
+     * high only game.
+     */
+    public double getLowShare(int player) {
+        return lowShare[player];
+    }
+
+    public boolean isHiLo() {
+        return hiLo;
+    }
+
+    /**
+     * Returns true if every possible deal was played out once, in which case
+     * the trial count is the number of possible deals and the odds are exact.
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns how many deals were settled per second.
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : trials * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int p = 0; p < win.length; p++) {
+            if (hiLo) {
+                builder.append(String.format("player %d: equity %.4f (high %.4f, low %.4f, scoop %.4f, split %.4f)%n",
+                        p, getEquity(p), getHighShare(p), getLowShare(p), getScoop(p), getTie(p)));
+            } else {
+                builder.append(String.format("player %d: equity %.4f (win %.4f, tie %.4f, loss %.4f)%n",
+                        p, getEquity(p), getWin(p), getTie(p), getLoss(p)));
+            }
+        }
+        builder.append(String.format("%,d %s at %,.0f trials/s", trials, exact ? "deals (exact)" : "trials",
+                getThroughput()));
+        return builder.toString();
+    }
+}
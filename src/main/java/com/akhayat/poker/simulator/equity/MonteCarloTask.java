@@ -0,0 +1,64 @@
+package com.akhayat.poker.simulator.equity;
+
+import java.util.concurrent.RecursiveTask;
+
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+/**
+ * Runs trials from..to, splitting itself in half until the pieces are small
+ * enough. Every piece deals from its own Deck, with the known cards taken
+ * out, into its own Tally, so workers never share anything but the problem.
+ *
+ * Trials are grouped in blocks of TRIALS_PER_STREAM and block n always
+ * draws from stream n of the RandomStreams, starting from the same deck
+ * order. Pieces are only ever cut at block boundaries, so the same seed
+ * gives the same result however many workers there are.
+ */
+class MonteCarloTask extends RecursiveTask<Tally> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int TRIALS_PER_STREAM = 1 << 10;
+
+    private final EquityProblem problem;
+    private final long from;
+    private final long to;
+    private final long leafSize;
+    private final RandomStreams streams;
+
+    MonteCarloTask(EquityProblem problem, long from, long to, long leafSize, RandomStreams streams) {
+        this.problem = problem;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+        this.streams = streams;
+    }
+
+    @Override
+    protected Tally compute() {
+        if (to - from > leafSize) {
+            long middle = from + (to - from) / 2 / TRIALS_PER_STREAM * TRIALS_PER_STREAM;
+            MonteCarloTask left = new MonteCarloTask(problem, from, middle, leafSize, streams);
+            left.fork();
+            Tally right = new MonteCarloTask(problem, middle, to, leafSize, streams).compute();
+            return right.add(left.join());
+        }
+        int[] dealt = new int[problem.cardsToDeal];
+        int[] boardCards = new int[EquityProblem.BOARD_SIZE + EquityProblem.HOLDEM_HOLE_CARDS];
+        int[] ranks = new int[problem.rankSlots()];
+        Tally tally = new Tally(problem.players);
+        Deck deck = null;
+        for (long trial = from; trial < to; trial++) {
+            if (deck == null || trial % TRIALS_PER_STREAM == 0) {
+                // a fresh deck, so every block starts from the same order
+                deck = new Deck(streams.forTrial(trial / TRIALS_PER_STREAM));
+                deck.removeCards(problem.known);
+            }
+            deck.resetTopCard();
+            deck.dealRandomCards(dealt, 0, dealt.length);
+            problem.showdown(dealt, boardCards, ranks, tally);
+        }
+        return tally;
+    }
+}
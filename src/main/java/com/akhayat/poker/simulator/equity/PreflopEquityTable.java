@@ -0,0 +1,146 @@
+package com.akhayat.poker.simulator.equity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Heads-up all-in equity before the flop for every pair of starting hand
+ * classes, averaged over all the pairs of hands in the two classes and all
+ * the boards. A specific matchup can be off by a point or so from its class
+ * average depending on the suits (AsAh against KcKd is 81.3%, AA against KK
+ * is 81.9%); use EquityCalculator when that matters.
+ *
+ * The table is built by PreflopTableGenerator and ships in the jar. Win and
+ * tie odds are stored as 16-bit fractions, so a lookup is two array reads.
+ */
+public class PreflopEquityTable {
+
+    static final int MAGIC = 0x50455154;
+    static final int VERSION = 1;
+    static final String RESOURCE = "preflop-equity.dat";
+
+    private static final double SCALE = 0xFFFF;
+    private static final int CLASSES = StartingHand.NUM_CLASSES;
+
+    private static volatile PreflopEquityTable defaultTable;
+
+    private final char[] win;
+    private final char[] tie;
+
+    PreflopEquityTable(double[] win, double[] tie) {
+        this.win = new char[CLASSES * CLASSES];
+        this.tie = new char[CLASSES * CLASSES];
+        for (int i = 0; i < this.win.length; i++) {
+            this.win[i] = (char) Math.round(win[i] * SCALE);
+            this.tie[i] = (char) Math.round(tie[i] * SCALE);
+        }
+    }
+
+    private PreflopEquityTable(char[] win, char[] tie) {
+        this.win = win;
+        this.tie = tie;
+    }
+
+    /**
+     * Returns the table shipped in the jar, loading it on first use.
+     */
+    public static PreflopEquityTable getDefault() {
+        PreflopEquityTable table = defaultTable;
+        if (table == null) {
+            synchronized (PreflopEquityTable.class) {
+                table = defaultTable;
+                if (table == null) {
+                    try (InputStream in = PreflopEquityTable.class.getResourceAsStream(RESOURCE)) {
+                        if (in == null) {
+                            throw new IOException(RESOURCE + " is missing from the classpath");
+                        }
+                        table = read(in);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Couldn't load the preflop equity table", e);
+                    }
+                    defaultTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    public static PreflopEquityTable read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a preflop equity table");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported preflop equity table version " + version);
+        }
+        int classes = in.readInt();
+        if (classes != CLASSES) {
+            throw new IOException("Expected " + CLASSES + " starting hands, not " + classes);
+        }
+        char[] win = new char[CLASSES * CLASSES];
+        char[] tie = new char[CLASSES * CLASSES];
+        for (int i = 0; i < win.length; i++) {
+            win[i] = in.readChar();
+            tie[i] = in.readChar();
+        }
+        return new PreflopEquityTable(win, tie);
+    }
+
+    public void write(Path file) throws IOException {
+        try (OutputStream fileStream = Files.newOutputStream(file);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileStream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(CLASSES);
+            for (int i = 0; i < win.length; i++) {
+                out.writeChar(win[i]);
+                out.writeChar(tie[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns how often hand class a wins outright against hand class b.
+     */
+    public double getWin(int a, int b) {
+        return win[a * CLASSES + b] / SCALE;
+    }
+
+    public double getTie(int a, int b) {
+        return tie[a * CLASSES + b] / SCALE;
+    }
+
+    public double getLoss(int a, int b) {
+        return win[b * CLASSES + a] / SCALE;
+    }
+
+    /**
+     * Returns the share of the pot hand class a gets on average against hand
+     * class b, counting a tie as half.
+     */
+    public double getEquity(int a, int b) {
+        int i = a * CLASSES + b;
+        return (win[i] + tie[i] * 0.5) / SCALE;
+    }
+
+    /**
+     * Returns the equity of the class of the first two packed cards against
+     * the class of the last two.
+     */
+    public double getEquity(int card1, int card2, int opponent1, int opponent2) {
+        return getEquity(StartingHand.of(card1, card2), StartingHand.of(opponent1, opponent2));
+    }
+
+    public double getEquity(String a, String b) {
+        return getEquity(StartingHand.fromString(a), StartingHand.fromString(b));
+    }
+}
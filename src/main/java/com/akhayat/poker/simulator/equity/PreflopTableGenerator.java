@@ -0,0 +1,339 @@
+package com.akhayat.poker.simulator.equity;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.evaluator.SevenCardEvaluator;
+
+/**
+ * Computes the exact heads-up all-in equity of every starting hand class
+ * against every other one and writes the table read by PreflopEquityTable.
+ * The table ships in the jar, so this only needs to run again if the file
+ * format changes:
+ *
+ * <pre>
+ * java -cp poker-simulator.jar com.akhayat.poker.simulator.equity.PreflopTableGenerator src/main/resources/com/akhayat/poker/simulator/equity/preflop-equity.dat
+ * </pre>
+ *
+ * Rather than enumerating boards for each of the 1326 x 1225 pairs of hands,
+ * it walks the boards once. Suits don't change which class a hand is in, so
+ * only one board out of every set of suit permutations is played out, with
+ * a weight of how many boards it stands for. On each board every live hand
+ * is ranked, the hands are sorted by rank and a single sweep counts, for
+ * each hand and each class, how many hands of that class it beats or ties
+ * with, leaving out the ones that share a card with it.
+ */
+public class PreflopTableGenerator {
+
+    static final int NUM_HANDS = PackedCard.NUM_CARDS * (PackedCard.NUM_CARDS - 1) / 2;
+
+    /**
+     * Number of boards for any one pair of hands: C(48, 5).
+     */
+    static final long BOARDS_PER_MATCHUP = 1_712_304;
+
+    private static final int BOARD_SIZE = EquityProblem.BOARD_SIZE;
+    private static final int BOARDS_PER_TASK = 64;
+    private static final int[][] SUIT_PERMUTATIONS = suitPermutations();
+    private static final long[] SUIT_MASKS = new long[PackedCard.NUM_SUITS];
+
+    static {
+        for (int card = 0; card < PackedCard.NUM_CARDS; card++) {
+            SUIT_MASKS[card % PackedCard.NUM_SUITS] |= 1L << card;
+        }
+    }
+
+    private final int[] handCard1 = new int[NUM_HANDS];
+    private final int[] handCard2 = new int[NUM_HANDS];
+    private final int[] handClass = new int[NUM_HANDS];
+    private long[] boards;
+    private int[] boardWeights;
+
+    public PreflopTableGenerator() {
+        int hand = 0;
+        for (int card1 = 0; card1 < PackedCard.NUM_CARDS; card1++) {
+            for (int card2 = card1 + 1; card2 < PackedCard.NUM_CARDS; card2++) {
+                handCard1[hand] = card1;
+                handCard2[hand] = card2;
+                handClass[hand] = StartingHand.of(PackedCard.fromIndex(card1), PackedCard.fromIndex(card2));
+                hand++;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : "preflop-equity.dat");
+        long start = System.nanoTime();
+        PreflopEquityTable table = new PreflopTableGenerator().generate();
+        table.write(file);
+        System.out.printf("Wrote %s in %.1f s%n", file.toAbsolutePath(), (System.nanoTime() - start) / 1e9);
+    }
+
+    public PreflopEquityTable generate() {
+        return generate(ForkJoinPool.commonPool());
+    }
+
+    public PreflopEquityTable generate(ForkJoinPool pool) {
+        findCanonicalBoards();
+        Counts counts = pool.invoke(new BoardTask(0, boards.length));
+        long[] matchups = matchups();
+        double[] win = new double[StartingHand.NUM_CLASSES * StartingHand.NUM_CLASSES];
+        double[] tie = new double[win.length];
+        for (int i = 0; i < win.length; i++) {
+            double total = (double) matchups[i] * BOARDS_PER_MATCHUP;
+            win[i] = counts.wins[i] / total;
+            tie[i] = counts.ties[i] / total;
+        }
+        return new PreflopEquityTable(win, tie);
+    }
+
+    /**
+     * Returns, for each pair of classes, how many pairs of hands without a
+     * card in common there are.
+     */
+    private long[] matchups() {
+        long[] matchups = new long[StartingHand.NUM_CLASSES * StartingHand.NUM_CLASSES];
+        for (int h1 = 0; h1 < NUM_HANDS; h1++) {
+            for (int h2 = 0; h2 < NUM_HANDS; h2++) {
+                long cards1 = (1L << handCard1[h1]) | (1L << handCard2[h1]);
+                long cards2 = (1L << handCard1[h2]) | (1L << handCard2[h2]);
+                if ((cards1 & cards2) == 0) {
+                    matchups[handClass[h1] * StartingHand.NUM_CLASSES + handClass[h2]]++;
+                }
+            }
+        }
+        return matchups;
+    }
+
+    /**
+     * Keeps the boards that are the smallest of their suit permutations,
+     * weighted by how many distinct boards the permutations give.
+     */
+    private void findCanonicalBoards() {
+        long[] found = new long[1 << 18];
+        int[] weights = new int[found.length];
+        int count = 0;
+        long[] images = new long[SUIT_PERMUTATIONS.length];
+        int[] cards = new int[BOARD_SIZE];
+        for (cards[0] = 0; cards[0] < PackedCard.NUM_CARDS; cards[0]++) {
+            for (cards[1] = cards[0] + 1; cards[1] < PackedCard.NUM_CARDS; cards[1]++) {
+                for (cards[2] = cards[1] + 1; cards[2] < PackedCard.NUM_CARDS; cards[2]++) {
+                    for (cards[3] = cards[2] + 1; cards[3] < PackedCard.NUM_CARDS; cards[3]++) {
+                        for (cards[4] = cards[3] + 1; cards[4] < PackedCard.NUM_CARDS; cards[4]++) {
+                            long board = 0;
+                            for (int card : cards) {
+                                board |= 1L << card;
+                            }
+                            boolean canonical = true;
+                            for (int p = 0; p < SUIT_PERMUTATIONS.length && canonical; p++) {
+                                images[p] = permute(board, SUIT_PERMUTATIONS[p]);
+                                canonical = images[p] >= board;
+                            }
+                            if (canonical) {
+                                if (count == found.length) {
+                                    found = Arrays.copyOf(found, count * 2);
+                                    weights = Arrays.copyOf(weights, count * 2);
+                                }
+                                Arrays.sort(images);
+                                int distinct = 1;
+                                for (int i = 1; i < images.length; i++) {
+                                    if (images[i] != images[i - 1]) {
+                                        distinct++;
+                                    }
+                                }
+                                found[count] = board;
+                                weights[count++] = distinct;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        boards = Arrays.copyOf(found, count);
+        boardWeights = Arrays.copyOf(weights, count);
+    }
+
+    /**
+     * Card index is rank * 4 + suit, so moving every card of suit s to suit
+     * permutation[s] is one shift per suit.
+     */
+    private static long permute(long cards, int[] permutation) {
+        long result = 0;
+        for (int suit = 0; suit < PackedCard.NUM_SUITS; suit++) {
+            int shift = permutation[suit] - suit;
+            long suited = cards & SUIT_MASKS[suit];
+            result |= shift >= 0 ? suited << shift : suited >>> -shift;
+        }
+        return result;
+    }
+
+    private static int[][] suitPermutations() {
+        int[][] permutations = new int[24][];
+        int count = 0;
+        for (int a = 0; a < 4; a++) {
+            for (int b = 0; b < 4; b++) {
+                for (int c = 0; c < 4; c++) {
+                    int d = 6 - a - b - c;
+                    if (a != b && a != c && b != c && d != a && d != b && d != c) {
+                        permutations[count++] = new int[] { a, b, c, d };
+                    }
+                }
+            }
+        }
+        return permutations;
+    }
+
+    /**
+     * Wins and ties of class a against class b, summed over every pair of
+     * hands and every board, at index a * 169 + b.
+     */
+    private static class Counts {
+        final long[] wins = new long[StartingHand.NUM_CLASSES * StartingHand.NUM_CLASSES];
+        final long[] ties = new long[wins.length];
+
+        Counts add(Counts other) {
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+                ties[i] += other.ties[i];
+            }
+            return this;
+        }
+    }
+
+    private class BoardTask extends RecursiveTask<Counts> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        BoardTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (to - from > BOARDS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                BoardTask left = new BoardTask(from, middle);
+                left.fork();
+                Counts right = new BoardTask(middle, to).compute();
+                return right.add(left.join());
+            }
+            Counts counts = new Counts();
+            Sweep sweep = new Sweep();
+            for (int b = from; b < to; b++) {
+                sweep.run(boards[b]);
+                sweep.addTo(counts, boardWeights[b]);
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Scratch space for one board at a time.
+     */
+    private class Sweep {
+        private static final int CLASSES = StartingHand.NUM_CLASSES;
+
+        private final long[] sorted = new long[NUM_HANDS];
+        private final int[] boardCards = new int[BOARD_SIZE];
+        // hands ranked below the current group, all of them and by card
+        private final int[] lower = new int[CLASSES];
+        private final int[] lowerWithCard = new int[PackedCard.NUM_CARDS * CLASSES];
+        // hands in the current group
+        private final int[] equal = new int[CLASSES];
+        private final int[] equalWithCard = new int[PackedCard.NUM_CARDS * CLASSES];
+        private final int[] wins = new int[CLASSES * CLASSES];
+        private final int[] ties = new int[CLASSES * CLASSES];
+
+        void run(long board) {
+            int n = 0;
+            for (int card = 0; card < PackedCard.NUM_CARDS; card++) {
+                if ((board & (1L << card)) != 0) {
+                    boardCards[n++] = PackedCard.fromIndex(card);
+                }
+            }
+            int live = 0;
+            for (int hand = 0; hand < NUM_HANDS; hand++) {
+                if ((board & ((1L << handCard1[hand]) | (1L << handCard2[hand]))) == 0) {
+                    long rank = SevenCardEvaluator.evaluate(PackedCard.fromIndex(handCard1[hand]),
+                            PackedCard.fromIndex(handCard2[hand]), boardCards[0], boardCards[1], boardCards[2],
+                            boardCards[3], boardCards[4]);
+                    sorted[live++] = (rank << 16) | hand;
+                }
+            }
+            Arrays.sort(sorted, 0, live);
+            Arrays.fill(lower, 0);
+            Arrays.fill(lowerWithCard, 0);
+            Arrays.fill(wins, 0);
+            Arrays.fill(ties, 0);
+
+            for (int start = 0, end; start < live; start = end) {
+                long rank = sorted[start] >>> 16;
+                end = start + 1;
+                while (end < live && sorted[end] >>> 16 == rank) {
+                    end++;
+                }
+                for (int i = start; i < end; i++) {
+                    int hand = (int) (sorted[i] & 0xFFFF);
+                    addNonConflicting(wins, handClass[hand] * CLASSES, lower, lowerWithCard, hand);
+                }
+                if (end - start > 1) {
+                    for (int i = start; i < end; i++) {
+                        add(equal, equalWithCard, (int) (sorted[i] & 0xFFFF), 1);
+                    }
+                    for (int i = start; i < end; i++) {
+                        int hand = (int) (sorted[i] & 0xFFFF);
+                        int row = handClass[hand] * CLASSES;
+                        addNonConflicting(ties, row, equal, equalWithCard, hand);
+                        // the hand itself was counted once and taken away twice, once per card
+                        ties[row + handClass[hand]]++;
+                    }
+                    for (int i = start; i < end; i++) {
+                        add(equal, equalWithCard, (int) (sorted[i] & 0xFFFF), -1);
+                    }
+                }
+                for (int i = start; i < end; i++) {
+                    add(lower, lowerWithCard, (int) (sorted[i] & 0xFFFF), 1);
+                }
+            }
+        }
+
+        /**
+         * Adds, for every class, the hands in counts that have no card in
+         * common with the given hand to row of target.
+         */
+        private void addNonConflicting(int[] target, int row, int[] counts, int[] withCard, int hand) {
+            int with1 = handCard1[hand] * CLASSES;
+            int with2 = handCard2[hand] * CLASSES;
+            for (int c = 0; c < CLASSES; c++) {
+                target[row + c] += counts[c] - withCard[with1 + c] - withCard[with2 + c];
+            }
+        }
+
+        private void add(int[] counts, int[] withCard, int hand, int delta) {
+            int c = handClass[hand];
+            counts[c] += delta;
+            withCard[handCard1[hand] * CLASSES + c] += delta;
+            withCard[handCard2[hand] * CLASSES + c] += delta;
+        }
+
+        void addTo(Counts counts, int weight) {
+            for (int i = 0; i < wins.length; i++) {
+                counts.wins[i] += (long) weight * wins[i];
+                counts.ties[i] += (long) weight * ties[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.akhayat.poker.simulator.equity;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * A set of hole card combos, each with a weight between 0 and 1. There are
+ * 1326 combos; combo c of cards with indexes a < b is b * (b - 1) / 2 + a.
+ *
+ * Ranges are usually built from the standard notation, a comma separated
+ * list of:
+ *
+ * <pre>
+ * AA, AKs, AKo, AK      a class, AK meaning both AKs and AKo
+ * QQ+, ATs+, KTo+, KT+  a pair and every higher pair, or a hand and every higher kicker
+ * QQ-88, A5s-A2s        every pair or kicker between the two
+ * AsKs                  a single combo
+ * 20%, top 20%          the best 20% of all combos, best being the most equity against a random hand
+ * </pre>
+ *
+ * Any of these can end with :weight (e.g. AKo:0.5) to take only part of
+ * those combos. A later entry overrides the weight of an earlier one.
+ */
+public class Range {
+
+    public static final int NUM_COMBOS = PackedCard.NUM_CARDS * (PackedCard.NUM_CARDS - 1) / 2;
+
+    private static final int[] CARD1 = new int[NUM_COMBOS];
+    private static final int[] CARD2 = new int[NUM_COMBOS];
+    private static final int[][] CLASS_COMBOS = new int[StartingHand.NUM_CLASSES][];
+
+    static {
+        int[] counts = new int[StartingHand.NUM_CLASSES];
+        for (int c = 0; c < StartingHand.NUM_CLASSES; c++) {
+            CLASS_COMBOS[c] = new int[StartingHand.combos(c)];
+        }
+        for (int b = 1; b < PackedCard.NUM_CARDS; b++) {
+            for (int a = 0; a < b; a++) {
+                int combo = b * (b - 1) / 2 + a;
+                CARD1[combo] = PackedCard.fromIndex(a);
+                CARD2[combo] = PackedCard.fromIndex(b);
+                int handClass = StartingHand.of(CARD1[combo], CARD2[combo]);
+                CLASS_COMBOS[handClass][counts[handClass]++] = combo;
+            }
+        }
+    }
+
+    private final BitSet combos = new BitSet(NUM_COMBOS);
+    private final double[] weights = new double[NUM_COMBOS];
+
+    public Range() {
+    }
+
+    public static Range parse(String notation) {
+        Range range = new Range();
+        for (String token : notation.split(",")) {
+            token = token.trim();
+            if (!token.isEmpty()) {
+                range.addToken(token);
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Returns the combo of two different packed cards, in either order.
+     */
+    public static int combo(int card1, int card2) {
+        int a = PackedCard.index(card1);
+        int b = PackedCard.index(card2);
+        if (a == b) {
+            throw new IllegalArgumentException("A combo needs two different cards.");
+        }
+        return a < b ? b * (b - 1) / 2 + a : a * (a - 1) / 2 + b;
+    }
+
+    /**
+     * Returns the packed card with the lower index of the combo.
+     */
+    public static int card1(int combo) {
+        return CARD1[combo];
+    }
+
+    public static int card2(int combo) {
+        return CARD2[combo];
+    }
+
+    public void add(int combo, double weight) {
+        if (!(weight >= 0 && weight <= 1)) {
+            throw new IllegalArgumentException("Weights must be between 0 and 1, not " + weight);
+        }
+        combos.set(combo, weight > 0);
+        weights[combo] = weight;
+    }
+
+    public void addClass(int handClass, double weight) {
+        for (int combo : CLASS_COMBOS[handClass]) {
+            add(combo, weight);
+        }
+    }
+
+    public boolean contains(int combo) {
+        return combos.get(combo);
+    }
+
+    public double getWeight(int combo) {
+        return weights[combo];
+    }
+
+    /**
+     * Returns the number of combos in the range, whatever their weight.
+     */
+    public int size() {
+        return combos.cardinality();
+    }
+
+    /**
+     * Returns the combos in the range in increasing order.
+     */
+    public int[] getCombos() {
+        return combos.stream().toArray();
+    }
+
+    @Override
+    public String toString() {
+        return combos.stream().mapToObj(c -> PackedCard.toString(CARD2[c]) + PackedCard.toString(CARD1[c])
+                + (weights[c] < 1 ? ":" + weights[c] : "")).reduce((a, b) -> a + "," + b).orElse("");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Range && combos.equals(((Range) other).combos)
+                && Arrays.equals(weights, ((Range) other).weights);
+    }
+
+    @Override
+    public int hashCode() {
+        return combos.hashCode();
+    }
+
+    private void addToken(String token) {
+        double weight = 1;
+        int colon = token.indexOf(':');
+        if (colon >= 0) {
+            try {
+                weight = Double.parseDouble(token.substring(colon + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight in " + token, e);
+            }
+            token = token.substring(0, colon).trim();
+        }
+        if (token.endsWith("%")) {
+            addTop(token, weight);
+        } else if (token.length() == 4 && isSuit(token.charAt(1)) && isSuit(token.charAt(3))) {
+            add(combo(card(token.charAt(0), token.charAt(1), token), card(token.charAt(2), token.charAt(3), token)),
+                    weight);
+        } else if (token.indexOf('-') > 0) {
+            addSpan(token, weight);
+        } else if (token.endsWith("+")) {
+            addPlus(token, weight);
+        } else {
+            Spec spec = new Spec(token, token);
+            addClasses(spec.high, spec.low, spec.kind, weight);
+        }
+    }
+
+    private void addTop(String token, double weight) {
+        String number = token.substring(0, token.length() - 1).trim();
+        if (number.regionMatches(true, 0, "top", 0, 3)) {
+            number = number.substring(3).trim();
+        }
+        double percent;
+        try {
+            percent = Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid percentage in " + token, e);
+        }
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Percentages must be between 0 and 100, not " + token);
+        }
+        double target = percent / 100 * NUM_COMBOS;
+        int taken = 0;
+        for (int handClass : Ordering.BEST_FIRST) {
+            if (taken >= target) {
+                break;
+            }
+            addClass(handClass, weight);
+            taken += StartingHand.combos(handClass);
+        }
+    }
+
+    private void addSpan(String token, double weight) {
+        int dash = token.indexOf('-');
+        Spec from = new Spec(token.substring(0, dash).trim(), token);
+        Spec to = new Spec(token.substring(dash + 1).trim(), token);
+        if (from.kind != to.kind) {
+            throw new IllegalArgumentException("Both ends must be the same kind of hand in " + token);
+        }
+        if (from.high == from.low && to.high == to.low) {
+            for (int rank = Math.min(from.high, to.high); rank <= Math.max(from.high, to.high); rank++) {
+                addClasses(rank, rank, from.kind, weight);
+            }
+        } else if (from.high == to.high && from.high != from.low && to.high != to.low) {
+            for (int low = Math.min(from.low, to.low); low <= Math.max(from.low, to.low); low++) {
+                addClasses(from.high, low, from.kind, weight);
+            }
+        } else {
+            throw new IllegalArgumentException("A span needs two pairs or the same high card: " + token);
+        }
+    }
+
+    private void addPlus(String token, double weight) {
+        Spec spec = new Spec(token.substring(0, token.length() - 1).trim(), token);
+        if (spec.high == spec.low) {
+            for (int rank = spec.high; rank < PackedCard.NUM_RANKS; rank++) {
+                addClasses(rank, rank, spec.kind, weight);
+            }
+        } else {
+            for (int low = spec.low; low < spec.high; low++) {
+                addClasses(spec.high, low, spec.kind, weight);
+            }
+        }
+    }
+
+    private void addClasses(int high, int low, char kind, double weight) {
+        if (high == low) {
+            addClass(high * PackedCard.NUM_RANKS + low, weight);
+            return;
+        }
+        if (kind != 'o') {
+            addClass(high * PackedCard.NUM_RANKS + low, weight);
+        }
+        if (kind != 's') {
+            addClass(low * PackedCard.NUM_RANKS + high, weight);
+        }
+    }
+
+    private static boolean isSuit(char c) {
+        return "cshdCSHD".indexOf(c) >= 0;
+    }
+
+    private static int card(char rank, char suit, String token) {
+        return PackedCard.of(StartingHand.rankIndex(rank, token), "cshd".indexOf(Character.toLowerCase(suit)));
+    }
+
+    /**
+     * Two ranks and s (suited), o (offsuit) or b (both, also used for pairs).
+     */
+    private static class Spec {
+        final int high;
+        final int low;
+        final char kind;
+
+        Spec(String hand, String token) {
+            if (hand.length() < 2 || hand.length() > 3) {
+                throw new IllegalArgumentException("Invalid hand " + hand + " in " + token);
+            }
+            int rank1 = StartingHand.rankIndex(hand.charAt(0), token);
+            int rank2 = StartingHand.rankIndex(hand.charAt(1), token);
+            high = Math.max(rank1, rank2);
+            low = Math.min(rank1, rank2);
+            kind = hand.length() == 3 ? Character.toLowerCase(hand.charAt(2)) : 'b';
+            if (kind != 's' && kind != 'o' && kind != 'b' || high == low && kind != 'b') {
+                throw new IllegalArgumentException("Invalid hand " + hand + " in " + token);
+            }
+        }
+    }
+
+    /**
+     * Starting hand classes from the most to the least equity against a
+     * random hand, worked out from the preflop table on first use.
+     */
+    private static class Ordering {
+        static final int[] BEST_FIRST = bestFirst();
+
+        private static int[] bestFirst() {
+            PreflopEquityTable table = PreflopEquityTable.getDefault();
+            double[] equity = new double[StartingHand.NUM_CLASSES];
+            for (int a = 0; a < equity.length; a++) {
+                for (int b = 0; b < equity.length; b++) {
+                    equity[a] += StartingHand.combos(b) * table.getEquity(a, b);
+                }
+            }
+            return IntStream.range(0, equity.length).boxed()
+                    .sorted(Comparator.comparingDouble((Integer c) -> -equity[c]))
+                    .mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.akhayat.poker.simulator.equity;
+
+import java.util.concurrent.ForkJoinPool;
+
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+/**
+ * Heads-up equity of one range against another, e.g. "AA-TT,AKs,KQo"
+ * against "top 20%". Every pair of combos that don't share a card counts
+ * in proportion to the product of their weights.
+ *
+ * Like EquityCalculator it plays out every board when there are at most
+ * enumerationThreshold of them (e.g. from the flop on) and random boards
+ * otherwise. Each board is shared by all the combos of both ranges, so a
+ * board costs about as much as ranking every combo once.
+ */
+public class RangeEquityCalculator {
+
+    public static final long DEFAULT_BOARDS = 10_000;
+    public static final long DEFAULT_ENUMERATION_THRESHOLD = 10_000;
+
+    private static final int MIN_LEAF_SIZE = 2 * RangeTask.BOARDS_PER_STREAM;
+
+    private final ForkJoinPool pool;
+    private final long boards;
+    private final long enumerationThreshold;
+    private final RandomStreams random;
+
+    public RangeEquityCalculator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BOARDS, DEFAULT_ENUMERATION_THRESHOLD);
+    }
+
+    /**
+     * A threshold of 0 always samples boards at random.
+     */
+    public RangeEquityCalculator(ForkJoinPool pool, long boards, long enumerationThreshold) {
+        this(pool, boards, enumerationThreshold, null);
+    }
+
+    /**
+     * Random streams from a fixed seed make the random boards repeatable;
+     * with null each run draws a new seed.
+     */
+    public RangeEquityCalculator(ForkJoinPool pool, long boards, long enumerationThreshold, RandomStreams random) {
+        if (boards <= 0 || boards > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The number of boards must be positive.");
+        }
+        if (enumerationThreshold < 0 || enumerationThreshold > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid enumeration threshold " + enumerationThreshold);
+        }
+        this.pool = pool;
+        this.boards = boards;
+        this.enumerationThreshold = enumerationThreshold;
+        this.random = random;
+    }
+
+    /**
+     * Returns the odds of the hero (player 0) and the villain (player 1).
+     */
+    public EquityResult calculate(Range hero, Range villain, int[] board, int[] deadCards) {
+        RangeMatchup matchup = new RangeMatchup(hero, villain, board, deadCards);
+        long start = System.nanoTime();
+        int[][] allBoards = null;
+        int count = (int) boards;
+        long possible = EnumerationTask.choose(matchup.remaining.length, matchup.cardsToDeal);
+        if (possible <= enumerationThreshold) {
+            allBoards = allBoards(matchup, (int) possible);
+            count = allBoards.length;
+        }
+        int leafSize = Math.max(MIN_LEAF_SIZE, count / (8 * pool.getParallelism()));
+        RangeTask.Totals totals = pool.invoke(new RangeTask(matchup, allBoards, 0, count, leafSize,
+                random == null ? new RandomStreams() : random));
+
+        double win = totals.win / totals.total;
+        double tie = totals.tie / totals.total;
+        double loss = 1 - win - tie;
+        return new EquityResult(totals.boards, new double[] { win, loss }, new double[] { tie, tie },
+                new double[] { win + tie / 2, loss + tie / 2 }, System.nanoTime() - start, allBoards != null);
+    }
+
+    public EquityResult calculate(String hero, String villain, int[] board) {
+        return calculate(Range.parse(hero), Range.parse(villain), board, null);
+    }
+
+    private static int[][] allBoards(RangeMatchup matchup, int count) {
+        int[][] result = new int[count][];
+        int k = matchup.cardsToDeal;
+        int[] positions = new int[k];
+        for (int i = 0; i < k; i++) {
+            positions[i] = i;
+        }
+        for (int b = 0; b < count; b++) {
+            result[b] = new int[k];
+            for (int i = 0; i < k; i++) {
+                result[b][i] = matchup.remaining[positions[i]];
+            }
+            // next combination in lexicographic order
+            int i = k - 1;
+            while (i >= 0 && positions[i] == matchup.remaining.length - k + i) {
+                i--;
+            }
+            if (i >= 0) {
+                positions[i]++;
+                for (int j = i + 1; j < k; j++) {
+                    positions[j] = positions[j - 1] + 1;
+                }
+            }
+        }
+        return result;
+    }
+}
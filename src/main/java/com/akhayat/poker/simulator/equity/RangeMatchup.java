@@ -0,0 +1,93 @@
+package com.akhayat.poker.simulator.equity;
+
+import java.util.Arrays;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * The fixed part of a range against range question: the combos of both
+ * ranges that don't clash with the known board or dead cards, with their
+ * weights, and the cards the rest of the board is dealt from. Shared
+ * read-only by every worker.
+ */
+class RangeMatchup {
+
+    final int[] board;
+    final int[] remaining;
+    /**
+     * The board and dead cards, to take out of a Deck.
+     */
+    final int[] known;
+    final int cardsToDeal;
+    final int[] heroCombos;
+    final double[] heroWeights;
+    final int[] villainCombos;
+    final double[] villainWeights;
+    /**
+     * Villain weight by combo, 0 for the combos not in the villain's range.
+     */
+    final double[] villainWeightByCombo = new double[Range.NUM_COMBOS];
+    /**
+     * Every combo in either range, so each one is ranked once per board.
+     */
+    final int[] allCombos;
+
+    RangeMatchup(Range hero, Range villain, int[] board, int[] deadCards) {
+        if (board == null || board.length > EquityProblem.BOARD_SIZE) {
+            throw new IllegalArgumentException("The board must have 0 to " + EquityProblem.BOARD_SIZE + " cards.");
+        }
+        this.board = board.clone();
+        this.cardsToDeal = EquityProblem.BOARD_SIZE - board.length;
+        long known = 0;
+        for (int[] cards : new int[][] { board, deadCards == null ? new int[0] : deadCards }) {
+            for (int card : cards) {
+                long bit = 1L << PackedCard.index(card);
+                if ((known & bit) != 0) {
+                    throw new IllegalArgumentException(PackedCard.toString(card) + " appears more than once.");
+                }
+                known |= bit;
+            }
+        }
+        remaining = new int[PackedCard.NUM_CARDS - Long.bitCount(known)];
+        this.known = new int[Long.bitCount(known)];
+        for (int i = 0, n = 0, k = 0; i < PackedCard.NUM_CARDS; i++) {
+            if ((known & (1L << i)) == 0) {
+                remaining[n++] = PackedCard.fromIndex(i);
+            } else {
+                this.known[k++] = PackedCard.fromIndex(i);
+            }
+        }
+
+        heroCombos = liveCombos(hero, known);
+        heroWeights = weights(hero, heroCombos);
+        villainCombos = liveCombos(villain, known);
+        villainWeights = weights(villain, villainCombos);
+        for (int i = 0; i < villainCombos.length; i++) {
+            villainWeightByCombo[villainCombos[i]] = villainWeights[i];
+        }
+        allCombos = Arrays.stream(new int[][] { heroCombos, villainCombos }).flatMapToInt(Arrays::stream)
+                .distinct().sorted().toArray();
+
+        boolean anyMatchup = false;
+        for (int h : heroCombos) {
+            for (int v : villainCombos) {
+                anyMatchup |= (mask(h) & mask(v)) == 0;
+            }
+        }
+        if (!anyMatchup) {
+            throw new IllegalArgumentException("Every combo of one range clashes with every combo of the other.");
+        }
+    }
+
+    static long mask(int combo) {
+        return (1L << PackedCard.index(Range.card1(combo))) | (1L << PackedCard.index(Range.card2(combo)));
+    }
+
+    private static int[] liveCombos(Range range, long known) {
+        return Arrays.stream(range.getCombos()).filter(c -> (mask(c) & known) == 0).toArray();
+    }
+
+    private static double[] weights(Range range, int[] combos) {
+        return Arrays.stream(combos).mapToDouble(range::getWeight).toArray();
+    }
+}
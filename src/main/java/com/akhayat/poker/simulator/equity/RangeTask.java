@@ -0,0 +1,187 @@
+package com.akhayat.poker.simulator.equity;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.evaluator.SevenCardEvaluator;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+/**
+ * Settles a share of the boards of a range against range question, either
+ * boards from..to of a list of every possible board or as many random
+ * boards. Random boards come in blocks of BOARDS_PER_STREAM drawing from
+ * one stream each, the same way MonteCarloTask does it.
+ *
+ * Each board ranks every combo of both ranges once. Both ranges are then
+ * sorted by rank and swept together: for every hero combo the weight of the
+ * villain combos it beats, ties with and plays against is the total so far
+ * minus the combos holding either of its cards, so the cost per board is
+ * linear in the size of the ranges rather than their product.
+ */
+class RangeTask extends RecursiveTask<RangeTask.Totals> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int BOARDS_PER_STREAM = 16;
+
+    private final RangeMatchup matchup;
+    private final int[][] boards;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+    private final RandomStreams streams;
+
+    /**
+     * leafSize must be at least twice BOARDS_PER_STREAM.
+     */
+    RangeTask(RangeMatchup matchup, int[][] boards, int from, int to, int leafSize, RandomStreams streams) {
+        this.matchup = matchup;
+        this.boards = boards;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+        this.streams = streams;
+    }
+
+    /**
+     * Weighted sums over every pair of combos and every board.
+     */
+    static class Totals {
+        double win;
+        double tie;
+        double total;
+        long boards;
+
+        Totals add(Totals other) {
+            win += other.win;
+            tie += other.tie;
+            total += other.total;
+            boards += other.boards;
+            return this;
+        }
+    }
+
+    @Override
+    protected Totals compute() {
+        if (to - from > leafSize) {
+            int middle = from + (to - from) / 2 / BOARDS_PER_STREAM * BOARDS_PER_STREAM;
+            RangeTask left = new RangeTask(matchup, boards, from, middle, leafSize, streams);
+            left.fork();
+            Totals right = new RangeTask(matchup, boards, middle, to, leafSize, streams).compute();
+            return right.add(left.join());
+        }
+        Sweep sweep = new Sweep();
+        int[] fullBoard = Arrays.copyOf(matchup.board, EquityProblem.BOARD_SIZE);
+        Deck deck = null;
+        for (int b = from; b < to; b++) {
+            if (boards != null) {
+                System.arraycopy(boards[b], 0, fullBoard, matchup.board.length, matchup.cardsToDeal);
+            } else {
+                if (deck == null || b % BOARDS_PER_STREAM == 0) {
+                    // a fresh deck, so every block starts from the same order
+                    deck = new Deck(streams.forTrial(b / BOARDS_PER_STREAM));
+                    deck.removeCards(matchup.known);
+                }
+                deck.resetTopCard();
+                deck.dealRandomCards(fullBoard, matchup.board.length, matchup.cardsToDeal);
+            }
+            sweep.run(fullBoard);
+        }
+        sweep.totals.boards = to - from;
+        return sweep.totals;
+    }
+
+    private class Sweep {
+        final Totals totals = new Totals();
+        private final int[] ranks = new int[Range.NUM_COMBOS];
+        private final long[] heroSorted = new long[matchup.heroCombos.length];
+        private final long[] villainSorted = new long[matchup.villainCombos.length];
+        private final double[] lowerWithCard = new double[PackedCard.NUM_CARDS];
+        private final double[] equalWithCard = new double[PackedCard.NUM_CARDS];
+        private final double[] allWithCard = new double[PackedCard.NUM_CARDS];
+
+        void run(int[] board) {
+            long boardMask = 0;
+            for (int card : board) {
+                boardMask |= 1L << PackedCard.index(card);
+            }
+            for (int combo : matchup.allCombos) {
+                if ((RangeMatchup.mask(combo) & boardMask) == 0) {
+                    ranks[combo] = SevenCardEvaluator.evaluate(Range.card1(combo), Range.card2(combo),
+                            board[0], board[1], board[2], board[3], board[4]);
+                }
+            }
+            int heroes = sort(matchup.heroCombos, boardMask, heroSorted);
+            int villains = sort(matchup.villainCombos, boardMask, villainSorted);
+
+            Arrays.fill(lowerWithCard, 0);
+            Arrays.fill(equalWithCard, 0);
+            Arrays.fill(allWithCard, 0);
+            double all = 0;
+            for (int v = 0; v < villains; v++) {
+                int i = (int) villainSorted[v];
+                double weight = matchup.villainWeights[i];
+                all += weight;
+                addWithCards(allWithCard, matchup.villainCombos[i], weight);
+            }
+
+            double lower = 0;
+            double equal = 0;
+            int equalRank = -1;
+            for (int h = 0, v = 0; h < heroes; h++) {
+                int i = (int) heroSorted[h];
+                int combo = matchup.heroCombos[i];
+                int rank = ranks[combo];
+                if (rank != equalRank) {
+                    lower += equal;
+                    for (int c = 0; c < PackedCard.NUM_CARDS; c++) {
+                        lowerWithCard[c] += equalWithCard[c];
+                    }
+                    equal = 0;
+                    Arrays.fill(equalWithCard, 0);
+                    equalRank = rank;
+                    for (; v < villains && villainSorted[v] >>> 32 <= rank; v++) {
+                        int j = (int) villainSorted[v];
+                        double weight = matchup.villainWeights[j];
+                        if (villainSorted[v] >>> 32 < rank) {
+                            lower += weight;
+                            addWithCards(lowerWithCard, matchup.villainCombos[j], weight);
+                        } else {
+                            equal += weight;
+                            addWithCards(equalWithCard, matchup.villainCombos[j], weight);
+                        }
+                    }
+                }
+                int card1 = PackedCard.index(Range.card1(combo));
+                int card2 = PackedCard.index(Range.card2(combo));
+                // the villain's copy of this very combo holds both cards, so it was taken away twice
+                double same = matchup.villainWeightByCombo[combo];
+                double weight = matchup.heroWeights[i];
+                totals.win += weight * (lower - lowerWithCard[card1] - lowerWithCard[card2]);
+                totals.tie += weight * (equal - equalWithCard[card1] - equalWithCard[card2] + same);
+                totals.total += weight * (all - allWithCard[card1] - allWithCard[card2] + same);
+            }
+        }
+
+        /**
+         * Sorts the live combos by rank, as rank << 32 | position in combos.
+         */
+        private int sort(int[] combos, long boardMask, long[] sorted) {
+            int n = 0;
+            for (int i = 0; i < combos.length; i++) {
+                if ((RangeMatchup.mask(combos[i]) & boardMask) == 0) {
+                    sorted[n++] = ((long) ranks[combos[i]] << 32) | i;
+                }
+            }
+            Arrays.sort(sorted, 0, n);
+            return n;
+        }
+
+        private void addWithCards(double[] withCard, int combo, double weight) {
+            withCard[PackedCard.index(Range.card1(combo))] += weight;
+            withCard[PackedCard.index(Range.card2(combo))] += weight;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.akhayat.poker.simulator.equity;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * Static helpers for the 169 hold'em starting hand classes (AA, AKs, AKo,
+ * ...). Suits don't matter before the flop, so every one of the 1326 pairs
+ * of hole cards falls into one of them.
+ *
+ * A class is numbered on the usual 13 x 13 grid, high rank * 13 + low rank
+ * for suited hands and low rank * 13 + high rank for offsuit hands, so pairs
+ * sit on the diagonal.
+ */
+public final class StartingHand {
+
+    public static final int NUM_CLASSES = PackedCard.NUM_RANKS * PackedCard.NUM_RANKS;
+
+    static final String RANK_CHARS = "23456789TJQKA";
+
+    private StartingHand() {
+    }
+
+    /**
+     * Returns the class of the two given packed hole cards.
+     */
+    public static int of(int card1, int card2) {
+        int rank1 = PackedCard.rank(card1);
+        int rank2 = PackedCard.rank(card2);
+        int high = Math.max(rank1, rank2);
+        int low = Math.min(rank1, rank2);
+        return PackedCard.suit(card1) == PackedCard.suit(card2) ? high * PackedCard.NUM_RANKS + low
+                : low * PackedCard.NUM_RANKS + high;
+    }
+
+    public static int highRank(int handClass) {
+        return Math.max(handClass / PackedCard.NUM_RANKS, handClass % PackedCard.NUM_RANKS);
+    }
+
+    public static int lowRank(int handClass) {
+        return Math.min(handClass / PackedCard.NUM_RANKS, handClass % PackedCard.NUM_RANKS);
+    }
+
+    public static boolean isPair(int handClass) {
+        return highRank(handClass) == lowRank(handClass);
+    }
+
+    public static boolean isSuited(int handClass) {
+        return handClass / PackedCard.NUM_RANKS > handClass % PackedCard.NUM_RANKS;
+    }
+
+    /**
+     * Returns how many pairs of hole cards fall into the class: 6 for a pair,
+     * 4 for a suited hand and 12 for an offsuit hand.
+     */
+    public static int combos(int handClass) {
+        return isPair(handClass) ? 6 : isSuited(handClass) ? 4 : 12;
+    }
+
+    /**
+     * Parses "AA", "AKs" or "AKo", in either rank order and any case.
+     */
+    public static int fromString(String handClass) {
+        if (handClass == null || handClass.length() < 2 || handClass.length() > 3) {
+            throw new IllegalArgumentException("Invalid starting hand: " + handClass);
+        }
+        int rank1 = rankIndex(handClass.charAt(0), handClass);
+        int rank2 = rankIndex(handClass.charAt(1), handClass);
+        int high = Math.max(rank1, rank2);
+        int low = Math.min(rank1, rank2);
+        if (handClass.length() == 2) {
+            if (high != low) {
+                throw new IllegalArgumentException("Missing s or o in starting hand: " + handClass);
+            }
+            return high * PackedCard.NUM_RANKS + low;
+        }
+        char kind = Character.toLowerCase(handClass.charAt(2));
+        if (high == low || (kind != 's' && kind != 'o')) {
+            throw new IllegalArgumentException("Invalid starting hand: " + handClass);
+        }
+        return kind == 's' ? high * PackedCard.NUM_RANKS + low : low * PackedCard.NUM_RANKS + high;
+    }
+
+    public static String toString(int handClass) {
+        int high = highRank(handClass);
+        int low = lowRank(handClass);
+        String name = "" + RANK_CHARS.charAt(high) + RANK_CHARS.charAt(low);
+        return high == low ? name : name + (isSuited(handClass) ? "s" : "o");
+    }
+
+    static int rankIndex(char rank, String context) {
+        int index = RANK_CHARS.indexOf(Character.toUpperCase(rank));
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid rank " + rank + " in " + context);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,116 @@
+package com.akhayat.poker.simulator.equity;
+
+import com.akhayat.poker.simulator.evaluator.HiLoEvaluator;
+
+/**
+ * Per-worker win/tie counts. Each worker fills its own and they are added
+ * together once the workers are done, so the hot loop never touches
+ * shared state.
+ *
+ * In a hi-lo game a win is a scoop, the whole pot, and a tie is any share
+ * of a split pot; lowShares keeps the part of the equity that came from
+ * the low half.
+ */
+class Tally {
+
+    final long[] wins;
+    final long[] ties;
+    final double[] tieShares;
+    final double[] lowShares;
+    long trials;
+
+    Tally(int players) {
+        wins = new long[players];
+        ties = new long[players];
+        tieShares = new double[players];
+        lowShares = new double[players];
+    }
+
+    void record(int[] ranks) {
+        int best = 0;
+        int winners = 0;
+        for (int rank : ranks) {
+            if (rank > best) {
+                best = rank;
+                winners = 1;
+            } else if (rank == best) {
+                winners++;
+            }
+        }
+        if (winners == 1) {
+            for (int p = 0; p < ranks.length; p++) {
+                if (ranks[p] == best) {
+                    wins[p]++;
+                    break;
+                }
+            }
+        } else {
+            double share = 1.0 / winners;
+            for (int p = 0; p < ranks.length; p++) {
+                if (ranks[p] == best) {
+                    ties[p]++;
+                    tieShares[p] += share;
+                }
+            }
+        }
+        trials++;
+    }
+
+    /**
+     * Records a hi-lo showdown, with the high ranks in ranks[0..players)
+     * and the lows in ranks[players..2 * players), HiLoEvaluator.NO_LOW for
+     * a hand that doesn't qualify. Half the pot goes to the best low if
+     * there is one, the rest to the best high, and each half is split
+     * between the players who tie for it.
+     */
+    void recordHiLo(int[] ranks) {
+        int players = wins.length;
+        int bestHigh = 0;
+        int highWinners = 0;
+        int bestLow = HiLoEvaluator.NO_LOW;
+        int lowWinners = 0;
+        for (int p = 0; p < players; p++) {
+            int high = ranks[p];
+            if (high > bestHigh) {
+                bestHigh = high;
+                highWinners = 1;
+            } else if (high == bestHigh) {
+                highWinners++;
+            }
+            int low = ranks[players + p];
+            if (low > bestLow) {
+                bestLow = low;
+                lowWinners = 1;
+            } else if (low == bestLow) {
+                lowWinners++;
+            }
+        }
+        double highShare = (bestLow == HiLoEvaluator.NO_LOW ? 1.0 : 0.5) / highWinners;
+        double lowShare = 0.5 / lowWinners;
+        for (int p = 0; p < players; p++) {
+            double share = ranks[p] == bestHigh ? highShare : 0;
+            if (bestLow != HiLoEvaluator.NO_LOW && ranks[players + p] == bestLow) {
+                share += lowShare;
+                lowShares[p] += lowShare;
+            }
+            if (share == 1.0) {
+                wins[p]++;
+            } else if (share > 0) {
+                ties[p]++;
+                tieShares[p] += share;
+            }
+        }
+        trials++;
+    }
+
+    Tally add(Tally other) {
+        for (int p = 0; p < wins.length; p++) {
+            wins[p] += other.wins[p];
+            ties[p] += other.ties[p];
+            tieShares[p] += other.tieShares[p];
+            lowShares[p] += other.lowShares[p];
+        }
+        trials += other.trials;
+        return this;
+    }
+}
@@ -0,0 +1,197 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import java.util.Arrays;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+
+/**
+ * Evaluates ace-to-five low hands, as in Razz: aces are low, straights and
+ * flushes don't count, so 5-4-3-2-A is the best hand and pairs only hurt.
+ * Ranks go from 1 (four kings with a queen) to 6175 (the wheel), so like
+ * every other evaluator here, the higher rank wins and showdown code can
+ * compare them the same way.
+ *
+ * Suits play no part, so a hand is just its rank pattern (see
+ * RankPatternHash) and every size from 5 to 7 cards has a table indexed by
+ * the pattern, holding the best low of any five of the cards.
+ */
+public final class AceToFiveLowEvaluator {
+
+    public static final int NUM_RANKS = 6175;
+    public static final int MIN_CARDS = 5;
+    public static final int MAX_CARDS = 7;
+
+    private static final int HAND_SIZE = 5;
+    private static final int RANKS = PackedCard.NUM_RANKS;
+
+    private static final short[][] TABLES = new short[MAX_CARDS + 1][];
+    private static final byte[] TYPES = new byte[NUM_RANKS + 1];
+    private static final PokerHandType[] HAND_TYPES = PokerHandType.values();
+
+    static {
+        long[] keys = new long[NUM_RANKS];
+        int classes = collectKeys(keys, 0, new int[HAND_SIZE], 0, RANKS - 1, 0);
+        if (classes != NUM_RANKS) {
+            throw new IllegalStateException("Expected " + NUM_RANKS + " low hands, got " + classes);
+        }
+        // the worst low has the highest key and gets rank 1
+        Arrays.sort(keys);
+        TABLES[HAND_SIZE] = new short[RankPatternHash.size(HAND_SIZE)];
+        for (int i = 0; i < keys.length; i++) {
+            int rank = NUM_RANKS - i;
+            TABLES[HAND_SIZE][(int) keys[i]] = (short) rank;
+            TYPES[rank] = (byte) (keys[i] >>> 52);
+        }
+        for (int cards = HAND_SIZE + 1; cards <= MAX_CARDS; cards++) {
+            TABLES[cards] = new short[RankPatternHash.size(cards)];
+            fillBestOfFive(TABLES[cards], new int[cards], 0, RANKS - 1, 0);
+        }
+    }
+
+    private AceToFiveLowEvaluator() {
+    }
+
+    public static int evaluate(int c1, int c2, int c3, int c4, int c5) {
+        long pattern = RankPatternHash.addRank(0, PackedCard.rank(c1));
+        pattern = RankPatternHash.addRank(pattern, PackedCard.rank(c2));
+        pattern = RankPatternHash.addRank(pattern, PackedCard.rank(c3));
+        pattern = RankPatternHash.addRank(pattern, PackedCard.rank(c4));
+        pattern = RankPatternHash.addRank(pattern, PackedCard.rank(c5));
+        return TABLES[HAND_SIZE][RankPatternHash.hash(pattern, HAND_SIZE)];
+    }
+
+    /**
+     * Returns the best low of any five of the count packed cards starting at offset.
+     */
+    public static int evaluate(int[] cards, int offset, int count) {
+        if (count < MIN_CARDS || count > MAX_CARDS) {
+            throw new IllegalArgumentException("Card list must contain " + MIN_CARDS + " to " + MAX_CARDS
+                    + " cards, not " + count);
+        }
+        long pattern = 0;
+        for (int i = offset; i < offset + count; i++) {
+            pattern = RankPatternHash.addRank(pattern, PackedCard.rank(cards[i]));
+        }
+        return TABLES[count][RankPatternHash.hash(pattern, count)];
+    }
+
+    public static int evaluate(int... cards) {
+        return evaluate(cards, 0, cards.length);
+    }
+
+    /**
+     * Evaluates count hands of handSize cards each, laid out back to back
+     * from handsOffset, into ranks.
+     */
+    public static void evaluateBatch(int[] hands, int handsOffset, int handSize, int[] ranks, int ranksOffset,
+            int count) {
+        for (int hand = 0; hand < count; hand++) {
+            ranks[ranksOffset + hand] = evaluate(hands, handsOffset + hand * handSize, handSize);
+        }
+    }
+
+    /**
+     * Returns HIGH_CARD for five different ranks, and otherwise what the
+     * pairs make. Straights and flushes don't exist in ace-to-five.
+     */
+    public static PokerHandType handType(int rank) {
+        return HAND_TYPES[TYPES[rank]];
+    }
+
+    /**
+     * Collects a sort key for every pattern of five ranks: the hand type,
+     * then the ranks from the most repeated and highest down, with aces
+     * below deuces, so a lower key is a better low. The pattern's hash is
+     * in the low bits.
+     */
+    private static int collectKeys(long[] keys, int size, int[] ranks, int cards, int maxRank, long pattern) {
+        if (cards == HAND_SIZE) {
+            int[] counts = new int[RANKS];
+            for (int rank : ranks) {
+                counts[rank]++;
+            }
+            PokerHandType type = type(counts);
+            long key = type.ordinal();
+            for (int copies = 4; copies >= 1; copies--) {
+                // rank indices run deuce to ace, so walk them as king down to deuce, then ace
+                for (int i = RANKS - 2; i >= -1; i--) {
+                    int rank = i < 0 ? RANKS - 1 : i;
+                    if (counts[rank] == copies) {
+                        key = key << 4 | (i + 1);
+                    }
+                }
+            }
+            for (int i = distinct(counts); i < HAND_SIZE; i++) {
+                key <<= 4;
+            }
+            keys[size] = key << 32 | RankPatternHash.hash(pattern, HAND_SIZE);
+            return size + 1;
+        }
+        for (int rank = maxRank; rank >= 0; rank--) {
+            if (RankPatternHash.count(pattern, rank) < 4) {
+                ranks[cards] = rank;
+                size = collectKeys(keys, size, ranks, cards + 1, rank, RankPatternHash.addRank(pattern, rank));
+            }
+        }
+        return size;
+    }
+
+    private static int distinct(int[] counts) {
+        int distinct = 0;
+        for (int count : counts) {
+            distinct += count > 0 ? 1 : 0;
+        }
+        return distinct;
+    }
+
+    private static PokerHandType type(int[] counts) {
+        int pairs = 0;
+        int trips = 0;
+        for (int count : counts) {
+            if (count == 4) {
+                return PokerHandType.FOUR_OF_A_KIND;
+            }
+            pairs += count == 2 ? 1 : 0;
+            trips += count == 3 ? 1 : 0;
+        }
+        if (trips > 0) {
+            return pairs > 0 ? PokerHandType.FULL_HOUSE : PokerHandType.THREE_OF_A_KIND;
+        }
+        return pairs == 2 ? PokerHandType.TWO_PAIR : pairs == 1 ? PokerHandType.PAIR : PokerHandType.HIGH_CARD;
+    }
+
+    /**
+     * Walks every pattern of table-sized rank lists and stores the best low
+     * of any five of them.
+     */
+    private static void fillBestOfFive(short[] table, int[] ranks, int size, int maxRank, long pattern) {
+        if (size == ranks.length) {
+            table[RankPatternHash.hash(pattern, size)] = (short) bestOfFive(ranks);
+            return;
+        }
+        for (int rank = maxRank; rank >= 0; rank--) {
+            if (RankPatternHash.count(pattern, rank) < 4) {
+                ranks[size] = rank;
+                fillBestOfFive(table, ranks, size + 1, rank, RankPatternHash.addRank(pattern, rank));
+            }
+        }
+    }
+
+    private static int bestOfFive(int[] ranks) {
+        int best = 0;
+        int n = ranks.length;
+        for (int skip = 0; skip < 1 << n; skip++) {
+            if (Integer.bitCount(skip) == n - HAND_SIZE) {
+                long pattern = 0;
+                for (int i = 0; i < n; i++) {
+                    if ((skip & (1 << i)) == 0) {
+                        pattern = RankPatternHash.addRank(pattern, ranks[i]);
+                    }
+                }
+                best = Math.max(best, TABLES[HAND_SIZE][RankPatternHash.hash(pattern, HAND_SIZE)]);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,129 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import java.util.Objects;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * Evaluates arrays of five card hands laid out back to back into an array
+ * of ranks. Both kernels use the same two tables, chosen so that every step
+ * is a plain load that a SIMD gather can do for several hands at once:
+ * <ul>
+ * <li>flushes look up the OR of the rank bits, as in LookupTableEvaluator</li>
+ * <li>everything else looks up the sum of one key per card rank. The keys
+ *     are picked so that every multiset of five ranks has its own sum, which
+ *     replaces the binary search on prime products with one load</li>
+ * </ul>
+ * The vector kernel needs the jdk.incubator.vector module, so it is only
+ * compiled with the vector profile (mvn -Pvector) and only loaded by name,
+ * with -Dpoker.vector=true and the module there. It is off
+ * by default because on JDK 17 it measured slower than the scalar kernel
+ * (see BatchEvaluationBenchmark): once the tables make every hand a handful
+ * of loads, there is little arithmetic left to spread over lanes.
+ */
+abstract class BatchKernel {
+
+    static final int CARDS = PokerHandEvaluator.HAND_SIZE;
+
+    /**
+     * The smallest keys, found greedily, that give distinct sums for all
+     * 6175 multisets of five ranks. Deuce first.
+     */
+    static final int[] RANK_KEYS = { 0, 1, 5, 22, 94, 312, 992, 2422, 5624, 12522, 19998, 43258, 79415 };
+
+    /**
+     * Non-flush rank by key sum. Sized for five aces so that any five ranks
+     * stay in bounds, even from hands with duplicate cards. Those aren't
+     * detected: they get the rank of their ranks, or 0 for five of a kind.
+     */
+    static final int[] KEY_SUMS = new int[CARDS * RANK_KEYS[PackedCard.NUM_RANKS - 1] + 1];
+    static final int[] FLUSH_RANKS = new int[1 << PackedCard.NUM_RANKS];
+
+    private static final String VECTOR_KERNEL = BatchKernel.class.getPackageName() + ".VectorBatchKernel";
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    static {
+        int[] cards = new int[CARDS];
+        fillKeySums(cards, 0, PackedCard.NUM_RANKS - 1, 0);
+        for (int mask = 0; mask < FLUSH_RANKS.length; mask++) {
+            if (Integer.bitCount(mask) == CARDS) {
+                FLUSH_RANKS[mask] = LookupTableEvaluator.flushRank(mask);
+            }
+        }
+    }
+
+    /**
+     * Goes through every multiset of five ranks, highest rank first, and
+     * stores its rank under its key sum. The n-th card gets suit n mod 4,
+     * which keeps cards of the same rank apart and never makes a flush.
+     */
+    private static void fillKeySums(int[] cards, int size, int maxRank, int sameRank) {
+        if (size == CARDS) {
+            int sum = 0;
+            for (int card : cards) {
+                sum += RANK_KEYS[PackedCard.rank(card)];
+            }
+            if (KEY_SUMS[sum] != 0) {
+                throw new IllegalStateException("Two rank multisets share the key sum " + sum);
+            }
+            KEY_SUMS[sum] = LookupTableEvaluator.evaluate(cards, 0);
+            return;
+        }
+        for (int rank = maxRank; rank >= 0; rank--) {
+            int copies = size > 0 && PackedCard.rank(cards[size - 1]) == rank ? sameRank + 1 : 0;
+            if (copies < PackedCard.NUM_SUITS) {
+                cards[size] = PackedCard.of(rank, size & 3);
+                fillKeySums(cards, size + 1, rank, copies);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of hands the kernel works on at once.
+     */
+    abstract int lanes();
+
+    /**
+     * Writes the ranks of count hands of five packed cards, starting at
+     * handsOffset, into ranks starting at ranksOffset.
+     */
+    abstract void evaluate(int[] hands, int handsOffset, int[] ranks, int ranksOffset, int count);
+
+    static void checkBounds(int[] hands, int handsOffset, int[] ranks, int ranksOffset, int count) {
+        Objects.checkFromIndexSize(handsOffset, count * CARDS, hands.length);
+        Objects.checkFromIndexSize(ranksOffset, count, ranks.length);
+    }
+
+    /**
+     * Returns the rank of the five cards at offset with the batch tables.
+     */
+    static int evaluate(int[] hands, int offset) {
+        int c1 = hands[offset];
+        int c2 = hands[offset + 1];
+        int c3 = hands[offset + 2];
+        int c4 = hands[offset + 3];
+        int c5 = hands[offset + 4];
+        if ((c1 & c2 & c3 & c4 & c5 & 0xF000) != 0) {
+            return FLUSH_RANKS[(c1 | c2 | c3 | c4 | c5) >>> 16];
+        }
+        return KEY_SUMS[RANK_KEYS[PackedCard.rank(c1)] + RANK_KEYS[PackedCard.rank(c2)]
+                + RANK_KEYS[PackedCard.rank(c3)] + RANK_KEYS[PackedCard.rank(c4)] + RANK_KEYS[PackedCard.rank(c5)]];
+    }
+
+    static BatchKernel load() {
+        if (Boolean.getBoolean("poker.vector")
+                && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                BatchKernel kernel = (BatchKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor()
+                        .newInstance();
+                // with fewer lanes the vector setup costs more than it saves
+                if (kernel.lanes() >= 4) {
+                    return kernel;
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall through to the scalar kernel
+            }
+        }
+        return new ScalarBatchKernel();
+    }
+}
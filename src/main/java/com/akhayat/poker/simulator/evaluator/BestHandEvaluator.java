@@ -0,0 +1,155 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.PokerHand;
+
+/**
+ * Evaluates the best five card hand out of 5 to 9 cards, on the same
+ * 1..7462 scale as LookupTableEvaluator. It covers the hand sizes that
+ * have no table of their own, like six cards on the turn or the eight and
+ * nine cards some community card games show down with.
+ *
+ * Nothing is enumerated. Each card is folded into a few 13-bit rank masks:
+ * <ul>
+ * <li>one mask per suit, so a flush is a suit with five or more bits, and
+ *     with at most nine cards there can only be one</li>
+ * <li>the ranks held at least once, twice, three times and four times, from
+ *     which the best quads, full house, straight, trips, two pair, pair or
+ *     high card is read off with a few bit tricks</li>
+ * </ul>
+ * The cost is one pass over the cards and then the same handful of bit
+ * operations and lookups whatever the number of cards.
+ */
+public final class BestHandEvaluator {
+
+    public static final int MIN_CARDS = 5;
+    public static final int MAX_CARDS = 9;
+
+    private static final int WHEEL = 0x100F;
+
+    private BestHandEvaluator() {
+    }
+
+    /**
+     * Returns the rank of the best five of the count packed cards starting at offset.
+     */
+    public static int evaluate(int[] cards, int offset, int count) {
+        checkCount(count);
+        long suits = 0;
+        int one = 0;
+        int two = 0;
+        int three = 0;
+        int four = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int card = cards[i];
+            int rankBit = PackedCard.rankBit(card);
+            suits |= (long) rankBit << (16 * PackedCard.suit(card));
+            four |= three & rankBit;
+            three |= two & rankBit;
+            two |= one & rankBit;
+            one |= rankBit;
+        }
+        return rank(suits, one, two, three, four);
+    }
+
+    /**
+     * Returns the rank given the cards folded into the masks: the ranks of
+     * each suit in 16-bit lanes, and the ranks held at least once, twice,
+     * three and four times.
+     */
+    static int rank(long suits, int one, int two, int three, int four) {
+        int best = nonFlushRank(one, two, three, four);
+        for (int suit = 0; suit < PackedCard.NUM_SUITS; suit++) {
+            int suited = (int) (suits >>> (16 * suit)) & 0x1FFF;
+            if (Integer.bitCount(suited) >= 5) {
+                // quads or a full house can still beat the flush with eight or more cards
+                return Math.max(best, SevenCardEvaluator.flushRank(suited));
+            }
+        }
+        return best;
+    }
+
+    public static int evaluate(int... cards) {
+        return evaluate(cards, 0, cards.length);
+    }
+
+    /**
+     * Same as evaluate(int[], int, int), reading the hand's cards in place.
+     */
+    public static int evaluate(PokerHand hand) {
+        int count = hand.getHand().size();
+        checkCount(count);
+        long suits = 0;
+        int one = 0;
+        int two = 0;
+        int three = 0;
+        int four = 0;
+        for (int i = 0; i < count; i++) {
+            int card = hand.getPackedCard(i);
+            int rankBit = PackedCard.rankBit(card);
+            suits |= (long) rankBit << (16 * PackedCard.suit(card));
+            four |= three & rankBit;
+            three |= two & rankBit;
+            two |= one & rankBit;
+            one |= rankBit;
+        }
+        return rank(suits, one, two, three, four);
+    }
+
+    private static void checkCount(int count) {
+        if (count < MIN_CARDS || count > MAX_CARDS) {
+            throw new IllegalArgumentException("Card list must contain " + MIN_CARDS + " to " + MAX_CARDS
+                    + " cards, not " + count);
+        }
+    }
+
+    /**
+     * Returns the best hand without a flush, given the ranks held at least
+     * once, twice, three and four times.
+     */
+    private static int nonFlushRank(int one, int two, int three, int four) {
+        if (four != 0) {
+            int quads = high(four);
+            return LookupTableEvaluator.nonFlushRank(quads, quads, quads, quads, high(one & ~(1 << quads)));
+        }
+        if (three != 0 && Integer.bitCount(two) >= 2) {
+            int trips = high(three);
+            int pair = high(two & ~(1 << trips));
+            return LookupTableEvaluator.nonFlushRank(trips, trips, trips, pair, pair);
+        }
+        int straights = one & (one >>> 1) & (one >>> 2) & (one >>> 3) & (one >>> 4);
+        if (straights != 0) {
+            return LookupTableEvaluator.uniqueRank(0x1F << high(straights));
+        }
+        if ((one & WHEEL) == WHEEL) {
+            return LookupTableEvaluator.uniqueRank(WHEEL);
+        }
+        if (three != 0) {
+            int trips = high(three);
+            int kickers = one & ~(1 << trips);
+            int k1 = high(kickers);
+            return LookupTableEvaluator.nonFlushRank(trips, trips, trips, k1, high(kickers & ~(1 << k1)));
+        }
+        if (two != 0) {
+            int p1 = high(two);
+            int kickers = one & ~(1 << p1);
+            int pairs = two & kickers;
+            if (pairs != 0) {
+                int p2 = high(pairs);
+                return LookupTableEvaluator.nonFlushRank(p1, p1, p2, p2, high(kickers & ~(1 << p2)));
+            }
+            int k1 = high(kickers);
+            kickers &= ~(1 << k1);
+            int k2 = high(kickers);
+            return LookupTableEvaluator.nonFlushRank(p1, p1, k1, k2, high(kickers & ~(1 << k2)));
+        }
+        while (Integer.bitCount(one) > 5) {
+            one &= one - 1;
+        }
+        return LookupTableEvaluator.uniqueRank(one);
+    }
+
+    private static int high(int mask) {
+        return 31 - Integer.numberOfLeadingZeros(mask);
+    }
+}
@@ -0,0 +1,239 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import java.util.Arrays;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+
+/**
+ * Evaluates deuce-to-seven low hands, as in 2-7 Triple Draw: aces are
+ * always high, straights and flushes count against the hand, so 7-5-4-3-2
+ * of mixed suits is the best hand and A-5-4-3-2 is just ace high. Ranks go
+ * from 1 (the royal flush) to 7462 (seven-five), so like every other
+ * evaluator here, the higher rank wins.
+ *
+ * Five cards look up their rank bits in a flush table when they share a
+ * suit and their rank pattern (see RankPatternHash) in a table otherwise.
+ * Six and seven cards have their own pattern tables holding the best low of
+ * any five of the cards, which is right as long as no five of them share
+ * a suit. When five do, the 6 or 21 five card hands are tried one by one.
+ */
+public final class DeuceToSevenLowEvaluator {
+
+    public static final int NUM_RANKS = 7462;
+    public static final int MIN_CARDS = 5;
+    public static final int MAX_CARDS = 7;
+
+    private static final int HAND_SIZE = 5;
+    private static final int RANKS = PackedCard.NUM_RANKS;
+    private static final int FLUSH = 1 << 31;
+
+    private static final short[] FLUSHES = new short[1 << RANKS];
+    private static final short[][] TABLES = new short[MAX_CARDS + 1][];
+    private static final byte[] TYPES = new byte[NUM_RANKS + 1];
+    private static final PokerHandType[] HAND_TYPES = PokerHandType.values();
+
+    static {
+        long[] keys = new long[NUM_RANKS];
+        int classes = collectKeys(keys, 0, new int[HAND_SIZE], 0, RANKS - 1, 0);
+        if (classes != NUM_RANKS) {
+            throw new IllegalStateException("Expected " + NUM_RANKS + " low hands, got " + classes);
+        }
+        // the worst low has the highest key and gets rank 1
+        Arrays.sort(keys);
+        TABLES[HAND_SIZE] = new short[RankPatternHash.size(HAND_SIZE)];
+        for (int i = 0; i < keys.length; i++) {
+            int rank = NUM_RANKS - i;
+            int index = (int) keys[i];
+            if ((index & FLUSH) != 0) {
+                FLUSHES[index & ~FLUSH] = (short) rank;
+            } else {
+                TABLES[HAND_SIZE][index] = (short) rank;
+            }
+            TYPES[rank] = (byte) (keys[i] >>> 52);
+        }
+        for (int cards = HAND_SIZE + 1; cards <= MAX_CARDS; cards++) {
+            TABLES[cards] = new short[RankPatternHash.size(cards)];
+            fillBestOfFive(TABLES[cards], new int[cards], 0, RANKS - 1, 0);
+        }
+    }
+
+    private DeuceToSevenLowEvaluator() {
+    }
+
+    public static int evaluate(int c1, int c2, int c3, int c4, int c5) {
+        if ((c1 & c2 & c3 & c4 & c5 & 0xF000) != 0) {
+            return FLUSHES[(c1 | c2 | c3 | c4 | c5) >>> 16];
+        }
+        long pattern = RankPatternHash.addRank(0, PackedCard.rank(c1));
+        pattern = RankPatternHash.addRank(pattern, PackedCard.rank(c2));
+        pattern = RankPatternHash.addRank(pattern, PackedCard.rank(c3));
+        pattern = RankPatternHash.addRank(pattern, PackedCard.rank(c4));
+        pattern = RankPatternHash.addRank(pattern, PackedCard.rank(c5));
+        return TABLES[HAND_SIZE][RankPatternHash.hash(pattern, HAND_SIZE)];
+    }
+
+    /**
+     * Returns the best low of any five of the count packed cards starting at offset.
+     */
+    public static int evaluate(int[] cards, int offset, int count) {
+        if (count < MIN_CARDS || count > MAX_CARDS) {
+            throw new IllegalArgumentException("Card list must contain " + MIN_CARDS + " to " + MAX_CARDS
+                    + " cards, not " + count);
+        }
+        if (count == HAND_SIZE) {
+            return evaluate(cards[offset], cards[offset + 1], cards[offset + 2], cards[offset + 3],
+                    cards[offset + 4]);
+        }
+        long pattern = 0;
+        int suitCounts = 0;
+        for (int i = offset; i < offset + count; i++) {
+            pattern = RankPatternHash.addRank(pattern, PackedCard.rank(cards[i]));
+            suitCounts += 1 << (4 * PackedCard.suit(cards[i]));
+        }
+        // a suit counter of five or more sets its top bit once 3 is added
+        if (((suitCounts + 0x3333) & 0x8888) == 0) {
+            return TABLES[count][RankPatternHash.hash(pattern, count)];
+        }
+        return bestOfFive(cards, offset, count);
+    }
+
+    public static int evaluate(int... cards) {
+        return evaluate(cards, 0, cards.length);
+    }
+
+    /**
+     * Evaluates count hands of handSize cards each, laid out back to back
+     * from handsOffset, into ranks.
+     */
+    public static void evaluateBatch(int[] hands, int handsOffset, int handSize, int[] ranks, int ranksOffset,
+            int count) {
+        for (int hand = 0; hand < count; hand++) {
+            ranks[ranksOffset + hand] = evaluate(hands, handsOffset + hand * handSize, handSize);
+        }
+    }
+
+    /**
+     * Returns the type of the hand a rank stands for, the same types as high
+     * hands, so a STRAIGHT or a FLUSH is a bad low.
+     */
+    public static PokerHandType handType(int rank) {
+        return HAND_TYPES[TYPES[rank]];
+    }
+
+    /**
+     * Collects a sort key for every five card hand class: the hand type,
+     * then the ranks from the most repeated and highest down, so a lower
+     * key is a better low. The low bits hold the rank mask with the FLUSH
+     * bit for flushes, and the pattern's hash otherwise.
+     */
+    private static int collectKeys(long[] keys, int size, int[] ranks, int cards, int maxRank, long pattern) {
+        if (cards == HAND_SIZE) {
+            int[] counts = new int[RANKS];
+            int mask = 0;
+            for (int rank : ranks) {
+                counts[rank]++;
+                mask |= 1 << rank;
+            }
+            long key = 0;
+            for (int copies = 4; copies >= 1; copies--) {
+                for (int rank = RANKS - 1; rank >= 0; rank--) {
+                    if (counts[rank] == copies) {
+                        key = key << 4 | rank;
+                    }
+                }
+            }
+            for (int i = Integer.bitCount(mask); i < HAND_SIZE; i++) {
+                key <<= 4;
+            }
+            PokerHandType type = type(counts, mask, false);
+            keys[size++] = ((long) type.ordinal() << 20 | key) << 32 | RankPatternHash.hash(pattern, HAND_SIZE);
+            if (Integer.bitCount(mask) == HAND_SIZE) {
+                type = type(counts, mask, true);
+                keys[size++] = ((long) type.ordinal() << 20 | key) << 32 | (FLUSH | mask) & 0xFFFFFFFFL;
+            }
+            return size;
+        }
+        for (int rank = maxRank; rank >= 0; rank--) {
+            if (RankPatternHash.count(pattern, rank) < 4) {
+                ranks[cards] = rank;
+                size = collectKeys(keys, size, ranks, cards + 1, rank, RankPatternHash.addRank(pattern, rank));
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Hand types as in high poker, except that A-5-4-3-2 isn't a straight.
+     */
+    private static PokerHandType type(int[] counts, int mask, boolean flush) {
+        int pairs = 0;
+        int trips = 0;
+        for (int count : counts) {
+            if (count == 4) {
+                return PokerHandType.FOUR_OF_A_KIND;
+            }
+            pairs += count == 2 ? 1 : 0;
+            trips += count == 3 ? 1 : 0;
+        }
+        if (trips > 0) {
+            return pairs > 0 ? PokerHandType.FULL_HOUSE : PokerHandType.THREE_OF_A_KIND;
+        }
+        if (pairs > 0) {
+            return pairs == 2 ? PokerHandType.TWO_PAIR : PokerHandType.PAIR;
+        }
+        boolean straight = mask == 0x1F << Integer.numberOfTrailingZeros(mask);
+        if (straight) {
+            return flush ? PokerHandType.STRAIGHT_FLUSH : PokerHandType.STRAIGHT;
+        }
+        return flush ? PokerHandType.FLUSH : PokerHandType.HIGH_CARD;
+    }
+
+    /**
+     * Walks every pattern of table-sized rank lists and stores the best low
+     * any five of them make without a flush.
+     */
+    private static void fillBestOfFive(short[] table, int[] ranks, int size, int maxRank, long pattern) {
+        if (size == ranks.length) {
+            int best = 0;
+            for (int skip = 0; skip < 1 << size; skip++) {
+                if (Integer.bitCount(skip) == size - HAND_SIZE) {
+                    long five = 0;
+                    for (int i = 0; i < size; i++) {
+                        if ((skip & (1 << i)) == 0) {
+                            five = RankPatternHash.addRank(five, ranks[i]);
+                        }
+                    }
+                    best = Math.max(best, TABLES[HAND_SIZE][RankPatternHash.hash(five, HAND_SIZE)]);
+                }
+            }
+            table[RankPatternHash.hash(pattern, size)] = (short) best;
+            return;
+        }
+        for (int rank = maxRank; rank >= 0; rank--) {
+            if (RankPatternHash.count(pattern, rank) < 4) {
+                ranks[size] = rank;
+                fillBestOfFive(table, ranks, size + 1, rank, RankPatternHash.addRank(pattern, rank));
+            }
+        }
+    }
+
+    /**
+     * Tries every five of the cards, for hands where five share a suit.
+     */
+    private static int bestOfFive(int[] cards, int offset, int count) {
+        int best = 0;
+        int[] five = new int[HAND_SIZE];
+        for (int skip = 0; skip < 1 << count; skip++) {
+            if (Integer.bitCount(skip) == count - HAND_SIZE) {
+                for (int i = 0, j = 0; i < count; i++) {
+                    if ((skip & (1 << i)) == 0) {
+                        five[j++] = cards[offset + i];
+                    }
+                }
+                best = Math.max(best, evaluate(five[0], five[1], five[2], five[3], five[4]));
+            }
+        }
+        return best;
+    }
+}
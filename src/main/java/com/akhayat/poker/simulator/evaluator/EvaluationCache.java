@@ -0,0 +1,246 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * A bounded cache of hand ranks keyed by the hand's card mask (one bit per
+ * card index), so the same cards in any order hit the same entry.
+ *
+ * The table is primitive: a long key and an int rank per slot, with no
+ * boxing. Slots are grouped in buckets of WAYS; a key can only live in the
+ * bucket its hash picks, and when that bucket is full the CLOCK algorithm
+ * evicts an entry that hasn't been read since the hand last went round.
+ *
+ * Buckets are guarded by a fixed set of striped StampedLocks. Readers only
+ * take an optimistic stamp and retry under the read lock if a writer got
+ * in the way, so reads don't block each other. Hits, misses and evictions
+ * are counted so the size can be tuned.
+ */
+public class EvaluationCache {
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    /**
+     * Returned by get() for a mask that isn't cached. No rank is 0.
+     */
+    public static final int NOT_FOUND = 0;
+
+    static final int WAYS = 8;
+    private static final int STRIPES = 64;
+
+    private final long[] keys;
+    private final int[] ranks;
+    private final boolean[] referenced;
+    private final byte[] hands;
+    private final int bucketMask;
+    private final StampedLock[] locks = new StampedLock[STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EvaluationCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache for about the given number of hands, rounded up to a
+     * power of two of at least WAYS.
+     */
+    public EvaluationCache(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+        }
+        int buckets = Integer.highestOneBit(Math.max(1, capacity / WAYS));
+        if (buckets * WAYS < capacity) {
+            buckets <<= 1;
+        }
+        this.keys = new long[buckets * WAYS];
+        this.ranks = new int[buckets * WAYS];
+        this.referenced = new boolean[buckets * WAYS];
+        this.hands = new byte[buckets];
+        this.bucketMask = buckets - 1;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new StampedLock();
+        }
+    }
+
+    /**
+     * Returns the card mask of the given packed cards.
+     */
+    public static long mask(int[] cards, int offset, int count) {
+        long mask = 0;
+        for (int i = offset; i < offset + count; i++) {
+            mask |= 1L << PackedCard.index(cards[i]);
+        }
+        return mask;
+    }
+
+    private int bucket(long mask) {
+        // the murmur3 finalizer, so that nearby masks spread over the table
+        long h = mask;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & bucketMask;
+    }
+
+    /**
+     * Returns the cached rank for the card mask, or NOT_FOUND.
+     */
+    public int get(long mask) {
+        int bucket = bucket(mask);
+        StampedLock lock = locks[bucket & (STRIPES - 1)];
+        long stamp = lock.tryOptimisticRead();
+        int rank = find(bucket, mask);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                rank = find(bucket, mask);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (rank == NOT_FOUND) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return rank;
+    }
+
+    private int find(int bucket, long mask) {
+        int first = bucket * WAYS;
+        for (int slot = first; slot < first + WAYS; slot++) {
+            if (keys[slot] == mask) {
+                int rank = ranks[slot];
+                // a racy write at worst keeps an entry one more round
+                referenced[slot] = true;
+                return rank;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Caches the rank of the card mask, evicting an entry of its bucket if
+     * the bucket is full.
+     */
+    public void put(long mask, int rank) {
+        if (mask == 0 || rank == NOT_FOUND) {
+            throw new IllegalArgumentException("Can't cache rank " + rank + " for mask " + mask);
+        }
+        int bucket = bucket(mask);
+        int first = bucket * WAYS;
+        StampedLock lock = locks[bucket & (STRIPES - 1)];
+        long stamp = lock.writeLock();
+        try {
+            int empty = -1;
+            for (int slot = first; slot < first + WAYS; slot++) {
+                if (keys[slot] == mask) {
+                    ranks[slot] = rank;
+                    return;
+                }
+                if (keys[slot] == 0 && empty < 0) {
+                    empty = slot;
+                }
+            }
+            if (empty < 0) {
+                empty = evict(bucket);
+                evictions.increment();
+            }
+            keys[empty] = mask;
+            ranks[empty] = rank;
+            referenced[empty] = false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Moves the bucket's clock hand on until it finds an entry that hasn't
+     * been read since the hand last passed it, giving every entry it skips
+     * a second chance.
+     */
+    private int evict(int bucket) {
+        int first = bucket * WAYS;
+        int hand = hands[bucket];
+        while (referenced[first + hand]) {
+            referenced[first + hand] = false;
+            hand = (hand + 1) & (WAYS - 1);
+        }
+        hands[bucket] = (byte) ((hand + 1) & (WAYS - 1));
+        return first + hand;
+    }
+
+    /**
+     * Returns the rank of 5 or 7 packed cards starting at offset, from the
+     * cache if it's there and evaluating and caching it otherwise.
+     */
+    public int evaluate(int[] cards, int offset, int count) {
+        long mask = mask(cards, offset, count);
+        int rank = get(mask);
+        if (rank == NOT_FOUND) {
+            if (count == PokerHandEvaluator.HAND_SIZE) {
+                rank = LookupTableEvaluator.evaluate(cards, offset);
+            } else if (count == SevenCardEvaluator.HAND_SIZE) {
+                rank = SevenCardEvaluator.evaluate(cards, offset);
+            } else {
+                throw new IllegalArgumentException("Only 5 and 7 card hands can be evaluated, not " + count);
+            }
+            put(mask, rank);
+        }
+        return rank;
+    }
+
+    /**
+     * Empties the cache. The counters keep going.
+     */
+    public void clear() {
+        long[] stamps = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stamps[i] = locks[i].writeLock();
+        }
+        Arrays.fill(keys, 0);
+        Arrays.fill(referenced, false);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i].unlockWrite(stamps[i]);
+        }
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the share of lookups that were hits, 0 before the first one.
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long lookups = hits + getMisses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d entries: %,d hits, %,d misses (%.1f%% hit rate), %,d evictions", getCapacity(),
+                getHits(), getMisses(), 100 * getHitRate(), getEvictions());
+    }
+}
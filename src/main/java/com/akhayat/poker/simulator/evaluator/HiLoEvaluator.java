@@ -0,0 +1,126 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * Evaluates hands for high-low split games with an eight-or-better low,
+ * like Stud-8 and Omaha Hi-Lo. Each hand gets a high rank (1..7462, see
+ * LookupTableEvaluator) and a low rank, which is the AceToFiveLowEvaluator
+ * rank of the best five different ranks from ace to eight, or NO_LOW when
+ * the hand doesn't have them. Both are packed into one int: use high() and
+ * low() to take it apart.
+ *
+ * The two come from the same pass over the cards. The ranks held once,
+ * twice, three and four times give the high hand as in BestHandEvaluator,
+ * and the ranks held at least once, restricted to ace to eight, are all a
+ * low needs: a 256 entry table maps that mask to the low rank. A hand with
+ * fewer than five low ranks has no low, so NO_LOW costs nothing extra.
+ */
+public final class HiLoEvaluator {
+
+    public static final int NO_LOW = 0;
+    public static final int MIN_CARDS = BestHandEvaluator.MIN_CARDS;
+    public static final int MAX_CARDS = BestHandEvaluator.MAX_CARDS;
+
+    private static final int LOW_BITS = 16;
+    private static final int LOW_MASK = (1 << LOW_BITS) - 1;
+
+    /**
+     * The low rank of every set of ranks from ace to eight, with the ace in
+     * bit 0 and the eight in bit 7, or NO_LOW for fewer than five.
+     */
+    private static final short[] LOW_RANKS = new short[1 << 8];
+
+    static {
+        for (int mask = 0; mask < LOW_RANKS.length; mask++) {
+            if (Integer.bitCount(mask) >= 5) {
+                int[] five = new int[5];
+                int lowest = mask;
+                for (int i = 0; i < five.length; i++) {
+                    int bit = Integer.numberOfTrailingZeros(lowest);
+                    // bit 0 is the ace, bit k the rank with index k - 1
+                    five[i] = PackedCard.of(bit == 0 ? PackedCard.NUM_RANKS - 1 : bit - 1, 0);
+                    lowest &= lowest - 1;
+                }
+                LOW_RANKS[mask] = (short) AceToFiveLowEvaluator.evaluate(five);
+            }
+        }
+    }
+
+    private HiLoEvaluator() {
+    }
+
+    /**
+     * Returns the packed high and low ranks of the best five of the count
+     * cards starting at offset, e.g. the seven cards of a Stud-8 hand.
+     */
+    public static int evaluate(int[] cards, int offset, int count) {
+        if (count < MIN_CARDS || count > MAX_CARDS) {
+            throw new IllegalArgumentException("Card list must contain " + MIN_CARDS + " to " + MAX_CARDS
+                    + " cards, not " + count);
+        }
+        long suits = 0;
+        int one = 0;
+        int two = 0;
+        int three = 0;
+        int four = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int card = cards[i];
+            int rankBit = PackedCard.rankBit(card);
+            suits |= (long) rankBit << (16 * PackedCard.suit(card));
+            four |= three & rankBit;
+            three |= two & rankBit;
+            two |= one & rankBit;
+            one |= rankBit;
+        }
+        return pack(BestHandEvaluator.rank(suits, one, two, three, four), LOW_RANKS[lowMask(one)]);
+    }
+
+    public static int evaluate(int... cards) {
+        return evaluate(cards, 0, cards.length);
+    }
+
+    /**
+     * Returns the packed high and low ranks of an Omaha Hi-Lo hand: count
+     * hole cards from offset on a board prepared by OmahaEvaluator.board().
+     * Both halves use exactly two hole cards, not necessarily the same two.
+     */
+    public static int evaluateOmaha(int[] hole, int offset, int count, long board) {
+        return pack(OmahaEvaluator.evaluate(hole, offset, count, board),
+                OmahaEvaluator.evaluateLow(hole, offset, count, board));
+    }
+
+    public static int high(int evaluation) {
+        return evaluation >>> LOW_BITS;
+    }
+
+    /**
+     * Returns the low rank, or NO_LOW if the hand doesn't qualify.
+     */
+    public static int low(int evaluation) {
+        return evaluation & LOW_MASK;
+    }
+
+    public static boolean hasLow(int evaluation) {
+        return low(evaluation) != NO_LOW;
+    }
+
+    /**
+     * Returns the low rank of a mask of ranks from ace (bit 0) to eight (bit 7).
+     */
+    static int lowRank(int lowMask) {
+        return LOW_RANKS[lowMask];
+    }
+
+    /**
+     * Turns a rank mask (deuce in bit 0, ace in bit 12) into a mask of the
+     * ranks from ace to eight, ace in bit 0.
+     */
+    static int lowMask(int rankMask) {
+        return (rankMask << 1 | rankMask >>> 12) & 0xFF;
+    }
+
+    private static int pack(int high, int low) {
+        return high << LOW_BITS | low;
+    }
+}
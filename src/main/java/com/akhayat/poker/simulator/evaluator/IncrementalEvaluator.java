@@ -0,0 +1,135 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * Evaluates a hand that grows and shrinks a card at a time, like hole cards
+ * followed by the flop, the turn and the river. Instead of rebuilding a
+ * hand for every street it keeps what the table lookups need up to date:
+ * <ul>
+ * <li>the rank pattern (see RankPatternHash)</li>
+ * <li>a 4-bit card count per suit</li>
+ * <li>the cards themselves, as rank bits in one 16-bit lane per suit</li>
+ * </ul>
+ * Adding or removing a card is a handful of additions and bit operations,
+ * and getRank() is one table lookup (plus the rank pattern hash), so a
+ * depth-first walk over runouts pays for each shared card only once.
+ *
+ * The rank is on the usual 1..7462 scale for 5, 6 or 7 cards. An evaluator
+ * is mutable and meant for one thread.
+ */
+public final class IncrementalEvaluator {
+
+    public static final int MAX_CARDS = SevenCardEvaluator.HAND_SIZE;
+
+    private static final int MIN_CARDS = 5;
+    private static final int SUIT_SHIFT = 16;
+
+    /**
+     * RANK_PATTERNS[n] holds the best non-flush rank of every pattern of n
+     * cards, for 5 and 6 cards. Seven card patterns are SevenCardEvaluator's.
+     */
+    private static final int[][] RANK_PATTERNS = new int[MAX_CARDS][];
+
+    static {
+        for (int cards = MIN_CARDS; cards < MAX_CARDS; cards++) {
+            RANK_PATTERNS[cards] = new int[RankPatternHash.size(cards)];
+            fillRankPatterns(RANK_PATTERNS[cards], new int[cards], 0, PackedCard.NUM_RANKS - 1, 0);
+        }
+    }
+
+    private long pattern;
+    private int suitCounts;
+    private long cards;
+    private int size;
+
+    /**
+     * Adds a packed card to the hand.
+     *
+     * @throws IllegalArgumentException if the card is already in the hand
+     *         or the hand already holds seven cards
+     */
+    public void addCard(int card) {
+        long bit = cardBit(card);
+        if ((cards & bit) != 0) {
+            throw new IllegalArgumentException(PackedCard.toString(card) + " is already in the hand.");
+        }
+        if (size == MAX_CARDS) {
+            throw new IllegalArgumentException("A hand can't hold more than " + MAX_CARDS + " cards.");
+        }
+        cards |= bit;
+        pattern = RankPatternHash.addRank(pattern, PackedCard.rank(card));
+        suitCounts += 1 << (4 * PackedCard.suit(card));
+        size++;
+    }
+
+    /**
+     * Removes a packed card from the hand.
+     *
+     * @throws IllegalArgumentException if the card isn't in the hand
+     */
+    public void removeCard(int card) {
+        long bit = cardBit(card);
+        if ((cards & bit) == 0) {
+            throw new IllegalArgumentException(PackedCard.toString(card) + " is not in the hand.");
+        }
+        cards &= ~bit;
+        pattern -= 1L << (3 * PackedCard.rank(card));
+        suitCounts -= 1 << (4 * PackedCard.suit(card));
+        size--;
+    }
+
+    public boolean contains(int card) {
+        return (cards & cardBit(card)) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        pattern = 0;
+        suitCounts = 0;
+        cards = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the rank of the best five card hand in the current cards, or
+     * 0 while there are fewer than five.
+     */
+    public int getRank() {
+        if (size < MIN_CARDS) {
+            return 0;
+        }
+        // with at most seven cards, adding 3 to a suit's count sets its
+        // high bit exactly when the suit holds five or more
+        int flushes = (suitCounts + 0x3333) & 0x8888;
+        if (flushes != 0) {
+            // five to seven cards can't hold a flush and quads or a full house
+            int suit = Integer.numberOfTrailingZeros(flushes) >>> 2;
+            return SevenCardEvaluator.flushRank((int) (cards >>> (SUIT_SHIFT * suit)) & 0x1FFF);
+        }
+        if (size == MAX_CARDS) {
+            return SevenCardEvaluator.rankPatternRank(pattern);
+        }
+        return RANK_PATTERNS[size][RankPatternHash.hash(pattern, size)];
+    }
+
+    private static long cardBit(int card) {
+        return (long) PackedCard.rankBit(card) << (SUIT_SHIFT * PackedCard.suit(card));
+    }
+
+    private static void fillRankPatterns(int[] table, int[] ranks, int size, int maxRank, long pattern) {
+        if (size == ranks.length) {
+            table[RankPatternHash.hash(pattern, size)] = SevenCardEvaluator.bestOfRanks(ranks);
+            return;
+        }
+        for (int rank = maxRank; rank >= 0; rank--) {
+            if (RankPatternHash.count(pattern, rank) < 4) {
+                ranks[size] = rank;
+                fillRankPatterns(table, ranks, size + 1, rank, RankPatternHash.addRank(pattern, rank));
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.PokerHand;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+
+/**
+ * Evaluates five card hands with precomputed lookup tables, in the spirit of
+ * Cactus Kev's evaluator. Every hand maps to one of the 7462 equivalence
+ * classes of five card poker hands, returned as a rank where 1 is the worst
+ * hand (7-5-4-3-2 unsuited) and 7462 the best (a royal flush), so two hands
+ * can be compared with a single int comparison.
+ *
+ * Lookups go through three tables:
+ * <ul>
+ * <li>flushes, indexed by the OR of the five rank bits</li>
+ * <li>five unique ranks (straights and high cards), indexed the same way</li>
+ * <li>everything with a paired rank, found by binary search on the product
+ *     of the five rank primes</li>
+ * </ul>
+ * None of it allocates, so it is safe to call from hot loops.
+ */
+public final class LookupTableEvaluator {
+
+    public static final int NUM_RANKS = 7462;
+
+    private static final int RANK_MASKS = 1 << PackedCard.NUM_RANKS;
+
+    private static final int[] FLUSHES = new int[RANK_MASKS];
+    private static final int[] UNIQUE_FIVE = new int[RANK_MASKS];
+    private static final int[] PRODUCTS;
+    private static final int[] PRODUCT_RANKS;
+
+    /**
+     * For each rank, the packed score of the hands in that class
+     * (see PokerHandEvaluation).
+     */
+    private static final int[] SCORES = new int[NUM_RANKS + 1];
+
+    private static final int[] PRIMES = new int[PackedCard.NUM_RANKS];
+
+    private static final Card.Rank[] RANKS = Card.Rank.values();
+    private static final PokerHandType[] HAND_TYPES = PokerHandType.values();
+
+    static {
+        for (int rank = 0; rank < PRIMES.length; rank++) {
+            PRIMES[rank] = PackedCard.prime(PackedCard.of(rank, 0));
+        }
+        int[] scores = new int[NUM_RANKS];
+        int[] rankCounts = new int[PackedCard.NUM_RANKS];
+        int classes = 0;
+        int pairedHands = 0;
+        for (int[] ranks : rankMultisets()) {
+            Arrays.fill(rankCounts, 0);
+            for (int rank : ranks) {
+                rankCounts[rank]++;
+            }
+            scores[classes++] = score(rankCounts, false);
+            if (isUnique(rankCounts)) {
+                scores[classes++] = score(rankCounts, true);
+            } else {
+                pairedHands++;
+            }
+        }
+        if (classes != NUM_RANKS) {
+            throw new IllegalStateException("Expected " + NUM_RANKS + " hand classes but found " + classes);
+        }
+        Arrays.sort(scores);
+        System.arraycopy(scores, 0, SCORES, 1, NUM_RANKS);
+
+        long[] products = new long[pairedHands];
+        int product = 0;
+        for (int[] ranks : rankMultisets()) {
+            Arrays.fill(rankCounts, 0);
+            int mask = 0;
+            int primes = 1;
+            for (int rank : ranks) {
+                rankCounts[rank]++;
+                mask |= 1 << rank;
+                primes *= PRIMES[rank];
+            }
+            if (isUnique(rankCounts)) {
+                FLUSHES[mask] = rankOf(score(rankCounts, true));
+                UNIQUE_FIVE[mask] = rankOf(score(rankCounts, false));
+            } else {
+                products[product++] = ((long) primes << 32) | rankOf(score(rankCounts, false));
+            }
+        }
+        Arrays.sort(products);
+        PRODUCTS = new int[pairedHands];
+        PRODUCT_RANKS = new int[pairedHands];
+        for (int i = 0; i < pairedHands; i++) {
+            PRODUCTS[i] = (int) (products[i] >>> 32);
+            PRODUCT_RANKS[i] = (int) products[i];
+        }
+    }
+
+    private LookupTableEvaluator() {
+    }
+
+    /**
+     * Returns the rank (1..7462) of the given five packed cards.
+     */
+    public static int evaluate(int c1, int c2, int c3, int c4, int c5) {
+        int rankMask = (c1 | c2 | c3 | c4 | c5) >>> 16;
+        if ((c1 & c2 & c3 & c4 & c5 & 0xF000) != 0 && FLUSHES[rankMask] != 0) {
+            return FLUSHES[rankMask];
+        }
+        int rank = UNIQUE_FIVE[rankMask];
+        if (rank != 0) {
+            return rank;
+        }
+        int product = (c1 & 0x3F) * (c2 & 0x3F) * (c3 & 0x3F) * (c4 & 0x3F) * (c5 & 0x3F);
+        int index = Arrays.binarySearch(PRODUCTS, product);
+        if (index < 0) {
+            throw new IllegalArgumentException("Not a valid five card hand: " + PackedCard.toCards(c1, c2, c3, c4, c5));
+        }
+        return PRODUCT_RANKS[index];
+    }
+
+    /**
+     * Returns the rank of the five packed cards starting at offset.
+     */
+    public static int evaluate(int[] cards, int offset) {
+        return evaluate(cards[offset], cards[offset + 1], cards[offset + 2], cards[offset + 3], cards[offset + 4]);
+    }
+
+    public static int evaluate(int... cards) {
+        if (cards.length != PokerHandEvaluator.HAND_SIZE) {
+            throw new IllegalArgumentException(
+                    "Card list must contain " + PokerHandEvaluator.HAND_SIZE + " cards.");
+        }
+        return evaluate(cards, 0);
+    }
+
+    public static int evaluate(PokerHand hand) {
+        if (hand.getHand().size() != PokerHandEvaluator.HAND_SIZE) {
+            throw new IllegalArgumentException(
+                    "Card list must contain " + PokerHandEvaluator.HAND_SIZE + " cards.");
+        }
+        return evaluate(hand.getPackedCard(0), hand.getPackedCard(1), hand.getPackedCard(2), hand.getPackedCard(3),
+                hand.getPackedCard(4));
+    }
+
+    /**
+     * Returns the rank of a flush (or straight flush) made of the five
+     * ranks in the given rank mask.
+     */
+    static int flushRank(int rankMask) {
+        return FLUSHES[rankMask];
+    }
+
+    /**
+     * Returns the rank of five cards of different ranks, given as a rank
+     * mask, assuming they don't make a flush.
+     */
+    static int uniqueRank(int rankMask) {
+        return UNIQUE_FIVE[rankMask];
+    }
+
+    /**
+     * Returns the rank of five cards with the given rank indices,
+     * assuming they don't make a flush.
+     */
+    static int nonFlushRank(int r1, int r2, int r3, int r4, int r5) {
+        int rankMask = (1 << r1) | (1 << r2) | (1 << r3) | (1 << r4) | (1 << r5);
+        int rank = UNIQUE_FIVE[rankMask];
+        if (rank != 0) {
+            return rank;
+        }
+        int product = PRIMES[r1] * PRIMES[r2] * PRIMES[r3] * PRIMES[r4] * PRIMES[r5];
+        return PRODUCT_RANKS[Arrays.binarySearch(PRODUCTS, product)];
+    }
+
+    public static PokerHandType handType(int rank) {
+        return HAND_TYPES[SCORES[rank] >>> PokerHandEvaluation.TYPE_SHIFT];
+    }
+
+    /**
+     * Returns the packed score (see PokerHandEvaluation) of a rank. Ranks
+     * and scores sort the same way; ranks are just dense.
+     */
+    public static int score(int rank) {
+        return SCORES[rank];
+    }
+
+    /**
+     * Rebuilds the full evaluation for a rank. The rank doesn't know about
+     * suits, so the kickers are taken from the given cards when there are
+     * any (the first card of each kicker rank, restricted to the flush suit
+     * for flushes) and are clubs otherwise.
+     */
+    public static PokerHandEvaluation toEvaluation(int rank, int... cards) {
+        int score = SCORES[rank];
+        PokerHandType handType = HAND_TYPES[score >>> PokerHandEvaluation.TYPE_SHIFT];
+        Card.Rank strength = rankAt(score, 0);
+        switch (handType) {
+            case STRAIGHT_FLUSH:
+            case STRAIGHT:
+                return new PokerHandEvaluation(handType, strength, new ArrayList<>(0));
+            case FULL_HOUSE:
+                return new PokerHandEvaluation(handType, strength, rankAt(score, 1), null);
+            case TWO_PAIR:
+                return new PokerHandEvaluation(handType, strength, rankAt(score, 1),
+                        kickers(score, 2, 1, cards, -1));
+            case FOUR_OF_A_KIND:
+                return new PokerHandEvaluation(handType, strength, kickers(score, 1, 1, cards, -1));
+            case THREE_OF_A_KIND:
+                return new PokerHandEvaluation(handType, strength, kickers(score, 1, 2, cards, -1));
+            case PAIR:
+                return new PokerHandEvaluation(handType, strength, kickers(score, 1, 3, cards, -1));
+            case FLUSH:
+                return new PokerHandEvaluation(handType, strength, kickers(score, 1, 4, cards, flushSuit(cards)));
+            default:
+                return new PokerHandEvaluation(handType, strength, kickers(score, 1, 4, cards, -1));
+        }
+    }
+
+    private static Card.Rank rankAt(int score, int position) {
+        return RANKS[((score >>> (PokerHandEvaluation.STRENGTH_SHIFT - 4 * position)) & 0xF) - 2];
+    }
+
+    private static List<Card> kickers(int score, int first, int count, int[] cards, int suit) {
+        List<Card> kickers = new ArrayList<>(count);
+        for (int position = first; position < first + count; position++) {
+            int rank = rankAt(score, position).ordinal();
+            int kicker = PackedCard.of(rank, 0);
+            for (int card : cards) {
+                if (PackedCard.rank(card) == rank && (suit < 0 || PackedCard.suit(card) == suit)) {
+                    kicker = card;
+                    break;
+                }
+            }
+            kickers.add(Card.fromPacked(kicker));
+        }
+        return kickers;
+    }
+
+    private static int flushSuit(int[] cards) {
+        int[] suitCounts = new int[PackedCard.NUM_SUITS];
+        int flushSuit = -1;
+        for (int card : cards) {
+            if (++suitCounts[PackedCard.suit(card)] >= 5) {
+                flushSuit = PackedCard.suit(card);
+            }
+        }
+        return flushSuit;
+    }
+
+    /**
+     * Lists every multiset of five rank indices with no rank more than four times,
+     * each sorted from highest to lowest.
+     */
+    private static List<int[]> rankMultisets() {
+        List<int[]> multisets = new ArrayList<>();
+        for (int a = 12; a >= 0; a--) {
+            for (int b = a; b >= 0; b--) {
+                for (int c = b; c >= 0; c--) {
+                    for (int d = c; d >= 0; d--) {
+                        for (int e = d; e >= 0; e--) {
+                            if (a != e) {
+                                multisets.add(new int[] { a, b, c, d, e });
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return multisets;
+    }
+
+    private static boolean isUnique(int[] rankCounts) {
+        for (int count : rankCounts) {
+            if (count > 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int rankOf(int score) {
+        return Arrays.binarySearch(SCORES, 1, NUM_RANKS + 1, score);
+    }
+
+    /**
+     * Packs the hand type and the ranks that decide ties, most significant
+     * first, so that a higher score is always a better hand.
+     */
+    static int score(int[] rankCounts, boolean flush) {
+        int mask = 0;
+        for (int rank = 0; rank < rankCounts.length; rank++) {
+            if (rankCounts[rank] > 0) {
+                mask |= 1 << rank;
+            }
+        }
+        if (Integer.bitCount(mask) == 5) {
+            int straightHigh = straightHigh(mask);
+            if (straightHigh >= 0) {
+                PokerHandType type = flush ? PokerHandType.STRAIGHT_FLUSH : PokerHandType.STRAIGHT;
+                return (type.getRanking() << PokerHandEvaluation.TYPE_SHIFT)
+                        | ((straightHigh + 2) << PokerHandEvaluation.STRENGTH_SHIFT);
+            }
+        }
+        int score = 0;
+        int shift = PokerHandEvaluation.STRENGTH_SHIFT;
+        for (int count = 4; count > 0; count--) {
+            for (int rank = rankCounts.length - 1; rank >= 0; rank--) {
+                if (rankCounts[rank] == count) {
+                    score |= (rank + 2) << shift;
+                    shift -= 4;
+                }
+            }
+        }
+        return (handType(rankCounts, flush).getRanking() << PokerHandEvaluation.TYPE_SHIFT) | score;
+    }
+
+    private static PokerHandType handType(int[] rankCounts, boolean flush) {
+        int pairs = 0;
+        int trips = 0;
+        for (int count : rankCounts) {
+            if (count == 4) {
+                return PokerHandType.FOUR_OF_A_KIND;
+            } else if (count == 3) {
+                trips++;
+            } else if (count == 2) {
+                pairs++;
+            }
+        }
+        if (trips > 0) {
+            return pairs > 0 ? PokerHandType.FULL_HOUSE : PokerHandType.THREE_OF_A_KIND;
+        } else if (pairs > 0) {
+            return pairs > 1 ? PokerHandType.TWO_PAIR : PokerHandType.PAIR;
+        }
+        return flush ? PokerHandType.FLUSH : PokerHandType.HIGH_CARD;
+    }
+
+    /**
+     * Returns the rank index of the top card of the straight in the five
+     * bit rank mask, or -1 if it isn't a straight.
+     */
+    private static int straightHigh(int mask) {
+        if (mask == 0x100F) {
+            return 3;
+        }
+        int low = Integer.numberOfTrailingZeros(mask);
+        return mask == (0x1F << low) ? low + 4 : -1;
+    }
+}
@@ -0,0 +1,291 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * Evaluates Omaha hands: 4 to 6 hole cards (PLO4, PLO5, PLO6) and a board
+ * of 3 to 5 cards, where the five card hand has to use exactly two hole
+ * cards and three board cards. Ranks are on the same 1..7462 scale as
+ * LookupTableEvaluator.
+ *
+ * Instead of trying up to C(5,2) x C(5,3) = 100 five card hands, the work
+ * is split the way SevenCardEvaluator splits it:
+ * <ul>
+ * <li>Without a flush only ranks matter. A table holds, for every rank
+ *     pattern of the board and every pair of hole card ranks, the best hand
+ *     the pair makes with three of the board's ranks, so a hand costs one
+ *     lookup per pair of hole cards.</li>
+ * <li>A flush needs three board cards of one suit (there is at most one
+ *     such suit) and two hole cards of that suit. Those combinations are
+ *     only tried when the best flush of all the suited cards together beats
+ *     what the hand already has.</li>
+ * </ul>
+ * The board part is worked out once by board() and can be shared by every
+ * hand played against that board.
+ */
+public final class OmahaEvaluator {
+
+    public static final int MIN_HOLE_CARDS = 4;
+    public static final int MAX_HOLE_CARDS = 6;
+    public static final int MIN_BOARD_CARDS = 3;
+    public static final int MAX_BOARD_CARDS = 5;
+
+    private static final int RANKS = PackedCard.NUM_RANKS;
+    private static final int PAIRS = RANKS * (RANKS + 1) / 2;
+    private static final int NO_SUIT = PackedCard.NUM_SUITS;
+
+    /**
+     * Index of every unordered pair of ranks, looked up by rank1 * 13 + rank2.
+     */
+    private static final int[] PAIR_INDEX = new int[RANKS * RANKS];
+
+    /**
+     * NON_FLUSH[n] holds PAIRS entries per rank pattern of n board cards.
+     * Ranks fit in a short, which halves the tables to about 1.5 MB.
+     */
+    private static final short[][] NON_FLUSH = new short[MAX_BOARD_CARDS + 1][];
+
+    // a prepared board packs the table offset, the board size, the flush
+    // suit (NO_SUIT without one), the board's ranks in that suit and its
+    // ranks from ace to eight for the hi-lo low
+    private static final int SIZE_SHIFT = 20;
+    private static final int SUIT_SHIFT = 24;
+    private static final int MASK_SHIFT = 32;
+    private static final int LOW_SHIFT = 48;
+
+    static {
+        int index = 0;
+        for (int r1 = 0; r1 < RANKS; r1++) {
+            for (int r2 = r1; r2 < RANKS; r2++) {
+                PAIR_INDEX[r1 * RANKS + r2] = index;
+                PAIR_INDEX[r2 * RANKS + r1] = index;
+                index++;
+            }
+        }
+        for (int cards = MIN_BOARD_CARDS; cards <= MAX_BOARD_CARDS; cards++) {
+            NON_FLUSH[cards] = new short[RankPatternHash.size(cards) * PAIRS];
+            fillBoards(NON_FLUSH[cards], new int[cards], 0, RANKS - 1, 0);
+        }
+    }
+
+    private OmahaEvaluator() {
+    }
+
+    /**
+     * Works out the part of the evaluation that only depends on the board
+     * and returns it packed in a long, to pass to evaluate().
+     */
+    public static long board(int[] board, int offset, int count) {
+        if (count < MIN_BOARD_CARDS || count > MAX_BOARD_CARDS) {
+            throw new IllegalArgumentException("An Omaha board has " + MIN_BOARD_CARDS + " to "
+                    + MAX_BOARD_CARDS + " cards, not " + count);
+        }
+        long pattern = 0;
+        int suitCounts = 0;
+        int rankMask = 0;
+        for (int i = offset; i < offset + count; i++) {
+            pattern = RankPatternHash.addRank(pattern, PackedCard.rank(board[i]));
+            suitCounts += 1 << (4 * PackedCard.suit(board[i]));
+            rankMask |= PackedCard.rankBit(board[i]);
+        }
+        int flushSuit = NO_SUIT;
+        int flushMask = 0;
+        for (int suit = 0; suit < PackedCard.NUM_SUITS; suit++) {
+            if (((suitCounts >>> (4 * suit)) & 0xF) >= 3) {
+                flushSuit = suit;
+                for (int i = offset; i < offset + count; i++) {
+                    if (PackedCard.suit(board[i]) == suit) {
+                        flushMask |= PackedCard.rankBit(board[i]);
+                    }
+                }
+            }
+        }
+        return RankPatternHash.hash(pattern, count) * PAIRS
+                | (long) count << SIZE_SHIFT
+                | (long) flushSuit << SUIT_SHIFT
+                | (long) flushMask << MASK_SHIFT
+                | (long) HiLoEvaluator.lowMask(rankMask) << LOW_SHIFT;
+    }
+
+    /**
+     * Returns the rank of the count hole cards starting at offset on a
+     * board prepared by board().
+     */
+    public static int evaluate(int[] hole, int offset, int count, long board) {
+        if (count < MIN_HOLE_CARDS || count > MAX_HOLE_CARDS) {
+            throw new IllegalArgumentException("An Omaha hand has " + MIN_HOLE_CARDS + " to "
+                    + MAX_HOLE_CARDS + " hole cards, not " + count);
+        }
+        short[] table = NON_FLUSH[(int) (board >>> SIZE_SHIFT) & 0x7];
+        int base = (int) board & ((1 << SIZE_SHIFT) - 1);
+        int flushSuit = (int) (board >>> SUIT_SHIFT) & 0x7;
+        int best = 0;
+        int suited = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int card = hole[i];
+            int row = PackedCard.rank(card) * RANKS;
+            for (int j = i + 1; j < offset + count; j++) {
+                best = Math.max(best, table[base + PAIR_INDEX[row + PackedCard.rank(hole[j])]]);
+            }
+            if (PackedCard.suit(card) == flushSuit) {
+                suited |= PackedCard.rankBit(card);
+            }
+        }
+        if (Integer.bitCount(suited) >= 2) {
+            int boardSuited = (int) (board >>> MASK_SHIFT) & ((1 << RANKS) - 1);
+            // no two of the suited hole cards can do better than the best
+            // five of all of them and the suited board cards
+            if (SevenCardEvaluator.flushRank(suited | boardSuited) > best) {
+                best = Math.max(best, bestFlush(suited, boardSuited));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the eight-or-better low (see HiLoEvaluator) of the count hole
+     * cards starting at offset on a board prepared by board(), or
+     * HiLoEvaluator.NO_LOW. Two different low hole cards go with the three
+     * lowest board cards that don't pair them.
+     */
+    public static int evaluateLow(int[] hole, int offset, int count, long board) {
+        if (count < MIN_HOLE_CARDS || count > MAX_HOLE_CARDS) {
+            throw new IllegalArgumentException("An Omaha hand has " + MIN_HOLE_CARDS + " to "
+                    + MAX_HOLE_CARDS + " hole cards, not " + count);
+        }
+        int boardLow = (int) (board >>> LOW_SHIFT) & 0xFF;
+        if (Integer.bitCount(boardLow) < 3) {
+            return HiLoEvaluator.NO_LOW;
+        }
+        int holeLow = 0;
+        for (int i = offset; i < offset + count; i++) {
+            holeLow |= PackedCard.rankBit(hole[i]);
+        }
+        holeLow = HiLoEvaluator.lowMask(holeLow);
+        int best = HiLoEvaluator.NO_LOW;
+        for (int a = holeLow; a != 0; a &= a - 1) {
+            for (int b = a & (a - 1); b != 0; b &= b - 1) {
+                int pair = (a & -a) | (b & -b);
+                int free = boardLow & ~pair;
+                if (Integer.bitCount(free) >= 3) {
+                    best = Math.max(best, HiLoEvaluator.lowRank(pair | lowestThree(free)));
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the rank of the count hole cards starting at holeOffset on
+     * the boardCount cards starting at boardOffset.
+     */
+    public static int evaluate(int[] hole, int holeOffset, int holeCount, int[] board, int boardOffset,
+            int boardCount) {
+        return evaluate(hole, holeOffset, holeCount, board(board, boardOffset, boardCount));
+    }
+
+    /**
+     * Ranks hands of holeCount cards each, laid out back to back from
+     * holesOffset, against one board, writing a rank per hand into ranks.
+     */
+    public static void evaluate(int[] holes, int holesOffset, int holeCount, int hands, long board, int[] ranks,
+            int ranksOffset) {
+        for (int hand = 0; hand < hands; hand++) {
+            ranks[ranksOffset + hand] = evaluate(holes, holesOffset + hand * holeCount, holeCount, board);
+        }
+    }
+
+    /**
+     * Returns the evaluation of the best hand, with the five cards that make it.
+     */
+    public static PokerHandEvaluation toEvaluation(int[] hole, int[] board) {
+        int rank = evaluate(hole, 0, hole.length, board, 0, board.length);
+        int[] five = new int[5];
+        for (int a = 0; a < hole.length; a++) {
+            for (int b = a + 1; b < hole.length; b++) {
+                for (int c = 0; c < board.length; c++) {
+                    for (int d = c + 1; d < board.length; d++) {
+                        for (int e = d + 1; e < board.length; e++) {
+                            five[0] = hole[a];
+                            five[1] = hole[b];
+                            five[2] = board[c];
+                            five[3] = board[d];
+                            five[4] = board[e];
+                            if (LookupTableEvaluator.evaluate(five, 0) == rank) {
+                                return LookupTableEvaluator.toEvaluation(rank, five);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("No five cards make rank " + rank);
+    }
+
+    /**
+     * Best flush made of two of the suited hole ranks and three of the
+     * suited board ranks.
+     */
+    private static int bestFlush(int suited, int boardSuited) {
+        int best = 0;
+        for (int a = suited; a != 0; a &= a - 1) {
+            for (int b = a & (a - 1); b != 0; b &= b - 1) {
+                int pair = (a & -a) | (b & -b);
+                for (int c = boardSuited; c != 0; c &= c - 1) {
+                    for (int d = c & (c - 1); d != 0; d &= d - 1) {
+                        for (int e = d & (d - 1); e != 0; e &= e - 1) {
+                            best = Math.max(best, LookupTableEvaluator.flushRank(
+                                    pair | (c & -c) | (d & -d) | (e & -e)));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int lowestThree(int mask) {
+        int rest = mask & (mask - 1);
+        rest &= rest - 1;
+        rest &= rest - 1;
+        return mask & ~rest;
+    }
+
+    /**
+     * Walks every rank pattern of a board (highest rank first) and fills in
+     * its row of the table.
+     */
+    private static void fillBoards(short[] table, int[] ranks, int size, int maxRank, long pattern) {
+        if (size == ranks.length) {
+            int base = RankPatternHash.hash(pattern, size) * PAIRS;
+            for (int r1 = 0; r1 < RANKS; r1++) {
+                for (int r2 = r1; r2 < RANKS; r2++) {
+                    table[base + PAIR_INDEX[r1 * RANKS + r2]] = (short) bestNonFlush(r1, r2, ranks);
+                }
+            }
+            return;
+        }
+        for (int rank = maxRank; rank >= 0; rank--) {
+            if (RankPatternHash.count(pattern, rank) < 4) {
+                ranks[size] = rank;
+                fillBoards(table, ranks, size + 1, rank, RankPatternHash.addRank(pattern, rank));
+            }
+        }
+    }
+
+    private static int bestNonFlush(int r1, int r2, int[] board) {
+        int best = 0;
+        for (int a = 0; a < board.length; a++) {
+            for (int b = a + 1; b < board.length; b++) {
+                for (int c = b + 1; c < board.length; c++) {
+                    if (r1 == r2 && board[a] == r1 && board[b] == r1 && board[c] == r1) {
+                        // five of a kind can't be dealt
+                        continue;
+                    }
+                    best = Math.max(best, LookupTableEvaluator.nonFlushRank(r1, r2, board[a], board[b], board[c]));
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -6,12 +6,29 @@ import java.util.List;
 import com.akhayat.poker.simulator.card.Card;
 import com.akhayat.poker.simulator.card.Card.Rank;
 
-public class PokerHandEvaluation {
+/**
+ * The result of evaluating a poker hand. Besides the readable parts (hand
+ * type, strength, secondary strength and kickers), every evaluation carries
+ * a packed score so comparing two of them is a single int comparison:
+ *
+ * <pre>
+ * bits 20-23: hand type ranking
+ * bits 16-19: strength (the rank value, 2..14)
+ * bits 0-15:  secondary strength (if any) followed by the kickers, one nibble each
+ * </pre>
+ *
+ * A higher score is always a better hand and equal scores tie.
+ */
+public class PokerHandEvaluation implements Comparable<PokerHandEvaluation> {
+
+    static final int TYPE_SHIFT = 20;
+    static final int STRENGTH_SHIFT = 16;
     
     private Rank strength;
     private Rank secondaryStrength;
     private List<Card> kickers = new ArrayList<>(4);
     private PokerHandType handType;
+    private final int score;
     
     public PokerHandEvaluation(PokerHandType handType, Rank strength) {
         this(handType, strength, null, null);
@@ -30,6 +47,24 @@ public class PokerHandEvaluation {
         this.strength = strength;
         this.secondaryStrength = secondaryStrength;
         this.kickers = kickers == null ? this.kickers : kickers;
+        this.score = score();
+    }
+
+    private int score() {
+        int packed = (handType.getRanking() << TYPE_SHIFT) | (strength.getValue() << STRENGTH_SHIFT);
+        int shift = STRENGTH_SHIFT;
+        if (secondaryStrength != null) {
+            shift -= 4;
+            packed |= secondaryStrength.getValue() << shift;
+        }
+        for (Card kicker : kickers) {
+            shift -= 4;
+            if (shift < 0) {
+                break;
+            }
+            packed |= kicker.getValue() << shift;
+        }
+        return packed;
     }
 
     public Rank getStrength() {
@@ -47,6 +82,13 @@ public class PokerHandEvaluation {
     public Rank getSecondaryStrength() {
         return secondaryStrength;
     }
+
+    /**
+     * Returns the packed score described in the class comment.
+     */
+    public int getScore() {
+        return score;
+    }
     
     @Override
     public String toString() {
@@ -54,22 +96,21 @@ public class PokerHandEvaluation {
     }
     
     public boolean beats(PokerHandEvaluation other) {
-        if (this.handType.getRanking() != other.handType.getRanking()) {
-            return this.handType.getRanking() > other.handType.getRanking();
-        } else if (this.getStrength().getValue() != other.getStrength().getValue()) {
-            return this.getStrength().getValue() > other.getStrength().getValue();
-        } else if (this.getSecondaryStrength() != other.getSecondaryStrength()) {
-            return this.getSecondaryStrength().getValue() > other.getSecondaryStrength().getValue();
-        } else {
-           for (int i = 0; i < kickers.size(); i++) {
-               int compare = kickers.get(i).compareTo(other.kickers.get(i));
-               if (compare != 0) {
-                   return compare > 0;
-               }
-           }
-           return false; 
-        }
-        
+        return score > other.score;
+    }
+
+    public boolean tiesWith(PokerHandEvaluation other) {
+        return score == other.score;
+    }
+
+    /**
+     * Orders evaluations from the weakest hand to the strongest. This is
+     * about hand strength only, so hands that tie compare as 0 even if
+     * their kickers differ in suit.
+     */
+    @Override
+    public int compareTo(PokerHandEvaluation other) {
+        return Integer.compare(score, other.score);
     }
 
     public enum PokerHandType {
@@ -2,13 +2,11 @@ package com.akhayat.poker.simulator.evaluator;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.PackedCard;
 import com.akhayat.poker.simulator.card.PokerHand;
 import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
 
@@ -16,26 +14,70 @@ public class PokerHandEvaluator {
     
     public static final byte HAND_SIZE = 5;
 
-    PokerHand hand;
+    private static final Card.Rank[] RANKS = Card.Rank.values();
+
+    /**
+     * The ways a five card hand can be evaluated. They always agree,
+     * LOOKUP_TABLE is just a lot faster, so it is what evaluate() uses
+     * unless the caller asks for another one.
+     */
+    public enum Algorithm {
+        /** Builds a rank histogram and checks each hand type in turn. */
+        HISTOGRAM,
+        /** Looks the hand up in precomputed tables, see LookupTableEvaluator. */
+        LOOKUP_TABLE
+    }
+
+    /**
+     * The hand in its packed encoding, sorted by descending rank.
+     * Cards of the same rank keep the order they were given in.
+     */
+    private final int[] ordered;
     
-    private Map<Card.Rank, Integer> histogram;
+    private final int[] histogram = new int[PackedCard.NUM_RANKS];
 
     /**
      * Constructs a five card hand.
      * Surprise, suprise, it freaks out if hand isn't of length 5.
      */
     public PokerHandEvaluator(PokerHand hand) {
-        this.hand = hand;
+        this(hand.getPackedCards());
+    }
+
+    /**
+     * Constructs an evaluator straight from packed cards, so callers
+     * don't need to build a PokerHand first.
+     */
+    public PokerHandEvaluator(int... packedCards) {
+        if (packedCards.length != HAND_SIZE) {
+            throw new IllegalArgumentException(
+                    "Card list must contain " + HAND_SIZE + " cards.");
+        }
+        this.ordered = packedCards.clone();
+        setOrdered();
         setHistogram();
     }
+
+    private void setOrdered() {
+        for (int i = 1; i < ordered.length; i++) {
+            int card = ordered[i];
+            int j = i - 1;
+            while (j >= 0 && PackedCard.rank(ordered[j]) < PackedCard.rank(card)) {
+                ordered[j + 1] = ordered[j];
+                j--;
+            }
+            ordered[j + 1] = card;
+        }
+    }
     
     private void setHistogram() {
-        histogram = hand.getOrdered().stream()
-                .collect(Collectors.groupingBy(
-                        Card::getRank, Collectors.counting()))
-                .entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey, e -> e.getValue().intValue()));
+        for (int card : ordered) {
+            histogram[PackedCard.rank(card)]++;
+        }
+    }
+
+    private Card.Rank rankOf(int card) {
+        return RANKS[PackedCard.rank(card)];
     }
     
     private Card.Rank getStrength(int numberOfCards) {
@@ -43,11 +85,13 @@ public class PokerHandEvaluator {
     }
     
     private Card.Rank getStrength(int numberOfCards, Card.Rank excludedRank) {
-        return histogram.entrySet().stream()
-                .filter(e -> e.getValue() == numberOfCards && e.getKey() != excludedRank)
-                .max(Map.Entry.comparingByKey())
-                .map(Map.Entry::getKey)
-                .orElse(null);
+        int excluded = excludedRank == null ? -1 : excludedRank.ordinal();
+        for (int rank = histogram.length - 1; rank >= 0; rank--) {
+            if (histogram[rank] == numberOfCards && rank != excluded) {
+                return RANKS[rank];
+            }
+        }
+        return null;
     }
     
     private List<Card> getKickers(Card.Rank strength) {
@@ -55,15 +99,19 @@ public class PokerHandEvaluator {
     }
     
     private List<Card> getKickers(Card.Rank strength, Card.Rank secondaryStrength) {
-        return hand.getOrdered().stream()
-                .filter(card -> card.getRank() != strength && card.getRank() != secondaryStrength)
-                .collect(Collectors.toList());
+        List<Card> kickers = new ArrayList<>(HAND_SIZE - 1);
+        for (int card : ordered) {
+            Card.Rank rank = rankOf(card);
+            if (rank != strength && rank != secondaryStrength) {
+                kickers.add(PackedCard.toCard(card));
+            }
+        }
+        return kickers;
     }
 
     private Optional<PokerHandEvaluation> highCardValue() {
         return Optional.of(new PokerHandEvaluation(
-                PokerHandType.HIGH_CARD, hand.getOrdered().get(0).getRank(),
-                getKickers(hand.getOrdered().get(0).getRank())));
+                PokerHandType.HIGH_CARD, rankOf(ordered[0]), getKickers(rankOf(ordered[0]))));
     }
     
     private Optional<PokerHandEvaluation> pairValue() {
@@ -97,37 +145,43 @@ public class PokerHandEvaluator {
 
     private Optional<PokerHandEvaluation> straightValue() {
         if (containsStraight()) {
-            Card.Rank strength = aceToFiveStraight() ? Card.Rank.FIVE : hand.getOrdered().get(0).getRank();
+            Card.Rank strength = aceToFiveStraight() ? Card.Rank.FIVE : rankOf(ordered[0]);
             return Optional.of(new PokerHandEvaluation(PokerHandType.STRAIGHT, strength, new ArrayList<>(0)));
         }
         return Optional.empty();
     }
     
     private boolean containsStraight() {
-        return IntStream.range(0, hand.getOrdered().size() - 1)
-                .allMatch(i -> hand.getOrdered().get(i).getRank().getValue() - 1
-                        == hand.getOrdered().get(i + 1).getRank().getValue())
-                || aceToFiveStraight();
+        for (int i = 0; i < ordered.length - 1; i++) {
+            if (PackedCard.rank(ordered[i]) - 1 != PackedCard.rank(ordered[i + 1])) {
+                return aceToFiveStraight();
+            }
+        }
+        return true;
     }
 
     private boolean aceToFiveStraight() {
-        return hand.getOrdered().get(0).getRank() == Card.Rank.ACE
-                && hand.getOrdered().get(1).getRank() == Card.Rank.FIVE
-                && hand.getOrdered().get(2).getRank() == Card.Rank.FOUR
-                && hand.getOrdered().get(3).getRank() == Card.Rank.THREE
-                && hand.getOrdered().get(4).getRank() == Card.Rank.DEUCE;
+        return rankOf(ordered[0]) == Card.Rank.ACE
+                && rankOf(ordered[1]) == Card.Rank.FIVE
+                && rankOf(ordered[2]) == Card.Rank.FOUR
+                && rankOf(ordered[3]) == Card.Rank.THREE
+                && rankOf(ordered[4]) == Card.Rank.DEUCE;
     }
 
     private Optional<PokerHandEvaluation> flushValue() {
         if (containsFlush()) {
             return Optional.of(new PokerHandEvaluation(PokerHandType.FLUSH,
-                    hand.getOrdered().get(0).getRank(), getKickers(hand.getOrdered().get(0).getRank())));
+                    rankOf(ordered[0]), getKickers(rankOf(ordered[0]))));
         }
         return Optional.empty();
     }
     
     private boolean containsFlush() {
-        return hand.getHand().stream().allMatch(card -> card.getSuit() == hand.getOrdered().get(0).getSuit());
+        int suits = 0xF;
+        for (int card : ordered) {
+            suits &= PackedCard.suitBit(card);
+        }
+        return suits != 0;
     }
 
     private Optional<PokerHandEvaluation> fullHouseValue() {
@@ -177,12 +231,60 @@ public class PokerHandEvaluator {
     }
     
     public static PokerHandEvaluation evaluate(PokerHand hand) {
-        return new PokerHandEvaluator(hand).evaluate();
+        return evaluate(Algorithm.LOOKUP_TABLE, hand.getPackedCards());
+    }
+
+    public static PokerHandEvaluation evaluate(int... packedCards) {
+        return evaluate(Algorithm.LOOKUP_TABLE, packedCards);
+    }
+
+    public static PokerHandEvaluation evaluate(Algorithm algorithm, int... packedCards) {
+        if (algorithm == Algorithm.LOOKUP_TABLE) {
+            return LookupTableEvaluator.toEvaluation(LookupTableEvaluator.evaluate(packedCards), packedCards);
+        }
+        return new PokerHandEvaluator(packedCards).evaluate();
+    }
+
+    /**
+     * Evaluates five or seven packed cards, looking their rank up in the
+     * given cache first and caching it if it isn't there.
+     */
+    public static PokerHandEvaluation evaluate(EvaluationCache cache, int... packedCards) {
+        return LookupTableEvaluator.toEvaluation(cache.evaluate(packedCards, 0, packedCards.length), packedCards);
+    }
+
+    /**
+     * Evaluates count five card hands of packed cards laid out back to back
+     * from handsOffset, writing their ranks (as LookupTableEvaluator would
+     * return them) into ranks from ranksOffset. Like the other evaluators
+     * it trusts the cards to be distinct: a hand with a duplicate card gets
+     * a meaningless rank. In a build with the vector profile, run with
+     * -Dpoker.vector=true and --add-modules jdk.incubator.vector, this runs
+     * on the Vector API.
+     */
+    public static void evaluateBatch(int[] hands, int handsOffset, int[] ranks, int ranksOffset, int count) {
+        BatchKernelHolder.KERNEL.evaluate(hands, handsOffset, ranks, ranksOffset, count);
+    }
+
+    public static void evaluateBatch(int[] hands, int[] ranks) {
+        evaluateBatch(hands, 0, ranks, 0, hands.length / HAND_SIZE);
+    }
+
+    /**
+     * Returns whether evaluateBatch() runs on the Vector API.
+     */
+    public static boolean isBatchVectorized() {
+        return BatchKernelHolder.KERNEL.lanes() > 1;
+    }
+
+    // loads the kernel and its tables on the first batch
+    private static final class BatchKernelHolder {
+        static final BatchKernel KERNEL = BatchKernel.load();
     }
 
     @Override
     public String toString() {
-        return hand.toString() + " -> " + evaluate();
+        return PackedCard.toCards(ordered) + " -> " + evaluate();
     }
     
 
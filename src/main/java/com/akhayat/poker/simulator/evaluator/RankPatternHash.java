@@ -0,0 +1,74 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * Minimal perfect hash for rank patterns. A rank pattern is how many cards
+ * of each rank a hand holds, ignoring suits, kept as 3-bit counts in a long
+ * (deuce in the lowest bits). Every pattern of a given number of cards maps
+ * to a distinct index in 0..size(cards)-1, which is its position in the
+ * lexicographic order of all such patterns.
+ */
+final class RankPatternHash {
+
+    static final int MAX_CARDS = 7;
+
+    /**
+     * COUNTS[n][k] is the number of patterns of n ranks holding k cards,
+     * with at most four cards of each rank.
+     */
+    private static final int[][] COUNTS = new int[PackedCard.NUM_RANKS + 1][MAX_CARDS + 1];
+
+    /**
+     * OFFSETS[n][k][q] is how many patterns come before the ones holding q
+     * cards of the rank that has n lower ranks after it, when k cards are
+     * left to place.
+     */
+    private static final int[][][] OFFSETS = new int[PackedCard.NUM_RANKS][MAX_CARDS + 1][5];
+
+    static {
+        COUNTS[0][0] = 1;
+        for (int n = 1; n <= PackedCard.NUM_RANKS; n++) {
+            for (int k = 0; k <= MAX_CARDS; k++) {
+                for (int q = 0; q <= Math.min(4, k); q++) {
+                    COUNTS[n][k] += COUNTS[n - 1][k - q];
+                }
+            }
+        }
+        for (int n = 0; n < PackedCard.NUM_RANKS; n++) {
+            for (int k = 0; k <= MAX_CARDS; k++) {
+                for (int q = 1; q < 5; q++) {
+                    OFFSETS[n][k][q] = OFFSETS[n][k][q - 1] + (k - q + 1 >= 0 ? COUNTS[n][k - q + 1] : 0);
+                }
+            }
+        }
+    }
+
+    private RankPatternHash() {
+    }
+
+    /**
+     * Returns the number of patterns holding the given number of cards.
+     */
+    static int size(int cards) {
+        return COUNTS[PackedCard.NUM_RANKS][cards];
+    }
+
+    static long addRank(long pattern, int rankIndex) {
+        return pattern + (1L << (3 * rankIndex));
+    }
+
+    static int count(long pattern, int rankIndex) {
+        return (int) (pattern >>> (3 * rankIndex)) & 0x7;
+    }
+
+    static int hash(long pattern, int cards) {
+        int hash = 0;
+        for (int rank = PackedCard.NUM_RANKS - 1; rank >= 0 && cards > 0; rank--) {
+            int count = count(pattern, rank);
+            hash += OFFSETS[rank][cards][count];
+            cards -= count;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,20 @@
+package com.akhayat.poker.simulator.evaluator;
+
+/**
+ * Evaluates one hand after the other with the batch tables.
+ */
+class ScalarBatchKernel extends BatchKernel {
+
+    @Override
+    int lanes() {
+        return 1;
+    }
+
+    @Override
+    void evaluate(int[] hands, int handsOffset, int[] ranks, int ranksOffset, int count) {
+        checkBounds(hands, handsOffset, ranks, ranksOffset, count);
+        for (int hand = 0; hand < count; hand++) {
+            ranks[ranksOffset + hand] = evaluate(hands, handsOffset + hand * CARDS);
+        }
+    }
+}
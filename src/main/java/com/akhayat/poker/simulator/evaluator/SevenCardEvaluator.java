@@ -0,0 +1,169 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.PokerHand;
+
+/**
+ * Evaluates seven card hands directly, without trying each of the 21 five
+ * card subsets. The result is the rank of the best five card hand, on the
+ * same 1..7462 scale as LookupTableEvaluator.
+ *
+ * With seven cards, a suit holding five or more of them means nothing else
+ * in the hand can beat the flush, so there are two paths:
+ * <ul>
+ * <li>flushes look up the rank bits of the flush suit in an 8192 entry table</li>
+ * <li>everything else looks up the rank pattern (see RankPatternHash) in a
+ *     table of the 49205 possible patterns</li>
+ * </ul>
+ */
+public final class SevenCardEvaluator {
+
+    public static final int HAND_SIZE = 7;
+
+    private static final int[] FLUSHES = new int[1 << PackedCard.NUM_RANKS];
+    private static final int[] RANK_PATTERNS = new int[RankPatternHash.size(HAND_SIZE)];
+
+    static {
+        for (int mask = 0; mask < FLUSHES.length; mask++) {
+            if (Integer.bitCount(mask) >= 5) {
+                FLUSHES[mask] = bestFlush(mask);
+            }
+        }
+        fillRankPatterns(new int[HAND_SIZE], 0, PackedCard.NUM_RANKS - 1, 0);
+    }
+
+    private SevenCardEvaluator() {
+    }
+
+    public static int evaluate(int c1, int c2, int c3, int c4, int c5, int c6, int c7) {
+        int suitCounts = suitCount(c1) + suitCount(c2) + suitCount(c3) + suitCount(c4)
+                + suitCount(c5) + suitCount(c6) + suitCount(c7);
+        int flushSuit = flushSuit(suitCounts);
+        if (flushSuit >= 0) {
+            int suitBit = 1 << (12 + flushSuit);
+            int rankMask = rankBitIf(c1, suitBit) | rankBitIf(c2, suitBit) | rankBitIf(c3, suitBit)
+                    | rankBitIf(c4, suitBit) | rankBitIf(c5, suitBit) | rankBitIf(c6, suitBit)
+                    | rankBitIf(c7, suitBit);
+            return FLUSHES[rankMask];
+        }
+        long pattern = rankCount(c1) + rankCount(c2) + rankCount(c3) + rankCount(c4)
+                + rankCount(c5) + rankCount(c6) + rankCount(c7);
+        return RANK_PATTERNS[RankPatternHash.hash(pattern, HAND_SIZE)];
+    }
+
+    /**
+     * Returns the rank of the seven packed cards starting at offset.
+     */
+    public static int evaluate(int[] cards, int offset) {
+        return evaluate(cards[offset], cards[offset + 1], cards[offset + 2], cards[offset + 3],
+                cards[offset + 4], cards[offset + 5], cards[offset + 6]);
+    }
+
+    public static int evaluate(int... cards) {
+        if (cards.length != HAND_SIZE) {
+            throw new IllegalArgumentException("Card list must contain " + HAND_SIZE + " cards.");
+        }
+        return evaluate(cards, 0);
+    }
+
+    public static int evaluate(PokerHand hand) {
+        if (hand.getHand().size() != HAND_SIZE) {
+            throw new IllegalArgumentException("Card list must contain " + HAND_SIZE + " cards.");
+        }
+        return evaluate(hand.getPackedCard(0), hand.getPackedCard(1), hand.getPackedCard(2), hand.getPackedCard(3),
+                hand.getPackedCard(4), hand.getPackedCard(5), hand.getPackedCard(6));
+    }
+
+    /**
+     * Returns the rank of seven cards that don't make a flush, given their rank pattern.
+     */
+    static int rankPatternRank(long pattern) {
+        return RANK_PATTERNS[RankPatternHash.hash(pattern, HAND_SIZE)];
+    }
+
+    /**
+     * Returns the rank of the best flush in a mask of five or more ranks of one suit.
+     */
+    static int flushRank(int rankMask) {
+        return FLUSHES[rankMask];
+    }
+
+    /**
+     * Each suit gets a 4-bit counter, which is plenty for seven cards.
+     */
+    private static int suitCount(int card) {
+        return 1 << (4 * PackedCard.suit(card));
+    }
+
+    private static int flushSuit(int suitCounts) {
+        for (int suit = 0; suit < PackedCard.NUM_SUITS; suit++) {
+            if (((suitCounts >>> (4 * suit)) & 0xF) >= 5) {
+                return suit;
+            }
+        }
+        return -1;
+    }
+
+    private static int rankBitIf(int card, int suitBit) {
+        return (card & suitBit) != 0 ? PackedCard.rankBit(card) : 0;
+    }
+
+    private static long rankCount(int card) {
+        return RankPatternHash.addRank(0L, PackedCard.rank(card));
+    }
+
+    /**
+     * Returns the best five card flush in a mask of five or more ranks of one suit.
+     */
+    static int bestFlush(int rankMask) {
+        for (int high = PackedCard.NUM_RANKS - 1; high >= 4; high--) {
+            int straight = 0x1F << (high - 4);
+            if ((rankMask & straight) == straight) {
+                return LookupTableEvaluator.flushRank(straight);
+            }
+        }
+        if ((rankMask & 0x100F) == 0x100F) {
+            return LookupTableEvaluator.flushRank(0x100F);
+        }
+        int topFive = rankMask;
+        while (Integer.bitCount(topFive) > 5) {
+            topFive &= topFive - 1;
+        }
+        return LookupTableEvaluator.flushRank(topFive);
+    }
+
+    /**
+     * Walks every pattern of seven ranks (highest first, no rank more than
+     * four times) and stores the best five card hand that can be made from it.
+     */
+    private static void fillRankPatterns(int[] ranks, int size, int maxRank, long pattern) {
+        if (size == ranks.length) {
+            RANK_PATTERNS[RankPatternHash.hash(pattern, HAND_SIZE)] = bestOfRanks(ranks);
+            return;
+        }
+        for (int rank = maxRank; rank >= 0; rank--) {
+            if (RankPatternHash.count(pattern, rank) < 4) {
+                ranks[size] = rank;
+                fillRankPatterns(ranks, size + 1, rank, RankPatternHash.addRank(pattern, rank));
+            }
+        }
+    }
+
+    static int bestOfRanks(int[] ranks) {
+        int best = 0;
+        int n = ranks.length;
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                for (int c = b + 1; c < n; c++) {
+                    for (int d = c + 1; d < n; d++) {
+                        for (int e = d + 1; e < n; e++) {
+                            best = Math.max(best, LookupTableEvaluator.nonFlushRank(
+                                    ranks[a], ranks[b], ranks[c], ranks[d], ranks[e]));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
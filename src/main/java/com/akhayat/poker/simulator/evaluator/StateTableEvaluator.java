@@ -0,0 +1,158 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * Evaluates 5, 6 and 7 card hands with one table lookup per card, walking
+ * the state table built by StateTableGenerator. Ranks are on the same
+ * 1..7462 scale as LookupTableEvaluator.
+ *
+ * The table file is memory-mapped read-only rather than read onto the heap,
+ * so it costs nothing to open and every JVM on the host shares the same
+ * pages through the OS page cache.
+ *
+ * The incremental methods (start/next/rank) let enumerations share the
+ * lookups for a common prefix of cards.
+ */
+public final class StateTableEvaluator {
+
+    public static final String DEFAULT_FILE = "HandRanks.dat";
+
+    /**
+     * System property naming the table file used by getDefault().
+     */
+    public static final String FILE_PROPERTY = "poker.stateTable";
+
+    private static volatile StateTableEvaluator defaultEvaluator;
+
+    private final IntBuffer table;
+    private final int maxCards;
+
+    private StateTableEvaluator(IntBuffer table, int maxCards) {
+        this.table = table;
+        this.maxCards = maxCards;
+    }
+
+    /**
+     * Maps the given table file.
+     */
+    public static StateTableEvaluator open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, StateTableGenerator.HEADER_BYTES);
+            if (header.getInt() != StateTableGenerator.MAGIC) {
+                throw new IOException(file + " is not a state table file");
+            }
+            int version = header.getInt();
+            if (version != StateTableGenerator.VERSION) {
+                throw new IOException("Unsupported state table version " + version + " in " + file);
+            }
+            int maxCards = header.getInt();
+            long entries = header.getInt();
+            if (channel.size() != StateTableGenerator.HEADER_BYTES + entries * Integer.BYTES) {
+                throw new IOException(file + " is truncated");
+            }
+            // the mapping stays valid after the channel is closed
+            IntBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, StateTableGenerator.HEADER_BYTES,
+                    entries * Integer.BYTES).order(ByteOrder.BIG_ENDIAN).asIntBuffer();
+            return new StateTableEvaluator(table, maxCards);
+        }
+    }
+
+    /**
+     * Returns the evaluator for the file named by the poker.stateTable system
+     * property (HandRanks.dat by default), mapping it on first use.
+     */
+    public static StateTableEvaluator getDefault() {
+        StateTableEvaluator evaluator = defaultEvaluator;
+        if (evaluator == null) {
+            synchronized (StateTableEvaluator.class) {
+                evaluator = defaultEvaluator;
+                if (evaluator == null) {
+                    Path file = Paths.get(System.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+                    try {
+                        evaluator = open(file);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Couldn't map the state table " + file.toAbsolutePath()
+                                + ", run StateTableGenerator to create it", e);
+                    }
+                    defaultEvaluator = evaluator;
+                }
+            }
+        }
+        return evaluator;
+    }
+
+    public int getMaxCards() {
+        return maxCards;
+    }
+
+    /**
+     * Returns the state for an empty hand.
+     */
+    public int start() {
+        return StateTableGenerator.ROW_SIZE;
+    }
+
+    /**
+     * Returns the state reached by adding a packed card to the given state.
+     * Once maxCards cards have been added the result is the hand rank instead.
+     */
+    public int next(int state, int card) {
+        return table.get(state + PackedCard.index(card) + 1);
+    }
+
+    /**
+     * Returns the rank of a state holding at least five but fewer than maxCards cards.
+     */
+    public int rank(int state) {
+        return table.get(state);
+    }
+
+    public int evaluate(int c1, int c2, int c3, int c4, int c5) {
+        return finish(walk(walk(walk(walk(walk(start(), c1), c2), c3), c4), c5), 5);
+    }
+
+    public int evaluate(int c1, int c2, int c3, int c4, int c5, int c6) {
+        return finish(walk(walk(walk(walk(walk(walk(start(), c1), c2), c3), c4), c5), c6), 6);
+    }
+
+    public int evaluate(int c1, int c2, int c3, int c4, int c5, int c6, int c7) {
+        return finish(walk(walk(walk(walk(walk(walk(walk(start(), c1), c2), c3), c4), c5), c6), c7), 7);
+    }
+
+    /**
+     * Returns the rank of length packed cards starting at offset.
+     */
+    public int evaluate(int[] cards, int offset, int length) {
+        if (length < 5 || length > maxCards) {
+            throw new IllegalArgumentException("This table evaluates 5 to " + maxCards + " cards, not " + length);
+        }
+        int state = start();
+        for (int i = offset; i < offset + length; i++) {
+            state = walk(state, cards[i]);
+        }
+        return finish(state, length);
+    }
+
+    public int evaluate(int... cards) {
+        return evaluate(cards, 0, cards.length);
+    }
+
+    private int walk(int state, int card) {
+        return table.get(state + PackedCard.index(card) + 1);
+    }
+
+    private int finish(int state, int cards) {
+        return cards == maxCards ? state : table.get(state);
+    }
+}
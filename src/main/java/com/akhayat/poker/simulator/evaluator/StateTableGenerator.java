@@ -0,0 +1,283 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * Builds the state table used by StateTableEvaluator and writes it to a file.
+ * This is a one-off job: run it once per host and every process maps the
+ * same file afterwards.
+ *
+ * <pre>
+ * java -cp poker-simulator.jar com.akhayat.poker.simulator.evaluator.StateTableGenerator [file] [maxCards]
+ * </pre>
+ *
+ * Each state stands for the cards seen so far and owns a row of 53 ints.
+ * Entry c (1..52) of a row holds the offset of the row reached by adding
+ * card c, or the final hand rank once maxCards cards have been seen. Entry 0
+ * holds the rank of the state itself when it has at least five cards.
+ *
+ * States are kept as small as possible by forgetting the suit of every card
+ * whose suit can no longer make a flush with the cards still to come, so for
+ * seven cards there are a bit over 600 thousand states and the table comes
+ * out at roughly 130 MB.
+ */
+public class StateTableGenerator {
+
+    static final int MAGIC = 0x50535442;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ROW_SIZE = PackedCard.NUM_CARDS + 1;
+
+    private static final int MAX_KEY_CARDS = 6;
+    private static final int DEAD_SUIT = 0;
+
+    private final int maxCards;
+    private final KeyMap stateIds = new KeyMap();
+    private long[] stateKeys = new long[1 << 16];
+    private byte[] stateSizes = new byte[1 << 16];
+    // state 0 is never used so that no transition points back at offset 0
+    private int numberOfStates = 1;
+
+    public StateTableGenerator(int maxCards) {
+        if (maxCards < 5 || maxCards > SevenCardEvaluator.HAND_SIZE) {
+            throw new IllegalArgumentException("State tables support 5 to 7 cards, not " + maxCards);
+        }
+        this.maxCards = maxCards;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : StateTableEvaluator.DEFAULT_FILE);
+        int maxCards = args.length > 1 ? Integer.parseInt(args[1]) : SevenCardEvaluator.HAND_SIZE;
+        long start = System.nanoTime();
+        int[] table = new StateTableGenerator(maxCards).generate();
+        write(table, maxCards, file);
+        System.out.printf("Wrote %,d entries (%,d MB) to %s in %.1f s%n", table.length,
+                table.length * 4L >> 20, file.toAbsolutePath(), (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Builds the whole table in memory.
+     */
+    public int[] generate() {
+        addState(0L, 0);
+        int[] cards = new int[MAX_KEY_CARDS + 1];
+        int[] table = new int[0];
+        for (int state = 1; state < numberOfStates; state++) {
+            int size = stateSizes[state];
+            if (table.length < (state + 1) * ROW_SIZE) {
+                table = Arrays.copyOf(table, Math.max((state + 1) * ROW_SIZE, table.length * 2));
+            }
+            int row = state * ROW_SIZE;
+            if (size >= 5) {
+                table[row] = evaluate(cards, unpack(stateKeys[state], cards));
+            }
+            for (int card = 1; card <= PackedCard.NUM_CARDS; card++) {
+                int next = addCard(stateKeys[state], size, card - 1, cards);
+                if (next < 0) {
+                    continue;
+                }
+                if (size + 1 == maxCards) {
+                    table[row + card] = evaluate(cards, next);
+                } else {
+                    long key = pack(cards, next);
+                    int id = stateIds.get(key);
+                    if (id < 0) {
+                        id = addState(key, size + 1);
+                    }
+                    table[row + card] = id * ROW_SIZE;
+                }
+            }
+        }
+        return Arrays.copyOf(table, numberOfStates * ROW_SIZE);
+    }
+
+    public static void write(int[] table, int maxCards, Path file) throws IOException {
+        try (OutputStream fileStream = Files.newOutputStream(file);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileStream, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(maxCards);
+            out.writeInt(table.length);
+            for (int entry : table) {
+                out.writeInt(entry);
+            }
+        }
+    }
+
+    private int addState(long key, int size) {
+        if (numberOfStates == stateKeys.length) {
+            stateKeys = Arrays.copyOf(stateKeys, stateKeys.length * 2);
+            stateSizes = Arrays.copyOf(stateSizes, stateSizes.length * 2);
+        }
+        stateKeys[numberOfStates] = key;
+        stateSizes[numberOfStates] = (byte) size;
+        stateIds.put(key, numberOfStates);
+        return numberOfStates++;
+    }
+
+    /**
+     * Card codes are (rank + 1) * 8 + suit slot, where the slot is the suit
+     * index + 1, or 0 once the suit is dead. A key holds up to six codes in
+     * descending order, 7 bits each.
+     */
+    private static long pack(int[] cards, int size) {
+        long key = 0;
+        for (int i = 0; i < size; i++) {
+            key = (key << 7) | cards[i];
+        }
+        return key;
+    }
+
+    private static int unpack(long key, int[] cards) {
+        int size = 0;
+        for (long rest = key; rest != 0; rest >>>= 7) {
+            size++;
+        }
+        for (int i = size - 1; i >= 0; i--, key >>>= 7) {
+            cards[i] = (int) (key & 0x7F);
+        }
+        return size;
+    }
+
+    private static int rankOf(int code) {
+        return (code >>> 3) - 1;
+    }
+
+    private static int slotOf(int code) {
+        return code & 0x7;
+    }
+
+    /**
+     * Unpacks the state, adds the card with the given index and brings the
+     * result back to canonical form. Returns the new number of cards, or -1
+     * if the card can't be added (it is already there, or its rank is used up).
+     */
+    private int addCard(long key, int size, int cardIndex, int[] cards) {
+        unpack(key, cards);
+        int packed = PackedCard.fromIndex(cardIndex);
+        int rank = PackedCard.rank(packed);
+        int code = ((rank + 1) << 3) | (PackedCard.suit(packed) + 1);
+        int sameRank = 0;
+        for (int i = 0; i < size; i++) {
+            if (cards[i] == code) {
+                return -1;
+            }
+            if (rankOf(cards[i]) == rank) {
+                sameRank++;
+            }
+        }
+        if (sameRank == 4) {
+            return -1;
+        }
+        cards[size++] = code;
+
+        int remaining = maxCards - size;
+        int[] suitCounts = new int[PackedCard.NUM_SUITS + 1];
+        for (int i = 0; i < size; i++) {
+            suitCounts[slotOf(cards[i])]++;
+        }
+        for (int i = 0; i < size; i++) {
+            int slot = slotOf(cards[i]);
+            if (slot != DEAD_SUIT && suitCounts[slot] + remaining < 5) {
+                cards[i] = (cards[i] & ~0x7) | DEAD_SUIT;
+            }
+        }
+        Arrays.sort(cards, 0, size);
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int hold = cards[i];
+            cards[i] = cards[j];
+            cards[j] = hold;
+        }
+        return size;
+    }
+
+    /**
+     * Ranks a canonical hand of five to seven cards. Dead suits can never
+     * make a flush, so only the live slots are checked for one.
+     */
+    private static int evaluate(int[] cards, int size) {
+        int[] flushMasks = new int[PackedCard.NUM_SUITS + 1];
+        int[] ranks = new int[size];
+        long pattern = 0;
+        for (int i = 0; i < size; i++) {
+            ranks[i] = rankOf(cards[i]);
+            flushMasks[slotOf(cards[i])] |= 1 << ranks[i];
+            pattern = RankPatternHash.addRank(pattern, ranks[i]);
+        }
+        for (int slot = 1; slot < flushMasks.length; slot++) {
+            if (Integer.bitCount(flushMasks[slot]) >= 5) {
+                return SevenCardEvaluator.bestFlush(flushMasks[slot]);
+            }
+        }
+        if (size == SevenCardEvaluator.HAND_SIZE) {
+            return SevenCardEvaluator.rankPatternRank(pattern);
+        }
+        return SevenCardEvaluator.bestOfRanks(ranks);
+    }
+
+    /**
+     * Open addressing map from state keys to state ids.
+     */
+    private static class KeyMap {
+        private long[] keys = new long[1 << 16];
+        private int[] values = new int[1 << 16];
+        private boolean[] used = new boolean[1 << 16];
+        private int size = 0;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (!used[slot]) {
+                size++;
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
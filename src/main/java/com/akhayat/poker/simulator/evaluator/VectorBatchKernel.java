@@ -0,0 +1,96 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Evaluates as many hands at once as the CPU has int lanes, with the
+ * Vector API: the cards of a block of hands are transposed so that each
+ * card position fills a vector, and the flush test, rank bits and key sums
+ * are worked out lane-wise. The rank keys fit in a register or a few, so
+ * they are looked up with lane permutations. The two big tables are then
+ * read lane by lane. Leftover hands go through the scalar path.
+ *
+ * There are no gathers: the JDK 17 C2 gather intrinsics miscompiled this
+ * kernel on AVX-512 (wrong ranks and crashes), and the transposition costs
+ * about the same.
+ *
+ * Only load this class through BatchKernel.load(), since it needs the
+ * jdk.incubator.vector module.
+ */
+class VectorBatchKernel extends BatchKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int LANE_BITS = Integer.numberOfTrailingZeros(LANES);
+
+    /**
+     * RANK_KEYS split into vectors of LANES keys, one for 16 lanes, more
+     * for narrower vectors.
+     */
+    private static final IntVector[] KEY_VECTORS = new IntVector[(16 + LANES - 1) / LANES];
+
+    static {
+        int[] keys = new int[KEY_VECTORS.length * LANES];
+        System.arraycopy(RANK_KEYS, 0, keys, 0, RANK_KEYS.length);
+        for (int i = 0; i < KEY_VECTORS.length; i++) {
+            KEY_VECTORS[i] = IntVector.fromArray(SPECIES, keys, i * LANES);
+        }
+    }
+
+    @Override
+    int lanes() {
+        return LANES;
+    }
+
+    @Override
+    void evaluate(int[] hands, int handsOffset, int[] ranks, int ranksOffset, int count) {
+        checkBounds(hands, handsOffset, ranks, ranksOffset, count);
+        // the block's cards by position: the first card of every hand, then the second...
+        int[] transposed = new int[CARDS * LANES];
+        int[] keySums = new int[LANES];
+        int[] rankMasks = new int[LANES];
+        int hand = 0;
+        for (; hand + LANES <= count; hand += LANES) {
+            int first = handsOffset + hand * CARDS;
+            for (int lane = 0; lane < LANES; lane++) {
+                for (int card = 0; card < CARDS; card++) {
+                    transposed[card * LANES + lane] = hands[first + lane * CARDS + card];
+                }
+            }
+            IntVector all = IntVector.broadcast(SPECIES, -1);
+            IntVector any = IntVector.zero(SPECIES);
+            IntVector keySum = IntVector.zero(SPECIES);
+            for (int card = 0; card < CARDS; card++) {
+                IntVector cards = IntVector.fromArray(SPECIES, transposed, card * LANES);
+                all = all.and(cards);
+                any = any.or(cards);
+                keySum = keySum.add(rankKeys(cards.lanewise(VectorOperators.LSHR, 8).and(0xF)));
+            }
+            keySum.intoArray(keySums, 0);
+            any.lanewise(VectorOperators.LSHR, 16).intoArray(rankMasks, 0);
+            long flushes = all.and(0xF000).compare(VectorOperators.NE, 0).toLong();
+            for (int lane = 0; lane < LANES; lane++) {
+                ranks[ranksOffset + hand + lane] = (flushes & (1L << lane)) != 0 ? FLUSH_RANKS[rankMasks[lane]]
+                        : KEY_SUMS[keySums[lane]];
+            }
+        }
+        for (; hand < count; hand++) {
+            ranks[ranksOffset + hand] = evaluate(hands, handsOffset + hand * CARDS);
+        }
+    }
+
+    private static IntVector rankKeys(IntVector rankIndices) {
+        if (KEY_VECTORS.length == 1) {
+            return rankIndices.selectFrom(KEY_VECTORS[0]);
+        }
+        IntVector lanes = rankIndices.and(LANES - 1);
+        IntVector chunks = rankIndices.lanewise(VectorOperators.LSHR, LANE_BITS);
+        IntVector keys = lanes.selectFrom(KEY_VECTORS[0]);
+        for (int chunk = 1; chunk < KEY_VECTORS.length; chunk++) {
+            keys = keys.blend(lanes.selectFrom(KEY_VECTORS[chunk]), chunks.compare(VectorOperators.EQ, chunk));
+        }
+        return keys;
+    }
+}
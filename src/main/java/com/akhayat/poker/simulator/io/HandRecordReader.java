@@ -0,0 +1,237 @@
+package com.akhayat.poker.simulator.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.PokerHand;
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+import com.akhayat.poker.simulator.evaluator.SevenCardEvaluator;
+
+/**
+ * Memory-maps a file written by HandRecordWriter. Files bigger than a
+ * single mapping (2 GB) are mapped in segments, so a file can hold billions
+ * of records.
+ *
+ * Records are read by absolute index, which leaves the mappings alone, so
+ * one reader can be shared by any number of threads. scan() splits the
+ * records across a fork-join pool.
+ */
+public class HandRecordReader {
+
+    /**
+     * Receives the records of a scan one at a time. The cards array is
+     * reused from one record to the next.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer<A> {
+        void accept(A accumulator, int[] cards, int count, int rank, long metadata);
+    }
+
+    private static final int MIN_LEAF_SIZE = 1 << 16;
+
+    private final MappedByteBuffer[] segments;
+    private final long records;
+    private final int metadataBytes;
+    private final int recordSize;
+    private final int segmentShift;
+
+    private HandRecordReader(MappedByteBuffer[] segments, long records, int metadataBytes, int segmentShift) {
+        this.segments = segments;
+        this.records = records;
+        this.metadataBytes = metadataBytes;
+        this.recordSize = HandRecordWriter.METADATA_OFFSET + metadataBytes;
+        this.segmentShift = segmentShift;
+    }
+
+    /**
+     * Maps the given record file.
+     */
+    public static HandRecordReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HandRecordWriter.HEADER_BYTES) {
+                throw new IOException(file + " is not a hand record file");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HandRecordWriter.HEADER_BYTES);
+            if (header.getInt() != HandRecordWriter.MAGIC) {
+                throw new IOException(file + " is not a hand record file");
+            }
+            int version = header.getInt();
+            if (version != HandRecordWriter.VERSION) {
+                throw new IOException("Unsupported hand record version " + version + " in " + file);
+            }
+            int metadataBytes = header.getInt();
+            header.getInt();
+            long records = header.getLong();
+            int recordSize = HandRecordWriter.METADATA_OFFSET + metadataBytes;
+            if (metadataBytes < 0 || metadataBytes > HandRecordWriter.MAX_METADATA_BYTES || records < 0
+                    || channel.size() != HandRecordWriter.HEADER_BYTES + records * recordSize) {
+                throw new IOException(file + " is truncated or corrupt");
+            }
+            // a power of two number of records per segment, each segment under 2 GB
+            int segmentShift = 30 - (32 - Integer.numberOfLeadingZeros(recordSize - 1));
+            long perSegment = 1L << segmentShift;
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((records + perSegment - 1) >>> segmentShift)];
+            for (int s = 0; s < segments.length; s++) {
+                long first = s * perSegment;
+                // the mappings stay valid after the channel is closed
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HandRecordWriter.HEADER_BYTES + first * recordSize,
+                        Math.min(perSegment, records - first) * recordSize);
+            }
+            return new HandRecordReader(segments, records, metadataBytes, segmentShift);
+        }
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public int getMetadataBytes() {
+        return metadataBytes;
+    }
+
+    private ByteBuffer segment(long record) {
+        if (record < 0 || record >= records) {
+            throw new IndexOutOfBoundsException("Record " + record + " out of bounds for " + records + " records");
+        }
+        return segments[(int) (record >>> segmentShift)];
+    }
+
+    private int position(long record) {
+        return (int) (record & ((1L << segmentShift) - 1)) * recordSize;
+    }
+
+    /**
+     * Writes the record's packed cards into destination starting at offset
+     * and returns how many there are.
+     */
+    public int getCards(long record, int[] destination, int offset) {
+        ByteBuffer segment = segment(record);
+        int position = position(record);
+        int count = 0;
+        while (count < HandRecordWriter.CARD_BYTES && segment.get(position + count) != HandRecordWriter.NO_CARD) {
+            destination[offset + count] = PackedCard.fromIndex(segment.get(position + count));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the stored rank, or 0 if the record wasn't evaluated.
+     */
+    public int getRank(long record) {
+        return Short.toUnsignedInt(segment(record).getShort(position(record) + HandRecordWriter.RANK_OFFSET));
+    }
+
+    public long getMetadata(long record) {
+        ByteBuffer segment = segment(record);
+        int position = position(record) + HandRecordWriter.METADATA_OFFSET;
+        long metadata = 0;
+        for (int i = 0; i < metadataBytes; i++) {
+            metadata = (metadata << 8) | (segment.get(position + i) & 0xFF);
+        }
+        return metadata;
+    }
+
+    /**
+     * Returns the record as a FiveCardHand or SevenCardHand.
+     */
+    public PokerHand getHand(long record) {
+        int[] cards = new int[HandRecordWriter.CARD_BYTES];
+        int count = getCards(record, cards, 0);
+        return PokerHand.fromPacked(Arrays.copyOf(cards, count));
+    }
+
+    /**
+     * Feeds every record to the consumer on the pool. Each part of the file
+     * gets its own accumulator from the supplier and the accumulators are
+     * merged with the combiner.
+     */
+    public <A> A scan(ForkJoinPool pool, Supplier<A> supplier, RecordConsumer<A> consumer,
+            BinaryOperator<A> combiner) {
+        return pool.invoke(new ScanTask<>(0, records, supplier, consumer, combiner));
+    }
+
+    /**
+     * Evaluates every 5 and 7 card record again on the pool and returns how
+     * many don't match their stored rank.
+     */
+    public long countMismatches(ForkJoinPool pool) {
+        return scan(pool, () -> new long[1], (mismatches, cards, count, rank, metadata) -> {
+            int evaluated = count == 5 ? LookupTableEvaluator.evaluate(cards, 0)
+                    : count == HandRecordWriter.CARD_BYTES ? SevenCardEvaluator.evaluate(cards, 0) : 0;
+            if (evaluated != rank) {
+                mismatches[0]++;
+            }
+        }, (a, b) -> {
+            a[0] += b[0];
+            return a;
+        })[0];
+    }
+
+    /**
+     * Counts the evaluated records by hand type (indexed by
+     * PokerHandType.ordinal()) on the pool.
+     */
+    public long[] countHandTypes(ForkJoinPool pool) {
+        int types = PokerHandType.values().length;
+        return scan(pool, () -> new long[types], (counts, cards, count, rank, metadata) -> {
+            if (rank != 0) {
+                counts[LookupTableEvaluator.handType(rank).ordinal()]++;
+            }
+        }, (a, b) -> {
+            for (int i = 0; i < a.length; i++) {
+                a[i] += b[i];
+            }
+            return a;
+        });
+    }
+
+    private class ScanTask<A> extends RecursiveTask<A> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final Supplier<A> supplier;
+        private final RecordConsumer<A> consumer;
+        private final BinaryOperator<A> combiner;
+
+        ScanTask(long from, long to, Supplier<A> supplier, RecordConsumer<A> consumer, BinaryOperator<A> combiner) {
+            this.from = from;
+            this.to = to;
+            this.supplier = supplier;
+            this.consumer = consumer;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from > MIN_LEAF_SIZE) {
+                long middle = (from + to) >>> 1;
+                ScanTask<A> left = new ScanTask<>(from, middle, supplier, consumer, combiner);
+                left.fork();
+                A right = new ScanTask<>(middle, to, supplier, consumer, combiner).compute();
+                return combiner.apply(left.join(), right);
+            }
+            A accumulator = supplier.get();
+            int[] cards = new int[HandRecordWriter.CARD_BYTES];
+            for (long record = from; record < to; record++) {
+                int count = getCards(record, cards, 0);
+                consumer.accept(accumulator, cards, count, getRank(record), getMetadata(record));
+            }
+            return accumulator;
+        }
+    }
+}
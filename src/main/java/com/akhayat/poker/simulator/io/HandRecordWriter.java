@@ -0,0 +1,159 @@
+package com.akhayat.poker.simulator.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.PokerHand;
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.evaluator.SevenCardEvaluator;
+
+/**
+ * Writes evaluated hands as fixed width binary records, to be read back
+ * with HandRecordReader. The file starts with a big-endian header:
+ *
+ * <pre>
+ * int  magic ("PHRC")
+ * int  version
+ * int  metadata bytes per record (0..8)
+ * int  reserved
+ * long number of records
+ * long reserved
+ * </pre>
+ *
+ * followed by the records, each one being 7 card bytes (the card index,
+ * 0..51, with 0xFF for the unused slots of a 5 card hand), the rank as an
+ * unsigned big-endian short (1..7462, 0 if it wasn't evaluated) and the
+ * metadata, big-endian, in the number of bytes given in the header.
+ *
+ * The record count is written when the writer is closed.
+ */
+public class HandRecordWriter implements Closeable {
+
+    static final int MAGIC = 0x50485243;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int CARD_BYTES = 7;
+    static final int RANK_OFFSET = CARD_BYTES;
+    static final int METADATA_OFFSET = RANK_OFFSET + Short.BYTES;
+    static final int MAX_METADATA_BYTES = Long.BYTES;
+    static final byte NO_CARD = (byte) 0xFF;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final int metadataBytes;
+    private final ByteBuffer buffer;
+    private long records;
+
+    private HandRecordWriter(FileChannel channel, int metadataBytes) {
+        this.channel = channel;
+        this.metadataBytes = metadataBytes;
+        int recordSize = METADATA_OFFSET + metadataBytes;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE - BUFFER_SIZE % recordSize);
+    }
+
+    /**
+     * Creates (or replaces) a record file without metadata.
+     */
+    public static HandRecordWriter create(Path file) throws IOException {
+        return create(file, 0);
+    }
+
+    /**
+     * Creates (or replaces) a record file with the given number of metadata
+     * bytes per record, e.g. 8 for a hand id.
+     */
+    public static HandRecordWriter create(Path file, int metadataBytes) throws IOException {
+        if (metadataBytes < 0 || metadataBytes > MAX_METADATA_BYTES) {
+            throw new IllegalArgumentException("Records hold 0 to " + MAX_METADATA_BYTES + " metadata bytes, not "
+                    + metadataBytes);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        HandRecordWriter writer = new HandRecordWriter(channel, metadataBytes);
+        writer.writeHeader();
+        return writer;
+    }
+
+    /**
+     * Writes a hand, evaluating it.
+     */
+    public void write(PokerHand hand) throws IOException {
+        int[] cards = hand.getPackedCards();
+        write(cards, 0, cards.length);
+    }
+
+    /**
+     * Writes the 5 or 7 packed cards starting at offset, evaluating them.
+     */
+    public void write(int[] cards, int offset, int count) throws IOException {
+        int rank = count == 5 ? LookupTableEvaluator.evaluate(cards, offset)
+                : count == CARD_BYTES ? SevenCardEvaluator.evaluate(cards, offset) : 0;
+        write(cards, offset, count, rank, 0);
+    }
+
+    /**
+     * Writes up to 7 packed cards with a rank worked out elsewhere (or 0)
+     * and the record's metadata, of which only the low metadata bytes are
+     * kept.
+     */
+    public void write(int[] cards, int offset, int count, int rank, long metadata) throws IOException {
+        if (count < 0 || count > CARD_BYTES) {
+            throw new IllegalArgumentException("A record holds up to " + CARD_BYTES + " cards, not " + count);
+        }
+        if (rank < 0 || rank > 0xFFFF) {
+            throw new IllegalArgumentException("Invalid rank " + rank);
+        }
+        if (buffer.remaining() < METADATA_OFFSET + metadataBytes) {
+            flush();
+        }
+        for (int i = 0; i < CARD_BYTES; i++) {
+            buffer.put(i < count ? (byte) PackedCard.index(cards[offset + i]) : NO_CARD);
+        }
+        buffer.putShort((short) rank);
+        for (int shift = 8 * (metadataBytes - 1); shift >= 0; shift -= 8) {
+            buffer.put((byte) (metadata >>> shift));
+        }
+        records++;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(metadataBytes).putInt(0).putLong(records).putLong(0).flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+        if (channel.position() < HEADER_BYTES) {
+            channel.position(HEADER_BYTES);
+        }
+    }
+
+    /**
+     * Writes what is left in the buffer and the record count.
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+            writeHeader();
+        }
+    }
+}
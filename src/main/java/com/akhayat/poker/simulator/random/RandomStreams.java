@@ -0,0 +1,81 @@
+package com.akhayat.poker.simulator.random;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Hands out independent random number generators derived from one master
+ * seed, so that a parallel run never shares a generator between threads
+ * and still comes out the same every time it is given the same seed.
+ *
+ * A stream is picked by a worker number or by a trial (or block of trials)
+ * number; the two kinds never hand out the same stream. Work split by trial
+ * number gives the same results whatever the number of threads, because
+ * trial n always draws from the same stream.
+ *
+ * Seeds are derived with the SplitMix64 finalizer, which spreads even
+ * consecutive indexes over the whole 64-bit range.
+ */
+public final class RandomStreams {
+
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long WORKER_DOMAIN = 0x5DEECE66DL;
+    private static final long TRIAL_DOMAIN = 0x2545F4914F6CDD1DL;
+    private static final RandomGeneratorFactory<RandomGenerator> DEFAULT_FACTORY =
+            RandomGeneratorFactory.of(DEFAULT_ALGORITHM);
+
+    private final long masterSeed;
+    private final RandomGeneratorFactory<RandomGenerator> factory;
+
+    /**
+     * Streams from a master seed that is different every time.
+     */
+    public RandomStreams() {
+        this(DEFAULT_FACTORY.create().nextLong());
+    }
+
+    public RandomStreams(long masterSeed) {
+        this(masterSeed, DEFAULT_ALGORITHM);
+    }
+
+    /**
+     * Streams made with the named JDK algorithm, e.g. "L64X128MixRandom" or
+     * "SplittableRandom".
+     */
+    public RandomStreams(long masterSeed, String algorithm) {
+        this.masterSeed = masterSeed;
+        this.factory = algorithm.equals(DEFAULT_ALGORITHM) ? DEFAULT_FACTORY : RandomGeneratorFactory.of(algorithm);
+    }
+
+    /**
+     * Returns a new generator with a seed nobody else knows. Used where a
+     * run doesn't need to be repeatable.
+     */
+    public static RandomGenerator newGenerator() {
+        return DEFAULT_FACTORY.create();
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    public RandomGenerator forWorker(int worker) {
+        return factory.create(seed(WORKER_DOMAIN, worker));
+    }
+
+    public RandomGenerator forTrial(long trial) {
+        return factory.create(seed(TRIAL_DOMAIN, trial));
+    }
+
+    private long seed(long domain, long index) {
+        return mix(mix(masterSeed ^ domain) + GOLDEN_GAMMA * (index + 1));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
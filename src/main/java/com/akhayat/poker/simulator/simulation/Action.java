@@ -0,0 +1,34 @@
+package com.akhayat.poker.simulator.simulation;
+
+/**
+ * Decisions are plain ints so that a strategy never has to allocate one:
+ * FOLD, CHECK_OR_CALL, or a positive amount to raise the player's bet on
+ * this street to.
+ */
+public final class Action {
+
+    /**
+     * Folding when there is nothing to call is taken as a check.
+     */
+    public static final int FOLD = -1;
+    public static final int CHECK_OR_CALL = 0;
+    /**
+     * Raises by as much as the player has left.
+     */
+    public static final int ALL_IN = Integer.MAX_VALUE;
+
+    private Action() {
+    }
+
+    /**
+     * Raises the player's bet on this street to the given total. Anything
+     * below the minimum raise is bumped up to it, anything above the
+     * player's stack is cut down to an all-in.
+     */
+    public static int raiseTo(int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("A raise must be to a positive amount, not " + amount);
+        }
+        return amount;
+    }
+}
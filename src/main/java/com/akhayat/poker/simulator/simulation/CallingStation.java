@@ -0,0 +1,12 @@
+package com.akhayat.poker.simulator.simulation;
+
+/**
+ * Never folds and never raises: checks when it can and calls any bet.
+ */
+public class CallingStation implements PlayerStrategy {
+
+    @Override
+    public int act(GameView view) {
+        return Action.CHECK_OR_CALL;
+    }
+}
@@ -0,0 +1,84 @@
+package com.akhayat.poker.simulator.simulation;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * What the player to act can see of the hand. Amounts are in chips; seats
+ * are numbered from 0 and stay the same for the whole simulation while the
+ * button moves around them.
+ */
+public interface GameView {
+
+    int PREFLOP = 0;
+    int FLOP = 1;
+    int TURN = 2;
+    int RIVER = 3;
+
+    int getPlayers();
+
+    /**
+     * Returns the seat of the player to act.
+     */
+    int getSeat();
+
+    int getButton();
+
+    int getBigBlind();
+
+    /**
+     * Returns PREFLOP, FLOP, TURN or RIVER.
+     */
+    int getStreet();
+
+    /**
+     * Returns one of the acting player's two packed hole cards.
+     */
+    int getHoleCard(int i);
+
+    int getBoardSize();
+
+    int getBoardCard(int i);
+
+    /**
+     * Returns the rank (1..7462) of the best five card hand the acting
+     * player can make with the board so far, or 0 before the flop.
+     */
+    int getHandRank();
+
+    /**
+     * Returns the chips in the middle, including this street's bets.
+     */
+    int getPot();
+
+    /**
+     * Returns the highest bet on this street.
+     */
+    int getCurrentBet();
+
+    /**
+     * Returns what the acting player has to add to call.
+     */
+    int getToCall();
+
+    /**
+     * Returns the smallest total a raise can be made to.
+     */
+    int getMinRaiseTo();
+
+    int getStack(int seat);
+
+    /**
+     * Returns what the player in the given seat has bet on this street.
+     */
+    int getStreetBet(int seat);
+
+    boolean isFolded(int seat);
+
+    boolean isAllIn(int seat);
+
+    /**
+     * Returns the generator the table deals with, for strategies that mix
+     * their play. Using it keeps seeded runs repeatable.
+     */
+    RandomGenerator getRandom();
+}
@@ -0,0 +1,68 @@
+package com.akhayat.poker.simulator.simulation;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+/**
+ * Plays a large number of hold'em hands between the given strategies on a
+ * fork-join pool and reports how each seat did, in big blinds per 100
+ * hands. Every worker plays on a table of its own with strategies of its
+ * own, made by the suppliers, one per seat.
+ */
+public class HoldemSimulator {
+
+    private static final long MIN_LEAF_SIZE = 2L * SimulationTask.HANDS_PER_STREAM;
+
+    private final List<Supplier<? extends PlayerStrategy>> seats;
+    private final int smallBlind;
+    private final int bigBlind;
+    private final int startingStack;
+    private final ForkJoinPool pool;
+    private final RandomStreams random;
+
+    /**
+     * Blinds of 1 and 2 chips and stacks of 100 big blinds.
+     */
+    public HoldemSimulator(List<Supplier<? extends PlayerStrategy>> seats) {
+        this(seats, 1, 2, 200, ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     * With random streams from a fixed seed every run plays the same hands,
+     * whatever the size of the pool. With null each run draws a new seed.
+     */
+    public HoldemSimulator(List<Supplier<? extends PlayerStrategy>> seats, int smallBlind, int bigBlind,
+            int startingStack, ForkJoinPool pool, RandomStreams random) {
+        this.seats = List.copyOf(seats);
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.startingStack = startingStack;
+        this.pool = pool;
+        this.random = random;
+        // fails early on bad settings rather than in a worker
+        newTable(RandomStreams.newGenerator());
+    }
+
+    public SimulationResult run(long hands) {
+        if (hands <= 0) {
+            throw new IllegalArgumentException("The number of hands must be positive.");
+        }
+        long leafSize = Math.max(MIN_LEAF_SIZE, hands / (8L * pool.getParallelism()));
+        RandomStreams streams = random == null ? new RandomStreams() : random;
+        long start = System.nanoTime();
+        SeatStats stats = pool.invoke(new SimulationTask(this, 0, hands, leafSize, streams));
+        return new SimulationResult(stats, System.nanoTime() - start);
+    }
+
+    HoldemTable newTable(RandomGenerator generator) {
+        PlayerStrategy[] strategies = new PlayerStrategy[seats.size()];
+        for (int p = 0; p < strategies.length; p++) {
+            strategies[p] = seats.get(p).get();
+        }
+        return new HoldemTable(strategies, smallBlind, bigBlind, startingStack, generator);
+    }
+}
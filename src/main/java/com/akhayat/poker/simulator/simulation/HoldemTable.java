@@ -0,0 +1,348 @@
+package com.akhayat.poker.simulator.simulation;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.evaluator.IncrementalEvaluator;
+
+/**
+ * Plays no-limit Texas Hold'em hands from the blinds to the showdown.
+ * Every seat starts every hand with its starting stack, so the table
+ * measures how the strategies do against each other hand by hand, with
+ * nothing carried over. Unequal stacks make for side pots, which the
+ * ShowdownResolver splits.
+ *
+ * All the state lives in arrays allocated once, and the table itself is the
+ * view passed to the strategies, so playing a hand doesn't allocate. Each
+ * seat's cards are kept in an IncrementalEvaluator that gets the board
+ * cards as they come, so ranking a hand on any street is one lookup. A
+ * table is meant for one thread.
+ *
+ * Betting follows the usual rules with one simplification: a short all-in
+ * raise reopens the betting like a full one.
+ */
+public class HoldemTable implements GameView {
+
+    private static final int BOARD_SIZE = 5;
+
+    private final PlayerStrategy[] strategies;
+    private final int players;
+    private final int smallBlind;
+    private final int bigBlind;
+    private final int[] startingStacks;
+
+    private final int[] stacks;
+    private final int[] streetBets;
+    private final int[] contributed;
+    private final boolean[] folded;
+    private final boolean[] allIn;
+    private final int[] holeCards;
+    private final int[] board = new int[BOARD_SIZE];
+    private final int[] ranks;
+    private final int[] payouts;
+    private final ShowdownResolver resolver;
+    private final IncrementalEvaluator[] hands;
+    private Deck deck;
+    private RandomGenerator random;
+
+    private int button;
+    private int street;
+    private int boardSize;
+    private int currentBet;
+    private int minRaise;
+    private int seat;
+    private int playersIn;
+
+    public HoldemTable(PlayerStrategy[] strategies, int smallBlind, int bigBlind, int startingStack,
+            RandomGenerator random) {
+        this(strategies, smallBlind, bigBlind, filled(strategies.length, startingStack), random);
+    }
+
+    /**
+     * Constructs a table where each seat starts every hand with its own stack.
+     */
+    public HoldemTable(PlayerStrategy[] strategies, int smallBlind, int bigBlind, int[] startingStacks,
+            RandomGenerator random) {
+        if (strategies.length < 2 || strategies.length > 10) {
+            throw new IllegalArgumentException("A table seats 2 to 10 players, not " + strategies.length);
+        }
+        if (startingStacks.length != strategies.length) {
+            throw new IllegalArgumentException(startingStacks.length + " stacks for " + strategies.length + " seats");
+        }
+        for (int stack : startingStacks) {
+            if (smallBlind <= 0 || bigBlind < smallBlind || stack < bigBlind) {
+                throw new IllegalArgumentException("Invalid blinds " + smallBlind + "/" + bigBlind
+                        + " for a stack of " + stack);
+            }
+        }
+        this.strategies = strategies.clone();
+        this.players = strategies.length;
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.startingStacks = startingStacks.clone();
+        this.stacks = new int[players];
+        this.streetBets = new int[players];
+        this.contributed = new int[players];
+        this.folded = new boolean[players];
+        this.allIn = new boolean[players];
+        this.holeCards = new int[2 * players];
+        this.ranks = new int[players];
+        this.payouts = new int[players];
+        this.resolver = new ShowdownResolver(players);
+        this.hands = new IncrementalEvaluator[players];
+        for (int p = 0; p < players; p++) {
+            hands[p] = new IncrementalEvaluator();
+        }
+        setRandom(random);
+    }
+
+    private static int[] filled(int length, int value) {
+        int[] array = new int[length];
+        Arrays.fill(array, value);
+        return array;
+    }
+
+    /**
+     * Switches to a new generator for dealing (and for the strategies).
+     */
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+        this.deck = new Deck(random);
+    }
+
+    /**
+     * Plays one hand with the button in the given seat and writes what each
+     * seat won or lost, in chips, into net.
+     */
+    public void playHand(int button, int[] net) {
+        this.button = button;
+        System.arraycopy(startingStacks, 0, stacks, 0, players);
+        Arrays.fill(streetBets, 0);
+        Arrays.fill(contributed, 0);
+        Arrays.fill(folded, false);
+        Arrays.fill(allIn, false);
+        playersIn = players;
+        deck.resetTopCard();
+        deck.dealRandomCards(holeCards, 0, holeCards.length);
+        deck.dealRandomCards(board, 0, BOARD_SIZE);
+        for (int p = 0; p < players; p++) {
+            hands[p].clear();
+            hands[p].addCard(holeCards[2 * p]);
+            hands[p].addCard(holeCards[2 * p + 1]);
+        }
+
+        street = PREFLOP;
+        boardSize = 0;
+        int smallBlindSeat = players == 2 ? button : next(button);
+        int bigBlindSeat = next(smallBlindSeat);
+        put(smallBlindSeat, smallBlind);
+        put(bigBlindSeat, bigBlind);
+        currentBet = bigBlind;
+        minRaise = bigBlind;
+        bet(next(bigBlindSeat));
+
+        for (street = FLOP; street <= RIVER && playersIn > 1; street++) {
+            showBoard(street == FLOP ? 3 : boardSize + 1);
+            Arrays.fill(streetBets, 0);
+            currentBet = 0;
+            minRaise = bigBlind;
+            bet(next(button));
+        }
+        showBoard(BOARD_SIZE);
+        payOut();
+        for (int p = 0; p < players; p++) {
+            net[p] = stacks[p] - startingStacks[p];
+        }
+    }
+
+    /**
+     * Runs a betting round starting with the first player still able to act
+     * from the given seat on.
+     */
+    private void bet(int first) {
+        int canAct = 0;
+        for (int p = 0; p < players; p++) {
+            if (!folded[p] && !allIn[p]) {
+                canAct++;
+            }
+        }
+        int toAct = canAct;
+        seat = first;
+        while (toAct > 0 && playersIn > 1) {
+            if (folded[seat] || allIn[seat]) {
+                seat = next(seat);
+                continue;
+            }
+            int toCall = currentBet - streetBets[seat];
+            if (canAct == 1 && toCall == 0) {
+                // everyone else is all in and nothing is owed
+                return;
+            }
+            int decision = strategies[seat].act(this);
+            if (decision == Action.FOLD && toCall > 0) {
+                folded[seat] = true;
+                playersIn--;
+                canAct--;
+                toAct--;
+            } else if (decision > 0 && stacks[seat] > toCall) {
+                int target = Math.min(Math.max(decision, currentBet + minRaise), streetBets[seat] + stacks[seat]);
+                minRaise = Math.max(minRaise, target - currentBet);
+                currentBet = target;
+                put(seat, target - streetBets[seat]);
+                // everyone else still able to act has to answer the raise
+                if (allIn[seat]) {
+                    canAct--;
+                    toAct = canAct;
+                } else {
+                    toAct = canAct - 1;
+                }
+            } else {
+                put(seat, Math.min(toCall, stacks[seat]));
+                if (allIn[seat]) {
+                    canAct--;
+                }
+                toAct--;
+            }
+            seat = next(seat);
+        }
+    }
+
+    /**
+     * Turns board cards up until there are size of them.
+     */
+    private void showBoard(int size) {
+        for (; boardSize < size; boardSize++) {
+            for (IncrementalEvaluator hand : hands) {
+                hand.addCard(board[boardSize]);
+            }
+        }
+    }
+
+    private void put(int seat, int chips) {
+        int amount = Math.min(chips, stacks[seat]);
+        stacks[seat] -= amount;
+        streetBets[seat] += amount;
+        contributed[seat] += amount;
+        if (stacks[seat] == 0) {
+            allIn[seat] = true;
+        }
+    }
+
+    /**
+     * Ranks the hands still in and lets the resolver split the main and side
+     * pots. A player left alone wins without a showdown.
+     */
+    private void payOut() {
+        for (int p = 0; p < players; p++) {
+            ranks[p] = folded[p] ? 0
+                    : playersIn == 1 ? 1
+                    : hands[p].getRank();
+        }
+        resolver.resolve(ranks, contributed, button, payouts);
+        for (int p = 0; p < players; p++) {
+            stacks[p] += payouts[p];
+        }
+    }
+
+    private int next(int seat) {
+        return seat + 1 == players ? 0 : seat + 1;
+    }
+
+    @Override
+    public int getPlayers() {
+        return players;
+    }
+
+    @Override
+    public int getSeat() {
+        return seat;
+    }
+
+    @Override
+    public int getButton() {
+        return button;
+    }
+
+    @Override
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
+    @Override
+    public int getStreet() {
+        return street;
+    }
+
+    @Override
+    public int getHoleCard(int i) {
+        return holeCards[2 * seat + i];
+    }
+
+    @Override
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    @Override
+    public int getBoardCard(int i) {
+        if (i >= boardSize) {
+            throw new IndexOutOfBoundsException("Only " + boardSize + " board cards are out");
+        }
+        return board[i];
+    }
+
+    @Override
+    public int getHandRank() {
+        return hands[seat].getRank();
+    }
+
+    @Override
+    public int getPot() {
+        int pot = 0;
+        for (int chips : contributed) {
+            pot += chips;
+        }
+        return pot;
+    }
+
+    @Override
+    public int getCurrentBet() {
+        return currentBet;
+    }
+
+    @Override
+    public int getToCall() {
+        return Math.min(currentBet - streetBets[seat], stacks[seat]);
+    }
+
+    @Override
+    public int getMinRaiseTo() {
+        return currentBet + minRaise;
+    }
+
+    @Override
+    public int getStack(int seat) {
+        return stacks[seat];
+    }
+
+    @Override
+    public int getStreetBet(int seat) {
+        return streetBets[seat];
+    }
+
+    @Override
+    public boolean isFolded(int seat) {
+        return folded[seat];
+    }
+
+    @Override
+    public boolean isAllIn(int seat) {
+        return allIn[seat];
+    }
+
+    @Override
+    public RandomGenerator getRandom() {
+        return random;
+    }
+}
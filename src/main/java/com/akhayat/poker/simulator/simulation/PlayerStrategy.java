@@ -0,0 +1,19 @@
+package com.akhayat.poker.simulator.simulation;
+
+/**
+ * Decides what a player does whenever it's their turn to act. The engine
+ * calls act() millions of times, so implementations shouldn't allocate;
+ * everything about the hand is readable from the view, which stays valid
+ * only for the duration of the call.
+ *
+ * The simulator gives each worker thread its own instances, so a strategy
+ * may keep state between calls without synchronizing.
+ */
+@FunctionalInterface
+public interface PlayerStrategy {
+
+    /**
+     * Returns Action.FOLD, Action.CHECK_OR_CALL or Action.raiseTo(amount).
+     */
+    int act(GameView view);
+}
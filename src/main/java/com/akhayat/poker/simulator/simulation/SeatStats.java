@@ -0,0 +1,35 @@
+package com.akhayat.poker.simulator.simulation;
+
+/**
+ * Per-worker sums of what each seat won, in big blinds, and of its
+ * squares, enough for a mean and a standard deviation.
+ */
+class SeatStats {
+
+    final double[] sum;
+    final double[] sumOfSquares;
+    long hands;
+
+    SeatStats(int players) {
+        sum = new double[players];
+        sumOfSquares = new double[players];
+    }
+
+    void record(int[] net, int bigBlind) {
+        for (int p = 0; p < net.length; p++) {
+            double won = (double) net[p] / bigBlind;
+            sum[p] += won;
+            sumOfSquares[p] += won * won;
+        }
+        hands++;
+    }
+
+    SeatStats add(SeatStats other) {
+        for (int p = 0; p < sum.length; p++) {
+            sum[p] += other.sum[p];
+            sumOfSquares[p] += other.sumOfSquares[p];
+        }
+        hands += other.hands;
+        return this;
+    }
+}
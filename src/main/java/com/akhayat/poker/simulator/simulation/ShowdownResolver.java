@@ -0,0 +1,144 @@
+package com.akhayat.poker.simulator.simulation;
+
+import com.akhayat.poker.simulator.card.PokerHand;
+
+/**
+ * Splits the chips at a showdown between any number of players, building a
+ * main pot and a side pot for every player all in for less than the others.
+ *
+ * Hands are compared as ints where higher is better: a hand rank
+ * (1..7462) or a PokerHandEvaluation score. A score of 0 or less marks a
+ * player who folded; their chips stay in the pots but they can't win any.
+ * Players are sorted by score once, and each pot goes to the best players
+ * eligible for it. When a pot splits unevenly the odd chips go one each to
+ * the winners closest to the left of the button.
+ *
+ * A resolver keeps its scratch arrays between calls and is meant for one
+ * thread.
+ */
+public class ShowdownResolver {
+
+    private final int[] order;
+    private final int[] potSizes;
+    private final int[] potLevels;
+    private int pots;
+
+    public ShowdownResolver(int maxPlayers) {
+        order = new int[maxPlayers];
+        potSizes = new int[maxPlayers];
+        potLevels = new int[maxPlayers];
+    }
+
+    /**
+     * Convenience version for hand objects, null meaning the player folded.
+     */
+    public int resolve(PokerHand[] hands, int[] contributed, int button, int[] payouts) {
+        int[] scores = new int[hands.length];
+        for (int p = 0; p < hands.length; p++) {
+            scores[p] = hands[p] == null ? 0 : hands[p].getEvaluation().getScore();
+        }
+        return resolve(scores, contributed, button, payouts);
+    }
+
+    /**
+     * Writes what each player gets back into payouts and returns the number
+     * of pots. Every chip contributed is paid out, including any bet nobody
+     * could call, which goes back to the player who made it.
+     */
+    public int resolve(int[] scores, int[] contributed, int button, int[] payouts) {
+        int players = scores.length;
+        if (players > order.length) {
+            throw new IllegalArgumentException("This resolver handles at most " + order.length + " players.");
+        }
+        // players still in, best first
+        int live = 0;
+        for (int p = 0; p < players; p++) {
+            payouts[p] = 0;
+            if (scores[p] > 0) {
+                int i = live++;
+                while (i > 0 && scores[order[i - 1]] < scores[p]) {
+                    order[i] = order[i - 1];
+                    i--;
+                }
+                order[i] = p;
+            }
+        }
+        if (live == 0) {
+            throw new IllegalArgumentException("At least one player has to be in at the showdown.");
+        }
+
+        int top = 0;
+        for (int i = 0; i < live; i++) {
+            top = Math.max(top, contributed[order[i]]);
+        }
+        // one pot per distinct amount put in by a player still in
+        pots = 0;
+        int previous = 0;
+        while (previous < top) {
+            int level = top;
+            for (int i = 0; i < live; i++) {
+                int chips = contributed[order[i]];
+                if (chips > previous && chips < level) {
+                    level = chips;
+                }
+            }
+            int pot = 0;
+            for (int p = 0; p < players; p++) {
+                // chips a folded player put in beyond what anyone still in matched go in the last pot
+                pot += Math.max(0, (level == top ? contributed[p] : Math.min(contributed[p], level)) - previous);
+            }
+            potSizes[pots] = pot;
+            potLevels[pots++] = level;
+            award(pot, level, live, players, button, scores, contributed, payouts);
+            previous = level;
+        }
+        return pots;
+    }
+
+    private void award(int pot, int level, int live, int players, int button, int[] scores, int[] contributed,
+            int[] payouts) {
+        int best = 0;
+        int winners = 0;
+        for (int i = 0; i < live; i++) {
+            int p = order[i];
+            if (contributed[p] >= level) {
+                if (winners == 0) {
+                    best = scores[p];
+                } else if (scores[p] != best) {
+                    break;
+                }
+                winners++;
+            } else if (winners > 0 && scores[p] != best) {
+                break;
+            }
+        }
+        int share = pot / winners;
+        int oddChips = pot - share * winners;
+        for (int i = 0, p = (button + 1) % players; i < players; i++, p = (p + 1) % players) {
+            if (scores[p] == best && scores[p] > 0 && contributed[p] >= level) {
+                payouts[p] += share + (oddChips-- > 0 ? 1 : 0);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of pots built by the last call to resolve().
+     */
+    public int getPots() {
+        return pots;
+    }
+
+    /**
+     * Returns the size of a pot from the last call, the main pot being 0.
+     */
+    public int getPotSize(int pot) {
+        return potSizes[pot];
+    }
+
+    /**
+     * Returns how much a player had to put in to be eligible for a pot.
+     */
+    public int getPotLevel(int pot) {
+        return potLevels[pot];
+    }
+}
@@ -0,0 +1,80 @@
+package com.akhayat.poker.simulator.simulation;
+
+/**
+ * How each seat did over a simulation, in big blinds per 100 hands (bb/100),
+ * with a 95% confidence interval from the normal approximation.
+ */
+public class SimulationResult {
+
+    private static final double Z_95 = 1.959964;
+
+    private final long hands;
+    private final long elapsedNanos;
+    private final double[] mean;
+    private final double[] standardDeviation;
+
+    SimulationResult(SeatStats stats, long elapsedNanos) {
+        this.hands = stats.hands;
+        this.elapsedNanos = elapsedNanos;
+        this.mean = new double[stats.sum.length];
+        this.standardDeviation = new double[mean.length];
+        for (int p = 0; p < mean.length; p++) {
+            mean[p] = stats.sum[p] / hands;
+            double variance = hands > 1 ? (stats.sumOfSquares[p] - hands * mean[p] * mean[p]) / (hands - 1) : 0;
+            standardDeviation[p] = Math.sqrt(Math.max(0, variance));
+        }
+    }
+
+    public int getPlayers() {
+        return mean.length;
+    }
+
+    public long getHands() {
+        return hands;
+    }
+
+    /**
+     * Returns the seat's average result in big blinds per 100 hands.
+     */
+    public double getWinRate(int seat) {
+        return 100 * mean[seat];
+    }
+
+    /**
+     * Returns the standard deviation of the seat's result, in big blinds
+     * per 100 hands.
+     */
+    public double getStandardDeviation(int seat) {
+        return 10 * standardDeviation[seat];
+    }
+
+    /**
+     * Returns the half width of the 95% confidence interval of the win
+     * rate, in bb/100.
+     */
+    public double getConfidenceInterval(int seat) {
+        return Z_95 * 100 * standardDeviation[seat] / Math.sqrt(hands);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns how many hands were played per second.
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : hands * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int p = 0; p < mean.length; p++) {
+            builder.append(String.format("seat %d: %+.2f bb/100 (+/- %.2f)%n", p, getWinRate(p),
+                    getConfidenceInterval(p)));
+        }
+        builder.append(String.format("%,d hands at %,.0f hands/s", hands, getThroughput()));
+        return builder.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.akhayat.poker.simulator.simulation;
+
+import java.util.concurrent.RecursiveTask;
+
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+/**
+ * Plays hands from..to on a table of its own, splitting itself in half
+ * until the pieces are small enough.
+ *
+ * Hands come in blocks of HANDS_PER_STREAM; block n always deals from
+ * stream n of the RandomStreams and pieces are only cut at block
+ * boundaries, so a seeded run plays the same hands whatever the number of
+ * workers. The button is in seat hand % players.
+ */
+class SimulationTask extends RecursiveTask<SeatStats> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int HANDS_PER_STREAM = 1 << 10;
+
+    private final HoldemSimulator simulator;
+    private final long from;
+    private final long to;
+    private final long leafSize;
+    private final RandomStreams streams;
+
+    /**
+     * leafSize must be at least twice HANDS_PER_STREAM.
+     */
+    SimulationTask(HoldemSimulator simulator, long from, long to, long leafSize, RandomStreams streams) {
+        this.simulator = simulator;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+        this.streams = streams;
+    }
+
+    @Override
+    protected SeatStats compute() {
+        if (to - from > leafSize) {
+            long middle = from + (to - from) / 2 / HANDS_PER_STREAM * HANDS_PER_STREAM;
+            SimulationTask left = new SimulationTask(simulator, from, middle, leafSize, streams);
+            left.fork();
+            SeatStats right = new SimulationTask(simulator, middle, to, leafSize, streams).compute();
+            return right.add(left.join());
+        }
+        HoldemTable table = simulator.newTable(streams.forTrial(from / HANDS_PER_STREAM));
+        int players = table.getPlayers();
+        int[] net = new int[players];
+        SeatStats stats = new SeatStats(players);
+        for (long hand = from; hand < to; hand++) {
+            if (hand % HANDS_PER_STREAM == 0 && hand != from) {
+                table.setRandom(streams.forTrial(hand / HANDS_PER_STREAM));
+            }
+            table.playHand((int) (hand % players), net);
+            stats.record(net, table.getBigBlind());
+        }
+        return stats;
+    }
+}
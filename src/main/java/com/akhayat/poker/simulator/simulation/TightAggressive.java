@@ -0,0 +1,56 @@
+package com.akhayat.poker.simulator.simulation;
+
+import com.akhayat.poker.simulator.card.Card.Rank;
+import com.akhayat.poker.simulator.equity.StartingHand;
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+
+/**
+ * A simple rule-based player. Before the flop it raises big pairs and big
+ * aces, calls small raises with medium pairs and good suited hands and
+ * folds the rest. After the flop it bets two pair or better, calls modest
+ * bets with a pair and gives up otherwise.
+ */
+public class TightAggressive implements PlayerStrategy {
+
+    private static final int NINE = Rank.NINE.ordinal();
+    private static final int TEN = Rank.TEN.ordinal();
+    private static final int QUEEN = Rank.QUEEN.ordinal();
+    private static final int KING = Rank.KING.ordinal();
+    private static final int ACE = Rank.ACE.ordinal();
+
+    @Override
+    public int act(GameView view) {
+        return view.getStreet() == GameView.PREFLOP ? preflop(view) : postflop(view);
+    }
+
+    private static int preflop(GameView view) {
+        int handClass = StartingHand.of(view.getHoleCard(0), view.getHoleCard(1));
+        int high = StartingHand.highRank(handClass);
+        int low = StartingHand.lowRank(handClass);
+        boolean pair = high == low;
+        boolean suited = StartingHand.isSuited(handClass);
+        int bigBlind = view.getBigBlind();
+        if (pair && high >= NINE || high == ACE && low >= (suited ? QUEEN : KING)) {
+            return Action.raiseTo(Math.max(view.getMinRaiseTo(), 3 * Math.max(view.getCurrentBet(), bigBlind)));
+        }
+        boolean playable = pair || high == ACE && low >= (suited ? TEN : QUEEN)
+                || suited && high >= TEN && high - low <= 2;
+        if (playable && view.getToCall() <= 3 * bigBlind) {
+            return Action.CHECK_OR_CALL;
+        }
+        return Action.FOLD;
+    }
+
+    private static int postflop(GameView view) {
+        PokerHandType type = LookupTableEvaluator.handType(view.getHandRank());
+        int pot = view.getPot();
+        if (type.compareTo(PokerHandType.TWO_PAIR) >= 0) {
+            return Action.raiseTo(Math.max(view.getMinRaiseTo(), view.getCurrentBet() + 2 * pot / 3));
+        }
+        if (type == PokerHandType.PAIR && 2 * view.getToCall() <= pot) {
+            return Action.CHECK_OR_CALL;
+        }
+        return Action.FOLD;
+    }
+}
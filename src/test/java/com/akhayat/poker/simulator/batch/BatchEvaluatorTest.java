@@ -0,0 +1,85 @@
+package com.akhayat.poker.simulator.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.PokerHand;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+class BatchEvaluatorTest {
+
+    private static String run(String input, int chunkSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BatchEvaluator(new ForkJoinPool(3), chunkSize).run(
+                Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testFormats() throws IOException {
+        String expected = PokerHand.fromStrings("A", "c", "A", "h", "8", "s", "8", "d", "A", "s") + "\n";
+        assertThat(run("Ac Ah 8s 8d As\n", 64)).isEqualTo(expected);
+        assertThat(run("AcAh8s8dAs", 64)).isEqualTo(expected);
+        assertThat(run("a c, a h, 8 s, 8 d, a s\r\n\n", 64)).isEqualTo(expected);
+        assertThat(run("10h Jh Qh Kh Ah 2c 3d\n", 64))
+                .isEqualTo(PokerHand.fromStrings("10", "h", "J", "h", "Q", "h", "K", "h", "A", "h", "2", "c", "3", "d")
+                        + "\n");
+    }
+
+    @Test
+    public void testInvalidLines() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchResult result = new BatchEvaluator(new ForkJoinPool(1), 64).run(Channels.newChannel(
+                new ByteArrayInputStream("Ac Ah\nAc Ac 8s 8d As\nXc Ah 8s 8d As\nAc Ah 8s 8d As\n".getBytes())), out);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).hasSize(4).startsWith("invalid hand: Ac Ah",
+                "invalid hand: Ac Ac 8s 8d As", "invalid hand: Xc Ah 8s 8d As");
+        assertThat(result.getHands()).isEqualTo(1);
+        assertThat(result.getInvalid()).isEqualTo(3);
+    }
+
+    /**
+     * Lots of hands through small chunks, so lines straddle chunk borders
+     * and many chunks are in flight: the results must come back in order.
+     */
+    @Test
+    public void testOrderAcrossChunks() throws IOException {
+        Deck deck = new Deck(new RandomStreams(15).forWorker(0));
+        StringBuilder input = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        int[] cards = new int[7];
+        for (int i = 0; i < 5000; i++) {
+            int size = i % 3 == 0 ? 5 : 7;
+            deck.resetTopCard();
+            deck.dealRandomCards(cards, 0, size);
+            for (int c = 0; c < size; c++) {
+                input.append("23456789TJQKA".charAt(PackedCard.rank(cards[c])))
+                        .append("cshd".charAt(PackedCard.suit(cards[c]))).append(' ');
+            }
+            input.append('\n');
+            int[] hand = new int[size];
+            System.arraycopy(cards, 0, hand, 0, size);
+            expected.add(PokerHand.fromPacked(hand).toString());
+        }
+        assertThat(run(input.toString(), 1000).split("\n")).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void testLineTooLong() {
+        assertThatThrownBy(() -> run("Ac ".repeat(100), 64)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> new BatchEvaluator(ForkJoinPool.commonPool(), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.akhayat.poker.simulator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluator;
+
+/**
+ * Five card hands per second over the whole corpus: one hand at a time
+ * through LookupTableEvaluator, and in one batch with the scalar kernel or,
+ * built and run with -Pvector and given -jvmArgsAppend -Dpoker.vector=true,
+ * the vector kernel (the fork inherits the incubator module).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(Corpus.HANDS)
+public class BatchEvaluationBenchmark {
+
+    private int[] hands;
+    private int[] ranks;
+
+    @Setup
+    public void setUp() {
+        hands = Corpus.randomHands(5);
+        ranks = new int[Corpus.HANDS];
+    }
+
+    @Benchmark
+    public int[] oneAtATime() {
+        for (int hand = 0; hand < Corpus.HANDS; hand++) {
+            ranks[hand] = LookupTableEvaluator.evaluate(hands, hand * 5);
+        }
+        return ranks;
+    }
+
+    @Benchmark
+    public int[] batch() {
+        PokerHandEvaluator.evaluateBatch(hands, ranks);
+        return ranks;
+    }
+}
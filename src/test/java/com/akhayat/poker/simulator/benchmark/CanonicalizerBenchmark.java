@@ -0,0 +1,62 @@
+package com.akhayat.poker.simulator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.akhayat.poker.simulator.card.SuitCanonicalizer;
+
+/**
+ * Suit canonicalization of hole cards and a flop, and of hole cards, a
+ * board and two dead cards, the way a cache in front of an equity query
+ * would call it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanonicalizerBenchmark {
+
+    private final SuitCanonicalizer flop = new SuitCanonicalizer(2, 3);
+    private final SuitCanonicalizer query = new SuitCanonicalizer(2, 5, 2);
+    private final int[] canonical = new int[9];
+    private int[] hands;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        hands = Corpus.randomHands(9);
+    }
+
+    private int nextHand() {
+        next = (next + 1) & (Corpus.HANDS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public long flopIndex() {
+        return flop.index(hands, nextHand() * 9);
+    }
+
+    @Benchmark
+    public long queryCanonicalize() {
+        return query.canonicalize(hands, nextHand() * 9, canonical, 0);
+    }
+
+    @Benchmark
+    public int[] queryRoundTrip() {
+        query.unindex(query.index(hands, nextHand() * 9), canonical, 0);
+        return canonical;
+    }
+}
@@ -0,0 +1,39 @@
+package com.akhayat.poker.simulator.benchmark;
+
+import java.util.Random;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+/**
+ * Fixed, seeded hand corpora so every benchmark run sees the same hands.
+ */
+final class Corpus {
+
+    static final int HANDS = 1 << 14;
+    static final long SEED = 0x5EED;
+
+    private Corpus() {
+    }
+
+    /**
+     * Returns HANDS hands of distinct packed cards laid out back to back.
+     */
+    static int[] randomHands(int cardsPerHand) {
+        Random random = new Random(SEED + cardsPerHand);
+        int[] deck = new int[PackedCard.NUM_CARDS];
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = PackedCard.fromIndex(i);
+        }
+        int[] hands = new int[HANDS * cardsPerHand];
+        for (int hand = 0; hand < HANDS; hand++) {
+            for (int i = 0; i < cardsPerHand; i++) {
+                int j = i + random.nextInt(deck.length - i);
+                int hold = deck[i];
+                deck[i] = deck[j];
+                deck[j] = hold;
+                hands[hand * cardsPerHand + i] = deck[i];
+            }
+        }
+        return hands;
+    }
+}
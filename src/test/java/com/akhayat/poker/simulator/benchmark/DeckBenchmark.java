@@ -0,0 +1,65 @@
+package com.akhayat.poker.simulator.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.Deck;
+
+/**
+ * Shuffle and deal cycles: reset, shuffle, then deal a nine handed
+ * hold'em hand (18 hole cards and a five card board). The partial version
+ * only shuffles the cards it deals.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    private static final int CARDS_DEALT = 9 * 2 + 5;
+
+    private Deck deck;
+    private int[] dealt;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck();
+        dealt = new int[CARDS_DEALT];
+    }
+
+    @Benchmark
+    public List<Card> shuffleAndDealCards() {
+        deck.resetTopCard();
+        deck.shuffle();
+        return deck.dealCards(CARDS_DEALT);
+    }
+
+    @Benchmark
+    public int[] shuffleAndDealPacked() {
+        deck.resetTopCard();
+        deck.shuffle();
+        deck.dealPackedCards(dealt, 0, CARDS_DEALT);
+        return dealt;
+    }
+
+    @Benchmark
+    public int[] dealRandomPacked() {
+        deck.resetTopCard();
+        deck.dealRandomCards(dealt, 0, CARDS_DEALT);
+        return dealt;
+    }
+}
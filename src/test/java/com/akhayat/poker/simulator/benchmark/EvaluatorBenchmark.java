@@ -0,0 +1,165 @@
+package com.akhayat.poker.simulator.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.akhayat.poker.simulator.card.FiveCardHand;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.SevenCardHand;
+import com.akhayat.poker.simulator.evaluator.AceToFiveLowEvaluator;
+import com.akhayat.poker.simulator.evaluator.BestHandEvaluator;
+import com.akhayat.poker.simulator.evaluator.DeuceToSevenLowEvaluator;
+import com.akhayat.poker.simulator.evaluator.HiLoEvaluator;
+import com.akhayat.poker.simulator.evaluator.IncrementalEvaluator;
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluator;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluator.Algorithm;
+import com.akhayat.poker.simulator.evaluator.SevenCardEvaluator;
+
+/**
+ * Five and seven card evaluation over fixed random corpora, both through
+ * the primitive evaluators and through the PokerHand objects, and ranking a
+ * hand on the flop, the turn and the river from scratch against
+ * incrementally. BestHandEvaluator is timed on six, seven and nine cards to
+ * show its cost barely depends on the number of cards, and the lowball
+ * evaluators on five and seven cards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+
+    private int[] fiveCards;
+    private int[] sevenCards;
+    private int[] nineCards;
+    private final int[] sixCards = new int[6];
+    private final IncrementalEvaluator incremental = new IncrementalEvaluator();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        fiveCards = Corpus.randomHands(5);
+        sevenCards = Corpus.randomHands(7);
+        nineCards = Corpus.randomHands(9);
+    }
+
+    private int nextHand() {
+        next = (next + 1) & (Corpus.HANDS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public int fiveCardLookupTable() {
+        return LookupTableEvaluator.evaluate(fiveCards, nextHand() * 5);
+    }
+
+    @Benchmark
+    public PokerHandEvaluation fiveCardHistogram() {
+        int offset = nextHand() * 5;
+        return PokerHandEvaluator.evaluate(Algorithm.HISTOGRAM, Arrays.copyOfRange(fiveCards, offset, offset + 5));
+    }
+
+    @Benchmark
+    public FiveCardHand fiveCardHand() {
+        int offset = nextHand() * 5;
+        return new FiveCardHand(PackedCard.toCards(Arrays.copyOfRange(fiveCards, offset, offset + 5)));
+    }
+
+    @Benchmark
+    public int sevenCardDirect() {
+        return SevenCardEvaluator.evaluate(sevenCards, nextHand() * 7);
+    }
+
+    @Benchmark
+    public SevenCardHand sevenCardHand() {
+        int offset = nextHand() * 7;
+        return new SevenCardHand(PackedCard.toCards(Arrays.copyOfRange(sevenCards, offset, offset + 7)));
+    }
+
+    @Benchmark
+    public int streetsFromScratch() {
+        int offset = nextHand() * 7;
+        int flop = LookupTableEvaluator.evaluate(sevenCards, offset);
+        System.arraycopy(sevenCards, offset, sixCards, 0, 6);
+        int turn = 0;
+        for (int skip = 0; skip < 6; skip++) {
+            int hold = sixCards[skip];
+            sixCards[skip] = sixCards[5];
+            turn = Math.max(turn, LookupTableEvaluator.evaluate(sixCards[0], sixCards[1], sixCards[2],
+                    sixCards[3], sixCards[4]));
+            sixCards[skip] = hold;
+        }
+        int river = SevenCardEvaluator.evaluate(sevenCards, offset);
+        return flop + turn + river;
+    }
+
+    @Benchmark
+    public int streetsIncremental() {
+        int offset = nextHand() * 7;
+        IncrementalEvaluator hand = incremental;
+        hand.clear();
+        for (int i = 0; i < 5; i++) {
+            hand.addCard(sevenCards[offset + i]);
+        }
+        int flop = hand.getRank();
+        hand.addCard(sevenCards[offset + 5]);
+        int turn = hand.getRank();
+        hand.addCard(sevenCards[offset + 6]);
+        return flop + turn + hand.getRank();
+    }
+
+    @Benchmark
+    public int sixCardBestHand() {
+        return BestHandEvaluator.evaluate(sevenCards, nextHand() * 7, 6);
+    }
+
+    @Benchmark
+    public int sevenCardBestHand() {
+        return BestHandEvaluator.evaluate(sevenCards, nextHand() * 7, 7);
+    }
+
+    @Benchmark
+    public int nineCardBestHand() {
+        return BestHandEvaluator.evaluate(nineCards, nextHand() * 9, 9);
+    }
+
+    @Benchmark
+    public int fiveCardAceToFive() {
+        return AceToFiveLowEvaluator.evaluate(fiveCards, nextHand() * 5, 5);
+    }
+
+    @Benchmark
+    public int sevenCardAceToFive() {
+        return AceToFiveLowEvaluator.evaluate(sevenCards, nextHand() * 7, 7);
+    }
+
+    @Benchmark
+    public int fiveCardDeuceToSeven() {
+        return DeuceToSevenLowEvaluator.evaluate(fiveCards, nextHand() * 5, 5);
+    }
+
+    @Benchmark
+    public int sevenCardDeuceToSeven() {
+        return DeuceToSevenLowEvaluator.evaluate(sevenCards, nextHand() * 7, 7);
+    }
+
+    @Benchmark
+    public int sevenCardHiLo() {
+        return HiLoEvaluator.evaluate(sevenCards, nextHand() * 7, 7);
+    }
+}
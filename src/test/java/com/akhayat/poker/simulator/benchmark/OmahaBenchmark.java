@@ -0,0 +1,91 @@
+package com.akhayat.poker.simulator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.evaluator.OmahaEvaluator;
+import com.akhayat.poker.simulator.evaluator.SevenCardEvaluator;
+
+/**
+ * Heads-up PLO4 river showdowns: every two hole cards with every three
+ * board cards, against OmahaEvaluator on a board prepared once. The
+ * hold'em showdown is there to compare against.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OmahaBenchmark {
+
+    private static final int HOLE = 4;
+    private static final int BOARD = 2 * HOLE;
+    private static final int CARDS = BOARD + 5;
+
+    private int[] deals;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        deals = Corpus.randomHands(CARDS);
+    }
+
+    private int nextDeal() {
+        next = (next + 1) & (Corpus.HANDS - 1);
+        return next * CARDS;
+    }
+
+    @Benchmark
+    public int everyCombination() {
+        int d = nextDeal();
+        return Integer.compare(bruteForce(d), bruteForce(d + HOLE));
+    }
+
+    private int bruteForce(int hole) {
+        int board = hole - hole % CARDS + BOARD;
+        int best = 0;
+        for (int a = hole; a < hole + HOLE; a++) {
+            for (int b = a + 1; b < hole + HOLE; b++) {
+                for (int c = board; c < board + 5; c++) {
+                    for (int e = c + 1; e < board + 5; e++) {
+                        for (int f = e + 1; f < board + 5; f++) {
+                            best = Math.max(best, LookupTableEvaluator.evaluate(deals[a], deals[b], deals[c],
+                                    deals[e], deals[f]));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public int sharedBoard() {
+        int d = nextDeal();
+        long board = OmahaEvaluator.board(deals, d + BOARD, 5);
+        return Integer.compare(OmahaEvaluator.evaluate(deals, d, HOLE, board),
+                OmahaEvaluator.evaluate(deals, d + HOLE, HOLE, board));
+    }
+
+    @Benchmark
+    public int holdem() {
+        int d = nextDeal();
+        int first = SevenCardEvaluator.evaluate(deals[d], deals[d + 1],
+                deals[d + 8], deals[d + 9], deals[d + 10], deals[d + 11], deals[d + 12]);
+        int second = SevenCardEvaluator.evaluate(deals[d + 2], deals[d + 3],
+                deals[d + 8], deals[d + 9], deals[d + 10], deals[d + 11], deals[d + 12]);
+        return Integer.compare(first, second);
+    }
+}
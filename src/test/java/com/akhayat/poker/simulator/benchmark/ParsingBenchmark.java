@@ -0,0 +1,90 @@
+package com.akhayat.poker.simulator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.akhayat.poker.simulator.card.CardParser;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.PokerHand;
+
+/**
+ * Parsing hands from the rank/suit string pairs App takes on the command line,
+ * and seven card hands from raw text ("AcKd7h...") with CardParser.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingBenchmark {
+
+    private static final String[] RANKS = { "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A" };
+    private static final String[] SUITS = { "c", "s", "h", "d" };
+
+    private String[][] fiveCardStrings;
+    private String[][] sevenCardStrings;
+    private byte[] sevenCardText;
+    private final int[] cards = new int[7];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        fiveCardStrings = toStrings(Corpus.randomHands(5), 5);
+        sevenCardStrings = toStrings(Corpus.randomHands(7), 7);
+        sevenCardText = toText(Corpus.randomHands(7));
+    }
+
+    private static byte[] toText(int[] hands) {
+        byte[] text = new byte[hands.length * 2];
+        for (int i = 0; i < hands.length; i++) {
+            text[2 * i] = (byte) "23456789TJQKA".charAt(PackedCard.rank(hands[i]));
+            text[2 * i + 1] = (byte) "cshd".charAt(PackedCard.suit(hands[i]));
+        }
+        return text;
+    }
+
+    private static String[][] toStrings(int[] hands, int cardsPerHand) {
+        String[][] strings = new String[Corpus.HANDS][cardsPerHand * 2];
+        for (int hand = 0; hand < Corpus.HANDS; hand++) {
+            for (int i = 0; i < cardsPerHand; i++) {
+                int card = hands[hand * cardsPerHand + i];
+                strings[hand][2 * i] = RANKS[PackedCard.rank(card)];
+                strings[hand][2 * i + 1] = SUITS[PackedCard.suit(card)];
+            }
+        }
+        return strings;
+    }
+
+    private int nextHand() {
+        next = (next + 1) & (Corpus.HANDS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public PokerHand fiveCardFromStrings() {
+        return PokerHand.fromStrings(fiveCardStrings[nextHand()]);
+    }
+
+    @Benchmark
+    public PokerHand sevenCardFromStrings() {
+        return PokerHand.fromStrings(sevenCardStrings[nextHand()]);
+    }
+
+    @Benchmark
+    public int[] sevenCardFromBytes() {
+        int from = nextHand() * 14;
+        CardParser.parse(sevenCardText, from, from + 14, cards, 0);
+        return cards;
+    }
+}
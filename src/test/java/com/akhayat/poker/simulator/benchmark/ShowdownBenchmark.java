@@ -0,0 +1,74 @@
+package com.akhayat.poker.simulator.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.SevenCardHand;
+import com.akhayat.poker.simulator.evaluator.SevenCardEvaluator;
+
+/**
+ * Heads-up hold'em showdowns: two hole cards each plus a shared five card
+ * board, settled through SevenCardHand objects or straight from the ranks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShowdownBenchmark {
+
+    private static final int CARDS = 9;
+
+    private int[] deals;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        deals = Corpus.randomHands(CARDS);
+    }
+
+    private int nextDeal() {
+        next = (next + 1) & (Corpus.HANDS - 1);
+        return next * CARDS;
+    }
+
+    /**
+     * Returns 1 if the first player wins, -1 if the second does and 0 on a tie.
+     */
+    @Benchmark
+    public int handObjects() {
+        int d = nextDeal();
+        List<Integer> board = List.of(deals[d + 4], deals[d + 5], deals[d + 6], deals[d + 7], deals[d + 8]);
+        SevenCardHand first = hand(deals[d], deals[d + 1], board);
+        SevenCardHand second = hand(deals[d + 2], deals[d + 3], board);
+        return first.beats(second) ? 1 : first.losesTo(second) ? -1 : 0;
+    }
+
+    private static SevenCardHand hand(int hole1, int hole2, List<Integer> board) {
+        return new SevenCardHand(PackedCard.toCards(hole1, hole2,
+                board.get(0), board.get(1), board.get(2), board.get(3), board.get(4)));
+    }
+
+    @Benchmark
+    public int packedRanks() {
+        int d = nextDeal();
+        int first = SevenCardEvaluator.evaluate(deals[d], deals[d + 1],
+                deals[d + 4], deals[d + 5], deals[d + 6], deals[d + 7], deals[d + 8]);
+        int second = SevenCardEvaluator.evaluate(deals[d + 2], deals[d + 3],
+                deals[d + 4], deals[d + 5], deals[d + 6], deals[d + 7], deals[d + 8]);
+        return Integer.compare(first, second);
+    }
+}
@@ -0,0 +1,103 @@
+package com.akhayat.poker.simulator.card;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class CardParserTest {
+
+    private static final int[] ACE_KING_TEN = {
+            new Card("A", "c").getPacked(), new Card("K", "d").getPacked(), new Card("10", "h").getPacked() };
+
+    @Test
+    public void testFormats() {
+        int[] cards = new int[3];
+        for (String text : new String[] { "AcKdTh", "Ac Kd 10h", "a c, k d, t h", "\tAC,KD,th " }) {
+            assertThat(CardParser.parse(text, cards, 0)).as(text).isEqualTo(3);
+            assertThat(cards).as(text).containsExactly(ACE_KING_TEN);
+        }
+        assertThat(CardParser.parse("", cards, 0)).isZero();
+    }
+
+    @Test
+    public void testSlices() {
+        byte[] bytes = "xxAcKd10hxx".getBytes(StandardCharsets.US_ASCII);
+        int[] cards = new int[4];
+        assertThat(CardParser.parse(bytes, 2, 9, cards, 1)).isEqualTo(3);
+        assertThat(cards).containsExactly(0, ACE_KING_TEN[0], ACE_KING_TEN[1], ACE_KING_TEN[2]);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        int[] fromBuffer = new int[3];
+        assertThat(CardParser.parse(buffer, 2, 9, fromBuffer, 0)).isEqualTo(3);
+        assertThat(fromBuffer).containsExactly(ACE_KING_TEN);
+        assertThat(buffer.position()).isEqualTo(bytes.length);
+
+        int[] fromChars = new int[3];
+        assertThat(CardParser.parse(new StringBuilder("xxAcKd10hxx"), 2, 9, fromChars, 0)).isEqualTo(3);
+        assertThat(fromChars).containsExactly(ACE_KING_TEN);
+    }
+
+    @Test
+    public void testInvalid() {
+        int[] cards = new int[3];
+        assertThat(CardParser.parse("Ac Kd 1h", cards, 0)).isEqualTo(CardParser.INVALID);
+        assertThat(CardParser.parse("Ac Kx", cards, 0)).isEqualTo(CardParser.INVALID);
+        assertThat(CardParser.parse("Ac K", cards, 0)).isEqualTo(CardParser.INVALID);
+        assertThat(CardParser.parse("Ac Kd Th 2c", cards, 0)).isEqualTo(CardParser.INVALID);
+        assertThat(CardParser.parse("A♣", cards, 0)).isEqualTo(CardParser.INVALID);
+        assertThat(CardParser.parseCard('Z', 'c')).isEqualTo(PackedCard.NO_CARD);
+        assertThat(CardParser.parseCard('q', 's')).isEqualTo(new Card("Q", "s").getPacked());
+    }
+
+    /**
+     * The byte array, ByteBuffer and CharSequence versions read characters
+     * differently but must agree on every input.
+     */
+    @Test
+    public void testSourcesAgree() {
+        String[] texts = { "AcKdTh", "Ac Kd 10h", "a c, k d, t h", "\tAC,KD,th ", "", " , ", "Ac Kd 1h", "Ac 1",
+            "1 0c", "Ac K", "Ac,Kd,", "Ac Kd Th 2c", "Ac ,Kd" };
+        for (String text : texts) {
+            int[] fromString = new int[3];
+            int[] fromBytes = new int[3];
+            int[] fromBuffer = new int[3];
+            byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+            int count = CardParser.parse(text, fromString, 0);
+            assertThat(CardParser.parse(bytes, 0, bytes.length, fromBytes, 0)).as(text).isEqualTo(count);
+            assertThat(CardParser.parse(ByteBuffer.wrap(bytes), 0, bytes.length, fromBuffer, 0)).as(text)
+                    .isEqualTo(count);
+            if (count != CardParser.INVALID) {
+                assertThat(fromBytes).as(text).isEqualTo(fromString);
+                assertThat(fromBuffer).as(text).isEqualTo(fromString);
+            }
+        }
+    }
+
+    @Test
+    public void testMask() {
+        int[] cards = new int[3];
+        CardParser.parse("AcKdAc", cards, 0);
+        assertThat(CardParser.mask(cards, 0, 2)).isEqualTo(
+                (1L << PackedCard.index(ACE_KING_TEN[0])) | (1L << PackedCard.index(ACE_KING_TEN[1])));
+        assertThat(CardParser.mask(cards, 0, 3)).isEqualTo(-1);
+    }
+
+    /**
+     * Every card should come out the same through the parser as through the
+     * Card constructor.
+     */
+    @Test
+    public void testEveryCard() {
+        int[] card = new int[1];
+        for (int index = 0; index < PackedCard.NUM_CARDS; index++) {
+            Card expected = Card.fromIndex(index);
+            String text = "23456789TJQKA".charAt(PackedCard.rank(expected.getPacked())) + ""
+                    + "cshd".charAt(PackedCard.suit(expected.getPacked()));
+            assertThat(CardParser.parse(text, card, 0)).isEqualTo(1);
+            assertThat(card[0]).isEqualTo(expected.getPacked());
+        }
+    }
+}
@@ -2,13 +2,18 @@ package com.akhayat.poker.simulator.card;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import com.akhayat.poker.simulator.random.RandomStreams;
+
 public class DeckTest {
 
     @Test
@@ -41,4 +46,100 @@ public class DeckTest {
         assertEquals(new Deck(), new Deck(-5));
     }
 
+    @Test
+    public void testDealPacked() {
+        Deck deck = new Deck();
+        assertEquals(new Card(2, 'C').getPacked(), deck.dealPackedCard());
+        assertEquals(new Card(3, 'C').getPacked(), deck.peekTopPackedCard());
+
+        int[] cards = new int[4];
+        assertEquals(3, deck.dealPackedCards(cards, 1, 3));
+        assertEquals(new Card(3, 'C').getPacked(), cards[1]);
+        assertEquals(new Card(5, 'C').getPacked(), cards[3]);
+        assertEquals(new Card(6, 'C').getPacked(), deck.packedCardAt(deck.getTopCardIndex()));
+
+        int[] rest = new int[52];
+        assertEquals(48, deck.dealPackedCards(rest, 0, 52));
+        assertEquals(PackedCard.NO_CARD, deck.dealPackedCard());
+    }
+
+    @Test
+    public void testSeededShuffle() {
+        RandomStreams streams = new RandomStreams(2024);
+        Deck deck = new Deck(3, true, streams.forWorker(0));
+        assertEquals(deck, new Deck(3, true, streams.forWorker(0)));
+        assertNotEquals(deck, new Deck(3, true, streams.forWorker(1)));
+
+        // every card should be able to end up on top, including the one already there
+        int[] onTop = new int[52];
+        Deck shuffled = new Deck(streams.forWorker(2));
+        for (int i = 0; i < 52 * 200; i++) {
+            shuffled.shuffle();
+            onTop[PackedCard.index(shuffled.peekTopPackedCard())]++;
+        }
+        for (int count : onTop) {
+            assertNotEquals(0, count);
+        }
+    }
+
+    @Test
+    public void testDealtCardsAreCopies() {
+        Deck deck = new Deck();
+        List<Card> first = deck.dealCards(3);
+        deck.resetTopCard();
+        deck.shuffle();
+        assertEquals(List.of(new Card(2, 'C'), new Card(3, 'C'), new Card(4, 'C')), first);
+    }
+
+    @Test
+    public void testDeadCards() {
+        Deck deck = new Deck();
+        Card aceOfSpades = new Card(14, 'S');
+        assertTrue(deck.removeCard(aceOfSpades.getPacked()));
+        assertFalse(deck.removeCard(aceOfSpades.getPacked()));
+        assertTrue(deck.isDead(aceOfSpades.getPacked()));
+        assertEquals(-1, deck.indexOf(aceOfSpades));
+        assertEquals(51, deck.remainingCards());
+
+        deck.shuffle();
+        deck.cut();
+        List<Card> dealt = deck.dealCards(52);
+        assertEquals(51, dealt.size());
+        assertFalse(dealt.contains(aceOfSpades));
+
+        Card deuce = deck.copyCardAt(0);
+        assertThrows(IllegalStateException.class, () -> deck.removeCard(deuce.getPacked()));
+
+        deck.restoreDeadCards();
+        assertEquals(1, deck.remainingCards());
+        assertEquals(aceOfSpades, deck.dealCard());
+    }
+
+    @Test
+    public void testDealRandomCards() {
+        Deck deck = new Deck(new RandomStreams(11).forWorker(0));
+        deck.removeCards(new Card(2, 'C').getPacked(), new Card(3, 'C').getPacked());
+        int[] counts = new int[52];
+        int[] dealt = new int[7];
+        for (int trial = 0; trial < 20000; trial++) {
+            deck.resetTopCard();
+            assertEquals(7, deck.dealRandomCards(dealt, 0, 7));
+            long seen = 0;
+            for (int card : dealt) {
+                assertEquals(0, seen & (1L << PackedCard.index(card)));
+                seen |= 1L << PackedCard.index(card);
+                counts[PackedCard.index(card)]++;
+            }
+        }
+        assertEquals(0, counts[new Card(2, 'C').getIndex()]);
+        assertEquals(0, counts[new Card(3, 'C').getIndex()]);
+        // every other card should come up about 20000 * 7 / 50 = 2800 times
+        for (int index = 0; index < 52; index++) {
+            if (index != new Card(2, 'C').getIndex() && index != new Card(3, 'C').getIndex()) {
+                assertTrue(Math.abs(counts[index] - 2800) < 300, "card " + index + ": " + counts[index]);
+            }
+        }
+        deck.resetTopCard();
+        assertEquals(50, deck.dealRandomCards(new int[60], 0, 60));
+    }
 }
@@ -0,0 +1,38 @@
+package com.akhayat.poker.simulator.card;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+
+class MultiCardHandTest {
+
+    @Test
+    public void testMultiCardHand() {
+        // a flush and a full house in the same nine cards: the full house plays
+        MultiCardHand hand = MultiCardHand.fromStrings("2", "h", "5", "h", "7", "h", "9", "h", "J", "h",
+                "7", "c", "7", "d", "9", "s", "3", "c");
+        assertThat(hand.getEvaluation().getHandType()).isEqualTo(PokerHandType.FULL_HOUSE);
+        assertThat(hand.getEvaluation().getStrength()).isEqualTo(Card.Rank.SEVEN);
+
+        MultiCardHand eight = MultiCardHand.fromStrings("2", "h", "5", "h", "7", "h", "9", "h", "J", "h",
+                "7", "c", "8", "d", "9", "s");
+        assertThat(eight.getEvaluation().getHandType()).isEqualTo(PokerHandType.FLUSH);
+        assertThat(hand.beats(eight)).isTrue();
+        assertThat(MultiCardHand.fromStrings("2", "h", "5", "h", "7", "h", "9", "h", "J", "h")
+                .tiesWith(eight)).isTrue();
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThatThrownBy(() -> MultiCardHand.fromStrings("k", "c", "2", "h", "A", "d", "A", "s"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MultiCardHand.fromStrings("2", "h", "5", "h", "7", "h", "9", "h", "J", "h",
+                "7", "c", "7", "d", "9", "s", "3", "c", "4", "c")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MultiCardHand((List<Card>) null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.akhayat.poker.simulator.card;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+
+class OmahaHandTest {
+
+    @Test
+    public void testTwoFromTheHandThreeFromTheBoard() {
+        OmahaHand hand = new OmahaHand(
+                List.of(new Card("a", "h"), new Card("k", "h"), new Card("2", "c"), new Card("2", "d")),
+                List.of(new Card("q", "h"), new Card("9", "h"), new Card("4", "h"), new Card("4", "c"),
+                        new Card("j", "d")));
+        assertThat(hand.getHoleCards()).hasSize(4);
+        assertThat(hand.getBoard()).hasSize(5);
+        assertThat(hand.getHand()).hasSize(9);
+        assertThat(hand.getEvaluation().getHandType()).isEqualTo(PokerHandType.FLUSH);
+        assertThat(hand.getEvaluation().getStrength()).isEqualTo(Card.Rank.ACE);
+        assertThat(hand.evaluate().getScore()).isEqualTo(hand.getEvaluation().getScore());
+
+        // trips on the board need the fourth card and a kicker from the hand
+        OmahaHand quads = new OmahaHand(
+                List.of(new Card("4", "s"), new Card("7", "d"), new Card("8", "c"), new Card("2", "s")),
+                List.of(new Card("4", "h"), new Card("4", "c"), new Card("4", "d"), new Card("k", "c"),
+                        new Card("9", "d")));
+        assertThat(quads.getEvaluation().getHandType()).isEqualTo(PokerHandType.FOUR_OF_A_KIND);
+        OmahaHand trips = new OmahaHand(
+                List.of(new Card("a", "s"), new Card("7", "d"), new Card("8", "c"), new Card("2", "s")),
+                List.of(new Card("4", "h"), new Card("4", "c"), new Card("4", "d"), new Card("k", "c"),
+                        new Card("9", "d")));
+        assertThat(trips.getEvaluation().getHandType()).isEqualTo(PokerHandType.THREE_OF_A_KIND);
+        assertThat(quads.beats(trips)).isTrue();
+    }
+
+    @Test
+    public void testInvalid() {
+        List<Card> board = List.of(new Card("4", "h"), new Card("4", "c"), new Card("4", "d"));
+        assertThatThrownBy(() -> new OmahaHand(List.of(new Card("a", "s"), new Card("7", "d")), board))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OmahaHand(
+                List.of(new Card("a", "s"), new Card("7", "d"), new Card("8", "c"), new Card("2", "s")),
+                board.subList(0, 2))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OmahaHand(null, board)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
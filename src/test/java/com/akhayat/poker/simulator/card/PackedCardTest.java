@@ -0,0 +1,63 @@
+package com.akhayat.poker.simulator.card;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Card.Rank;
+import com.akhayat.poker.simulator.card.Card.Suit;
+
+class PackedCardTest {
+
+    @Test
+    public void testEncoding() {
+        int aceOfSpades = PackedCard.of(Rank.ACE, Suit.SPADES);
+        assertThat(PackedCard.rank(aceOfSpades)).isEqualTo(12);
+        assertThat(PackedCard.rankValue(aceOfSpades)).isEqualTo(14);
+        assertThat(PackedCard.suit(aceOfSpades)).isEqualTo(1);
+        assertThat(PackedCard.prime(aceOfSpades)).isEqualTo(41);
+        assertThat(PackedCard.rankBit(aceOfSpades)).isEqualTo(1 << 12);
+        assertThat(PackedCard.suitBit(aceOfSpades)).isEqualTo(1 << 1);
+        assertThat(PackedCard.index(aceOfSpades)).isEqualTo(12 * 4 + 1);
+
+        int deuceOfClubs = PackedCard.of(Rank.DEUCE, Suit.CLUBS);
+        assertThat(PackedCard.rank(deuceOfClubs)).isEqualTo(0);
+        assertThat(PackedCard.prime(deuceOfClubs)).isEqualTo(2);
+        assertThat(PackedCard.index(deuceOfClubs)).isEqualTo(0);
+    }
+
+    @Test
+    public void testIndexRoundTrip() {
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < PackedCard.NUM_CARDS; i++) {
+            int card = PackedCard.fromIndex(i);
+            assertThat(card).isPositive();
+            assertThat(PackedCard.index(card)).isEqualTo(i);
+            assertThat(Card.fromPacked(card).getPacked()).isEqualTo(card);
+            seen.add(card);
+        }
+        assertThat(seen).hasSize(PackedCard.NUM_CARDS);
+    }
+
+    @Test
+    public void testCardsAreInterned() {
+        Card kingOfHearts = Card.of(Rank.KING, Suit.HEARTS);
+        assertThat(Card.of(Rank.KING, Suit.HEARTS)).isSameAs(kingOfHearts);
+        assertThat(Card.fromPacked(PackedCard.of(Rank.KING, Suit.HEARTS))).isSameAs(kingOfHearts);
+        assertThat(new Card("K", "H")).isEqualTo(kingOfHearts);
+        assertThat(new Card("K", "H").hashCode()).isEqualTo(kingOfHearts.hashCode());
+    }
+
+    @Test
+    public void testListConversion() {
+        List<Card> cards = List.of(new Card("A", "c"), new Card("7", "d"), new Card("10", "h"));
+        int[] packed = PackedCard.fromCards(cards);
+        assertThat(packed).hasSize(3);
+        assertThat(PackedCard.toCards(packed)).isEqualTo(cards);
+        assertThat(PackedCard.toString(packed[2])).isEqualTo("10♡");
+    }
+}
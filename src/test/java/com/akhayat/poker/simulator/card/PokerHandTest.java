@@ -46,6 +46,11 @@ class PokerHandTest {
                 new Card("4", "s"),
                 new Card("4", "c")
         ));
+
+        assertThat(PokerHand.fromStrings("4", "h", "5", "c", "4", "d", "4", "s", "4", "c", "2", "d"))
+                .isInstanceOf(SixCardHand.class);
+        assertThat(PokerHand.fromStrings("4", "h", "5", "c", "4", "d", "4", "s", "4", "c", "2", "d", "3", "d",
+                "6", "d")).isInstanceOf(MultiCardHand.class);
     }
     
     @Test
@@ -88,7 +93,8 @@ class PokerHandTest {
         }).isInstanceOf(IllegalArgumentException.class);
         
         assertThatThrownBy(() -> {
-            PokerHand.fromStrings("10", "h", "k", "d", "A", "s", "j", "c", "Q", "h", "2", "d");
+            PokerHand.fromStrings("10", "h", "k", "d", "A", "s", "j", "c", "Q", "h", "2", "d", "3", "d", "4", "d",
+                    "5", "d", "6", "d");
         }).isInstanceOf(IllegalArgumentException.class);
         
         assertThatThrownBy(() -> {
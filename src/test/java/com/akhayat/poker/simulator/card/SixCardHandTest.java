@@ -0,0 +1,36 @@
+package com.akhayat.poker.simulator.card;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+
+class SixCardHandTest {
+
+    @Test
+    public void testSixCardHand() {
+        SixCardHand hand = SixCardHand.fromStrings("k", "c", "2", "h", "A", "d", "A", "s", "5", "d", "2", "d");
+        assertThat(hand.getHand()).hasSize(6);
+        assertThat(hand.getEvaluation().getHandType()).isEqualTo(PokerHandType.TWO_PAIR);
+        assertThat(hand.getEvaluation().getStrength()).isEqualTo(Card.Rank.ACE);
+        assertThat(hand.getEvaluation().getKickers()).containsExactly(new Card("k", "c"));
+
+        SixCardHand flush = SixCardHand.fromStrings("9", "h", "2", "h", "J", "h", "A", "s", "5", "h", "3", "h");
+        assertThat(flush.getEvaluation().getHandType()).isEqualTo(PokerHandType.FLUSH);
+        assertThat(flush.beats(hand)).isTrue();
+        // the same best five cards tie whatever the sixth card is
+        assertThat(SixCardHand.fromStrings("9", "h", "2", "h", "J", "h", "K", "c", "5", "h", "3", "h")
+                .tiesWith(flush)).isTrue();
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThatThrownBy(() -> SixCardHand.fromStrings("k", "c", "2", "h", "A", "d", "A", "s", "5", "d"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SixCardHand((List<Card>) null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
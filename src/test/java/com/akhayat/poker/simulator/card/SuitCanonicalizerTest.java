@@ -0,0 +1,109 @@
+package com.akhayat.poker.simulator.card;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+class SuitCanonicalizerTest {
+
+    private static int[] permuteSuits(int[] cards, int[] permutation) {
+        int[] permuted = new int[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            permuted[i] = PackedCard.of(PackedCard.rank(cards[i]), permutation[PackedCard.suit(cards[i])]);
+        }
+        return permuted;
+    }
+
+    @Test
+    public void testSizes() {
+        assertThat(new SuitCanonicalizer(2).size()).isEqualTo(169);
+        assertThat(new SuitCanonicalizer(5).size()).isEqualTo(134_459);
+        assertThat(new SuitCanonicalizer(2, 3).size()).isEqualTo(1_286_792);
+        assertThat(new SuitCanonicalizer(2, 3, 1).size()).isEqualTo(55_190_538);
+        assertThat(new SuitCanonicalizer(2, 3, 1, 1).size()).isEqualTo(2_428_287_420L);
+        // hole cards and a whole turn or river board, in any order
+        assertThat(new SuitCanonicalizer(2, 4).size()).isEqualTo(13_960_050);
+        assertThat(new SuitCanonicalizer(2, 5).size()).isEqualTo(123_156_254);
+    }
+
+    /**
+     * Every class of two hole cards and a flop comes back from its index.
+     */
+    @Test
+    public void testEveryFlopRoundTrips() {
+        SuitCanonicalizer canonicalizer = new SuitCanonicalizer(2, 3);
+        int[] cards = new int[5];
+        int[] canonical = new int[5];
+        for (long index = 0; index < canonicalizer.size(); index++) {
+            canonicalizer.unindex(index, cards, 0);
+            assertThat(canonicalizer.canonicalize(cards, 0, canonical, 0)).isEqualTo(index);
+            assertThat(canonical).isEqualTo(cards);
+        }
+    }
+
+    /**
+     * Relabelling the suits or reordering cards within a group never changes
+     * the index or the canonical cards.
+     */
+    @Test
+    public void testSuitPermutations() {
+        Deck deck = TestCards.deck(21);
+        RandomGenerator random = deck.getRandom();
+        int[][] shapes = { { 2 }, { 2, 3 }, { 2, 2, 5 }, { 2, 3, 1, 1 }, { 4, 5, 3 }, { 7 } };
+        int[] suits = { 0, 1, 2, 3 };
+        for (int[] shape : shapes) {
+            SuitCanonicalizer canonicalizer = new SuitCanonicalizer(shape);
+            int cards = canonicalizer.getCards();
+            int[] canonical = new int[cards];
+            int[] other = new int[cards];
+            int[] back = new int[cards];
+            for (int trial = 0; trial < 20_000; trial++) {
+                int[] hand = TestCards.deal(deck, cards);
+                long index = canonicalizer.canonicalize(hand, 0, canonical, 0);
+                assertThat(index).isBetween(0L, canonicalizer.size() - 1);
+                assertThat(canonicalizer.index(hand, 0)).isEqualTo(index);
+
+                TestCards.shuffle(random, suits, 0, suits.length);
+                int[] permuted = permuteSuits(hand, suits);
+                for (int g = 0, from = 0; g < shape.length; from += shape[g++]) {
+                    TestCards.shuffle(random, permuted, from, from + shape[g]);
+                }
+                assertThat(canonicalizer.canonicalize(permuted, 0, other, 0)).isEqualTo(index);
+                assertThat(other).isEqualTo(canonical);
+
+                canonicalizer.unindex(index, back, 0);
+                assertThat(back).isEqualTo(canonical);
+            }
+        }
+    }
+
+    @Test
+    public void testSameQuestionSameIndex() {
+        SuitCanonicalizer canonicalizer = new SuitCanonicalizer(2, 3);
+        int[] first = new int[5];
+        int[] second = new int[5];
+        CardParser.parse("AhKh 2c7c9d", first, 0);
+        CardParser.parse("AsKs 2d7d9h", second, 0);
+        assertThat(canonicalizer.index(first, 0)).isEqualTo(canonicalizer.index(second, 0));
+        // the same cards with the suited hand on a different suit than the flop pair
+        CardParser.parse("AhKh 2c7d9d", second, 0);
+        assertThat(canonicalizer.index(first, 0)).isNotEqualTo(canonicalizer.index(second, 0));
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThatThrownBy(() -> new SuitCanonicalizer()).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SuitCanonicalizer(2, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SuitCanonicalizer(1, 1, 1, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SuitCanonicalizer(20, 20, 20)).isInstanceOf(IllegalArgumentException.class);
+        SuitCanonicalizer canonicalizer = new SuitCanonicalizer(2, 3);
+        int[] cards = new int[5];
+        CardParser.parse("AhAh 2c7c9d", cards, 0);
+        assertThatThrownBy(() -> canonicalizer.index(cards, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> canonicalizer.unindex(canonicalizer.size(), cards, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
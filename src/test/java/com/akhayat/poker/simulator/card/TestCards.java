@@ -0,0 +1,58 @@
+package com.akhayat.poker.simulator.card;
+
+import java.util.random.RandomGenerator;
+
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+/**
+ * Seeded decks and random hands for the tests, so that every run deals the
+ * same cards.
+ */
+public final class TestCards {
+
+    private TestCards() {
+    }
+
+    public static Deck deck(long seed) {
+        return new Deck(new RandomStreams(seed).forWorker(0));
+    }
+
+    /**
+     * Returns a deck holding only the first suits suits, dealing with the
+     * given generator. With fewer suits flushes, full houses and quads come
+     * up all the time.
+     */
+    public static Deck deck(RandomGenerator random, int suits) {
+        Deck deck = new Deck(random);
+        for (int i = 0; i < PackedCard.NUM_CARDS; i++) {
+            int card = PackedCard.fromIndex(i);
+            if (PackedCard.suit(card) >= suits) {
+                deck.removeCard(card);
+            }
+        }
+        return deck;
+    }
+
+    /**
+     * Puts back the cards the deck dealt and deals count random ones.
+     */
+    public static int[] deal(Deck deck, int count) {
+        int[] cards = new int[count];
+        deck.resetTopCard();
+        deck.dealRandomCards(cards, 0, count);
+        return cards;
+    }
+
+    /**
+     * Shuffles cards from..to in place, e.g. to take cards back in a random
+     * order.
+     */
+    public static void shuffle(RandomGenerator random, int[] cards, int from, int to) {
+        for (int i = to - 1; i > from; i--) {
+            int j = random.nextInt(from, i + 1);
+            int hold = cards[i];
+            cards[i] = cards[j];
+            cards[j] = hold;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.akhayat.poker.simulator.equity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+class EquityCalculatorTest {
+
+    private static int card(String rank, String suit) {
+        return new Card(rank, suit).getPacked();
+    }
+
+    @Test
+    public void testPocketAcesAgainstKings() {
+        EquityCalculator calculator = new EquityCalculator(new ForkJoinPool(2), 200_000, 0);
+        int[][] holeCards = {
+            { card("A", "s"), card("A", "h") },
+            { card("K", "c"), card("K", "d") }
+        };
+        EquityResult result = calculator.calculate(holeCards, new int[0], null);
+        assertThat(result.getTrials()).isEqualTo(200_000);
+        assertThat(result.isExact()).isFalse();
+        assertThat(result.getEquity(0)).isCloseTo(0.8126, within(0.005));
+        assertThat(result.getEquity(0) + result.getEquity(1)).isCloseTo(1.0, within(1e-9));
+        assertThat(result.getWin(0) + result.getTie(0) + result.getLoss(0)).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    public void testRandomOpponent() {
+        EquityCalculator calculator = new EquityCalculator(200_000);
+        int[][] holeCards = { { card("A", "s"), card("A", "h") }, null };
+        EquityResult result = calculator.calculate(holeCards, new int[0], new int[0]);
+        assertThat(result.getEquity(0)).isCloseTo(0.85, within(0.01));
+    }
+
+    @Test
+    public void testExactPreflop() {
+        EquityCalculator calculator = new EquityCalculator();
+        int[][] holeCards = {
+            { card("A", "s"), card("A", "h") },
+            { card("K", "c"), card("K", "d") }
+        };
+        EquityResult result = calculator.calculate(holeCards, new int[0], null);
+        assertThat(result.isExact()).isTrue();
+        assertThat(result.getTrials()).isEqualTo(1_712_304);
+        // no shared suits, so the kings keep all their flush draws
+        assertThat(result.getEquity(0)).isCloseTo(0.8126, within(0.0001));
+        assertThat(result.getEquity(0) + result.getEquity(1)).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    public void testExactMatchesMonteCarlo() {
+        int[][] holeCards = { { card("9", "h"), card("8", "h") }, null, { card("A", "c"), card("K", "d") } };
+        int[] board = { card("7", "h"), card("K", "h"), card("2", "c"), card("T", "s") };
+        EquityResult exact = new EquityCalculator().calculate(holeCards, board, new int[] { card("A", "s") });
+        assertThat(exact.isExact()).isTrue();
+        // 43 cards left: C(43, 2) hands for the random player, then 41 rivers
+        assertThat(exact.getTrials()).isEqualTo(903 * 41);
+
+        EquityCalculator monteCarlo = new EquityCalculator(ForkJoinPool.commonPool(), 200_000, 0);
+        EquityResult estimate = monteCarlo.calculate(holeCards, board, new int[] { card("A", "s") });
+        assertThat(estimate.isExact()).isFalse();
+        for (int p = 0; p < 3; p++) {
+            assertThat(estimate.getEquity(p)).isCloseTo(exact.getEquity(p), within(0.01));
+            assertThat(estimate.getTie(p)).isCloseTo(exact.getTie(p), within(0.01));
+        }
+    }
+
+    @Test
+    public void testSeedIsReproducible() {
+        int[][] holeCards = { { card("J", "s"), card("T", "s") }, null, null };
+        EquityResult first = new EquityCalculator(new ForkJoinPool(1), 50_000, 0, new RandomStreams(99))
+                .calculate(holeCards, new int[0], null);
+        EquityResult second = new EquityCalculator(new ForkJoinPool(3), 50_000, 0, new RandomStreams(99))
+                .calculate(holeCards, new int[0], null);
+        for (int p = 0; p < 3; p++) {
+            assertThat(second.getWin(p)).isEqualTo(first.getWin(p));
+            assertThat(second.getTie(p)).isEqualTo(first.getTie(p));
+        }
+    }
+
+    @Test
+    public void testRiver() {
+        EquityCalculator calculator = new EquityCalculator(1000);
+        int[][] holeCards = {
+            { card("A", "s"), card("K", "s") },
+            { card("Q", "h"), card("Q", "d") }
+        };
+        int[] board = { card("Q", "s"), card("J", "s"), card("2", "c"), card("T", "s"), card("3", "d") };
+        EquityResult result = calculator.calculate(holeCards, board, null);
+        assertThat(result.isExact()).isTrue();
+        assertThat(result.getTrials()).isEqualTo(1);
+        assertThat(result.getWin(0)).isEqualTo(1.0);
+        assertThat(result.getLoss(1)).isEqualTo(1.0);
+    }
+
+    @Test
+    public void testSplitPot() {
+        EquityCalculator calculator = new EquityCalculator(1000);
+        List<List<Card>> holeCards = List.of(
+                List.of(new Card("2", "c"), new Card("3", "d")),
+                List.of(new Card("4", "c"), new Card("5", "d")),
+                List.of(new Card("6", "c"), new Card("7", "d")));
+        List<Card> board = List.of(new Card("A", "h"), new Card("K", "h"), new Card("Q", "h"),
+                new Card("J", "h"), new Card("T", "h"));
+        EquityResult result = calculator.calculate(holeCards, board, List.of());
+        for (int p = 0; p < 3; p++) {
+            assertThat(result.getTie(p)).isEqualTo(1.0);
+            assertThat(result.getEquity(p)).isCloseTo(1.0 / 3, within(1e-9));
+        }
+    }
+
+    /**
+     * Best Omaha hand the slow way: every two hole cards with every three board cards.
+     */
+    private static int omahaRank(int[] hole, int[] board) {
+        int best = 0;
+        for (int a = 0; a < hole.length; a++) {
+            for (int b = a + 1; b < hole.length; b++) {
+                for (int c = 0; c < board.length; c++) {
+                    for (int d = c + 1; d < board.length; d++) {
+                        for (int e = d + 1; e < board.length; e++) {
+                            best = Math.max(best, LookupTableEvaluator.evaluate(hole[a], hole[b], board[c],
+                                    board[d], board[e]));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void testOmahaTurn() {
+        int[][] holeCards = {
+            { card("A", "h"), card("K", "h"), card("J", "c"), card("T", "d") },
+            { card("9", "s"), card("9", "c"), card("8", "s"), card("7", "h") }
+        };
+        int[] board = { card("Q", "h"), card("9", "d"), card("2", "h"), card("5", "s") };
+        EquityResult result = new EquityCalculator(1000).calculate(holeCards, board, null);
+        assertThat(result.isExact()).isTrue();
+        assertThat(result.getTrials()).isEqualTo(40);
+
+        int wins = 0;
+        int ties = 0;
+        int[] river = new int[5];
+        System.arraycopy(board, 0, river, 0, 4);
+        for (int index = 0; index < PackedCard.NUM_CARDS; index++) {
+            int card = PackedCard.fromIndex(index);
+            boolean used = false;
+            for (int[] cards : new int[][] { holeCards[0], holeCards[1], board }) {
+                for (int c : cards) {
+                    used |= c == card;
+                }
+            }
+            if (!used) {
+                river[4] = card;
+                int hero = omahaRank(holeCards[0], river);
+                int villain = omahaRank(holeCards[1], river);
+                wins += hero > villain ? 1 : 0;
+                ties += hero == villain ? 1 : 0;
+            }
+        }
+        assertThat(result.getWin(0)).isCloseTo(wins / 40.0, within(1e-9));
+        assertThat(result.getTie(0)).isCloseTo(ties / 40.0, within(1e-9));
+    }
+
+    @Test
+    public void testOmahaExactMatchesMonteCarlo() {
+        int[][] holeCards = {
+            { card("A", "s"), card("A", "d"), card("K", "s"), card("Q", "d"), card("3", "c") },
+            { card("8", "h"), card("7", "h"), card("6", "c"), card("5", "c"), card("4", "d") }
+        };
+        int[] board = { card("9", "h"), card("T", "s"), card("2", "d") };
+        EquityResult exact = new EquityCalculator(ForkJoinPool.commonPool(), 1000, Long.MAX_VALUE)
+                .calculate(holeCards, board, null);
+        assertThat(exact.isExact()).isTrue();
+        // C(39, 2) turns and rivers
+        assertThat(exact.getTrials()).isEqualTo(741);
+
+        EquityResult estimate = new EquityCalculator(ForkJoinPool.commonPool(), 200_000, 0)
+                .calculate(holeCards, board, null);
+        for (int p = 0; p < 2; p++) {
+            assertThat(estimate.getEquity(p)).isCloseTo(exact.getEquity(p), within(0.01));
+        }
+    }
+
+    @Test
+    public void testOmahaRandomPlayers() {
+        EquityCalculator calculator = new EquityCalculator(ForkJoinPool.commonPool(), 100_000, 0,
+                new RandomStreams(4));
+        EquityResult result = calculator.calculate(new int[][] { null, null }, new int[0], null, 4);
+        assertThat(result.getEquity(0)).isCloseTo(0.5, within(0.01));
+        assertThatThrownBy(() -> calculator.calculate(new int[][] { null, null }, new int[0], null, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        int[][] mixed = {
+            { card("A", "s"), card("A", "d"), card("K", "s"), card("Q", "d") },
+            { card("8", "h"), card("7", "h") }
+        };
+        assertThatThrownBy(() -> calculator.calculate(mixed, new int[0], null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testOmahaHiLoRiver() {
+        int[][] holeCards = {
+            { card("A", "h"), card("4", "h"), card("9", "c"), card("9", "d") },
+            { card("A", "s"), card("4", "s"), card("Q", "c"), card("Q", "d") },
+            { card("K", "h"), card("J", "c"), card("T", "c"), card("8", "c") }
+        };
+        int[] board = { card("2", "c"), card("3", "d"), card("7", "h"), card("K", "d"), card("K", "s") };
+        EquityResult result = new EquityCalculator(1000).calculateHiLo(holeCards, board, null, 4);
+        assertThat(result.isHiLo()).isTrue();
+        assertThat(result.getTrials()).isEqualTo(1);
+        // trip kings take the high half, the two 7-4-3-2-A lows quarter the pot
+        assertThat(result.getHighShare(2)).isEqualTo(0.5);
+        assertThat(result.getLowShare(2)).isEqualTo(0.0);
+        assertThat(result.getScoop(2)).isEqualTo(0.0);
+        for (int p = 0; p < 2; p++) {
+            assertThat(result.getEquity(p)).isEqualTo(0.25);
+            assertThat(result.getLowShare(p)).isEqualTo(0.25);
+            assertThat(result.getHighShare(p)).isEqualTo(0.0);
+        }
+    }
+
+    @Test
+    public void testHiLoWithoutLowIsHighOnly() {
+        // with two low cards at most on the board nobody can make a low
+        int[][] holeCards = {
+            { card("A", "s"), card("2", "d") },
+            { card("K", "s"), card("Q", "d") }
+        };
+        int[] board = { card("K", "h"), card("9", "d"), card("J", "c") };
+        EquityCalculator calculator = new EquityCalculator(ForkJoinPool.commonPool(), 1000, Long.MAX_VALUE);
+        EquityResult hiLo = calculator.calculateHiLo(holeCards, board, null, 2);
+        EquityResult high = calculator.calculate(holeCards, board, null);
+        assertThat(hiLo.isExact()).isTrue();
+        for (int p = 0; p < 2; p++) {
+            assertThat(hiLo.getLowShare(p)).isEqualTo(0.0);
+            assertThat(hiLo.getEquity(p)).isCloseTo(high.getEquity(p), within(1e-12));
+            assertThat(hiLo.getScoop(p)).isCloseTo(high.getWin(p), within(1e-12));
+        }
+    }
+
+    @Test
+    public void testHiLoExactMatchesMonteCarlo() {
+        int[][] holeCards = {
+            { card("A", "h"), card("2", "h"), card("5", "c"), card("K", "d") },
+            { card("K", "s"), card("K", "c"), card("Q", "s"), card("J", "c") }
+        };
+        int[] board = { card("3", "c"), card("4", "d"), card("Q", "h") };
+        EquityResult exact = new EquityCalculator(ForkJoinPool.commonPool(), 1000, Long.MAX_VALUE)
+                .calculateHiLo(holeCards, board, null, 4);
+        assertThat(exact.isExact()).isTrue();
+        assertThat(exact.getEquity(0) + exact.getEquity(1)).isCloseTo(1.0, within(1e-9));
+        for (int p = 0; p < 2; p++) {
+            assertThat(exact.getHighShare(p) + exact.getLowShare(p)).isCloseTo(exact.getEquity(p), within(1e-9));
+        }
+        // the kings can't make a low, so every low half goes to the first hand
+        assertThat(exact.getLowShare(1)).isEqualTo(0.0);
+        assertThat(exact.getLowShare(0)).isGreaterThan(0.2);
+
+        EquityResult estimate = new EquityCalculator(ForkJoinPool.commonPool(), 200_000, 0, new RandomStreams(25))
+                .calculateHiLo(holeCards, board, null, 4);
+        for (int p = 0; p < 2; p++) {
+            assertThat(estimate.getEquity(p)).isCloseTo(exact.getEquity(p), within(0.01));
+            assertThat(estimate.getLowShare(p)).isCloseTo(exact.getLowShare(p), within(0.01));
+            assertThat(estimate.getScoop(p)).isCloseTo(exact.getScoop(p), within(0.01));
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        EquityCalculator calculator = new EquityCalculator(1000);
+        int[][] duplicate = {
+            { card("A", "s"), card("A", "h") },
+            { card("A", "s"), card("K", "d") }
+        };
+        assertThatThrownBy(() -> calculator.calculate(duplicate, new int[0], null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        int[][] onePlayer = { { card("A", "s"), card("A", "h") } };
+        assertThatThrownBy(() -> calculator.calculate(onePlayer, new int[0], null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        int[][] holeCards = { { card("A", "s"), card("A", "h") }, null };
+        int[] longBoard = { card("2", "c"), card("3", "c"), card("4", "c"), card("5", "c"), card("6", "c"),
+            card("7", "c") };
+        assertThatThrownBy(() -> calculator.calculate(holeCards, longBoard, null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> new EquityCalculator(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.akhayat.poker.simulator.equity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.PackedCard;
+
+class PreflopEquityTableTest {
+
+    private static final double STEP = 1.0 / 0xFFFF;
+
+    @Test
+    public void testKnownMatchups() {
+        PreflopEquityTable table = PreflopEquityTable.getDefault();
+        assertThat(table.getEquity("AA", "KK")).isCloseTo(0.8195, within(0.0001));
+        assertThat(table.getEquity("AKo", "QQ")).isCloseTo(0.4324, within(0.0001));
+        assertThat(table.getEquity("AKs", "QQ")).isCloseTo(0.4605, within(0.0001));
+        assertThat(table.getEquity("AKo", "AKo")).isCloseTo(0.5, within(STEP));
+        assertThat(table.getEquity(new Card("A", "s").getPacked(), new Card("A", "h").getPacked(),
+                new Card("K", "c").getPacked(), new Card("K", "d").getPacked()))
+                .isEqualTo(table.getEquity("AA", "KK"));
+    }
+
+    @Test
+    public void testSymmetry() {
+        PreflopEquityTable table = PreflopEquityTable.getDefault();
+        for (int a = 0; a < StartingHand.NUM_CLASSES; a++) {
+            for (int b = 0; b < StartingHand.NUM_CLASSES; b++) {
+                assertThat(table.getTie(a, b)).isEqualTo(table.getTie(b, a));
+                assertThat(table.getWin(a, b) + table.getTie(a, b) + table.getLoss(a, b))
+                        .isCloseTo(1.0, within(2 * STEP));
+            }
+        }
+    }
+
+    /**
+     * The class average must match enumerating every pair of hands of the
+     * two classes.
+     */
+    @Test
+    public void testMatchesEnumeration() {
+        int a = StartingHand.fromString("AKs");
+        int b = StartingHand.fromString("QJs");
+        EquityCalculator calculator = new EquityCalculator();
+        double equity = 0;
+        int matchups = 0;
+        for (int suit1 = 0; suit1 < PackedCard.NUM_SUITS; suit1++) {
+            for (int suit2 = 0; suit2 < PackedCard.NUM_SUITS; suit2++) {
+                int[][] holeCards = {
+                    { PackedCard.of(12, suit1), PackedCard.of(11, suit1) },
+                    { PackedCard.of(10, suit2), PackedCard.of(9, suit2) }
+                };
+                equity += calculator.calculate(holeCards, new int[0], null).getEquity(0);
+                matchups++;
+            }
+        }
+        assertThat(PreflopEquityTable.getDefault().getEquity(a, b)).isCloseTo(equity / matchups, within(STEP));
+    }
+
+    @Test
+    public void testWriteAndRead(@TempDir Path dir) throws IOException {
+        PreflopEquityTable table = PreflopEquityTable.getDefault();
+        Path file = dir.resolve("preflop.dat");
+        table.write(file);
+        PreflopEquityTable copy;
+        try (InputStream in = Files.newInputStream(file)) {
+            copy = PreflopEquityTable.read(in);
+        }
+        for (int a = 0; a < StartingHand.NUM_CLASSES; a++) {
+            for (int b = 0; b < StartingHand.NUM_CLASSES; b++) {
+                assertThat(copy.getEquity(a, b)).isEqualTo(table.getEquity(a, b));
+            }
+        }
+    }
+}
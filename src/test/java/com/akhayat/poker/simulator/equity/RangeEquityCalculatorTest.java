@@ -0,0 +1,105 @@
+package com.akhayat.poker.simulator.equity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+class RangeEquityCalculatorTest {
+
+    private static int card(String rank, String suit) {
+        return new Card(rank, suit).getPacked();
+    }
+
+    private static final int[] FLOP = { card("Q", "h"), card("T", "c"), card("4", "h") };
+
+    @Test
+    public void testSingleCombosMatchEquityCalculator() {
+        EquityResult ranges = new RangeEquityCalculator().calculate("AsAh", "KcKd", FLOP);
+        int[][] holeCards = {
+            { card("A", "s"), card("A", "h") },
+            { card("K", "c"), card("K", "d") }
+        };
+        EquityResult hands = new EquityCalculator().calculate(holeCards, FLOP, null);
+        assertThat(ranges.isExact()).isTrue();
+        // the boards are dealt before the combos, so they include the ones clashing with them
+        assertThat(ranges.getTrials()).isEqualTo(1176);
+        for (int p = 0; p < 2; p++) {
+            assertThat(ranges.getWin(p)).isCloseTo(hands.getWin(p), within(1e-12));
+            assertThat(ranges.getTie(p)).isCloseTo(hands.getTie(p), within(1e-12));
+            assertThat(ranges.getEquity(p)).isCloseTo(hands.getEquity(p), within(1e-12));
+        }
+    }
+
+    /**
+     * Weighted average over every pair of combos, one exact enumeration each.
+     */
+    @Test
+    public void testMatchesPairByPair() {
+        Range hero = Range.parse("AK, QTs:0.5, 44");
+        Range villain = Range.parse("QQ+, AQs:0.25, JT");
+        EquityResult ranges = new RangeEquityCalculator().calculate(hero, villain, FLOP, null);
+
+        EquityCalculator calculator = new EquityCalculator();
+        long boardMask = 0;
+        for (int card : FLOP) {
+            boardMask |= 1L << PackedCard.index(card);
+        }
+        double equity = 0;
+        double tie = 0;
+        double total = 0;
+        for (int h : hero.getCombos()) {
+            for (int v : villain.getCombos()) {
+                if ((RangeMatchup.mask(h) & (RangeMatchup.mask(v) | boardMask)) != 0
+                        || (RangeMatchup.mask(v) & boardMask) != 0) {
+                    continue;
+                }
+                int[][] holeCards = { { Range.card1(h), Range.card2(h) }, { Range.card1(v), Range.card2(v) } };
+                EquityResult result = calculator.calculate(holeCards, FLOP, null);
+                double weight = hero.getWeight(h) * villain.getWeight(v);
+                equity += weight * result.getEquity(0);
+                tie += weight * result.getTie(0);
+                total += weight;
+            }
+        }
+        assertThat(ranges.getEquity(0)).isCloseTo(equity / total, within(1e-9));
+        assertThat(ranges.getTie(0)).isCloseTo(tie / total, within(1e-9));
+        assertThat(ranges.getEquity(0) + ranges.getEquity(1)).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    public void testPreflopMonteCarlo() {
+        RangeEquityCalculator calculator = new RangeEquityCalculator(ForkJoinPool.commonPool(), 20_000, 0,
+                new RandomStreams(10));
+        EquityResult result = calculator.calculate("AA", "KK", new int[0]);
+        assertThat(result.isExact()).isFalse();
+        assertThat(result.getTrials()).isEqualTo(20_000);
+        assertThat(result.getEquity(0)).isCloseTo(PreflopEquityTable.getDefault().getEquity("AA", "KK"),
+                within(0.005));
+    }
+
+    @Test
+    public void testSeedIsReproducible() {
+        EquityResult first = new RangeEquityCalculator(new ForkJoinPool(1), 500, 0, new RandomStreams(5))
+                .calculate("TT+,AQ+", "22-99,KQ", new int[0]);
+        EquityResult second = new RangeEquityCalculator(new ForkJoinPool(2), 500, 0, new RandomStreams(5))
+                .calculate("TT+,AQ+", "22-99,KQ", new int[0]);
+        assertThat(second.getEquity(0)).isEqualTo(first.getEquity(0));
+    }
+
+    @Test
+    public void testInvalid() {
+        RangeEquityCalculator calculator = new RangeEquityCalculator();
+        assertThatThrownBy(() -> calculator.calculate("AsAh", "AsKs", new int[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> calculator.calculate("AA", "KK", new int[] { card("A", "s"), card("A", "s") }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.akhayat.poker.simulator.equity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.PackedCard;
+
+class RangeTest {
+
+    @Test
+    public void testCombos() {
+        boolean[] seen = new boolean[Range.NUM_COMBOS];
+        for (int a = 0; a < PackedCard.NUM_CARDS; a++) {
+            for (int b = a + 1; b < PackedCard.NUM_CARDS; b++) {
+                int combo = Range.combo(PackedCard.fromIndex(b), PackedCard.fromIndex(a));
+                assertThat(seen[combo]).isFalse();
+                seen[combo] = true;
+                assertThat(Range.card1(combo)).isEqualTo(PackedCard.fromIndex(a));
+                assertThat(Range.card2(combo)).isEqualTo(PackedCard.fromIndex(b));
+            }
+        }
+    }
+
+    @Test
+    public void testClasses() {
+        assertThat(Range.parse("AA").size()).isEqualTo(6);
+        assertThat(Range.parse("AKs").size()).isEqualTo(4);
+        assertThat(Range.parse("AKo").size()).isEqualTo(12);
+        assertThat(Range.parse("AK").size()).isEqualTo(16);
+        assertThat(Range.parse("AA, AKs ,KQo").size()).isEqualTo(22);
+    }
+
+    @Test
+    public void testPlusAndSpans() {
+        assertThat(Range.parse("QQ+")).isEqualTo(Range.parse("AA,KK,QQ"));
+        assertThat(Range.parse("ATs+")).isEqualTo(Range.parse("AKs,AQs,AJs,ATs"));
+        assertThat(Range.parse("KT+")).isEqualTo(Range.parse("KQ,KJ,KT"));
+        assertThat(Range.parse("AA-TT")).isEqualTo(Range.parse("TT+"));
+        assertThat(Range.parse("TT-AA")).isEqualTo(Range.parse("TT+"));
+        assertThat(Range.parse("A5s-A2s")).isEqualTo(Range.parse("A5s,A4s,A3s,A2s"));
+        assertThat(Range.parse("22+").size()).isEqualTo(78);
+    }
+
+    @Test
+    public void testSingleCombosAndWeights() {
+        Range range = Range.parse("AsKs, AKo:0.5");
+        int suited = Range.combo(new Card("A", "s").getPacked(), new Card("K", "s").getPacked());
+        int offsuit = Range.combo(new Card("A", "h").getPacked(), new Card("K", "c").getPacked());
+        int other = Range.combo(new Card("A", "h").getPacked(), new Card("K", "h").getPacked());
+        assertThat(range.size()).isEqualTo(13);
+        assertThat(range.getWeight(suited)).isEqualTo(1.0);
+        assertThat(range.getWeight(offsuit)).isEqualTo(0.5);
+        assertThat(range.contains(other)).isFalse();
+        assertThat(Range.parse("AA, AsAh:0").size()).isEqualTo(5);
+    }
+
+    @Test
+    public void testTopPercent() {
+        Range top = Range.parse("top 5%");
+        assertThat(top.size()).isBetween(60, 80);
+        assertThat(top.contains(Range.combo(new Card("A", "s").getPacked(), new Card("A", "h").getPacked())))
+                .isTrue();
+        assertThat(top.contains(Range.combo(new Card("7", "s").getPacked(), new Card("2", "h").getPacked())))
+                .isFalse();
+        assertThat(Range.parse("100%").size()).isEqualTo(Range.NUM_COMBOS);
+        assertThat(Range.parse("0%").size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThatThrownBy(() -> Range.parse("AX")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Range.parse("AAs")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Range.parse("AKs-QJs")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Range.parse("AK:2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Range.parse("120%")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Range.parse("AsAs")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.akhayat.poker.simulator.equity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.PackedCard;
+
+class StartingHandTest {
+
+    @Test
+    public void testOf() {
+        int aces = StartingHand.of(new Card("A", "s").getPacked(), new Card("A", "h").getPacked());
+        int suited = StartingHand.of(new Card("K", "d").getPacked(), new Card("A", "d").getPacked());
+        int offsuit = StartingHand.of(new Card("A", "c").getPacked(), new Card("K", "d").getPacked());
+        assertThat(StartingHand.toString(aces)).isEqualTo("AA");
+        assertThat(StartingHand.toString(suited)).isEqualTo("AKs");
+        assertThat(StartingHand.toString(offsuit)).isEqualTo("AKo");
+        assertThat(StartingHand.isPair(aces)).isTrue();
+        assertThat(StartingHand.isSuited(suited)).isTrue();
+        assertThat(StartingHand.isSuited(offsuit)).isFalse();
+    }
+
+    @Test
+    public void testEveryHandHasAClass() {
+        int[] combos = new int[StartingHand.NUM_CLASSES];
+        for (int c1 = 0; c1 < PackedCard.NUM_CARDS; c1++) {
+            for (int c2 = c1 + 1; c2 < PackedCard.NUM_CARDS; c2++) {
+                combos[StartingHand.of(PackedCard.fromIndex(c1), PackedCard.fromIndex(c2))]++;
+            }
+        }
+        Set<String> names = new HashSet<>();
+        for (int handClass = 0; handClass < StartingHand.NUM_CLASSES; handClass++) {
+            assertThat(combos[handClass]).isEqualTo(StartingHand.combos(handClass));
+            String name = StartingHand.toString(handClass);
+            assertThat(StartingHand.fromString(name)).isEqualTo(handClass);
+            names.add(name);
+        }
+        assertThat(names).hasSize(169);
+    }
+
+    @Test
+    public void testFromString() {
+        assertThat(StartingHand.fromString("kas")).isEqualTo(StartingHand.fromString("AKs"));
+        assertThat(StartingHand.fromString("t9o")).isEqualTo(StartingHand.fromString("T9o"));
+        assertThatThrownBy(() -> StartingHand.fromString("AK")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StartingHand.fromString("AAs")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StartingHand.fromString("A1o")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StartingHand.fromString("AKx")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
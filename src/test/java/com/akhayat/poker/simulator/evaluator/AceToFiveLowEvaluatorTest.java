@@ -0,0 +1,137 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.CardParser;
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.TestCards;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+
+class AceToFiveLowEvaluatorTest {
+
+    private static int[] parse(String cards) {
+        int[] parsed = new int[cards.length() / 2];
+        CardParser.parse(cards, parsed, 0);
+        return parsed;
+    }
+
+    /**
+     * How bad a five card low is, compared the way a dealer would: more
+     * cards of a rank is worse, then the highest card, ace counting as one.
+     */
+    private static int[] badness(int[] cards) {
+        int[] counts = new int[14];
+        for (int card : cards) {
+            counts[(PackedCard.rank(card) + 1) % 13 + 1]++;
+        }
+        Integer[] ranks = new Integer[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            ranks[i] = (PackedCard.rank(cards[i]) + 1) % 13 + 1;
+        }
+        Arrays.sort(ranks, Comparator.<Integer>comparingInt(r -> -counts[r]).thenComparing(r -> -r));
+        int[] badness = new int[cards.length + 1];
+        int[] sorted = counts.clone();
+        Arrays.sort(sorted);
+        badness[0] = sorted[13] * 10 + sorted[12];
+        for (int i = 0; i < ranks.length; i++) {
+            badness[i + 1] = ranks[i];
+        }
+        return badness;
+    }
+
+    @Test
+    public void testBestAndWorst() {
+        assertThat(AceToFiveLowEvaluator.evaluate(parse("5c4h3d2sAh"))).isEqualTo(AceToFiveLowEvaluator.NUM_RANKS);
+        // straights and flushes don't count
+        assertThat(AceToFiveLowEvaluator.evaluate(parse("5h4h3h2hAh"))).isEqualTo(AceToFiveLowEvaluator.NUM_RANKS);
+        assertThat(AceToFiveLowEvaluator.evaluate(parse("KcKhKdKsQh"))).isEqualTo(1);
+        assertThat(AceToFiveLowEvaluator.evaluate(parse("6c4h3d2sAh")))
+                .isGreaterThan(AceToFiveLowEvaluator.evaluate(parse("6c5h4d3s2h")));
+        // the worst hand without a pair still beats the best pair
+        assertThat(AceToFiveLowEvaluator.evaluate(parse("KcQhJdTs9h")))
+                .isGreaterThan(AceToFiveLowEvaluator.evaluate(parse("AcAh2d3s4h")));
+        assertThat(AceToFiveLowEvaluator.handType(AceToFiveLowEvaluator.evaluate(parse("KcQhJdTs9h"))))
+                .isEqualTo(PokerHandType.HIGH_CARD);
+        assertThat(AceToFiveLowEvaluator.handType(AceToFiveLowEvaluator.evaluate(parse("AcAh2d2s2h"))))
+                .isEqualTo(PokerHandType.FULL_HOUSE);
+    }
+
+    @Test
+    public void testOrderMatchesReference() {
+        Deck deck = TestCards.deck(24);
+        for (int trial = 0; trial < 200_000; trial++) {
+            int[] first = TestCards.deal(deck, 5);
+            int[] second = TestCards.deal(deck, 5);
+            int expected = -Arrays.compare(badness(first), badness(second));
+            assertThat(Integer.signum(Integer.compare(AceToFiveLowEvaluator.evaluate(first),
+                    AceToFiveLowEvaluator.evaluate(second)))).isEqualTo(Integer.signum(expected));
+        }
+    }
+
+    @Test
+    public void testEveryRankIsReached() {
+        boolean[] seen = new boolean[AceToFiveLowEvaluator.NUM_RANKS + 1];
+        for (int a = 0; a < 52; a++) {
+            for (int b = a + 1; b < 52; b++) {
+                for (int c = b + 1; c < 52; c++) {
+                    for (int d = c + 1; d < 52; d++) {
+                        for (int e = d + 1; e < 52; e++) {
+                            seen[AceToFiveLowEvaluator.evaluate(PackedCard.fromIndex(a), PackedCard.fromIndex(b),
+                                    PackedCard.fromIndex(c), PackedCard.fromIndex(d), PackedCard.fromIndex(e))] = true;
+                        }
+                    }
+                }
+            }
+        }
+        for (int rank = 1; rank <= AceToFiveLowEvaluator.NUM_RANKS; rank++) {
+            assertThat(seen[rank]).as("rank %d", rank).isTrue();
+        }
+    }
+
+    @Test
+    public void testBestOfSeven() {
+        Deck deck = TestCards.deck(7);
+        int[] five = new int[5];
+        for (int count = 6; count <= 7; count++) {
+            for (int trial = 0; trial < 20_000; trial++) {
+                int[] cards = TestCards.deal(deck, count);
+                int best = 0;
+                for (int skip = 0; skip < 1 << count; skip++) {
+                    if (Integer.bitCount(skip) == count - 5) {
+                        for (int i = 0, j = 0; i < count; i++) {
+                            if ((skip & (1 << i)) == 0) {
+                                five[j++] = cards[i];
+                            }
+                        }
+                        best = Math.max(best, AceToFiveLowEvaluator.evaluate(five));
+                    }
+                }
+                assertThat(AceToFiveLowEvaluator.evaluate(cards)).isEqualTo(best);
+            }
+        }
+        assertThat(AceToFiveLowEvaluator.evaluate(parse("KsKd5c4h3d2sAh"))).isEqualTo(AceToFiveLowEvaluator.NUM_RANKS);
+    }
+
+    @Test
+    public void testBatch() {
+        int[] hands = TestCards.deal(TestCards.deck(3), 49);
+        int[] ranks = new int[7];
+        AceToFiveLowEvaluator.evaluateBatch(hands, 0, 7, ranks, 0, 7);
+        for (int hand = 0; hand < 7; hand++) {
+            assertThat(ranks[hand]).isEqualTo(AceToFiveLowEvaluator.evaluate(hands, hand * 7, 7));
+        }
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThatThrownBy(() -> AceToFiveLowEvaluator.evaluate(new int[4])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AceToFiveLowEvaluator.evaluate(new int[8])).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.PackedCard;
+
+class BatchKernelTest {
+
+    private static final int BLOCK = 4099;
+
+    /**
+     * The scalar kernel, and the vector kernel when the build has it
+     * (mvn -Pvector).
+     */
+    private static List<BatchKernel> kernels() throws ReflectiveOperationException {
+        Class<?> vector;
+        try {
+            vector = Class.forName(BatchKernel.class.getPackageName() + ".VectorBatchKernel");
+        } catch (ClassNotFoundException e) {
+            return List.of(new ScalarBatchKernel());
+        }
+        return List.of(new ScalarBatchKernel(), (BatchKernel) vector.getDeclaredConstructor().newInstance());
+    }
+
+    /**
+     * Both kernels must agree with LookupTableEvaluator on every five card
+     * hand. The block size isn't a multiple of any lane count, so the
+     * scalar tail gets exercised too.
+     */
+    @Test
+    public void testEveryHand() throws ReflectiveOperationException {
+        List<BatchKernel> kernels = kernels();
+        int[] hands = new int[BLOCK * 5];
+        int[] expected = new int[BLOCK];
+        int[] ranks = new int[BLOCK + 1];
+        int count = 0;
+        long total = 0;
+        for (int a = 4; a < 52; a++) {
+            for (int b = 3; b < a; b++) {
+                for (int c = 2; c < b; c++) {
+                    for (int d = 1; d < c; d++) {
+                        for (int e = 0; e < d; e++) {
+                            int offset = count * 5;
+                            hands[offset] = PackedCard.fromIndex(a);
+                            hands[offset + 1] = PackedCard.fromIndex(b);
+                            hands[offset + 2] = PackedCard.fromIndex(c);
+                            hands[offset + 3] = PackedCard.fromIndex(d);
+                            hands[offset + 4] = PackedCard.fromIndex(e);
+                            expected[count] = LookupTableEvaluator.evaluate(hands, offset);
+                            if (++count == BLOCK || (a == 51 && b == 50 && c == 49 && d == 48 && e == 47)) {
+                                for (BatchKernel kernel : kernels) {
+                                    kernel.evaluate(hands, 0, ranks, 1, count);
+                                    for (int hand = 0; hand < count; hand++) {
+                                        assertThat(ranks[hand + 1]).isEqualTo(expected[hand]);
+                                    }
+                                }
+                                total += count;
+                                count = 0;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(total).isEqualTo(2_598_960);
+    }
+
+    @Test
+    public void testPublicEntryPoint() {
+        int[] hands = { PackedCard.of(12, 0), PackedCard.of(12, 1), PackedCard.of(12, 2), PackedCard.of(6, 0),
+                PackedCard.of(6, 3), PackedCard.of(0, 0), PackedCard.of(1, 0), PackedCard.of(2, 0),
+                PackedCard.of(3, 0), PackedCard.of(12, 0) };
+        int[] ranks = new int[2];
+        PokerHandEvaluator.evaluateBatch(hands, ranks);
+        assertThat(ranks).containsExactly(LookupTableEvaluator.evaluate(hands, 0),
+                LookupTableEvaluator.evaluate(hands, 5));
+        // even where it is built, the vector kernel is opt in
+        assertThat(PokerHandEvaluator.isBatchVectorized()).isFalse();
+        assertThatThrownBy(() -> PokerHandEvaluator.evaluateBatch(hands, 0, ranks, 0, 3))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    /**
+     * Duplicate cards aren't detected, but must not take the kernels out
+     * of their tables: they rank by their ranks alone.
+     */
+    @Test
+    public void testDuplicateCards() throws ReflectiveOperationException {
+        int ace = PackedCard.of(12, 0);
+        int[] fiveAces = { ace, ace, ace, ace, ace };
+        int[] pairedAce = { ace, PackedCard.of(11, 3), ace, PackedCard.of(10, 2), PackedCard.of(9, 1) };
+        int[] pairOfAces = { ace, PackedCard.of(11, 3), PackedCard.of(12, 1), PackedCard.of(10, 2),
+                PackedCard.of(9, 1) };
+        for (BatchKernel kernel : kernels()) {
+            // enough hands to fill the vector lanes, with the duplicates in the middle
+            int count = 2 * kernel.lanes() + 1;
+            int[] hands = new int[count * 5];
+            for (int hand = 0; hand < count; hand++) {
+                System.arraycopy(hand == count / 2 ? fiveAces : pairedAce, 0, hands, hand * 5, 5);
+            }
+            int[] ranks = new int[count];
+            kernel.evaluate(hands, 0, ranks, 0, count);
+            for (int hand = 0; hand < count; hand++) {
+                assertThat(ranks[hand]).isEqualTo(hand == count / 2 ? 0 : LookupTableEvaluator.evaluate(pairOfAces));
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.CardParser;
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.TestCards;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+class BestHandEvaluatorTest {
+
+    /**
+     * The best of every five card subset, the slow way.
+     */
+    private static int bestSubset(int[] cards, int count) {
+        int best = 0;
+        for (int a = 0; a < count; a++) {
+            for (int b = a + 1; b < count; b++) {
+                for (int c = b + 1; c < count; c++) {
+                    for (int d = c + 1; d < count; d++) {
+                        for (int e = d + 1; e < count; e++) {
+                            best = Math.max(best, LookupTableEvaluator.evaluate(cards[a], cards[b], cards[c],
+                                    cards[d], cards[e]));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void testEveryFiveCardHand() {
+        int[] cards = new int[5];
+        for (int a = 0; a < PackedCard.NUM_CARDS; a++) {
+            cards[0] = PackedCard.fromIndex(a);
+            for (int b = a + 1; b < PackedCard.NUM_CARDS; b++) {
+                cards[1] = PackedCard.fromIndex(b);
+                for (int c = b + 1; c < PackedCard.NUM_CARDS; c++) {
+                    cards[2] = PackedCard.fromIndex(c);
+                    for (int d = c + 1; d < PackedCard.NUM_CARDS; d++) {
+                        cards[3] = PackedCard.fromIndex(d);
+                        for (int e = d + 1; e < PackedCard.NUM_CARDS; e++) {
+                            cards[4] = PackedCard.fromIndex(e);
+                            if (BestHandEvaluator.evaluate(cards, 0, 5) != LookupTableEvaluator.evaluate(cards, 0)) {
+                                assertThat(BestHandEvaluator.evaluate(cards, 0, 5))
+                                        .isEqualTo(LookupTableEvaluator.evaluate(cards, 0));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesBestSubset() {
+        RandomGenerator random = new RandomStreams(23).forWorker(0);
+        int[] cards = new int[BestHandEvaluator.MAX_CARDS];
+        for (int count = BestHandEvaluator.MIN_CARDS; count <= BestHandEvaluator.MAX_CARDS; count++) {
+            for (int suits = 1; suits <= PackedCard.NUM_SUITS; suits++) {
+                // with fewer suits flushes, full houses and quads come up all the time
+                Deck deck = TestCards.deck(random, suits);
+                for (int trial = 0; trial < 20_000; trial++) {
+                    deck.resetTopCard();
+                    deck.dealRandomCards(cards, 0, count);
+                    assertThat(BestHandEvaluator.evaluate(cards, 0, count)).isEqualTo(bestSubset(cards, count));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesSevenCardEvaluator() {
+        Deck deck = TestCards.deck(7);
+        for (int trial = 0; trial < 100_000; trial++) {
+            int[] cards = TestCards.deal(deck, 7);
+            assertThat(BestHandEvaluator.evaluate(cards, 0, 7)).isEqualTo(SevenCardEvaluator.evaluate(cards, 0));
+        }
+    }
+
+    @Test
+    public void testFlushAgainstFullHouse() {
+        int[] cards = new int[9];
+        CardParser.parse("2h5h7h9hJh7c7d9s3c", cards, 0);
+        assertThat(LookupTableEvaluator.handType(BestHandEvaluator.evaluate(cards, 0, 8)))
+                .isEqualTo(PokerHandType.FULL_HOUSE);
+        assertThat(LookupTableEvaluator.handType(BestHandEvaluator.evaluate(cards, 0, 6)))
+                .isEqualTo(PokerHandType.FLUSH);
+        CardParser.parse("AdKdQdJdTd9d8d7d6d", cards, 0);
+        assertThat(LookupTableEvaluator.handType(BestHandEvaluator.evaluate(cards)))
+                .isEqualTo(PokerHandType.STRAIGHT_FLUSH);
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThatThrownBy(() -> BestHandEvaluator.evaluate(new int[4])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BestHandEvaluator.evaluate(new int[10], 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
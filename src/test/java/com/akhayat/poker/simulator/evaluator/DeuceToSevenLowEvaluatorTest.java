@@ -0,0 +1,150 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.CardParser;
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.TestCards;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+class DeuceToSevenLowEvaluatorTest {
+
+    private static final int WHEEL = 0x100F;
+
+    private static int[] parse(String cards) {
+        int[] parsed = new int[cards.length() / 2];
+        CardParser.parse(cards, parsed, 0);
+        return parsed;
+    }
+
+    /**
+     * Returns a deck per number of suits, all dealing from one seeded
+     * generator, so with fewer suits flushes come up all the time.
+     */
+    private static Deck[] decksBySuits(long seed) {
+        RandomGenerator random = new RandomStreams(seed).forWorker(0);
+        Deck[] decks = new Deck[PackedCard.NUM_SUITS + 1];
+        for (int suits = 1; suits <= PackedCard.NUM_SUITS; suits++) {
+            decks[suits] = TestCards.deck(random, suits);
+        }
+        return decks;
+    }
+
+    private static boolean isWheel(int[] cards) {
+        int mask = 0;
+        for (int card : cards) {
+            mask |= PackedCard.rankBit(card);
+        }
+        return mask == WHEEL;
+    }
+
+    @Test
+    public void testBestAndWorst() {
+        assertThat(DeuceToSevenLowEvaluator.evaluate(parse("7c5h4d3s2h"))).isEqualTo(DeuceToSevenLowEvaluator.NUM_RANKS);
+        assertThat(DeuceToSevenLowEvaluator.evaluate(parse("AhKhQhJhTh"))).isEqualTo(1);
+        // a flush or a straight is worse than any pair
+        assertThat(DeuceToSevenLowEvaluator.evaluate(parse("7h5h4h3h2h")))
+                .isLessThan(DeuceToSevenLowEvaluator.evaluate(parse("AcAhKdQsJh")));
+        assertThat(DeuceToSevenLowEvaluator.evaluate(parse("6c5h4d3s2h")))
+                .isLessThan(DeuceToSevenLowEvaluator.evaluate(parse("AcAhKdQsJh")));
+        // the ace is high, so A-5-4-3-2 is no straight, just a bad ace high
+        int wheel = DeuceToSevenLowEvaluator.evaluate(parse("Ac5h4d3s2h"));
+        assertThat(DeuceToSevenLowEvaluator.handType(wheel)).isEqualTo(PokerHandType.HIGH_CARD);
+        assertThat(wheel).isLessThan(DeuceToSevenLowEvaluator.evaluate(parse("KcQhJd9s8h")));
+        assertThat(wheel).isGreaterThan(DeuceToSevenLowEvaluator.evaluate(parse("Ac6h4d3s2h")));
+        assertThat(DeuceToSevenLowEvaluator.handType(DeuceToSevenLowEvaluator.evaluate(parse("5h4h3h2hAh"))))
+                .isEqualTo(PokerHandType.FLUSH);
+    }
+
+    /**
+     * Away from the wheel a 2-7 low is a high hand upside down.
+     */
+    @Test
+    public void testOrderIsReverseOfHighHands() {
+        Deck[] decks = decksBySuits(27);
+        for (int trial = 0; trial < 200_000; trial++) {
+            int[] first = TestCards.deal(decks[1 + trial % 4], 5);
+            int[] second = TestCards.deal(decks[1 + trial / 4 % 4], 5);
+            if (isWheel(first) || isWheel(second)) {
+                continue;
+            }
+            int high = Integer.compare(LookupTableEvaluator.evaluate(first), LookupTableEvaluator.evaluate(second));
+            int low = Integer.compare(DeuceToSevenLowEvaluator.evaluate(first),
+                    DeuceToSevenLowEvaluator.evaluate(second));
+            assertThat(Integer.signum(low)).isEqualTo(-Integer.signum(high));
+        }
+    }
+
+    @Test
+    public void testEveryRankIsReached() {
+        boolean[] seen = new boolean[DeuceToSevenLowEvaluator.NUM_RANKS + 1];
+        for (int a = 0; a < 52; a++) {
+            for (int b = a + 1; b < 52; b++) {
+                for (int c = b + 1; c < 52; c++) {
+                    for (int d = c + 1; d < 52; d++) {
+                        for (int e = d + 1; e < 52; e++) {
+                            seen[DeuceToSevenLowEvaluator.evaluate(PackedCard.fromIndex(a), PackedCard.fromIndex(b),
+                                    PackedCard.fromIndex(c), PackedCard.fromIndex(d), PackedCard.fromIndex(e))] = true;
+                        }
+                    }
+                }
+            }
+        }
+        for (int rank = 1; rank <= DeuceToSevenLowEvaluator.NUM_RANKS; rank++) {
+            assertThat(seen[rank]).as("rank %d", rank).isTrue();
+        }
+    }
+
+    @Test
+    public void testBestOfSeven() {
+        Deck[] decks = decksBySuits(7);
+        int[] five = new int[5];
+        for (int count = 6; count <= 7; count++) {
+            for (int suits = 1; suits <= PackedCard.NUM_SUITS; suits++) {
+                for (int trial = 0; trial < 20_000; trial++) {
+                    int[] cards = TestCards.deal(decks[suits], count);
+                    int best = 0;
+                    for (int skip = 0; skip < 1 << count; skip++) {
+                        if (Integer.bitCount(skip) == count - 5) {
+                            for (int i = 0, j = 0; i < count; i++) {
+                                if ((skip & (1 << i)) == 0) {
+                                    five[j++] = cards[i];
+                                }
+                            }
+                            best = Math.max(best, DeuceToSevenLowEvaluator.evaluate(five));
+                        }
+                    }
+                    assertThat(DeuceToSevenLowEvaluator.evaluate(cards)).isEqualTo(best);
+                }
+            }
+        }
+        // the flush is broken with the 8 of clubs, keeping the lowest four hearts
+        assertThat(DeuceToSevenLowEvaluator.evaluate(parse("7h5h4h3h2hKs8c")))
+                .isEqualTo(DeuceToSevenLowEvaluator.evaluate(parse("8c5h4h3h2h")));
+    }
+
+    @Test
+    public void testBatch() {
+        int[] hands = TestCards.deal(TestCards.deck(3), 35);
+        int[] ranks = new int[7];
+        DeuceToSevenLowEvaluator.evaluateBatch(hands, 0, 5, ranks, 0, 7);
+        for (int hand = 0; hand < 7; hand++) {
+            assertThat(ranks[hand]).isEqualTo(DeuceToSevenLowEvaluator.evaluate(hands, hand * 5, 5));
+        }
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThatThrownBy(() -> DeuceToSevenLowEvaluator.evaluate(new int[4]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DeuceToSevenLowEvaluator.evaluate(new int[8]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
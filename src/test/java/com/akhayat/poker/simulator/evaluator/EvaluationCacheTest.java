@@ -0,0 +1,119 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PokerHand;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+class EvaluationCacheTest {
+
+    @Test
+    public void testOrderIndependent() {
+        EvaluationCache cache = new EvaluationCache(64);
+        PokerHand hand = PokerHand.fromStrings("A", "c", "A", "h", "8", "s", "8", "d", "A", "s");
+        int[] cards = hand.getPackedCards();
+        int[] reversed = { cards[4], cards[3], cards[2], cards[1], cards[0] };
+        int rank = LookupTableEvaluator.evaluate(cards);
+
+        assertThat(cache.get(EvaluationCache.mask(cards, 0, 5))).isEqualTo(EvaluationCache.NOT_FOUND);
+        assertThat(cache.evaluate(cards, 0, 5)).isEqualTo(rank);
+        assertThat(cache.evaluate(reversed, 0, 5)).isEqualTo(rank);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(1.0 / 3);
+
+        cache.clear();
+        assertThat(cache.get(EvaluationCache.mask(cards, 0, 5))).isEqualTo(EvaluationCache.NOT_FOUND);
+        assertThatThrownBy(() -> cache.evaluate(cards, 0, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Filling a small cache with far more hands than it holds must evict,
+     * keep the size bounded and never return a wrong rank.
+     */
+    @Test
+    public void testEviction() {
+        EvaluationCache cache = new EvaluationCache(100);
+        assertThat(cache.getCapacity()).isEqualTo(128);
+        Deck deck = new Deck(new RandomStreams(18).forWorker(0));
+        int[] cards = new int[7];
+        for (int i = 0; i < 10_000; i++) {
+            deck.resetTopCard();
+            deck.dealRandomCards(cards, 0, 7);
+            assertThat(cache.evaluate(cards, 0, 7)).isEqualTo(SevenCardEvaluator.evaluate(cards, 0));
+        }
+        assertThat(cache.getEvictions()).isGreaterThan(10_000 - 128 - 1000);
+    }
+
+    /**
+     * With the CLOCK policy an entry that keeps being read survives a
+     * stream of one-off hands going through its bucket.
+     */
+    @Test
+    public void testHotEntrySurvives() {
+        EvaluationCache cache = new EvaluationCache(EvaluationCache.WAYS);
+        long hot = 0b11111;
+        cache.put(hot, 42);
+        for (long mask = 1; mask <= 1000; mask++) {
+            assertThat(cache.get(hot)).isEqualTo(42);
+            cache.put(mask << 20, 7);
+        }
+        assertThat(cache.get(hot)).isEqualTo(42);
+    }
+
+    @Test
+    public void testConcurrentReaders() throws Exception {
+        EvaluationCache cache = new EvaluationCache(1 << 12);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> wrong = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Deck deck = new Deck(new RandomStreams(19).forWorker(t % 2));
+                wrong.add(executor.submit(() -> {
+                    int[] cards = new int[7];
+                    long errors = 0;
+                    for (int i = 0; i < 50_000; i++) {
+                        deck.resetTopCard();
+                        deck.dealRandomCards(cards, 0, 7);
+                        if (cache.evaluate(cards, 0, 7) != SevenCardEvaluator.evaluate(cards, 0)) {
+                            errors++;
+                        }
+                    }
+                    return errors;
+                }));
+            }
+            for (Future<Long> errors : wrong) {
+                assertThat(errors.get()).isZero();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(cache.getHits() + cache.getMisses()).isEqualTo(200_000);
+    }
+
+    @Test
+    public void testPokerHandsUseTheCache() {
+        EvaluationCache cache = new EvaluationCache(64);
+        PokerHand five = PokerHand.fromStrings(cache, "A", "c", "A", "h", "8", "s", "8", "d", "A", "s");
+        PokerHand seven = PokerHand.fromStrings(cache, "2", "c", "3", "c", "4", "c", "5", "c", "A", "c", "K", "d",
+                "K", "h");
+        assertThat(PokerHand.fromStrings(cache, "A", "s", "8", "d", "8", "s", "A", "h", "A", "c").getEvaluation()
+                .getScore()).isEqualTo(five.getEvaluation().getScore());
+        assertThat(seven.getEvaluation().getHandType()).isEqualTo(PokerHandEvaluation.PokerHandType.STRAIGHT_FLUSH);
+        // hands built without the cache don't touch it
+        assertThat(PokerHand.fromStrings("A", "s", "8", "d", "8", "s", "A", "h", "A", "c").getEvaluation().getScore())
+                .isEqualTo(five.getEvaluation().getScore());
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,140 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.CardParser;
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.TestCards;
+
+class HiLoEvaluatorTest {
+
+    private static final int EIGHT = 6;
+    private static final int ACE = 12;
+
+    private static int[] parse(String cards) {
+        int[] parsed = new int[cards.length() / 2];
+        CardParser.parse(cards, parsed, 0);
+        return parsed;
+    }
+
+    /**
+     * The ace-to-five rank of five cards if they make an eight-or-better
+     * low, NO_LOW otherwise.
+     */
+    private static int qualifyingLow(int... five) {
+        int mask = 0;
+        for (int card : five) {
+            int rank = PackedCard.rank(card);
+            if (rank > EIGHT && rank != ACE) {
+                return HiLoEvaluator.NO_LOW;
+            }
+            mask |= 1 << rank;
+        }
+        return Integer.bitCount(mask) == 5 ? AceToFiveLowEvaluator.evaluate(five) : HiLoEvaluator.NO_LOW;
+    }
+
+    private static int bestLow(int[] cards) {
+        int best = HiLoEvaluator.NO_LOW;
+        int n = cards.length;
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                for (int c = b + 1; c < n; c++) {
+                    for (int d = c + 1; d < n; d++) {
+                        for (int e = d + 1; e < n; e++) {
+                            best = Math.max(best, qualifyingLow(cards[a], cards[b], cards[c], cards[d], cards[e]));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int bestOmahaLow(int[] hole, int[] board) {
+        int best = HiLoEvaluator.NO_LOW;
+        for (int a = 0; a < hole.length; a++) {
+            for (int b = a + 1; b < hole.length; b++) {
+                for (int c = 0; c < board.length; c++) {
+                    for (int d = c + 1; d < board.length; d++) {
+                        for (int e = d + 1; e < board.length; e++) {
+                            best = Math.max(best, qualifyingLow(hole[a], hole[b], board[c], board[d], board[e]));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void testMatchesSeparateEvaluations() {
+        Deck deck = TestCards.deck(25);
+        for (int count = HiLoEvaluator.MIN_CARDS; count <= HiLoEvaluator.MAX_CARDS; count++) {
+            for (int trial = 0; trial < 20_000; trial++) {
+                int[] cards = TestCards.deal(deck, count);
+                int evaluation = HiLoEvaluator.evaluate(cards);
+                assertThat(HiLoEvaluator.high(evaluation)).isEqualTo(BestHandEvaluator.evaluate(cards));
+                assertThat(HiLoEvaluator.low(evaluation)).isEqualTo(bestLow(cards));
+            }
+        }
+    }
+
+    @Test
+    public void testOmahaMatchesSeparateEvaluations() {
+        Deck deck = TestCards.deck(8);
+        for (int holeCount = OmahaEvaluator.MIN_HOLE_CARDS; holeCount <= OmahaEvaluator.MAX_HOLE_CARDS; holeCount++) {
+            for (int boardCount = OmahaEvaluator.MIN_BOARD_CARDS; boardCount <= OmahaEvaluator.MAX_BOARD_CARDS;
+                    boardCount++) {
+                for (int trial = 0; trial < 10_000; trial++) {
+                    int[] cards = TestCards.deal(deck, holeCount + boardCount);
+                    int[] board = Arrays.copyOfRange(cards, holeCount, cards.length);
+                    int evaluation = HiLoEvaluator.evaluateOmaha(cards, 0, holeCount,
+                            OmahaEvaluator.board(board, 0, boardCount));
+                    assertThat(HiLoEvaluator.high(evaluation))
+                            .isEqualTo(OmahaEvaluator.evaluate(cards, 0, holeCount, board, 0, boardCount));
+                    assertThat(HiLoEvaluator.low(evaluation))
+                            .isEqualTo(bestOmahaLow(Arrays.copyOf(cards, holeCount), board));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLows() {
+        int wheel = HiLoEvaluator.low(HiLoEvaluator.evaluate(parse("Ac2d3h4s5cKdKh")));
+        assertThat(wheel).isEqualTo(AceToFiveLowEvaluator.NUM_RANKS);
+        // the wheel is also a straight for high
+        assertThat(LookupTableEvaluator.handType(HiLoEvaluator.high(HiLoEvaluator.evaluate(parse("Ac2d3h4s5cKdKh")))))
+                .isEqualTo(PokerHandEvaluation.PokerHandType.STRAIGHT);
+        assertThat(HiLoEvaluator.low(HiLoEvaluator.evaluate(parse("8c7d6h4s2c"))))
+                .isEqualTo(AceToFiveLowEvaluator.evaluate(parse("8c7d6h4s2c")));
+        // a nine doesn't qualify, nor do four low ranks with a pair
+        assertThat(HiLoEvaluator.hasLow(HiLoEvaluator.evaluate(parse("9c7d6h4s2c")))).isFalse();
+        assertThat(HiLoEvaluator.hasLow(HiLoEvaluator.evaluate(parse("7c7d6h4s2cKdQh")))).isFalse();
+
+        // Omaha: two low hole cards and three low board cards
+        long board = OmahaEvaluator.board(parse("Ac3d5hKsKd"), 0, 5);
+        assertThat(HiLoEvaluator.low(HiLoEvaluator.evaluateOmaha(parse("2c4d9h9s"), 0, 4, board)))
+                .isEqualTo(AceToFiveLowEvaluator.NUM_RANKS);
+        // the ace in the hand is counterfeited by the one on the board, leaving only the deuce
+        assertThat(HiLoEvaluator.hasLow(HiLoEvaluator.evaluateOmaha(parse("Ah2dQhQs"), 0, 4, board))).isFalse();
+        // two low board cards never make a low
+        board = OmahaEvaluator.board(parse("Ac3dJhKsKd"), 0, 5);
+        assertThat(HiLoEvaluator.hasLow(HiLoEvaluator.evaluateOmaha(parse("2c4d5h6s"), 0, 4, board))).isFalse();
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThatThrownBy(() -> HiLoEvaluator.evaluate(new int[4])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HiLoEvaluator.evaluate(new int[10])).isInstanceOf(IllegalArgumentException.class);
+        long board = OmahaEvaluator.board(parse("Ac3d5hKsKd"), 0, 5);
+        assertThatThrownBy(() -> HiLoEvaluator.evaluateOmaha(parse("2c4d9h"), 0, 3, board))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,125 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.TestCards;
+
+class IncrementalEvaluatorTest {
+
+    private static int bestOfSix(int[] six) {
+        int best = 0;
+        int[] five = new int[5];
+        for (int skip = 0; skip < 6; skip++) {
+            for (int i = 0, j = 0; i < 6; i++) {
+                if (i != skip) {
+                    five[j++] = six[i];
+                }
+            }
+            best = Math.max(best, LookupTableEvaluator.evaluate(five, 0));
+        }
+        return best;
+    }
+
+    private static int expected(int[] cards, int count) {
+        switch (count) {
+            case 5:
+                return LookupTableEvaluator.evaluate(cards, 0);
+            case 6:
+                return bestOfSix(cards);
+            case 7:
+                return SevenCardEvaluator.evaluate(cards, 0);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Walks every five card hand depth first, adding and removing one card
+     * per step, and checks each against the lookup table.
+     */
+    @Test
+    public void testEveryFiveCardHand() {
+        int[] deck = TestCards.deal(new Deck(), PackedCard.NUM_CARDS);
+        int[] hand = new int[5];
+        assertThat(walk(new IncrementalEvaluator(), deck, hand, 0, 0)).isEqualTo(2_598_960);
+    }
+
+    private static int walk(IncrementalEvaluator evaluator, int[] deck, int[] hand, int size, int from) {
+        if (size == hand.length) {
+            assertThat(evaluator.getRank()).isEqualTo(LookupTableEvaluator.evaluate(hand, 0));
+            return 1;
+        }
+        int hands = 0;
+        for (int i = from; i < deck.length; i++) {
+            hand[size] = deck[i];
+            evaluator.addCard(deck[i]);
+            hands += walk(evaluator, deck, hand, size + 1, i + 1);
+            evaluator.removeCard(deck[i]);
+        }
+        return hands;
+    }
+
+    /**
+     * Deals seven cards a card at a time and takes them back in a different
+     * order, checking the rank at every size along the way.
+     */
+    @Test
+    public void testAddAndRemove() {
+        Deck deck = TestCards.deck(20);
+        IncrementalEvaluator evaluator = new IncrementalEvaluator();
+        for (int trial = 0; trial < 100_000; trial++) {
+            int[] cards = TestCards.deal(deck, 7);
+            for (int i = 0; i < 7; i++) {
+                evaluator.addCard(cards[i]);
+                assertThat(evaluator.size()).isEqualTo(i + 1);
+                assertThat(evaluator.getRank()).isEqualTo(expected(cards, i + 1));
+            }
+            TestCards.shuffle(deck.getRandom(), cards, 0, cards.length);
+            for (int size = 7; size > 0; size--) {
+                assertThat(evaluator.getRank()).isEqualTo(expected(cards, size));
+                assertThat(evaluator.contains(cards[size - 1])).isTrue();
+                evaluator.removeCard(cards[size - 1]);
+                assertThat(evaluator.contains(cards[size - 1])).isFalse();
+            }
+            assertThat(evaluator.size()).isZero();
+        }
+    }
+
+    @Test
+    public void testFlushes() {
+        IncrementalEvaluator evaluator = new IncrementalEvaluator();
+        int[] cards = { PackedCard.of(12, 2), PackedCard.of(9, 2), PackedCard.of(7, 2), PackedCard.of(3, 2),
+                PackedCard.of(12, 0), PackedCard.of(0, 2), PackedCard.of(12, 1) };
+        for (int card : cards) {
+            evaluator.addCard(card);
+        }
+        assertThat(evaluator.getRank()).isEqualTo(SevenCardEvaluator.evaluate(cards));
+        assertThat(LookupTableEvaluator.handType(evaluator.getRank()))
+                .isEqualTo(PokerHandEvaluation.PokerHandType.FLUSH);
+        evaluator.removeCard(cards[0]);
+        assertThat(LookupTableEvaluator.handType(evaluator.getRank()))
+                .isEqualTo(PokerHandEvaluation.PokerHandType.PAIR);
+    }
+
+    @Test
+    public void testInvalid() {
+        IncrementalEvaluator evaluator = new IncrementalEvaluator();
+        int[] deck = TestCards.deal(new Deck(), 8);
+        evaluator.addCard(deck[0]);
+        assertThat(evaluator.getRank()).isZero();
+        assertThatThrownBy(() -> evaluator.addCard(deck[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> evaluator.removeCard(deck[1])).isInstanceOf(IllegalArgumentException.class);
+        for (int i = 1; i < 7; i++) {
+            evaluator.addCard(deck[i]);
+        }
+        assertThatThrownBy(() -> evaluator.addCard(deck[7])).isInstanceOf(IllegalArgumentException.class);
+        evaluator.clear();
+        assertThat(evaluator.size()).isZero();
+        assertThat(evaluator.contains(deck[0])).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.PokerHand;
+import com.akhayat.poker.simulator.card.TestCards;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluator.Algorithm;
+
+class LookupTableEvaluatorTest {
+
+    private int evaluate(String... cards) {
+        return LookupTableEvaluator.evaluate(PokerHand.fromStrings(cards));
+    }
+
+    @Test
+    public void testAllHandsHaveTheRightDistribution() {
+        Map<PokerHandType, Integer> counts = new EnumMap<>(PokerHandType.class);
+        boolean[] seen = new boolean[LookupTableEvaluator.NUM_RANKS + 1];
+        for (int a = 0; a < 52; a++) {
+            for (int b = a + 1; b < 52; b++) {
+                for (int c = b + 1; c < 52; c++) {
+                    for (int d = c + 1; d < 52; d++) {
+                        for (int e = d + 1; e < 52; e++) {
+                            int rank = LookupTableEvaluator.evaluate(PackedCard.fromIndex(a), PackedCard.fromIndex(b),
+                                    PackedCard.fromIndex(c), PackedCard.fromIndex(d), PackedCard.fromIndex(e));
+                            seen[rank] = true;
+                            counts.merge(LookupTableEvaluator.handType(rank), 1, Integer::sum);
+                        }
+                    }
+                }
+            }
+        }
+        for (int rank = 1; rank <= LookupTableEvaluator.NUM_RANKS; rank++) {
+            assertThat(seen[rank]).isTrue();
+        }
+        assertThat(counts.get(PokerHandType.STRAIGHT_FLUSH)).isEqualTo(40);
+        assertThat(counts.get(PokerHandType.FOUR_OF_A_KIND)).isEqualTo(624);
+        assertThat(counts.get(PokerHandType.FULL_HOUSE)).isEqualTo(3744);
+        assertThat(counts.get(PokerHandType.FLUSH)).isEqualTo(5108);
+        assertThat(counts.get(PokerHandType.STRAIGHT)).isEqualTo(10200);
+        assertThat(counts.get(PokerHandType.THREE_OF_A_KIND)).isEqualTo(54912);
+        assertThat(counts.get(PokerHandType.TWO_PAIR)).isEqualTo(123552);
+        assertThat(counts.get(PokerHandType.PAIR)).isEqualTo(1098240);
+        assertThat(counts.get(PokerHandType.HIGH_CARD)).isEqualTo(1302540);
+    }
+
+    @Test
+    public void testExtremes() {
+        assertThat(evaluate("10", "h", "J", "h", "Q", "h", "K", "h", "A", "h")).isEqualTo(LookupTableEvaluator.NUM_RANKS);
+        assertThat(evaluate("7", "c", "5", "d", "4", "h", "3", "s", "2", "c")).isEqualTo(1);
+        assertThat(evaluate("5", "s", "4", "s", "3", "s", "2", "s", "A", "s"))
+                .isLessThan(evaluate("6", "c", "5", "c", "4", "c", "3", "c", "2", "c"));
+        assertThat(evaluate("A", "c", "A", "d", "A", "h", "K", "s", "K", "c"))
+                .isGreaterThan(evaluate("K", "c", "K", "d", "K", "h", "A", "s", "A", "c"));
+    }
+
+    @Test
+    public void testAgreesWithHistogramEvaluator() {
+        Deck deck = TestCards.deck(7462);
+        int[][] hands = new int[20000][];
+        int[] ranks = new int[hands.length];
+        PokerHandEvaluation[] evaluations = new PokerHandEvaluation[hands.length];
+        for (int h = 0; h < hands.length; h++) {
+            hands[h] = TestCards.deal(deck, 5);
+            ranks[h] = LookupTableEvaluator.evaluate(hands[h]);
+            evaluations[h] = PokerHandEvaluator.evaluate(Algorithm.HISTOGRAM, hands[h]);
+
+            PokerHandEvaluation rebuilt = LookupTableEvaluator.toEvaluation(ranks[h], hands[h]);
+            assertThat(rebuilt.getHandType()).isEqualTo(evaluations[h].getHandType());
+            assertThat(rebuilt.getStrength()).isEqualTo(evaluations[h].getStrength());
+            assertThat(rebuilt.getSecondaryStrength()).isEqualTo(evaluations[h].getSecondaryStrength());
+            assertThat(rebuilt.getKickers()).isEqualTo(evaluations[h].getKickers());
+        }
+        for (int h = 1; h < hands.length; h++) {
+            assertThat(ranks[h] > ranks[h - 1]).isEqualTo(evaluations[h].beats(evaluations[h - 1]));
+            assertThat(ranks[h] < ranks[h - 1]).isEqualTo(evaluations[h - 1].beats(evaluations[h]));
+        }
+    }
+
+    @Test
+    public void testToEvaluationWithoutCards() {
+        int rank = evaluate("J", "d", "J", "s", "4", "h", "9", "c", "2", "c");
+        PokerHandEvaluation evaluation = LookupTableEvaluator.toEvaluation(rank);
+        assertThat(evaluation.getHandType()).isEqualTo(PokerHandType.PAIR);
+        assertThat(evaluation.getStrength()).isEqualTo(Card.Rank.JACK);
+        assertThat(evaluation.getKickers()).extracting(Card::getRank)
+                .containsExactly(Card.Rank.NINE, Card.Rank.FOUR, Card.Rank.DEUCE);
+    }
+
+    @Test
+    public void testErrors() {
+        int ace = PackedCard.of(Card.Rank.ACE, Card.Suit.SPADES);
+        assertThatThrownBy(() -> LookupTableEvaluator.evaluate(ace, ace, ace, ace, ace))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LookupTableEvaluator.evaluate(new int[] { ace, ace }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.CardParser;
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.TestCards;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+class OmahaEvaluatorTest {
+
+    /**
+     * Every five card hand of two hole cards and three board cards.
+     */
+    private static int bruteForce(int[] hole, int holeCount, int[] board, int boardCount) {
+        int best = 0;
+        for (int a = 0; a < holeCount; a++) {
+            for (int b = a + 1; b < holeCount; b++) {
+                for (int c = 0; c < boardCount; c++) {
+                    for (int d = c + 1; d < boardCount; d++) {
+                        for (int e = d + 1; e < boardCount; e++) {
+                            best = Math.max(best, LookupTableEvaluator.evaluate(hole[a], hole[b], board[c],
+                                    board[d], board[e]));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        RandomGenerator random = new RandomStreams(22).forWorker(0);
+        int[] hole = new int[OmahaEvaluator.MAX_HOLE_CARDS];
+        int[] board = new int[OmahaEvaluator.MAX_BOARD_CARDS];
+        for (int holeCount = OmahaEvaluator.MIN_HOLE_CARDS; holeCount <= OmahaEvaluator.MAX_HOLE_CARDS; holeCount++) {
+            for (int boardCount = OmahaEvaluator.MIN_BOARD_CARDS; boardCount <= OmahaEvaluator.MAX_BOARD_CARDS;
+                    boardCount++) {
+                for (int suits = 1; suits <= PackedCard.NUM_SUITS; suits++) {
+                    // with fewer suits flushes come up all the time
+                    Deck deck = TestCards.deck(random, suits);
+                    for (int trial = 0; trial < 20_000; trial++) {
+                        deck.resetTopCard();
+                        deck.dealRandomCards(hole, 0, holeCount);
+                        deck.dealRandomCards(board, 0, boardCount);
+                        assertThat(OmahaEvaluator.evaluate(hole, 0, holeCount, board, 0, boardCount))
+                                .isEqualTo(bruteForce(hole, holeCount, board, boardCount));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testExactlyTwoHoleCards() {
+        int[] hole = new int[4];
+        int[] board = new int[5];
+        // four aces in the hand are only a pair
+        CardParser.parse("AcAsAhAd", hole, 0);
+        CardParser.parse("Kc7d2h9s4c", board, 0);
+        assertThat(LookupTableEvaluator.handType(OmahaEvaluator.evaluate(hole, 0, 4, board, 0, 5)))
+                .isEqualTo(PokerHandType.PAIR);
+        // one heart in the hand doesn't make a flush with four on the board
+        CardParser.parse("Ah2c3d4s", hole, 0);
+        CardParser.parse("KhQh7h5h9c", board, 0);
+        assertThat(LookupTableEvaluator.handType(OmahaEvaluator.evaluate(hole, 0, 4, board, 0, 5)))
+                .isEqualTo(PokerHandType.HIGH_CARD);
+        // a straight on the board doesn't play either
+        CardParser.parse("2c2d7s8s", hole, 0);
+        CardParser.parse("TcJdQhKsAc", board, 0);
+        assertThat(LookupTableEvaluator.handType(OmahaEvaluator.evaluate(hole, 0, 4, board, 0, 5)))
+                .isEqualTo(PokerHandType.PAIR);
+    }
+
+    @Test
+    public void testSharedBoard() {
+        int hands = 1000;
+        int[] holes = new int[hands * 5];
+        int[] board = new int[5];
+        int[] ranks = new int[hands];
+        CardParser.parse("Qh9h4h4cJd", board, 0);
+        Deck deck = TestCards.deck(5);
+        deck.removeCards(board);
+        for (int hand = 0; hand < hands; hand++) {
+            System.arraycopy(TestCards.deal(deck, 5), 0, holes, hand * 5, 5);
+        }
+        OmahaEvaluator.evaluate(holes, 0, 5, hands, OmahaEvaluator.board(board, 0, 5), ranks, 0);
+        for (int hand = 0; hand < hands; hand++) {
+            assertThat(ranks[hand]).isEqualTo(OmahaEvaluator.evaluate(holes, hand * 5, 5, board, 0, 5));
+        }
+    }
+
+    @Test
+    public void testToEvaluation() {
+        int[] hole = new int[4];
+        int[] board = new int[5];
+        CardParser.parse("AhKh2c2d", hole, 0);
+        CardParser.parse("Qh9h4h4cJd", board, 0);
+        PokerHandEvaluation evaluation = OmahaEvaluator.toEvaluation(hole, board);
+        assertThat(evaluation.getHandType()).isEqualTo(PokerHandType.FLUSH);
+        assertThat(evaluation.getScore()).isEqualTo(
+                LookupTableEvaluator.score(OmahaEvaluator.evaluate(hole, 0, 4, board, 0, 5)));
+    }
+
+    @Test
+    public void testInvalid() {
+        int[] cards = new int[7];
+        CardParser.parse("AcAsAhAdKcKsKh", cards, 0);
+        assertThatThrownBy(() -> OmahaEvaluator.board(cards, 0, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OmahaEvaluator.board(cards, 0, 6)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OmahaEvaluator.evaluate(cards, 0, 3, cards, 3, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OmahaEvaluator.evaluate(cards, 0, 7, cards, 0, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
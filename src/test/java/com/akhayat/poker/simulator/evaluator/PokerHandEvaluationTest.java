@@ -0,0 +1,73 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.Card.Rank;
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.PokerHand;
+import com.akhayat.poker.simulator.card.TestCards;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluator.Algorithm;
+
+class PokerHandEvaluationTest {
+
+    @Test
+    public void testScoreLayout() {
+        PokerHandEvaluation evaluation = PokerHand.fromStrings("A", "c", "A", "d", "6", "h", "6", "s", "Q", "c")
+                .getEvaluation();
+        assertThat(evaluation.getScore()).isEqualTo(0x2E6C00);
+
+        evaluation = PokerHand.fromStrings("5", "h", "A", "h", "4", "h", "3", "h", "2", "h").getEvaluation();
+        assertThat(evaluation.getScore()).isEqualTo(0x850000);
+    }
+
+    @Test
+    public void testScoreMatchesRank() {
+        Deck deck = TestCards.deck(5);
+        for (int h = 0; h < 10000; h++) {
+            int[] cards = TestCards.deal(deck, 5);
+            PokerHandEvaluation evaluation = PokerHandEvaluator.evaluate(Algorithm.HISTOGRAM, cards);
+            assertThat(evaluation.getScore())
+                    .isEqualTo(LookupTableEvaluator.score(LookupTableEvaluator.evaluate(cards)));
+        }
+    }
+
+    @Test
+    public void testMissingSecondaryStrengthDoesNotThrow() {
+        PokerHandEvaluation withSecondary = new PokerHandEvaluation(PokerHandType.TWO_PAIR, Rank.KING, Rank.FOUR,
+                List.of(new Card("2", "c")));
+        PokerHandEvaluation withoutSecondary = new PokerHandEvaluation(PokerHandType.TWO_PAIR, Rank.KING);
+
+        assertThat(withSecondary.beats(withoutSecondary)).isTrue();
+        assertThat(withoutSecondary.beats(withSecondary)).isFalse();
+        assertThat(withSecondary.tiesWith(withoutSecondary)).isFalse();
+    }
+
+    @Test
+    public void testSorting() {
+        List<PokerHand> hands = new ArrayList<>(List.of(
+                PokerHand.fromStrings("7", "d", "7", "h", "7", "s", "Q", "c", "Q", "d"),
+                PokerHand.fromStrings("A", "d", "J", "s", "5", "s", "4", "s", "2", "s"),
+                PokerHand.fromStrings("t", "d", "J", "h", "A", "s", "t", "c", "2", "d"),
+                PokerHand.fromStrings("J", "h", "Q", "h", "t", "h", "8", "h", "9", "h"),
+                PokerHand.fromStrings("2", "d", "4", "h", "5", "s", "J", "c", "A", "d")));
+        hands.sort(PokerHand.BY_STRENGTH);
+
+        assertThat(hands.get(0).tiesWith(hands.get(1))).isTrue();
+        assertThat(hands.get(2).getEvaluation().getHandType()).isEqualTo(PokerHandType.PAIR);
+        assertThat(hands.get(3).getEvaluation().getHandType()).isEqualTo(PokerHandType.FULL_HOUSE);
+        assertThat(hands.get(4).getEvaluation().getHandType()).isEqualTo(PokerHandType.STRAIGHT_FLUSH);
+
+        List<PokerHandEvaluation> evaluations = new ArrayList<>();
+        hands.forEach(hand -> evaluations.add(0, hand.getEvaluation()));
+        evaluations.sort(null);
+        assertThat(evaluations.get(4).compareTo(evaluations.get(0))).isPositive();
+        assertThat(evaluations.get(0).compareTo(evaluations.get(1))).isZero();
+    }
+}
@@ -2,12 +2,14 @@ package com.akhayat.poker.simulator.evaluator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.PackedCard;
 import com.akhayat.poker.simulator.card.PokerHand;
 
 public class PokerHandEvaluatorTest {
@@ -16,6 +18,42 @@ public class PokerHandEvaluatorTest {
         return PokerHand.fromStrings(cards).getEvaluation();
     }
     
+    @Test
+    public void testPackedOverload() {
+        PokerHand hand = PokerHand.fromStrings("K", "C", "A", "D", "A", "H", "K", "S", "A", "C");
+        PokerHandEvaluation evaluation = PokerHandEvaluator.evaluate(hand.getPackedCards());
+        
+        assertEquals(PokerHandEvaluation.PokerHandType.FULL_HOUSE, evaluation.getHandType());
+        assertEquals(Card.Rank.ACE, evaluation.getStrength());
+        assertEquals(Card.Rank.KING, evaluation.getSecondaryStrength());
+        
+        evaluation = PokerHandEvaluator.evaluate(
+                PackedCard.of(Card.Rank.NINE, Card.Suit.CLUBS),
+                PackedCard.of(Card.Rank.ACE, Card.Suit.DIAMONDS),
+                PackedCard.of(Card.Rank.NINE, Card.Suit.HEARTS),
+                PackedCard.of(Card.Rank.FOUR, Card.Suit.SPADES),
+                PackedCard.of(Card.Rank.JACK, Card.Suit.CLUBS));
+        
+        assertEquals(PokerHandEvaluation.PokerHandType.PAIR, evaluation.getHandType());
+        assertEquals(Card.Rank.NINE, evaluation.getStrength());
+        assertEquals(List.of(new Card("A", "D"), new Card("J", "C"), new Card("4", "S")), evaluation.getKickers());
+        assertEquals(hand, PokerHand.fromPacked(hand.getPackedCards()));
+    }
+    
+    @Test
+    public void testPokerHandOverloads() {
+        PokerHand five = PokerHand.fromStrings("K", "C", "A", "D", "A", "H", "K", "S", "A", "C");
+        PokerHand seven = PokerHand.fromStrings("2", "C", "3", "C", "4", "C", "5", "C", "A", "C", "K", "D", "K", "H");
+        PokerHand nine = PokerHand.fromStrings("2", "C", "2", "D", "2", "H", "9", "S", "9", "C", "9", "D", "K", "D",
+                "K", "H", "K", "S");
+        assertEquals(LookupTableEvaluator.evaluate(five.getPackedCards()), LookupTableEvaluator.evaluate(five));
+        assertEquals(SevenCardEvaluator.evaluate(seven.getPackedCards()), SevenCardEvaluator.evaluate(seven));
+        assertEquals(BestHandEvaluator.evaluate(nine.getPackedCards()), BestHandEvaluator.evaluate(nine));
+        assertEquals(BestHandEvaluator.evaluate(seven.getPackedCards()), BestHandEvaluator.evaluate(seven));
+        assertThrows(IllegalArgumentException.class, () -> LookupTableEvaluator.evaluate(seven));
+        assertThrows(IllegalArgumentException.class, () -> SevenCardEvaluator.evaluate(five));
+    }
+
     @Test
     public void testStraightFlush() {
         PokerHandEvaluation evaluation = evaluateHand(
@@ -0,0 +1,91 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.FiveCardHand;
+import com.akhayat.poker.simulator.card.PackedCard;
+import com.akhayat.poker.simulator.card.SevenCardHand;
+import com.akhayat.poker.simulator.card.TestCards;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluation.PokerHandType;
+import com.akhayat.poker.simulator.evaluator.PokerHandEvaluator.Algorithm;
+
+class SevenCardEvaluatorTest {
+
+    /**
+     * The evaluation SevenCardHand used to do: try dropping every pair of
+     * cards and keep the last best five card hand.
+     */
+    private PokerHandEvaluation evaluateSubsets(List<Card> cards) {
+        PokerHandEvaluation bestEvaluation = null;
+        for (int i = 0; i < cards.size() - 1; i++) {
+            for (int j = i + 1; j < cards.size(); j++) {
+                List<Card> subHand = new ArrayList<>(cards);
+                subHand.removeAll(List.of(cards.get(i), cards.get(j)));
+                PokerHandEvaluation subEval = PokerHandEvaluator.evaluate(
+                        Algorithm.HISTOGRAM, new FiveCardHand(subHand).getPackedCards());
+                if (bestEvaluation == null || !bestEvaluation.beats(subEval)) {
+                    bestEvaluation = subEval;
+                }
+            }
+        }
+        return bestEvaluation;
+    }
+
+    @Test
+    public void testMatchesSubsetEvaluation() {
+        Deck deck = TestCards.deck(21);
+        for (int h = 0; h < 5000; h++) {
+            int[] cards = TestCards.deal(deck, 7);
+            PokerHandEvaluation expected = evaluateSubsets(PackedCard.toCards(cards));
+            PokerHandEvaluation actual = new SevenCardHand(PackedCard.toCards(cards)).getEvaluation();
+
+            assertThat(actual.getHandType()).isEqualTo(expected.getHandType());
+            assertThat(actual.getStrength()).isEqualTo(expected.getStrength());
+            assertThat(actual.getSecondaryStrength()).isEqualTo(expected.getSecondaryStrength());
+            assertThat(actual.getKickers()).isEqualTo(expected.getKickers());
+        }
+    }
+
+    @Test
+    public void testMatchesBestFiveCardRank() {
+        Deck deck = TestCards.deck(7);
+        for (int h = 0; h < 20000; h++) {
+            int[] cards = TestCards.deal(deck, 7);
+            int best = 0;
+            for (int i = 0; i < 7; i++) {
+                for (int j = i + 1; j < 7; j++) {
+                    int[] five = new int[5];
+                    int n = 0;
+                    for (int k = 0; k < 7; k++) {
+                        if (k != i && k != j) {
+                            five[n++] = cards[k];
+                        }
+                    }
+                    best = Math.max(best, LookupTableEvaluator.evaluate(five));
+                }
+            }
+            assertThat(SevenCardEvaluator.evaluate(cards)).isEqualTo(best);
+        }
+    }
+
+    @Test
+    public void testFlushes() {
+        int rank = SevenCardEvaluator.evaluate(new SevenCardHand(
+                new Card("A", "d"), new Card("2", "d"), new Card("3", "d"), new Card("4", "d"),
+                new Card("5", "d"), new Card("6", "d"), new Card("6", "c")).getPackedCards());
+        assertThat(LookupTableEvaluator.handType(rank)).isEqualTo(PokerHandType.STRAIGHT_FLUSH);
+        assertThat(LookupTableEvaluator.toEvaluation(rank).getStrength()).isEqualTo(Card.Rank.SIX);
+
+        rank = SevenCardEvaluator.evaluate(new SevenCardHand(
+                new Card("K", "h"), new Card("2", "h"), new Card("9", "h"), new Card("4", "h"),
+                new Card("5", "h"), new Card("K", "s"), new Card("K", "c")).getPackedCards());
+        assertThat(LookupTableEvaluator.handType(rank)).isEqualTo(PokerHandType.FLUSH);
+    }
+}
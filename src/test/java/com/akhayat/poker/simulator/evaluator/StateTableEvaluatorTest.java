@@ -0,0 +1,77 @@
+package com.akhayat.poker.simulator.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.TestCards;
+
+class StateTableEvaluatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StateTableEvaluator generate(int maxCards) throws IOException {
+        Path file = tempDir.resolve("ranks-" + maxCards + ".dat");
+        StateTableGenerator.write(new StateTableGenerator(maxCards).generate(), maxCards, file);
+        return StateTableEvaluator.open(file);
+    }
+
+    @Test
+    public void testFiveCardTable() throws IOException {
+        StateTableEvaluator evaluator = generate(5);
+        assertThat(evaluator.getMaxCards()).isEqualTo(5);
+        Deck deck = TestCards.deck(5);
+        for (int h = 0; h < 100000; h++) {
+            int[] cards = TestCards.deal(deck, 5);
+            assertThat(evaluator.evaluate(cards[0], cards[1], cards[2], cards[3], cards[4]))
+                    .isEqualTo(LookupTableEvaluator.evaluate(cards, 0));
+        }
+    }
+
+    @Test
+    public void testSixCardTable() throws IOException {
+        StateTableEvaluator evaluator = generate(6);
+        Deck deck = TestCards.deck(6);
+        for (int h = 0; h < 100000; h++) {
+            int[] cards = TestCards.deal(deck, 6);
+            int best = 0;
+            for (int skip = 0; skip < 6; skip++) {
+                int[] five = new int[5];
+                for (int i = 0, n = 0; i < 6; i++) {
+                    if (i != skip) {
+                        five[n++] = cards[i];
+                    }
+                }
+                best = Math.max(best, LookupTableEvaluator.evaluate(five));
+            }
+            assertThat(evaluator.evaluate(cards[0], cards[1], cards[2], cards[3], cards[4], cards[5])).isEqualTo(best);
+            assertThat(evaluator.evaluate(cards, 0, 5)).isEqualTo(LookupTableEvaluator.evaluate(cards, 0));
+
+            int state = evaluator.start();
+            for (int i = 0; i < 5; i++) {
+                state = evaluator.next(state, cards[i]);
+            }
+            assertThat(evaluator.rank(state)).isEqualTo(LookupTableEvaluator.evaluate(cards, 0));
+            assertThat(evaluator.next(state, cards[5])).isEqualTo(best);
+        }
+        int[] seven = TestCards.deal(deck, 7);
+        assertThatThrownBy(() -> evaluator.evaluate(seven, 0, 7)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> evaluator.evaluate(seven, 0, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Path file = tempDir.resolve("garbage.dat");
+        Files.write(file, new byte[64]);
+        assertThatThrownBy(() -> StateTableEvaluator.open(file)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> new StateTableGenerator(8)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
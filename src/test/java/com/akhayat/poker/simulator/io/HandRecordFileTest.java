@@ -0,0 +1,98 @@
+package com.akhayat.poker.simulator.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.akhayat.poker.simulator.card.Deck;
+import com.akhayat.poker.simulator.card.FiveCardHand;
+import com.akhayat.poker.simulator.card.PokerHand;
+import com.akhayat.poker.simulator.card.SevenCardHand;
+import com.akhayat.poker.simulator.evaluator.LookupTableEvaluator;
+import com.akhayat.poker.simulator.evaluator.SevenCardEvaluator;
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+class HandRecordFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path file = directory.resolve("hands.phr");
+        PokerHand five = PokerHand.fromStrings("A", "c", "A", "h", "8", "s", "8", "d", "A", "s");
+        PokerHand seven = PokerHand.fromStrings("2", "c", "3", "c", "4", "c", "5", "c", "A", "c", "K", "d", "K", "h");
+        try (HandRecordWriter writer = HandRecordWriter.create(file, 5)) {
+            writer.write(five);
+            writer.write(seven);
+            writer.write(new int[] { seven.getPackedCard(0), seven.getPackedCard(1) }, 0, 2, 0, 0xAB_CDEF_0123L);
+        }
+        assertThat(Files.size(file)).isEqualTo(HandRecordWriter.HEADER_BYTES + 3 * (9 + 5));
+
+        HandRecordReader reader = HandRecordReader.open(file);
+        assertThat(reader.getRecords()).isEqualTo(3);
+        assertThat(reader.getMetadataBytes()).isEqualTo(5);
+        assertThat(reader.getHand(0)).isInstanceOf(FiveCardHand.class).isEqualTo(five);
+        assertThat(reader.getHand(1)).isInstanceOf(SevenCardHand.class).isEqualTo(seven);
+        assertThat(reader.getRank(0)).isEqualTo(LookupTableEvaluator.evaluate(five));
+        assertThat(reader.getRank(1)).isEqualTo(SevenCardEvaluator.evaluate(seven));
+        assertThat(reader.getRank(2)).isZero();
+        assertThat(reader.getMetadata(2)).isEqualTo(0xAB_CDEF_0123L);
+        int[] cards = new int[3];
+        assertThat(reader.getCards(2, cards, 1)).isEqualTo(2);
+        assertThat(cards).containsExactly(0, seven.getPackedCard(0), seven.getPackedCard(1));
+        assertThatThrownBy(() -> reader.getRank(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void testParallelScan() throws IOException {
+        Path file = directory.resolve("random.phr");
+        Deck deck = new Deck(new RandomStreams(17).forWorker(0));
+        int[] cards = new int[7];
+        long[] expected = new long[9];
+        int records = 300_000;
+        try (HandRecordWriter writer = HandRecordWriter.create(file, 4)) {
+            for (int i = 0; i < records; i++) {
+                deck.resetTopCard();
+                deck.dealRandomCards(cards, 0, 7);
+                int rank = SevenCardEvaluator.evaluate(cards, 0);
+                expected[LookupTableEvaluator.handType(rank).ordinal()]++;
+                writer.write(cards, 0, 7, rank, i);
+            }
+            assertThat(writer.getRecords()).isEqualTo(records);
+        }
+        HandRecordReader reader = HandRecordReader.open(file);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        assertThat(reader.countHandTypes(pool)).containsExactly(expected);
+        assertThat(reader.countMismatches(pool)).isZero();
+        long sum = reader.scan(pool, () -> new long[1], (total, hand, count, rank, metadata) -> total[0] += metadata,
+                (a, b) -> {
+                    a[0] += b[0];
+                    return a;
+                })[0];
+        assertThat(sum).isEqualTo((long) records * (records - 1) / 2);
+    }
+
+    @Test
+    public void testInvalidFiles() throws IOException {
+        Path file = directory.resolve("bad.phr");
+        Files.write(file, new byte[40]);
+        assertThatThrownBy(() -> HandRecordReader.open(file)).isInstanceOf(IOException.class);
+
+        try (HandRecordWriter writer = HandRecordWriter.create(file)) {
+            writer.write(new int[7], 0, 7, 1, 0);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThatThrownBy(() -> HandRecordReader.open(file)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> HandRecordWriter.create(file, 9)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
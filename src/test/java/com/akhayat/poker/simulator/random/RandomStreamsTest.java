@@ -0,0 +1,41 @@
+package com.akhayat.poker.simulator.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class RandomStreamsTest {
+
+    @Test
+    public void testReproducible() {
+        RandomStreams first = new RandomStreams(42);
+        RandomStreams second = new RandomStreams(42);
+        for (int i = 0; i < 10; i++) {
+            assertThat(first.forWorker(i).nextLong()).isEqualTo(second.forWorker(i).nextLong());
+            assertThat(first.forTrial(i).nextLong()).isEqualTo(second.forTrial(i).nextLong());
+        }
+        assertThat(new RandomStreams(43).forTrial(0).nextLong()).isNotEqualTo(first.forTrial(0).nextLong());
+    }
+
+    @Test
+    public void testStreamsDiffer() {
+        RandomStreams streams = new RandomStreams(7);
+        Set<Long> firstValues = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            firstValues.add(streams.forWorker(i).nextLong());
+            firstValues.add(streams.forTrial(i).nextLong());
+        }
+        assertThat(firstValues).hasSize(2000);
+    }
+
+    @Test
+    public void testAlgorithm() {
+        RandomStreams streams = new RandomStreams(1, "SplittableRandom");
+        assertThat(streams.forTrial(3).nextLong()).isEqualTo(new RandomStreams(1, "SplittableRandom")
+                .forTrial(3).nextLong());
+        assertThat(streams.getMasterSeed()).isEqualTo(1);
+    }
+}
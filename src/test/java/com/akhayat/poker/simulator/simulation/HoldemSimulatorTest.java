@@ -0,0 +1,52 @@
+package com.akhayat.poker.simulator.simulation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+class HoldemSimulatorTest {
+
+    private static final List<Supplier<? extends PlayerStrategy>> SEATS =
+            List.of(TightAggressive::new, CallingStation::new, CallingStation::new);
+
+    @Test
+    public void testZeroSum() {
+        SimulationResult result = new HoldemSimulator(SEATS).run(20_000);
+        assertThat(result.getHands()).isEqualTo(20_000);
+        double total = 0;
+        for (int seat = 0; seat < 3; seat++) {
+            total += result.getWinRate(seat);
+            assertThat(result.getConfidenceInterval(seat)).isPositive();
+        }
+        assertThat(total).isCloseTo(0, within(1e-6));
+    }
+
+    @Test
+    public void testSeedIsReproducible() {
+        SimulationResult first = new HoldemSimulator(SEATS, 1, 2, 200, new ForkJoinPool(1), new RandomStreams(3))
+                .run(10_000);
+        SimulationResult second = new HoldemSimulator(SEATS, 1, 2, 200, new ForkJoinPool(3), new RandomStreams(3))
+                .run(10_000);
+        for (int seat = 0; seat < 3; seat++) {
+            assertThat(second.getWinRate(seat)).isCloseTo(first.getWinRate(seat), within(1e-9));
+            assertThat(second.getStandardDeviation(seat)).isCloseTo(first.getStandardDeviation(seat), within(1e-9));
+        }
+    }
+
+    @Test
+    public void testFoldingLosesTheBlinds() {
+        PlayerStrategy folder = view -> Action.FOLD;
+        SimulationResult result = new HoldemSimulator(List.of(() -> folder, () -> folder, () -> folder)).run(3_000);
+        // every three hands each seat loses the small blind once and wins it once in the big blind
+        for (int seat = 0; seat < 3; seat++) {
+            assertThat(result.getWinRate(seat)).isCloseTo(0, within(1e-9));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.akhayat.poker.simulator.simulation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.random.RandomStreams;
+
+class HoldemTableTest {
+
+    private static HoldemTable table(PlayerStrategy... strategies) {
+        return new HoldemTable(strategies, 1, 2, 200, new RandomStreams(1).forWorker(0));
+    }
+
+    @Test
+    public void testScriptedHand() {
+        PlayerStrategy raiser = view -> view.getStreet() == GameView.PREFLOP ? Action.raiseTo(6) : Action.raiseTo(8);
+        PlayerStrategy folder = view -> Action.FOLD;
+        PlayerStrategy caller = view -> view.getStreet() == GameView.PREFLOP ? Action.CHECK_OR_CALL : Action.FOLD;
+        int[] net = new int[3];
+        // button in seat 0, small blind in seat 1, big blind in seat 2
+        table(raiser, folder, caller).playHand(0, net);
+        assertThat(net).containsExactly(7, -1, -6);
+    }
+
+    @Test
+    public void testMinimumRaise() {
+        PlayerStrategy tinyRaise = view -> {
+            assertThat(view.getMinRaiseTo()).isEqualTo(4);
+            return Action.raiseTo(1);
+        };
+        PlayerStrategy folder = view -> {
+            assertThat(view.getCurrentBet()).isEqualTo(4);
+            assertThat(view.getToCall()).isEqualTo(2);
+            return Action.FOLD;
+        };
+        int[] net = new int[2];
+        // heads up the button posts the small blind and acts first
+        table(tinyRaise, folder).playHand(0, net);
+        assertThat(net).containsExactly(2, -2);
+    }
+
+    @Test
+    public void testAllIn() {
+        PlayerStrategy shove = view -> Action.ALL_IN;
+        int[] net = new int[2];
+        HoldemTable table = table(shove, new CallingStation());
+        for (int hand = 0; hand < 1000; hand++) {
+            table.playHand(hand % 2, net);
+            assertThat(net[0] + net[1]).isZero();
+            assertThat(net[0]).isIn(-200, 0, 200);
+        }
+    }
+
+    /**
+     * Players acting at random must never create or lose chips.
+     */
+    @Test
+    public void testChipsAreConserved() {
+        PlayerStrategy random = view -> {
+            switch (view.getRandom().nextInt(4)) {
+                case 0: return Action.FOLD;
+                case 1: return Action.raiseTo(view.getMinRaiseTo() + view.getRandom().nextInt(20));
+                case 2: return view.getRandom().nextInt(10) == 0 ? Action.ALL_IN : Action.CHECK_OR_CALL;
+                default: return Action.CHECK_OR_CALL;
+            }
+        };
+        PlayerStrategy[] strategies = new PlayerStrategy[6];
+        Arrays.fill(strategies, random);
+        HoldemTable table = table(strategies);
+        int[] net = new int[6];
+        for (int hand = 0; hand < 20000; hand++) {
+            table.playHand(hand % 6, net);
+            int sum = 0;
+            for (int chips : net) {
+                assertThat(chips).isGreaterThanOrEqualTo(-200);
+                sum += chips;
+            }
+            assertThat(sum).isZero();
+        }
+    }
+
+    /**
+     * With unequal stacks everyone shoving builds side pots: nobody can win
+     * more from a player than they had themselves.
+     */
+    @Test
+    public void testSidePots() {
+        PlayerStrategy shove = view -> Action.ALL_IN;
+        int[] stacks = { 50, 100, 200 };
+        HoldemTable table = new HoldemTable(new PlayerStrategy[] { shove, shove, shove }, 1, 2, stacks,
+                new RandomStreams(3).forWorker(0));
+        int[] net = new int[3];
+        for (int hand = 0; hand < 2000; hand++) {
+            table.playHand(hand % 3, net);
+            assertThat(net[0] + net[1] + net[2]).isZero();
+            assertThat(net[0]).isBetween(-50, 100);
+            assertThat(net[1]).isBetween(-100, 150);
+            // the biggest stack's last 100 chips are never called
+            assertThat(net[2]).isBetween(-100, 150);
+        }
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThatThrownBy(() -> table(new CallingStation())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HoldemTable(new PlayerStrategy[] { new CallingStation(), new CallingStation() },
+                2, 1, 200, new RandomStreams(1).forWorker(0))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HoldemTable(new PlayerStrategy[] { new CallingStation(), new CallingStation() },
+                1, 2, new int[] { 200 }, new RandomStreams(1).forWorker(0))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
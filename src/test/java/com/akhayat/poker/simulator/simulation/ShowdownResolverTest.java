@@ -0,0 +1,135 @@
+package com.akhayat.poker.simulator.simulation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.akhayat.poker.simulator.card.Card;
+import com.akhayat.poker.simulator.card.FiveCardHand;
+import com.akhayat.poker.simulator.card.PokerHand;
+
+class ShowdownResolverTest {
+
+    private final ShowdownResolver resolver = new ShowdownResolver(9);
+
+    private int[] resolve(int[] scores, int[] contributed, int button) {
+        int[] payouts = new int[scores.length];
+        resolver.resolve(scores, contributed, button, payouts);
+        return payouts;
+    }
+
+    @Test
+    public void testSinglePot() {
+        assertThat(resolve(new int[] { 10, 20, 0 }, new int[] { 100, 100, 40 }, 0)).containsExactly(0, 240, 0);
+        assertThat(resolver.getPots()).isEqualTo(1);
+        assertThat(resolver.getPotSize(0)).isEqualTo(240);
+    }
+
+    @Test
+    public void testSidePots() {
+        // the short stack has the best hand, the middle stack the second best
+        assertThat(resolve(new int[] { 30, 20, 10 }, new int[] { 50, 100, 100 }, 0)).containsExactly(150, 100, 0);
+        assertThat(resolver.getPots()).isEqualTo(2);
+        assertThat(resolver.getPotSize(0)).isEqualTo(150);
+        assertThat(resolver.getPotSize(1)).isEqualTo(100);
+        assertThat(resolver.getPotLevel(1)).isEqualTo(100);
+
+        // a bet nobody could call goes back to whoever made it
+        assertThat(resolve(new int[] { 10, 20 }, new int[] { 200, 100 }, 0)).containsExactly(100, 200);
+    }
+
+    @Test
+    public void testSplitWithOddChips() {
+        // seats 1 and 3 tie for a pot of 7, seat 3 is closer to the left of the button in seat 2
+        assertThat(resolve(new int[] { 0, 50, 10, 50 }, new int[] { 1, 2, 2, 2 }, 2)).containsExactly(0, 3, 0, 4);
+        // a three way tie for 11 chips: two odd chips, starting left of the button
+        assertThat(resolve(new int[] { 5, 5, 5, 0 }, new int[] { 3, 3, 3, 2 }, 0)).containsExactly(3, 4, 4, 0);
+    }
+
+    @Test
+    public void testFoldedChipsAboveTheLiveStacks() {
+        // the player who folded put in more than the winner could match
+        assertThat(resolve(new int[] { 0, 20, 10 }, new int[] { 80, 50, 50 }, 1)).containsExactly(0, 180, 0);
+    }
+
+    @Test
+    public void testPokerHands() {
+        PokerHand quads = new FiveCardHand(List.of(new Card("A", "s"), new Card("A", "h"), new Card("A", "d"),
+                new Card("A", "c"), new Card("K", "s")));
+        PokerHand flush = new FiveCardHand(List.of(new Card("2", "h"), new Card("5", "h"), new Card("9", "h"),
+                new Card("J", "h"), new Card("K", "h")));
+        int[] payouts = new int[3];
+        resolver.resolve(new PokerHand[] { flush, null, quads }, new int[] { 100, 20, 60 }, 0, payouts);
+        assertThat(payouts).containsExactly(40, 0, 140);
+    }
+
+    /**
+     * Compares random nine way showdowns against a pot by pot reference
+     * that checks every pair of hands.
+     */
+    @Test
+    public void testAgainstPairwiseReference() {
+        SplittableRandom random = new SplittableRandom(14);
+        for (int trial = 0; trial < 20000; trial++) {
+            int players = 2 + random.nextInt(8);
+            int[] scores = new int[players];
+            int[] contributed = new int[players];
+            for (int p = 0; p < players; p++) {
+                scores[p] = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(5);
+                contributed[p] = 1 + random.nextInt(30);
+            }
+            scores[random.nextInt(players)] = 1 + random.nextInt(5);
+            int button = random.nextInt(players);
+            assertThat(resolve(scores, contributed, button)).as(Arrays.toString(scores) + Arrays.toString(contributed) + button).containsExactly(reference(scores, contributed, button));
+        }
+    }
+
+    private static int[] reference(int[] scores, int[] contributed, int button) {
+        int players = scores.length;
+        int[] levels = IntStream.range(0, players).filter(p -> scores[p] > 0).map(p -> contributed[p])
+                .distinct().sorted().toArray();
+        int top = levels[levels.length - 1];
+        int[] payouts = new int[players];
+        int previous = 0;
+        for (int level : levels) {
+            int pot = 0;
+            for (int p = 0; p < players; p++) {
+                pot += Math.max(0, Math.min(contributed[p], level) - previous);
+                if (level == top) {
+                    pot += Math.max(0, contributed[p] - top);
+                }
+            }
+            // everyone in the pot that nobody else in it beats
+            List<Integer> winners = new ArrayList<>();
+            for (int i = 1; i <= players; i++) {
+                int p = (button + i) % players;
+                boolean beaten = false;
+                for (int q = 0; q < players; q++) {
+                    beaten |= scores[q] > scores[p] && contributed[q] >= level;
+                }
+                if (scores[p] > 0 && contributed[p] >= level && !beaten) {
+                    winners.add(p);
+                }
+            }
+            for (int i = 0; i < winners.size(); i++) {
+                payouts[winners.get(i)] += pot / winners.size() + (i < pot % winners.size() ? 1 : 0);
+            }
+            previous = level;
+        }
+        return payouts;
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThatThrownBy(() -> resolve(new int[] { 0, 0 }, new int[] { 1, 2 }, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> resolve(new int[10], new int[10], 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}